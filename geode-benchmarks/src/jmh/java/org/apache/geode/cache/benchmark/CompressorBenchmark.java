@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.compression.CompressionDictionaryTrainer;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.compression.LZ4Compressor;
+import org.apache.geode.compression.SnappyCompressor;
+import org.apache.geode.internal.util.BlobHelper;
+import org.apache.geode.pdx.JSONFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the cost of each {@link Compressor} on small JSON documents stored as PDX, with and
+ * without a trained dictionary. The compression ratio of each codec is printed during setup.
+ */
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompressorBenchmark {
+
+  private static final int VALUES = 1024;
+
+  @State(Scope.Benchmark)
+  public static class CompressorState {
+    @Param({"snappy", "lz4", "lz4-dictionary", "deflate", "deflate-dictionary"})
+    private String codec;
+
+    private Cache cache;
+    private Compressor compressor;
+    private byte[][] values;
+    private byte[][] compressed;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+
+      values = new byte[VALUES][];
+      for (int i = 0; i < VALUES; i++) {
+        values[i] = BlobHelper.serializeToBlob(JSONFormatter.fromJSON(document(i)));
+      }
+
+      CompressionDictionaryTrainer trainer = new CompressionDictionaryTrainer(16 * 1024);
+      for (int i = 0; i < 500; i++) {
+        trainer.addSample(BlobHelper.serializeToBlob(JSONFormatter.fromJSON(document(-i))));
+      }
+      switch (codec) {
+        case "snappy":
+          compressor = new SnappyCompressor();
+          break;
+        case "lz4":
+          compressor = new LZ4Compressor();
+          break;
+        case "lz4-dictionary":
+          compressor = new LZ4Compressor(trainer.train());
+          break;
+        case "deflate":
+          compressor = new DeflateCompressor();
+          break;
+        case "deflate-dictionary":
+          compressor = new DeflateCompressor(6, trainer.train());
+          break;
+        default:
+          throw new IllegalArgumentException(codec);
+      }
+
+      long rawBytes = 0;
+      long compressedBytes = 0;
+      compressed = new byte[VALUES][];
+      for (int i = 0; i < VALUES; i++) {
+        compressed[i] = compressor.compress(values[i]);
+        rawBytes += values[i].length;
+        compressedBytes += compressed[i].length;
+      }
+      System.out.println(codec + " compression ratio " + ((double) rawBytes / compressedBytes));
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+    }
+
+    int next() {
+      index = (index + 1) & (VALUES - 1);
+      return index;
+    }
+  }
+
+  private static String document(int id) {
+    return "{\"id\":" + id + ",\"name\":\"customer-" + id + "\",\"email\":\"customer" + id
+        + "@example.com\",\"address\":{\"street\":\"" + (id % 1000) + " Main Street\","
+        + "\"city\":\"Portland\",\"state\":\"OR\",\"zip\":\"97201\"},\"status\":\""
+        + (id % 3 == 0 ? "ACTIVE" : "SUSPENDED") + "\",\"balance\":" + (id * 17L) + "}";
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public byte[] compress(CompressorState state) {
+    return state.compressor.compress(state.values[state.next()]);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public byte[] decompress(CompressorState state) {
+    return state.compressor.decompress(state.compressed[state.next()]);
+  }
+}
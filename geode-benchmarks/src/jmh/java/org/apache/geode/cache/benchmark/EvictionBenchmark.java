@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the clock list used by entry LRU eviction with the sampled alternative when many
+ * threads write to a region that is full, so that every put of a new key also evicts an entry.
+ */
+@Fork(3)
+@Threads(16)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EvictionBenchmark {
+
+  private static final int MAXIMUM_ENTRIES = 100_000;
+
+  @State(Scope.Benchmark)
+  public static class EvictionState {
+    @Param({"clock", "sampled"})
+    private String algorithm;
+
+    private Cache cache;
+    private Region<Integer, byte[]> region;
+    private byte[] value = new byte[64];
+
+    @Setup
+    public void setup() {
+      cache = new CacheFactory().set("mcast-port", "0").set("locators", "").create();
+      EvictionAttributes evictionAttributes;
+      switch (algorithm) {
+        case "clock":
+          evictionAttributes = EvictionAttributes.createLRUEntryAttributes(MAXIMUM_ENTRIES,
+              EvictionAction.LOCAL_DESTROY);
+          break;
+        case "sampled":
+          evictionAttributes = EvictionAttributes.createSampledLRUEntryAttributes(MAXIMUM_ENTRIES,
+              EvictionAction.LOCAL_DESTROY);
+          break;
+        default:
+          throw new IllegalArgumentException(algorithm);
+      }
+      region = cache.<Integer, byte[]>createRegionFactory(RegionShortcut.LOCAL)
+          .setEvictionAttributes(evictionAttributes).create("region");
+      for (int i = 0; i < MAXIMUM_ENTRIES; i++) {
+        region.put(i, value);
+      }
+    }
+
+    @TearDown
+    public void tearDown() {
+      cache.close();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public byte[] putNewKey(EvictionState state) {
+    return state.region.put(ThreadLocalRandom.current().nextInt(), state.value);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public byte[] getAndPut(EvictionState state) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    byte[] result = state.region.get(random.nextInt(2 * MAXIMUM_ENTRIES));
+    state.region.put(random.nextInt(), state.value);
+    return result;
+  }
+}
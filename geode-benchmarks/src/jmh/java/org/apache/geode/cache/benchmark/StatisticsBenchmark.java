@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.internal.statistics.LocalStatisticsImpl;
+import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
+import org.apache.geode.internal.statistics.StripedStatisticsImpl;
+import org.apache.geode.internal.stats50.Atomic50StatisticsImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the overhead of updating statistics shared by several threads, as cache operations do,
+ * for each atomic {@link Statistics} implementation. The sample benchmark reads every statistic the
+ * way the sampler does.
+ */
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StatisticsBenchmark {
+
+  @State(Scope.Benchmark)
+  public static class StatisticsState {
+    @Param({"synchronized", "thread-local", "striped"})
+    private String impl;
+
+    private Statistics stats;
+    private int intId;
+    private int longId;
+
+    @Setup
+    public void setup() {
+      StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
+      StatisticsType type = f.createType("StatisticsBenchmark-" + impl, "benchmark statistics",
+          new StatisticDescriptor[] {f.createIntCounter("operations", "operations", "operations"),
+              f.createLongCounter("operationTime", "operation time", "nanoseconds")});
+      switch (impl) {
+        case "synchronized":
+          stats = new LocalStatisticsImpl(type, "benchmark", 1, 1, true, 0, null);
+          break;
+        case "thread-local":
+          stats = new Atomic50StatisticsImpl(type, "benchmark", 1, 1, null);
+          break;
+        case "striped":
+          stats = new StripedStatisticsImpl(type, "benchmark", 1, 1, null);
+          break;
+        default:
+          throw new IllegalArgumentException(impl);
+      }
+      intId = type.nameToId("operations");
+      longId = type.nameToId("operationTime");
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public void increment(StatisticsState state) {
+    state.stats.incInt(state.intId, 1);
+    state.stats.incLong(state.longId, 100);
+  }
+
+  @Benchmark
+  @Threads(1)
+  @Warmup(iterations = 10)
+  @Measurement(iterations = 10)
+  public long sample(StatisticsState state) {
+    return state.stats.getInt(state.intId) + state.stats.getLong(state.longId);
+  }
+}
@@ -64,12 +64,37 @@ public final class EvictionAlgorithm extends EnumSyntax {
    */
   public static final EvictionAlgorithm LIFO_MEMORY = new EvictionAlgorithm(5);
 
+  /**
+   * Like {@link #LRU_ENTRY} but chooses the entry to evict by sampling a few entries of the Region
+   * at random instead of keeping every entry in a shared list.
+   *
+   * @since Geode 1.4
+   */
+  public static final EvictionAlgorithm SAMPLED_LRU_ENTRY = new EvictionAlgorithm(6);
+
+  /**
+   * Like {@link #LRU_HEAP} but chooses the entry to evict by sampling a few entries of the Region
+   * at random instead of keeping every entry in a shared list.
+   *
+   * @since Geode 1.4
+   */
+  public static final EvictionAlgorithm SAMPLED_LRU_HEAP = new EvictionAlgorithm(7);
+
+  /**
+   * Like {@link #LRU_MEMORY} but chooses the entry to evict by sampling a few entries of the Region
+   * at random instead of keeping every entry in a shared list.
+   *
+   * @since Geode 1.4
+   */
+  public static final EvictionAlgorithm SAMPLED_LRU_MEMORY = new EvictionAlgorithm(8);
+
   private EvictionAlgorithm(int val) {
     super(val);
   }
 
   private static final String[] stringTable = {"none", "lru-entry-count", "lru-heap-percentage",
-      "lru-memory-size", "lifo-entry-count", "lifo-memory-size"};
+      "lru-memory-size", "lifo-entry-count", "lifo-memory-size", "sampled-lru-entry-count",
+      "sampled-lru-heap-percentage", "sampled-lru-memory-size"};
 
   @Override
   protected String[] getStringTable() {
@@ -77,7 +102,8 @@ public final class EvictionAlgorithm extends EnumSyntax {
   }
 
   private static final EvictionAlgorithm[] enumValueTable =
-      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY,};
+      {NONE, LRU_ENTRY, LRU_HEAP, LRU_MEMORY, LIFO_ENTRY, LIFO_MEMORY, SAMPLED_LRU_ENTRY,
+          SAMPLED_LRU_HEAP, SAMPLED_LRU_MEMORY,};
 
   @Override
   protected EnumSyntax[] getEnumValueTable() {
@@ -112,15 +138,25 @@ public final class EvictionAlgorithm extends EnumSyntax {
   }
 
   public boolean isLRUEntry() {
-    return this == LRU_ENTRY;
+    return this == LRU_ENTRY || this == SAMPLED_LRU_ENTRY;
   }
 
   public boolean isLRUMemory() {
-    return this == LRU_MEMORY;
+    return this == LRU_MEMORY || this == SAMPLED_LRU_MEMORY;
   }
 
   public boolean isLRUHeap() {
-    return this == LRU_HEAP;
+    return this == LRU_HEAP || this == SAMPLED_LRU_HEAP;
+  }
+
+  /**
+   * Returns true if this algorithm picks the entry to evict by random sampling rather than from an
+   * LRU list.
+   *
+   * @since Geode 1.4
+   */
+  public boolean isSampled() {
+    return this == SAMPLED_LRU_ENTRY || this == SAMPLED_LRU_HEAP || this == SAMPLED_LRU_MEMORY;
   }
 
   /** returns true if this object uses a least-recently-used algorithm */
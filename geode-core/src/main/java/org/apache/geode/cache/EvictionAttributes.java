@@ -479,6 +479,66 @@ public abstract class EvictionAttributes implements DataSerializable {
     return buffer.toString();
   }
 
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#SAMPLED_LRU_ENTRY sampled entry LRU} eviction
+   * attributes with given <code>evictionAction</code> and given <code>maximumEntries</code>.
+   * <p>
+   * The entry to evict is the least recently used of a small random sample of the region's entries
+   * rather than the head of an LRU list, so creates, updates and destroys do not contend on a lock
+   * shared by the whole region.
+   *
+   * @param maximumEntries the number of entries to keep in the Region
+   * @param evictionAction the action to perform when evicting an entry
+   * @return {@linkplain EvictionAlgorithm#SAMPLED_LRU_ENTRY sampled entry LRU} eviction attributes
+   *         with given <code>evictionAction</code> and given <code>maximumEntries</code>
+   * @see #createLRUEntryAttributes(int, EvictionAction)
+   * @since Geode 1.4
+   */
+  public static EvictionAttributes createSampledLRUEntryAttributes(int maximumEntries,
+      EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.SAMPLED_LRU_ENTRY)
+        .setAction(evictionAction).internalSetMaximum(maximumEntries);
+  }
+
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#SAMPLED_LRU_HEAP sampled heap LRU} eviction
+   * attributes with the given <code>evictionAction</code> and given <code>sizer</code>.
+   *
+   * @param sizer the sizer implementation used to determine the size of each entry in this region
+   * @param evictionAction the way in which entries should be evicted
+   * @return {@linkplain EvictionAlgorithm#SAMPLED_LRU_HEAP sampled heap LRU} eviction attributes
+   *         with the given <code>evictionAction</code> and given <code>sizer</code>
+   * @see #createLRUHeapAttributes(ObjectSizer, EvictionAction)
+   * @see #createSampledLRUEntryAttributes(int, EvictionAction)
+   * @since Geode 1.4
+   */
+  public static EvictionAttributes createSampledLRUHeapAttributes(final ObjectSizer sizer,
+      final EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.SAMPLED_LRU_HEAP)
+        .setAction(evictionAction).setObjectSizer(sizer);
+  }
+
+  /**
+   * Creates and returns {@linkplain EvictionAlgorithm#SAMPLED_LRU_MEMORY sampled memory LRU}
+   * eviction attributes with the given <code>evictionAction</code>, given <code>sizer</code>, and
+   * given <code>maximumMegabytes</code>.
+   *
+   * @param maximumMegabytes the maximum allowed bytes in the Region
+   * @param sizer calculates the size in bytes of the key and value for an entry.
+   * @param evictionAction the action to take when the maximum has been reached.
+   * @return {@linkplain EvictionAlgorithm#SAMPLED_LRU_MEMORY sampled memory LRU} eviction
+   *         attributes with the given <code>evictionAction</code>, given <code>sizer</code>, and
+   *         given <code>maximumMegabytes</code>
+   * @see #createLRUMemoryAttributes(int, ObjectSizer, EvictionAction)
+   * @see #createSampledLRUEntryAttributes(int, EvictionAction)
+   * @since Geode 1.4
+   */
+  public static EvictionAttributes createSampledLRUMemoryAttributes(int maximumMegabytes,
+      ObjectSizer sizer, EvictionAction evictionAction) {
+    return new EvictionAttributesImpl().setAlgorithm(EvictionAlgorithm.SAMPLED_LRU_MEMORY)
+        .setAction(evictionAction).setObjectSizer(sizer).internalSetMaximum(maximumMegabytes);
+  }
+
   /**
    * @return an EvictionAttributes for the LIFOCapacityController
    * @since GemFire 5.7
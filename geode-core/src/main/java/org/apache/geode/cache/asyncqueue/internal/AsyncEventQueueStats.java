@@ -15,9 +15,12 @@
 package org.apache.geode.cache.asyncqueue.internal;
 
 import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
 import org.apache.geode.StatisticsFactory;
 import org.apache.geode.StatisticsType;
 import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.statistics.LatencyHistogram;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 
@@ -28,13 +31,23 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
   /** The <code>StatisticsType</code> of the statistics */
   private static final StatisticsType type;
 
+  private static final String LISTENER_INVOCATION = "listenerInvocation";
+  private static final String LISTENER_INVOCATIONS = "listenerInvocations";
+  private static final String LISTENER_INVOCATIONS_IN_PROGRESS = "listenerInvocationsInProgress";
+  private static final String LISTENER_INVOCATION_TIME = "listenerInvocationTime";
+  private static final String LISTENER_INVOCATION_FAILURES = "listenerInvocationFailures";
+  private static final String PARALLEL_BATCHES_DISPATCHED = "parallelBatchesDispatched";
+  private static final String BATCH_RETRIES = "batchRetries";
+  private static final String BATCH_RETRY_BACKOFF_TIME = "batchRetryBackoffTime";
+  private static final String EVENTS_NOT_REDISPATCHED = "eventsNotRedispatched";
+
 
   static {
 
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
 
     type = f.createType(typeName, "Stats for activity in the AsyncEventQueue",
-        new StatisticDescriptor[] {
+        LatencyHistogram.withLatencyDescriptors(f, new StatisticDescriptor[] {
             f.createIntCounter(EVENTS_RECEIVED, "Number of events received by this queue.",
                 "operations"),
             f.createIntCounter(EVENTS_QUEUED, "Number of events added to the event queue.",
@@ -98,7 +111,37 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
             f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
                 "Number of synchronization events added to the event queue.", "operations"),
             f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
-                "Number of synchronization events provided to other members.", "operations"),});
+                "Number of synchronization events provided to other members.", "operations"),
+            f.createIntCounter(EVENTS_CONFLATED_IN_QUEUE,
+                "Number of queued events superseded by a newer event on the same key when it was enqueued.",
+                "operations"),
+            f.createIntCounter(EVENTS_REPLACED_IN_QUEUE,
+                "Number of queued events that were replaced in place by a newer event on the same key, keeping their position in the queue.",
+                "operations"),
+            f.createIntCounter(LISTENER_INVOCATIONS,
+                "Number of completed calls to the processEvents method of the queue's listeners.",
+                "operations"),
+            f.createIntGauge(LISTENER_INVOCATIONS_IN_PROGRESS,
+                "Number of calls to the processEvents method of the queue's listeners in progress.",
+                "operations"),
+            f.createLongCounter(LISTENER_INVOCATION_TIME,
+                "Total time spent in the processEvents method of the queue's listeners.",
+                "nanoseconds"),
+            f.createIntCounter(LISTENER_INVOCATION_FAILURES,
+                "Number of calls to the processEvents method of the queue's listeners that returned false or threw an exception.",
+                "operations"),
+            f.createIntCounter(PARALLEL_BATCHES_DISPATCHED,
+                "Number of batches split between several concurrent listener invocations.",
+                "operations"),
+            f.createIntCounter(BATCH_RETRIES,
+                "Number of times a batch was dispatched again after the listeners failed to process part of it.",
+                "operations"),
+            f.createLongCounter(BATCH_RETRY_BACKOFF_TIME,
+                "Total time spent waiting before dispatching a failed batch again.",
+                "nanoseconds"),
+            f.createIntCounter(EVENTS_NOT_REDISPATCHED,
+                "Number of events left out of a retried batch because the listeners already processed them.",
+                "operations"),}, LISTENER_INVOCATION));
 
     // Initialize id fields
     eventsReceivedId = type.nameToId(EVENTS_RECEIVED);
@@ -129,8 +172,22 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
     loadBalanceTimeId = type.nameToId(LOAD_BALANCE_TIME);
     synchronizationEventsEnqueuedId = type.nameToId(SYNCHRONIZATION_EVENTS_ENQUEUED);
     synchronizationEventsProvidedId = type.nameToId(SYNCHRONIZATION_EVENTS_PROVIDED);
+    eventsConflatedInQueueId = type.nameToId(EVENTS_CONFLATED_IN_QUEUE);
+    eventsReplacedInQueueId = type.nameToId(EVENTS_REPLACED_IN_QUEUE);
   }
 
+  private final int listenerInvocationsId;
+  private final int listenerInvocationsInProgressId;
+  private final int listenerInvocationTimeId;
+  private final int listenerInvocationFailuresId;
+  private final int parallelBatchesDispatchedId;
+  private final int batchRetriesId;
+  private final int batchRetryBackoffTimeId;
+  private final int eventsNotRedispatchedId;
+
+  /** Latency of listener invocations, only kept when clock stats are enabled */
+  private final LatencyHistogram listenerInvocationLatency;
+
   /**
    * Constructor.
    *
@@ -140,5 +197,86 @@ public class AsyncEventQueueStats extends GatewaySenderStats {
    */
   public AsyncEventQueueStats(StatisticsFactory f, String asyncQueueId) {
     super(f, asyncQueueId, type);
+    Statistics stats = getStats();
+    this.listenerInvocationsId = type.nameToId(LISTENER_INVOCATIONS);
+    this.listenerInvocationsInProgressId = type.nameToId(LISTENER_INVOCATIONS_IN_PROGRESS);
+    this.listenerInvocationTimeId = type.nameToId(LISTENER_INVOCATION_TIME);
+    this.listenerInvocationFailuresId = type.nameToId(LISTENER_INVOCATION_FAILURES);
+    this.parallelBatchesDispatchedId = type.nameToId(PARALLEL_BATCHES_DISPATCHED);
+    this.batchRetriesId = type.nameToId(BATCH_RETRIES);
+    this.batchRetryBackoffTimeId = type.nameToId(BATCH_RETRY_BACKOFF_TIME);
+    this.eventsNotRedispatchedId = type.nameToId(EVENTS_NOT_REDISPATCHED);
+    if (DistributionStats.enableClockStats) {
+      this.listenerInvocationLatency = new LatencyHistogram();
+      this.listenerInvocationLatency.publishTo(stats, LISTENER_INVOCATION);
+    } else {
+      this.listenerInvocationLatency = null;
+    }
+  }
+
+  /**
+   * Increments the number of listener invocations in progress.
+   *
+   * @return the start time of the invocation
+   */
+  public long startListenerInvocation() {
+    getStats().incInt(this.listenerInvocationsInProgressId, 1);
+    return startTime();
+  }
+
+  /**
+   * Records the end of a listener invocation started by {@link #startListenerInvocation}.
+   *
+   * @param success whether the listener processed the events
+   */
+  public void endListenerInvocation(long start, boolean success) {
+    long elapsed = startTime() - start;
+    Statistics stats = getStats();
+    stats.incInt(this.listenerInvocationsInProgressId, -1);
+    stats.incInt(this.listenerInvocationsId, 1);
+    stats.incLong(this.listenerInvocationTimeId, elapsed);
+    if (!success) {
+      stats.incInt(this.listenerInvocationFailuresId, 1);
+    }
+    if (this.listenerInvocationLatency != null) {
+      this.listenerInvocationLatency.recordValue(elapsed);
+    }
+  }
+
+  public int getListenerInvocations() {
+    return getStats().getInt(this.listenerInvocationsId);
+  }
+
+  public int getListenerInvocationFailures() {
+    return getStats().getInt(this.listenerInvocationFailuresId);
+  }
+
+  public void incParallelBatchesDispatched() {
+    getStats().incInt(this.parallelBatchesDispatchedId, 1);
+  }
+
+  public int getParallelBatchesDispatched() {
+    return getStats().getInt(this.parallelBatchesDispatchedId);
+  }
+
+  /**
+   * Records a retry of a failed batch, after waiting {@code backoffNanos}.
+   */
+  public void incBatchRetries(long backoffNanos) {
+    Statistics stats = getStats();
+    stats.incInt(this.batchRetriesId, 1);
+    stats.incLong(this.batchRetryBackoffTimeId, backoffNanos);
+  }
+
+  public int getBatchRetries() {
+    return getStats().getInt(this.batchRetriesId);
+  }
+
+  public void incEventsNotRedispatched(int delta) {
+    getStats().incInt(this.eventsNotRedispatchedId, delta);
+  }
+
+  public int getEventsNotRedispatched() {
+    return getStats().getInt(this.eventsNotRedispatchedId);
   }
 }
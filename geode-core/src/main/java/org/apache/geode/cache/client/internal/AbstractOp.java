@@ -32,6 +32,8 @@ import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
 import org.apache.geode.internal.cache.tier.sockets.ServerConnection;
+import org.apache.geode.internal.cache.tier.sockets.ServerQueueStatus;
+import org.apache.geode.internal.cache.tier.sockets.WireCompression;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LogMarker;
 
@@ -88,6 +90,7 @@ public abstract class AbstractOp implements Op {
     }
     getMessage().setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
         cnx.getCommBuffer(), cnx.getStats());
+    getMessage().setWireCompression(getWireCompression(cnx));
     try {
       sendMessage(cnx);
     } finally {
@@ -95,6 +98,17 @@ public abstract class AbstractOp implements Op {
     }
   }
 
+  /**
+   * Returns the compression agreed with the server in the connection's handshake, or null if the
+   * connection does not use compression.
+   *
+   * @since Geode 1.4
+   */
+  protected static WireCompression getWireCompression(Connection cnx) {
+    ServerQueueStatus status = cnx.getQueueStatus();
+    return status == null ? null : status.getWireCompression();
+  }
+
   /** returns the class name w/o package information. useful in logging */
   public String getShortClassName() {
     String cname = getClass().getName();
@@ -196,6 +210,7 @@ public abstract class AbstractOp implements Op {
     if (msg != null) {
       msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
           cnx.getCommBuffer(), cnx.getStats());
+      msg.setWireCompression(getWireCompression(cnx));
       if (msg instanceof ChunkedMessage) {
         try {
           return processResponse(msg, cnx);
@@ -186,6 +186,7 @@ public class AuthenticateUserOp {
       if (msg != null) {
         msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
             cnx.getCommBuffer(), cnx.getStats());
+        msg.setWireCompression(getWireCompression(cnx));
         if (msg instanceof ChunkedMessage) {
           try {
             return processResponse(cnx, msg);
@@ -20,9 +20,11 @@ import org.apache.geode.StatisticsFactory;
 import org.apache.geode.StatisticsType;
 import org.apache.geode.StatisticsTypeFactory;
 import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.statistics.LatencyHistogram;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
 import org.apache.geode.internal.cache.PoolStats;
 import org.apache.geode.internal.cache.tier.sockets.MessageStats;
+import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 
 /**
  * Stats for a client to server {@link Connection}
@@ -374,6 +376,12 @@ public class ConnectionStats implements MessageStats {
   private final static int messageBytesBeingReceivedId;
   private final static int receivedBytesId;
   private final static int sentBytesId;
+  private final static int wireUncompressedBytesSentId;
+  private final static int wireCompressedBytesSentId;
+  private final static int wireCompressionTimeId;
+  private final static int wireCompressedBytesReceivedId;
+  private final static int wireUncompressedBytesReceivedId;
+  private final static int wireDecompressionTimeId;
 
   private final static int executeFunctionInProgressId;
   private final static int executeFunctionSendInProgressId;
@@ -445,7 +453,7 @@ public class ConnectionStats implements MessageStats {
     try {
       StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
       type = f.createType("ClientStats", "Statistics about client to server communication",
-          new StatisticDescriptor[] {
+          LatencyHistogram.withLatencyDescriptors(f, new StatisticDescriptor[] {
               ///////////////////////////////////////////////////////////////////////
               /*
                * f.createIntGauge("opsInProgress", "Current number of ops being executed", "ops"),
@@ -825,6 +833,23 @@ public class ConnectionStats implements MessageStats {
               f.createLongGauge("messageBytesBeingReceived",
                   "Current number of bytes consumed by messages being received or processed over a client-to-server connection.",
                   "bytes"),
+              f.createLongCounter("wireUncompressedBytesSent",
+                  "Total number of bytes in the message parts sent to the server that were eligible for compression.",
+                  "bytes"),
+              f.createLongCounter("wireCompressedBytesSent",
+                  "Total number of bytes those message parts took up on the wire after compression.",
+                  "bytes"),
+              f.createLongCounter("wireCompressionTime",
+                  "Total time spent compressing message parts sent to the server.", "nanoseconds"),
+              f.createLongCounter("wireCompressedBytesReceived",
+                  "Total number of bytes in the compressed message parts received from the server.",
+                  "bytes"),
+              f.createLongCounter("wireUncompressedBytesReceived",
+                  "Total number of bytes those message parts took up after decompression.",
+                  "bytes"),
+              f.createLongCounter("wireDecompressionTime",
+                  "Total time spent decompressing message parts received from the server.",
+                  "nanoseconds"),
 
               f.createIntGauge("executeFunctionsInProgress",
                   "Current number of Functions being executed", "executeFunctions"),
@@ -926,7 +951,8 @@ public class ConnectionStats implements MessageStats {
                   "addPdxType"),
               f.createLongCounter("addPdxTypeTime",
                   "Total amount of time, in nanoseconds spent doing addPdxType successfully/unsuccessfully.",
-                  "nanoseconds"),});
+                  "nanoseconds"),},
+              "get", "put", "destroy", "putAll", "getAll", "query", "executeFunction"));
 
       sendType = f.createType("ClientSendStats", "Statistics about client to server communication",
           new StatisticDescriptor[] {
@@ -1622,6 +1648,12 @@ public class ConnectionStats implements MessageStats {
       sentBytesId = type.nameToId("sentBytes");
       messagesBeingReceivedId = type.nameToId("messagesBeingReceived");
       messageBytesBeingReceivedId = type.nameToId("messageBytesBeingReceived");
+      wireUncompressedBytesSentId = type.nameToId("wireUncompressedBytesSent");
+      wireCompressedBytesSentId = type.nameToId("wireCompressedBytesSent");
+      wireCompressionTimeId = type.nameToId("wireCompressionTime");
+      wireCompressedBytesReceivedId = type.nameToId("wireCompressedBytesReceived");
+      wireUncompressedBytesReceivedId = type.nameToId("wireUncompressedBytesReceived");
+      wireDecompressionTimeId = type.nameToId("wireDecompressionTime");
 
       executeFunctionInProgressId = type.nameToId("executeFunctionsInProgress");
       executeFunctionSendInProgressId = sendType.nameToId("executeFunctionSendsInProgress");
@@ -1710,13 +1742,56 @@ public class ConnectionStats implements MessageStats {
   private final Statistics stats;
   private final Statistics sendStats;
   private final PoolStats poolStats;
+  private final GatewaySenderStats gatewaySenderStats;
+
+  /**
+   * Latency histograms of the data operations, including the attempts that failed or timed out.
+   * They are only kept when clock stats are enabled.
+   */
+  private final LatencyHistogram getLatency;
+  private final LatencyHistogram putLatency;
+  private final LatencyHistogram destroyLatency;
+  private final LatencyHistogram putAllLatency;
+  private final LatencyHistogram getAllLatency;
+  private final LatencyHistogram queryLatency;
+  private final LatencyHistogram executeFunctionLatency;
+
+  public ConnectionStats(StatisticsFactory factory, String name, PoolStats poolStats) {
+    this(factory, name, poolStats, null);
+  }
 
-  public ConnectionStats(StatisticsFactory factory, String name,
-      PoolStats poolStats/* , GatewayStats gatewayStats */) {
+  /**
+   * @param gatewaySenderStats the stats of the gateway sender that owns the pool, if any, which
+   *        are also given the wire compression stats of this connection
+   */
+  public ConnectionStats(StatisticsFactory factory, String name, PoolStats poolStats,
+      GatewaySenderStats gatewaySenderStats) {
     this.stats = factory.createAtomicStatistics(type, "ClientStats-" + name);
     this.sendStats = factory.createAtomicStatistics(sendType, "ClientSendStats-" + name);
     this.poolStats = poolStats;
-    // this.gatewayStats = gatewayStats;
+    this.gatewaySenderStats = gatewaySenderStats;
+    this.getLatency = createLatencyHistogram("get");
+    this.putLatency = createLatencyHistogram("put");
+    this.destroyLatency = createLatencyHistogram("destroy");
+    this.putAllLatency = createLatencyHistogram("putAll");
+    this.getAllLatency = createLatencyHistogram("getAll");
+    this.queryLatency = createLatencyHistogram("query");
+    this.executeFunctionLatency = createLatencyHistogram("executeFunction");
+  }
+
+  private LatencyHistogram createLatencyHistogram(String operation) {
+    if (!DistributionStats.enableClockStats) {
+      return null;
+    }
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.publishTo(this.stats, operation);
+    return histogram;
+  }
+
+  private static void recordLatency(LatencyHistogram histogram, long duration) {
+    if (histogram != null) {
+      histogram.recordValue(duration);
+    }
   }
 
   ///////////////////////////////////////////////////////////////////////
@@ -1828,6 +1903,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endGetId, 1);
     this.stats.incLong(getDurationId, duration);
+    recordLatency(this.getLatency, duration);
   }
 
   public int getGets() {
@@ -1894,6 +1970,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endPutId, 1);
     this.stats.incLong(putDurationId, duration);
+    recordLatency(this.putLatency, duration);
   }
 
   public int getPuts() {
@@ -1960,6 +2037,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endDestroyId, 1);
     this.stats.incLong(destroyDurationId, duration);
+    recordLatency(this.destroyLatency, duration);
   }
 
   /**
@@ -2366,6 +2444,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endQueryId, 1);
     this.stats.incLong(queryDurationId, duration);
+    recordLatency(this.queryLatency, duration);
   }
 
   /**
@@ -3099,6 +3178,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endPutAllId, 1);
     this.stats.incLong(putAllDurationId, duration);
+    recordLatency(this.putAllLatency, duration);
   }
 
   /**
@@ -3215,6 +3295,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endGetAllId, 1);
     this.stats.incLong(getAllDurationId, duration);
+    recordLatency(this.getAllLatency, duration);
   }
 
   public int getConnections() {
@@ -3281,6 +3362,38 @@ public class ConnectionStats implements MessageStats {
     }
   }
 
+  @Override
+  public void incWireCompression(long uncompressedBytes, long compressedBytes, long nanos) {
+    this.stats.incLong(wireUncompressedBytesSentId, uncompressedBytes);
+    this.stats.incLong(wireCompressedBytesSentId, compressedBytes);
+    this.stats.incLong(wireCompressionTimeId, nanos);
+    if (this.gatewaySenderStats != null) {
+      this.gatewaySenderStats.incWireCompression(uncompressedBytes, compressedBytes, nanos);
+    }
+  }
+
+  @Override
+  public void incWireDecompression(long compressedBytes, long uncompressedBytes, long nanos) {
+    this.stats.incLong(wireCompressedBytesReceivedId, compressedBytes);
+    this.stats.incLong(wireUncompressedBytesReceivedId, uncompressedBytes);
+    this.stats.incLong(wireDecompressionTimeId, nanos);
+    if (this.gatewaySenderStats != null) {
+      this.gatewaySenderStats.incWireDecompression(compressedBytes, uncompressedBytes, nanos);
+    }
+  }
+
+  /**
+   * Returns the ratio of the size of the message parts sent to the server that were eligible for
+   * compression to their size on the wire, or 1 if none have been sent.
+   */
+  public double getWireCompressionRatio() {
+    long compressed = this.stats.getLong(wireCompressedBytesSentId);
+    if (compressed == 0) {
+      return 1.0;
+    }
+    return (double) this.stats.getLong(wireUncompressedBytesSentId) / compressed;
+  }
+
   /**
    * Records that the specified execute Function is starting
    * <p>
@@ -3334,6 +3447,7 @@ public class ConnectionStats implements MessageStats {
     }
     this.stats.incInt(endExecuteFunctionId, 1);
     this.stats.incLong(executeFunctionDurationId, duration);
+    recordLatency(this.executeFunctionLatency, duration);
   }
 
   public int getExecuteFunctions() {
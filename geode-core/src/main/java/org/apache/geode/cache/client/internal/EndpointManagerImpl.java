@@ -33,6 +33,7 @@ import org.apache.geode.distributed.internal.ServerLocation;
 import org.apache.geode.internal.statistics.DummyStatisticsFactory;
 import org.apache.geode.internal.cache.PoolStats;
 import org.apache.geode.internal.cache.tier.InternalClientMembership;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.logging.LogService;
 
 /**
@@ -225,15 +226,15 @@ public class EndpointManagerImpl implements EndpointManager {
       String statName = poolName + "-" + location.toString();
       PoolImpl pool = (PoolImpl) PoolManager.find(this.poolName);
       if (pool != null) {
-        if (pool.getGatewaySender() != null) {
-          stats = new ConnectionStats(new DummyStatisticsFactory(), statName,
-              this.poolStats/* , this.gatewayStats */);
+        if (pool.getGatewaySender() instanceof AbstractGatewaySender) {
+          stats = new ConnectionStats(new DummyStatisticsFactory(), statName, this.poolStats,
+              ((AbstractGatewaySender) pool.getGatewaySender()).getStatistics());
+        } else if (pool.getGatewaySender() != null) {
+          stats = new ConnectionStats(new DummyStatisticsFactory(), statName, this.poolStats);
         }
       }
       if (stats == null) {
-        stats = new ConnectionStats(ds, statName, this.poolStats/*
-                                                                 * , this.gatewayStats
-                                                                 */);
+        stats = new ConnectionStats(ds, statName, this.poolStats);
       }
       statMap.put(location, stats);
     }
@@ -457,6 +457,7 @@ public class PutOp {
       if (msg != null) {
         msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
             cnx.getCommBuffer(), cnx.getStats());
+        msg.setWireCompression(getWireCompression(cnx));
         if (msg instanceof ChunkedMessage) {
           try {
             return processResponse(msg, cnx);
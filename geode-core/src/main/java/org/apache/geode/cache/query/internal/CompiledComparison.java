@@ -38,6 +38,9 @@ import org.apache.geode.cache.query.types.ObjectType;
 import org.apache.geode.cache.query.types.StructType;
 import org.apache.geode.internal.offheap.annotations.Retained;
 import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.WritablePdxInstance;
+import org.apache.geode.pdx.internal.PdxField;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
 import org.apache.geode.pdx.internal.PdxString;
 
 /**
@@ -79,8 +82,32 @@ public class CompiledComparison extends AbstractCompiledValue
 
   public Object evaluate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
-    Object left = _left.evaluate(context);
-    Object right = _right.evaluate(context);
+    Object left;
+    Object right;
+    if (_left.getType() == PATH && _right.getType() == LITERAL) {
+      CompiledPath path = (CompiledPath) _left;
+      Object receiver = path.getReceiver().evaluate(context);
+      Boolean result =
+          comparePdxField(receiver, path.getTailID(), ((CompiledLiteral) _right)._obj, _operator);
+      if (result != null) {
+        return result;
+      }
+      left = path.evaluateAttribute(context, receiver);
+      right = _right.evaluate(context);
+    } else if (_left.getType() == LITERAL && _right.getType() == PATH) {
+      CompiledPath path = (CompiledPath) _right;
+      Object receiver = path.getReceiver().evaluate(context);
+      Boolean result = comparePdxField(receiver, path.getTailID(),
+          ((CompiledLiteral) _left)._obj, reflectOperator(_operator));
+      if (result != null) {
+        return result;
+      }
+      left = _left.evaluate(context);
+      right = path.evaluateAttribute(context, receiver);
+    } else {
+      left = _left.evaluate(context);
+      right = _right.evaluate(context);
+    }
 
     if (context.isCqQueryContext() && left instanceof Region.Entry) {
       left = ((Region.Entry) left).getValue();
@@ -135,6 +162,67 @@ public class CompiledComparison extends AbstractCompiledValue
     return TypeUtils.compare(left, right, _operator);
   }
 
+  /**
+   * Compares a field of a serialized PDX instance to a literal without deserializing the field.
+   * Only integral and String fields are handled here, where the field comparison agrees with
+   * {@link TypeUtils#compare}; anything else returns null and is compared the usual way.
+   */
+  private static Boolean comparePdxField(Object receiver, String fieldName, Object literal,
+      int operator) {
+    if (!(receiver instanceof PdxInstanceImpl) || receiver instanceof WritablePdxInstance
+        || literal == null) {
+      return null;
+    }
+    PdxInstanceImpl pdx = (PdxInstanceImpl) receiver;
+    PdxField field = pdx.getPdxField(fieldName);
+    if (field == null) {
+      return null;
+    }
+    int result;
+    switch (field.getFieldType()) {
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+        if (literal instanceof Integer || literal instanceof Long || literal instanceof Short
+            || literal instanceof Byte) {
+          result = pdx.compareLongField(field, ((Number) literal).longValue());
+        } else if ((literal instanceof Double || literal instanceof Float)
+            && !Double.isNaN(((Number) literal).doubleValue())) {
+          // adding 0.0 turns -0.0 into 0.0 so it equals a zero field
+          result = pdx.compareDoubleField(field, ((Number) literal).doubleValue() + 0.0);
+        } else {
+          return null;
+        }
+        break;
+      case STRING:
+        // a null field is left to TypeUtils, which has its own null semantics
+        if (!(literal instanceof String) || pdx.compareStringField(field, null) == 0) {
+          return null;
+        }
+        result = pdx.compareStringField(field, (String) literal);
+        break;
+      default:
+        return null;
+    }
+    switch (operator) {
+      case TOK_EQ:
+        return result == 0;
+      case TOK_NE:
+        return result != 0;
+      case TOK_LT:
+        return result < 0;
+      case TOK_LE:
+        return result <= 0;
+      case TOK_GT:
+        return result > 0;
+      case TOK_GE:
+        return result >= 0;
+      default:
+        return null;
+    }
+  }
+
   /**
    * Asif : Evaluates as a filter taking advantage of indexes if appropriate. This function has a
    * meaningful implementation only in CompiledComparison & CompiledUndefined . It is unsupported in
@@ -88,9 +88,15 @@ public class CompiledPath extends AbstractCompiledValue {
 
   public Object evaluate(ExecutionContext context) throws FunctionDomainException,
       TypeMismatchException, NameResolutionException, QueryInvocationTargetException {
-    CompiledValue rcvr = getReceiver();
-    Object evalRcvr = rcvr.evaluate(context);
+    return evaluateAttribute(context, getReceiver().evaluate(context));
+  }
 
+  /**
+   * Evaluates the tail attribute of this path on an already evaluated receiver.
+   */
+  Object evaluateAttribute(ExecutionContext context, Object evalRcvr)
+      throws FunctionDomainException, TypeMismatchException, NameResolutionException,
+      QueryInvocationTargetException {
     if (context.isCqQueryContext()
         && (evalRcvr instanceof Region.Entry || evalRcvr instanceof CqEntry)) {
       try {
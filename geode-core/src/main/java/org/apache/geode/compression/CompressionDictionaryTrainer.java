@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.internal.util.BlobHelper;
+
+/**
+ * Builds a dictionary for a {@link DictionaryCompressor} from a sample of the values it will
+ * compress.
+ * <p>
+ * Every run of {@value #DMER_SIZE} bytes in the samples is counted once per sample it occurs in.
+ * The samples are then cut into segments of {@value #SEGMENT_SIZE} bytes, each scored by how many
+ * samples share its runs, and the best segments are chosen greedily; once a run has been covered
+ * by a chosen segment it no longer adds to the score of other segments, so the dictionary does not
+ * fill up with copies of the same bytes. The best segments are placed at the end of the dictionary
+ * where they are closest to the value being compressed.
+ * <p>
+ * A typical use is to sample an existing region and create a new region, or recreate the cluster
+ * configuration of the existing one, with the trained compressor:
+ *
+ * <pre>
+ * CompressionDictionaryTrainer trainer = new CompressionDictionaryTrainer(16 * 1024);
+ * trainer.addSamples(region, 1000);
+ * Compressor compressor = new LZ4Compressor(trainer.train());
+ * </pre>
+ *
+ * @since Geode 1.4
+ */
+public class CompressionDictionaryTrainer {
+
+  /**
+   * The length of the byte runs that are counted.
+   */
+  public static final int DMER_SIZE = 6;
+
+  /**
+   * The length of the pieces of the samples that the dictionary is made of.
+   */
+  public static final int SEGMENT_SIZE = 32;
+
+  private final int maxDictionarySize;
+
+  private final List<byte[]> samples = new ArrayList<>();
+
+  /**
+   * @param maxDictionarySize the largest dictionary {@link #train()} may return
+   */
+  public CompressionDictionaryTrainer(int maxDictionarySize) {
+    if (maxDictionarySize <= 0) {
+      throw new IllegalArgumentException(
+          "maxDictionarySize must be positive but was " + maxDictionarySize);
+    }
+    this.maxDictionarySize = maxDictionarySize;
+  }
+
+  /**
+   * Adds one value, in the serialized form that the compressor will see, to the samples.
+   */
+  public void addSample(byte[] value) {
+    if (value != null && value.length >= DMER_SIZE) {
+      this.samples.add(value);
+    }
+  }
+
+  /**
+   * Serializes and adds up to <code>maxSamples</code> of the region's values to the samples.
+   *
+   * @return the number of samples added
+   */
+  public int addSamples(Region<?, ?> region, int maxSamples) {
+    int added = 0;
+    for (Object value : region.values()) {
+      if (added >= maxSamples) {
+        break;
+      }
+      try {
+        addSample(BlobHelper.serializeToBlob(value));
+      } catch (IOException e) {
+        throw new CompressionException("Could not serialize a sample of " + region.getFullPath(),
+            e);
+      }
+      added++;
+    }
+    return added;
+  }
+
+  public int getSampleCount() {
+    return this.samples.size();
+  }
+
+  /**
+   * Returns a dictionary of at most the maximum size built from the samples added so far. The
+   * result is empty if the samples have nothing in common.
+   */
+  public byte[] train() {
+    Map<Long, int[]> frequencies = countDmers();
+
+    PriorityQueue<Segment> candidates = new PriorityQueue<>();
+    for (byte[] sample : this.samples) {
+      for (int start = 0; start + DMER_SIZE <= sample.length; start += SEGMENT_SIZE / 2) {
+        Segment segment = new Segment(sample, start);
+        segment.score(frequencies);
+        if (segment.score > 0) {
+          candidates.add(segment);
+        }
+      }
+    }
+
+    List<Segment> chosen = new ArrayList<>();
+    int size = 0;
+    while (size < this.maxDictionarySize && !candidates.isEmpty()) {
+      Segment best = candidates.poll();
+      // Scores only go down as runs are covered, so a segment whose rescored value still beats
+      // the next candidate's stale score is the best remaining one.
+      best.score(frequencies);
+      if (best.score == 0) {
+        continue;
+      }
+      if (!candidates.isEmpty() && best.score < candidates.peek().score) {
+        candidates.add(best);
+        continue;
+      }
+      best.cover(frequencies);
+      chosen.add(best);
+      size += best.length;
+    }
+
+    size = Math.min(size, this.maxDictionarySize);
+    byte[] dictionary = new byte[size];
+    int end = size;
+    for (Segment segment : chosen) {
+      int length = Math.min(segment.length, end);
+      end -= length;
+      System.arraycopy(segment.sample, segment.start, dictionary, end, length);
+      if (end == 0) {
+        break;
+      }
+    }
+    return dictionary;
+  }
+
+  private Map<Long, int[]> countDmers() {
+    Map<Long, int[]> frequencies = new HashMap<>();
+    Set<Long> seen = new HashSet<>();
+    for (byte[] sample : this.samples) {
+      seen.clear();
+      for (int i = 0; i + DMER_SIZE <= sample.length; i++) {
+        Long key = dmer(sample, i);
+        if (seen.add(key)) {
+          frequencies.computeIfAbsent(key, k -> new int[1])[0]++;
+        }
+      }
+    }
+    return frequencies;
+  }
+
+  private static long dmer(byte[] bytes, int offset) {
+    long key = 0;
+    for (int i = 0; i < DMER_SIZE; i++) {
+      key = (key << 8) | (bytes[offset + i] & 0xFF);
+    }
+    return key;
+  }
+
+  private static class Segment implements Comparable<Segment> {
+    private final byte[] sample;
+    private final int start;
+    private final int length;
+    private long score;
+
+    Segment(byte[] sample, int start) {
+      this.sample = sample;
+      this.start = start;
+      this.length = Math.min(SEGMENT_SIZE, sample.length - start);
+    }
+
+    /**
+     * Sets the score to the number of other samples sharing each run that has not been covered.
+     */
+    void score(Map<Long, int[]> frequencies) {
+      long total = 0;
+      for (int i = this.start; i + DMER_SIZE <= this.start + this.length; i++) {
+        int[] frequency = frequencies.get(dmer(this.sample, i));
+        if (frequency != null && frequency[0] > 1) {
+          total += frequency[0] - 1;
+        }
+      }
+      this.score = total;
+    }
+
+    void cover(Map<Long, int[]> frequencies) {
+      for (int i = this.start; i + DMER_SIZE <= this.start + this.length; i++) {
+        int[] frequency = frequencies.get(dmer(this.sample, i));
+        if (frequency != null) {
+          frequency[0] = 0;
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(Segment other) {
+      return Long.compare(other.score, this.score);
+    }
+  }
+}
@@ -0,0 +1,203 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * An implementation of {@link Compressor} that uses the JDK's deflate codec. It compresses better
+ * than {@link SnappyCompressor} and {@link LZ4Compressor} at a higher CPU cost, so it suits regions
+ * whose values are large or rarely read.
+ * <p>
+ * Each compressed value starts with its uncompressed length as a four byte big-endian int,
+ * followed by a zlib stream. If a dictionary is given it is used as the deflate preset
+ * dictionary; deflate only looks back 32K so only the last 32768 bytes of a larger dictionary are
+ * useful. The compression level (0-9, default 6) is set with the <code>level</code> parameter.
+ *
+ * @since Geode 1.4
+ */
+public class DeflateCompressor extends DictionaryCompressor {
+  private static final long serialVersionUID = -5215718339441916097L;
+
+  /**
+   * The name of the parameter that holds the compression level.
+   */
+  public static final String LEVEL = "level";
+
+  private static final int HEADER_SIZE = 4;
+
+  private int level = Deflater.DEFAULT_COMPRESSION;
+
+  /**
+   * Deflaters and Inflaters hold native memory so each thread reuses its own.
+   */
+  private transient volatile ThreadLocal<Deflater> deflaters;
+  private transient volatile ThreadLocal<Inflater> inflaters;
+
+  /**
+   * Create a new instance of the DeflateCompressor with the default level and no dictionary.
+   */
+  public DeflateCompressor() {}
+
+  /**
+   * Create a new instance of the DeflateCompressor with the given level and dictionary.
+   *
+   * @param level the compression level, from {@link Deflater#BEST_SPEED} to
+   *        {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+   * @param dictionary the preset dictionary or null for none
+   */
+  public DeflateCompressor(int level, byte[] dictionary) {
+    super(dictionary);
+    setLevel(level);
+  }
+
+  @Override
+  public void init(Properties props) {
+    super.init(props);
+    String value = props.getProperty(LEVEL);
+    if (value != null) {
+      try {
+        setLevel(Integer.parseInt(value.trim()));
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("The " + LEVEL + " parameter of "
+            + getClass().getName() + " must be an integer but was " + value, e);
+      }
+    }
+  }
+
+  @Override
+  public Properties getConfig() {
+    Properties props = super.getConfig();
+    if (this.level != Deflater.DEFAULT_COMPRESSION) {
+      props.setProperty(LEVEL, String.valueOf(this.level));
+    }
+    return props;
+  }
+
+  public int getLevel() {
+    return this.level;
+  }
+
+  private void setLevel(int level) {
+    if (level != Deflater.DEFAULT_COMPRESSION
+        && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+      throw new IllegalArgumentException("Invalid deflate level " + level);
+    }
+    this.level = level;
+    this.deflaters = null;
+  }
+
+  @Override
+  public byte[] compress(byte[] input) {
+    Deflater deflater = getDeflater();
+    deflater.reset();
+    byte[] dict = dictionary();
+    if (dict.length > 0) {
+      deflater.setDictionary(dict);
+    }
+    deflater.setInput(input);
+    deflater.finish();
+
+    byte[] out = new byte[HEADER_SIZE + input.length + (input.length >>> 12) + 64];
+    out[0] = (byte) (input.length >>> 24);
+    out[1] = (byte) (input.length >>> 16);
+    out[2] = (byte) (input.length >>> 8);
+    out[3] = (byte) input.length;
+    int op = HEADER_SIZE;
+    while (!deflater.finished()) {
+      if (op == out.length) {
+        out = Arrays.copyOf(out, out.length * 2);
+      }
+      op += deflater.deflate(out, op, out.length - op);
+    }
+    return op == out.length ? out : Arrays.copyOf(out, op);
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    if (input.length < HEADER_SIZE) {
+      throw new CompressionException("Compressed value is only " + input.length + " bytes long");
+    }
+    int length = ((input[0] & 0xFF) << 24) | ((input[1] & 0xFF) << 16) | ((input[2] & 0xFF) << 8)
+        | (input[3] & 0xFF);
+    if (length < 0) {
+      throw new CompressionException("Compressed value has a negative length " + length);
+    }
+    Inflater inflater = getInflater();
+    inflater.reset();
+    inflater.setInput(input, HEADER_SIZE, input.length - HEADER_SIZE);
+    byte[] out = new byte[length];
+    int op = 0;
+    try {
+      while (!inflater.finished()) {
+        int n = inflater.inflate(out, op, out.length - op);
+        if (n == 0) {
+          if (inflater.needsDictionary()) {
+            byte[] dict = dictionary();
+            if (dict.length == 0) {
+              throw new CompressionException(
+                  "Value was compressed with a dictionary but this compressor has none");
+            }
+            inflater.setDictionary(dict);
+          } else {
+            // out of input or out of room, either way the length check below reports it
+            break;
+          }
+        }
+        op += n;
+      }
+    } catch (DataFormatException | IllegalArgumentException e) {
+      throw new CompressionException(e);
+    }
+    if (op != length) {
+      throw new CompressionException(
+          "Decompressed " + op + " bytes but the value is " + length + " bytes long");
+    }
+    return out;
+  }
+
+  private Deflater getDeflater() {
+    ThreadLocal<Deflater> local = this.deflaters;
+    if (local == null) {
+      final int deflateLevel = this.level;
+      local = ThreadLocal.withInitial(() -> new Deflater(deflateLevel));
+      this.deflaters = local;
+    }
+    return local.get();
+  }
+
+  private Inflater getInflater() {
+    ThreadLocal<Inflater> local = this.inflaters;
+    if (local == null) {
+      local = ThreadLocal.withInitial(Inflater::new);
+      this.inflaters = local;
+    }
+    return local.get();
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * super.hashCode() + this.level;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    return super.equals(other) && this.level == ((DeflateCompressor) other).level;
+  }
+}
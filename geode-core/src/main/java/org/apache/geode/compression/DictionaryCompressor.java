@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Properties;
+
+import org.apache.geode.cache.Declarable;
+
+/**
+ * Base class for a {@link Compressor} that can be primed with a dictionary of bytes that are
+ * expected to occur in the values being compressed. Small values, such as individual PDX or JSON
+ * documents, rarely contain enough repetition on their own to compress well; a dictionary built
+ * from a sample of a region's values with a {@link CompressionDictionaryTrainer} supplies that
+ * repetition up front.
+ * <p>
+ * The dictionary is part of the compressor's configuration: values compressed with one dictionary
+ * can only be decompressed with the same dictionary. It is declared in cache.xml (and so in the
+ * cluster configuration) as a base64 encoded parameter:
+ *
+ * <pre>
+ *        &lt;compressor&gt;
+ *          &lt;class-name&gt;org.apache.geode.compression.LZ4Compressor&lt;/class-name&gt;
+ *          &lt;parameter name="dictionary"&gt;
+ *            &lt;string&gt;eyJuYW1lIjoi...&lt;/string&gt;
+ *          &lt;/parameter&gt;
+ *        &lt;/compressor&gt;
+ * </pre>
+ *
+ * @since Geode 1.4
+ */
+public abstract class DictionaryCompressor implements Compressor, Declarable, Serializable {
+  private static final long serialVersionUID = -2880381442311722218L;
+
+  /**
+   * The name of the parameter that holds the base64 encoded dictionary.
+   */
+  public static final String DICTIONARY = "dictionary";
+
+  private static final byte[] NO_DICTIONARY = new byte[0];
+
+  private byte[] dictionary = NO_DICTIONARY;
+
+  protected DictionaryCompressor() {}
+
+  protected DictionaryCompressor(byte[] dictionary) {
+    setDictionary(dictionary);
+  }
+
+  /**
+   * Sets the dictionary from the <code>dictionary</code> parameter, if there is one.
+   */
+  @Override
+  public void init(Properties props) {
+    String encoded = props.getProperty(DICTIONARY);
+    if (encoded != null) {
+      try {
+        setDictionary(Base64.getDecoder().decode(encoded.trim()));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException(
+            "The " + DICTIONARY + " parameter of " + getClass().getName() + " is not base64", e);
+      }
+    }
+  }
+
+  /**
+   * Returns the parameters that recreate this compressor when passed to {@link #init(Properties)}.
+   */
+  public Properties getConfig() {
+    Properties props = new Properties();
+    if (this.dictionary.length > 0) {
+      props.setProperty(DICTIONARY, Base64.getEncoder().encodeToString(this.dictionary));
+    }
+    return props;
+  }
+
+  /**
+   * Returns a copy of the dictionary, which is empty if this compressor does not use one.
+   */
+  public byte[] getDictionary() {
+    return this.dictionary.clone();
+  }
+
+  /**
+   * Returns the dictionary itself, for use by subclasses that do not modify it.
+   */
+  protected byte[] dictionary() {
+    return this.dictionary;
+  }
+
+  private void setDictionary(byte[] dictionary) {
+    byte[] copy = dictionary == null ? NO_DICTIONARY : dictionary.clone();
+    validateDictionary(copy);
+    this.dictionary = copy;
+    dictionaryChanged();
+  }
+
+  /**
+   * Throws IllegalArgumentException if the given dictionary can not be used by this compressor.
+   */
+  protected void validateDictionary(byte[] dictionary) {}
+
+  /**
+   * Called after the dictionary has been set so that any state derived from it can be rebuilt.
+   */
+  protected void dictionaryChanged() {}
+
+  @Override
+  public int hashCode() {
+    return 31 * getClass().getName().hashCode() + Arrays.hashCode(this.dictionary);
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof DictionaryCompressor)) {
+      return false;
+    }
+    if (!getClass().getName().equals(other.getClass().getName())) {
+      return false;
+    }
+    return Arrays.equals(this.dictionary, ((DictionaryCompressor) other).dictionary);
+  }
+}
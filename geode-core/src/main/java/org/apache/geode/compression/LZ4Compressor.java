@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.compression;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of {@link Compressor} that uses the LZ4 block format. It favors speed over
+ * ratio: compression is a single pass with a small hash table and decompression is little more
+ * than a sequence of array copies.
+ * <p>
+ * Each compressed value starts with its uncompressed length as a four byte big-endian int,
+ * followed by one LZ4 block. If a dictionary is given, matches may refer back into the dictionary
+ * as though it immediately preceded the value; since LZ4 offsets are limited to 64K the dictionary
+ * may be at most 65536 bytes long.
+ *
+ * @since Geode 1.4
+ */
+public class LZ4Compressor extends DictionaryCompressor {
+  private static final long serialVersionUID = 3271394830617281641L;
+
+  /**
+   * The largest dictionary that can be used, set by the largest offset LZ4 can encode.
+   */
+  public static final int MAX_DICTIONARY_SIZE = 1 << 16;
+
+  private static final int HEADER_SIZE = 4;
+  private static final int MIN_MATCH = 4;
+  private static final int MAX_OFFSET = 65535;
+  private static final int LAST_LITERALS = 5;
+  private static final int MF_LIMIT = 12;
+  private static final int SKIP_TRIGGER = 6;
+  private static final int HASH_LOG = 12;
+  private static final int HASH_TABLE_SIZE = 1 << HASH_LOG;
+  private static final int RUN_MASK = 0x0F;
+
+  /**
+   * The hash table primed with the positions of the dictionary, copied at the start of each
+   * compression. Built the first time it is needed.
+   */
+  private transient volatile int[] dictionaryTable;
+
+  /**
+   * Create a new instance of the LZ4Compressor that does not use a dictionary.
+   */
+  public LZ4Compressor() {}
+
+  /**
+   * Create a new instance of the LZ4Compressor that uses the given dictionary.
+   *
+   * @throws IllegalArgumentException if the dictionary is larger than {@link #MAX_DICTIONARY_SIZE}
+   */
+  public LZ4Compressor(byte[] dictionary) {
+    super(dictionary);
+  }
+
+  @Override
+  protected void validateDictionary(byte[] dictionary) {
+    if (dictionary.length > MAX_DICTIONARY_SIZE) {
+      throw new IllegalArgumentException("An LZ4 dictionary can not be larger than "
+          + MAX_DICTIONARY_SIZE + " bytes but was " + dictionary.length);
+    }
+  }
+
+  @Override
+  protected void dictionaryChanged() {
+    this.dictionaryTable = null;
+  }
+
+  @Override
+  public byte[] compress(byte[] input) {
+    byte[] dict = dictionary();
+    byte[] src;
+    int[] table;
+    if (dict.length == 0) {
+      src = input;
+      table = new int[HASH_TABLE_SIZE];
+    } else {
+      src = new byte[dict.length + input.length];
+      System.arraycopy(dict, 0, src, 0, dict.length);
+      System.arraycopy(input, 0, src, dict.length, input.length);
+      table = getDictionaryTable(dict).clone();
+    }
+
+    byte[] out = new byte[HEADER_SIZE + input.length + input.length / 255 + 16];
+    writeInt(out, 0, input.length);
+    int op = HEADER_SIZE;
+
+    int anchor = dict.length;
+    int end = src.length;
+    int matchLimit = end - LAST_LITERALS;
+    int mfLimit = end - MF_LIMIT;
+    int ip = anchor;
+    while (ip < mfLimit) {
+      int h = hash(readInt(src, ip));
+      int ref = table[h];
+      table[h] = ip;
+      if (ref >= ip || ip - ref > MAX_OFFSET || readInt(src, ref) != readInt(src, ip)) {
+        // Step further the longer we go without a match so incompressible input is cheap
+        ip += 1 + ((ip - anchor) >>> SKIP_TRIGGER);
+        continue;
+      }
+      while (ip > anchor && ref > 0 && src[ip - 1] == src[ref - 1]) {
+        ip--;
+        ref--;
+      }
+      int len = MIN_MATCH;
+      while (ip + len < matchLimit && src[ref + len] == src[ip + len]) {
+        len++;
+      }
+      op = writeSequence(src, anchor, ip - anchor, ip - ref, len, out, op);
+      ip += len;
+      anchor = ip;
+      if (ip < mfLimit) {
+        table[hash(readInt(src, ip - 2))] = ip - 2;
+      }
+    }
+    op = writeLiterals(src, anchor, end - anchor, out, op);
+    return Arrays.copyOf(out, op);
+  }
+
+  @Override
+  public byte[] decompress(byte[] input) {
+    if (input.length < HEADER_SIZE) {
+      throw new CompressionException("Compressed value is only " + input.length + " bytes long");
+    }
+    int length = readInt(input, 0);
+    if (length < 0) {
+      throw new CompressionException("Compressed value has a negative length " + length);
+    }
+    byte[] dict = dictionary();
+    byte[] out = new byte[length];
+    int ip = HEADER_SIZE;
+    int op = 0;
+    try {
+      while (ip < input.length) {
+        int token = input[ip++] & 0xFF;
+        int literals = token >>> 4;
+        if (literals == RUN_MASK) {
+          int b;
+          do {
+            b = input[ip++] & 0xFF;
+            literals += b;
+          } while (b == 255);
+        }
+        System.arraycopy(input, ip, out, op, literals);
+        ip += literals;
+        op += literals;
+        if (ip == input.length) {
+          break;
+        }
+
+        int offset = (input[ip++] & 0xFF) | ((input[ip++] & 0xFF) << 8);
+        int matchLength = token & RUN_MASK;
+        if (matchLength == RUN_MASK) {
+          int b;
+          do {
+            b = input[ip++] & 0xFF;
+            matchLength += b;
+          } while (b == 255);
+        }
+        matchLength += MIN_MATCH;
+        int ref = op - offset;
+        if (offset == 0 || ref < -dict.length || op + matchLength > length) {
+          throw new CompressionException("Corrupt LZ4 block at offset " + ip);
+        }
+        if (ref < 0) {
+          int fromDictionary = Math.min(-ref, matchLength);
+          System.arraycopy(dict, dict.length + ref, out, op, fromDictionary);
+          op += fromDictionary;
+          ref += fromDictionary;
+          matchLength -= fromDictionary;
+          if (matchLength == 0) {
+            continue;
+          }
+        }
+        if (op - ref >= matchLength) {
+          System.arraycopy(out, ref, out, op, matchLength);
+          op += matchLength;
+        } else {
+          // overlapping match, the bytes being copied are still being written
+          for (int i = 0; i < matchLength; i++) {
+            out[op++] = out[ref++];
+          }
+        }
+      }
+    } catch (IndexOutOfBoundsException e) {
+      throw new CompressionException("Corrupt LZ4 block", e);
+    }
+    if (op != length) {
+      throw new CompressionException(
+          "Decompressed " + op + " bytes but the value is " + length + " bytes long");
+    }
+    return out;
+  }
+
+  private int[] getDictionaryTable(byte[] dict) {
+    int[] result = this.dictionaryTable;
+    if (result == null) {
+      result = new int[HASH_TABLE_SIZE];
+      for (int i = 0; i + MIN_MATCH <= dict.length; i++) {
+        result[hash(readInt(dict, i))] = i;
+      }
+      this.dictionaryTable = result;
+    }
+    return result;
+  }
+
+  private static int writeSequence(byte[] src, int literalStart, int literals, int offset,
+      int matchLength, byte[] out, int op) {
+    int token = op++;
+    if (literals >= RUN_MASK) {
+      out[token] = (byte) (RUN_MASK << 4);
+      op = writeLength(literals - RUN_MASK, out, op);
+    } else {
+      out[token] = (byte) (literals << 4);
+    }
+    System.arraycopy(src, literalStart, out, op, literals);
+    op += literals;
+    out[op++] = (byte) offset;
+    out[op++] = (byte) (offset >>> 8);
+    int length = matchLength - MIN_MATCH;
+    if (length >= RUN_MASK) {
+      out[token] |= RUN_MASK;
+      op = writeLength(length - RUN_MASK, out, op);
+    } else {
+      out[token] |= length;
+    }
+    return op;
+  }
+
+  private static int writeLiterals(byte[] src, int literalStart, int literals, byte[] out,
+      int op) {
+    if (literals >= RUN_MASK) {
+      out[op++] = (byte) (RUN_MASK << 4);
+      op = writeLength(literals - RUN_MASK, out, op);
+    } else {
+      out[op++] = (byte) (literals << 4);
+    }
+    System.arraycopy(src, literalStart, out, op, literals);
+    return op + literals;
+  }
+
+  private static int writeLength(int length, byte[] out, int op) {
+    while (length >= 255) {
+      out[op++] = (byte) 255;
+      length -= 255;
+    }
+    out[op++] = (byte) length;
+    return op;
+  }
+
+  private static int hash(int sequence) {
+    return (sequence * -1640531535) >>> (32 - HASH_LOG);
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+        | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+  }
+
+  private static void writeInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+}
@@ -1754,7 +1754,8 @@ public interface ConfigurationProperties {
    * </p>
    * <U>Description</U>: The rate, in milliseconds, at which samples of the statistics will be
    * taken. If set to a value less than 1000 the rate will be set to 1000 because the VSD tool does
-   * not support sub-second sampling.
+   * not support sub-second sampling, unless the system property
+   * <code>gemfire.stats.subSecondSampling</code> is set to true.
    * </p>
    * <U>Default</U>: "1000"
    * </p>
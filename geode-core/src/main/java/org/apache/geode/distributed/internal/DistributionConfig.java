@@ -541,6 +541,14 @@ public interface DistributionConfig extends Config, LogConfig {
    * Actual value of this constant is <code>100</code> milliseconds.
    */
   int MIN_STATISTIC_SAMPLE_RATE = 100;
+  /**
+   * System property that allows a {@link ConfigurationProperties#STATISTIC_SAMPLE_RATE} below
+   * {@link #DEFAULT_STATISTIC_SAMPLE_RATE}, down to {@link #MIN_STATISTIC_SAMPLE_RATE}. Archives
+   * written with sub-second samples can be read with StatArchiveReader but not with VSD.
+   *
+   * @since Geode 1.4
+   */
+  String SUB_SECOND_SAMPLING_PROPERTY = GEMFIRE_PREFIX + "stats.subSecondSampling";
   /**
    * The maximum {@link ConfigurationProperties#STATISTIC_SAMPLE_RATE}.
    * <p>
@@ -2003,7 +2003,8 @@ public class DistributionConfigImpl extends AbstractDistributionConfig implement
 
   public void setStatisticSampleRate(int value) {
     value = (Integer) value;
-    if (value < DEFAULT_STATISTIC_SAMPLE_RATE) {
+    if (value < DEFAULT_STATISTIC_SAMPLE_RATE
+        && !Boolean.getBoolean(SUB_SECOND_SAMPLING_PROPERTY)) {
       // fix 48228
       InternalDistributedSystem ids = InternalDistributedSystem.getConnectedInstance();
       if (ids != null) {
@@ -103,6 +103,7 @@ import org.apache.geode.internal.security.SecurityServiceFactory;
 import org.apache.geode.internal.statistics.DummyStatisticsImpl;
 import org.apache.geode.internal.statistics.GemFireStatSampler;
 import org.apache.geode.internal.statistics.LocalStatisticsImpl;
+import org.apache.geode.internal.statistics.OpenMetricsExporter;
 import org.apache.geode.internal.statistics.StatisticsImpl;
 import org.apache.geode.internal.statistics.StatisticsManager;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
@@ -240,6 +241,11 @@ public class InternalDistributedSystem extends DistributedSystem
    */
   private GemFireStatSampler sampler = null;
 
+  /**
+   * Serves the statistics of this DistributedSystem over http, if enabled.
+   */
+  private OpenMetricsExporter openMetricsExporter = null;
+
   /**
    * A set of listeners that are invoked when this connection to the distributed system is
    * disconnected
@@ -789,6 +795,12 @@ public class InternalDistributedSystem extends DistributedSystem
         // even if sampling is not enabled.
         this.sampler = new GemFireStatSampler(this);
         this.sampler.start();
+
+        int openMetricsPort = OpenMetricsExporter.getConfiguredPort();
+        if (openMetricsPort > 0) {
+          this.openMetricsExporter = new OpenMetricsExporter(this, this.securityService);
+          this.openMetricsExporter.start(this.config.getHttpServiceBindAddress(), openMetricsPort);
+        }
       }
 
       if (this.logWriterAppender != null) {
@@ -1457,6 +1469,11 @@ public class InternalDistributedSystem extends DistributedSystem
 
       (new FunctionServiceManager()).unregisterAllFunctions();
 
+      if (this.openMetricsExporter != null) {
+        this.openMetricsExporter.stop();
+        this.openMetricsExporter = null;
+      }
+
       if (this.sampler != null) {
         this.sampler.stop();
         this.sampler = null;
@@ -72,7 +72,8 @@ public class RuntimeDistributionConfigImpl extends DistributionConfigImpl {
   @Override
   public void setStatisticSampleRate(int value) {
     value = (Integer) checkAttribute(STATISTIC_SAMPLE_RATE, value);
-    if (value < DEFAULT_STATISTIC_SAMPLE_RATE) {
+    if (value < DEFAULT_STATISTIC_SAMPLE_RATE
+        && !Boolean.getBoolean(SUB_SECOND_SAMPLING_PROPERTY)) {
       // fix 48228
       this.ds.getLogWriter()
           .info("Setting statistic-sample-rate to " + DEFAULT_STATISTIC_SAMPLE_RATE
@@ -340,6 +340,7 @@ import org.apache.geode.internal.cache.partitioned.ManageBucketMessage;
 import org.apache.geode.internal.cache.partitioned.ManageBucketMessage.ManageBucketReplyMessage;
 import org.apache.geode.internal.cache.partitioned.MoveBucketMessage;
 import org.apache.geode.internal.cache.partitioned.MoveBucketMessage.MoveBucketReplyMessage;
+import org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe;
 import org.apache.geode.internal.cache.partitioned.PRSanityCheckMessage;
 import org.apache.geode.internal.cache.partitioned.PRTombstoneMessage;
 import org.apache.geode.internal.cache.partitioned.PRUpdateEntryVersionMessage;
@@ -931,6 +932,7 @@ public class DSFIDFactory implements DataSerializableFixedID {
     registerDSFID(PR_DESTROY_ON_DATA_STORE_MESSAGE, DestroyRegionOnDataStoreMessage.class);
     registerDSFID(SHUTDOWN_ALL_GATEWAYHUBS_REQUEST, ShutdownAllGatewayHubsRequest.class);
     registerDSFID(BUCKET_COUNT_LOAD_PROBE, BucketCountLoadProbe.class);
+    registerDSFID(OPERATION_RATE_LOAD_PROBE, OperationRateLoadProbe.class);
     registerDSFID(GATEWAY_SENDER_QUEUE_ENTRY_SYNCHRONIZATION_MESSAGE,
         GatewaySenderQueueEntrySynchronizationOperation.GatewaySenderQueueEntrySynchronizationMessage.class);
     registerDSFID(GATEWAY_SENDER_QUEUE_ENTRY_SYNCHRONIZATION_ENTRY,
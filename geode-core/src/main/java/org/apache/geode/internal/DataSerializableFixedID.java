@@ -706,8 +706,9 @@ public interface DataSerializableFixedID extends SerializationVersions {
   public static final short SERIAL_ACKED_MESSAGE = 2001;
   public static final short CLIENT_DATASERIALIZER_MESSAGE = 2002;
 
-  // 2003..2098 unused
+  // 2003..2097 unused
 
+  public static final short OPERATION_RATE_LOAD_PROBE = 2098;
   public static final short BUCKET_COUNT_LOAD_PROBE = 2099;
   public static final short PERSISTENT_MEMBERSHIP_VIEW_REQUEST = 2100;
   public static final short PERSISTENT_MEMBERSHIP_VIEW_REPLY = 2101;
@@ -30,12 +30,14 @@ import org.apache.geode.internal.cache.entries.DiskEntry;
 import org.apache.geode.internal.cache.lru.EnableLRU;
 import org.apache.geode.internal.cache.lru.HeapEvictor;
 import org.apache.geode.internal.cache.lru.HeapLRUCapacityController;
+import org.apache.geode.internal.cache.lru.HeapLRUStatistics;
 import org.apache.geode.internal.cache.lru.LRUAlgorithm;
 import org.apache.geode.internal.cache.lru.LRUEntry;
 import org.apache.geode.internal.cache.lru.LRUStatistics;
 import org.apache.geode.internal.cache.lru.MemLRUCapacityController;
 import org.apache.geode.internal.cache.lru.NewLIFOClockHand;
 import org.apache.geode.internal.cache.lru.NewLRUClockHand;
+import org.apache.geode.internal.cache.lru.NewSampledClockHand;
 import org.apache.geode.internal.cache.persistence.DiskRegionView;
 import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.cache.versions.VersionSource;
@@ -101,6 +103,8 @@ public abstract class AbstractLRURegionMap extends AbstractRegionMap {
      */
     if (ea == EvictionAlgorithm.LIFO_ENTRY || ea == EvictionAlgorithm.LIFO_MEMORY) {
       _setLruList(new NewLIFOClockHand(owner, _getCCHelper(), internalRegionArgs));
+    } else if (ea.isSampled()) {
+      _setLruList(new NewSampledClockHand(owner, _getCCHelper(), internalRegionArgs, _getMap()));
     } else {
       _setLruList(new NewLRUClockHand(owner, _getCCHelper(), internalRegionArgs));
     }
@@ -626,6 +630,72 @@ public abstract class AbstractLRURegionMap extends AbstractRegionMap {
     return evictedBytes;
   }
 
+  /**
+   * Returns the last modified time of the next entry this map would evict, or Long.MAX_VALUE if it
+   * has none.
+   *
+   * @since Geode 1.4
+   */
+  public long getOldestEntryTime() {
+    return _getLruList().getOldestEntryTime();
+  }
+
+  /**
+   * Evicts a batch of entries while the memory monitor is in the eviction state. Unlike
+   * {@link #centralizedLruUpdateCallback()}, which stops after the first entry it evicts, this
+   * stops once maxEntries entries have been evicted or bytesToEvict bytes have been freed, so the
+   * adaptive heap evictor can drain the coldest buckets without revisiting them for every entry.
+   *
+   * @return the estimated number of bytes freed
+   * @since Geode 1.4
+   */
+  public long centralizedLruUpdateCallback(long bytesToEvict, int maxEntries) {
+    final boolean isDebugEnabled_LRU = logger.isTraceEnabled(LogMarker.LRU);
+
+    long evictedBytes = 0;
+    if (getCallbackDisabled()) {
+      return evictedBytes;
+    }
+    getDelta();
+    resetThreadLocals();
+    LRUStatistics stats = _getLruList().stats();
+    int evictedEntries = 0;
+    try {
+      while (evictedEntries < maxEntries && evictedBytes < bytesToEvict && mustEvict()) {
+        LRUEntry removalEntry = (LRUEntry) _getLruList().getLRUEntry();
+        if (removalEntry == null) {
+          if (isDebugEnabled_LRU) {
+            logger.trace(LogMarker.LRU, "leaving batch evict loop early");
+          }
+          break;
+        }
+        int entryBytes = evictEntry(removalEntry, stats);
+        if (entryBytes != 0) {
+          evictedBytes += entryBytes;
+          evictedEntries++;
+          stats.incEvictions();
+          _getCCHelper().afterEviction();
+        }
+      }
+    } catch (RegionClearedException rce) {
+      // Ignore
+      if (isDebugEnabled_LRU) {
+        logger.trace(LogMarker.LRU, "exception ={}", rce.getCause());
+      }
+    }
+    if (evictedEntries > 0 && _getOwner() instanceof BucketRegion) {
+      ((BucketRegion) _getOwner()).incEvictions(evictedEntries);
+    }
+    if (evictedBytes > 0 && stats instanceof HeapLRUStatistics) {
+      ((HeapLRUStatistics) stats).incEvictedBytes(evictedBytes);
+    }
+    if (isDebugEnabled_LRU) {
+      logger.trace(LogMarker.LRU, "batch evicted {} entries and {} bytes", evictedEntries,
+          evictedBytes);
+    }
+    return evictedBytes;
+  }
+
 
 
   /**
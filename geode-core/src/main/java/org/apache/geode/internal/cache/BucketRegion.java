@@ -47,6 +47,8 @@ import org.apache.geode.internal.cache.tier.sockets.CacheClientNotifier;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.ClientTombstoneMessage;
 import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessage;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.internal.cache.versions.ConcurrentCacheModificationException;
 import org.apache.geode.internal.cache.versions.VersionSource;
 import org.apache.geode.internal.cache.versions.VersionStamp;
 import org.apache.geode.internal.cache.versions.VersionTag;
@@ -66,7 +68,9 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 
 
@@ -95,6 +99,23 @@ public class BucketRegion extends DistributedRegion implements Bucket {
   private final AtomicLong numOverflowBytesOnDisk = new AtomicLong();
   private final AtomicLong numEntriesInVM = new AtomicLong();
   private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Reads and writes handled by this bucket, sampled by
+   * {@link org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe}
+   */
+  private final LongAdder readOperations = new LongAdder();
+  private final LongAdder writeOperations = new LongAdder();
+
+  /**
+   * Time and operation counts of the last operation rate sample
+   */
+  private final Object operationSampleLock = new Object();
+  private long operationSampleTime = System.nanoTime();
+  private long sampledReads;
+  private long sampledWrites;
+  private volatile float readRate;
+  private volatile float writeRate;
   // For GII
   private CreateRegionReplyProcessor createRegionReplyProcessor;
 
@@ -492,6 +513,7 @@ public class BucketRegion extends DistributedRegion implements Bucket {
       Object expectedOldValue, boolean requireOldValue, long lastModified,
       boolean overwriteDestroyed) throws TimeoutException, CacheWriterException {
     beginLocalWrite(event);
+    this.writeOperations.increment();
 
     try {
       if (this.partitionedRegion.isParallelWanEnabled()) {
@@ -883,6 +905,7 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     Assert.assertTrue(event.getOperation().isDistributed());
 
     beginLocalWrite(event);
+    this.writeOperations.increment();
     try {
       // which performs the local op.
       // The ARM then calls basicInvalidatePart2 with the entry synchronized.
@@ -1057,6 +1080,117 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     }
   }
 
+  /**
+   * When batch expiration is enabled, destroys the entries of the given tasks that expire with a
+   * distributed destroy in batches, and distributes each batch to the secondaries in one message.
+   * Other tasks, and all tasks of a bucket that is not primary, are run one at a time.
+   */
+  @Override
+  void performExpiryTimeouts(List<ExpiryTask> expiryTasks) {
+    // with evict destroy the secondaries expire their own entries, see bug 41096
+    if (!ExpirationScheduler.BATCH_EXPIRATION || expiryTasks.size() < 2
+        || isEntryEvictDestroyEnabled() || !getBucketAdvisor().isPrimary()) {
+      super.performExpiryTimeouts(expiryTasks);
+      return;
+    }
+    List<EntryExpiryTask> batch = new ArrayList<>(expiryTasks.size());
+    List<ExpiryTask> others = new ArrayList<>();
+    for (ExpiryTask task : expiryTasks) {
+      if (task instanceof EntryExpiryTask && ((EntryExpiryTask) task).canExpireInBatch()) {
+        // ask the other members about idle entries now, not while the batch holds the keys locked
+        if (((EntryExpiryTask) task).isExpiredBeforeBatch()) {
+          batch.add((EntryExpiryTask) task);
+        }
+      } else {
+        others.add(task);
+      }
+    }
+    for (int i = 0; i < batch.size(); i += ExpirationScheduler.EXPIRY_BATCH_SIZE) {
+      List<EntryExpiryTask> tasks =
+          batch.subList(i, Math.min(batch.size(), i + ExpirationScheduler.EXPIRY_BATCH_SIZE));
+      if (!expireDestroyBatch(tasks)) {
+        others.addAll(tasks);
+      }
+    }
+    super.performExpiryTimeouts(others);
+  }
+
+  /**
+   * Destroys the expired entries of the given tasks with one removeAll operation, the same way
+   * RemoveAllPRMessage does for a bucket, so that the secondaries get a single message for the
+   * batch. Returns false, without running any of the tasks, if this bucket is no longer primary.
+   */
+  private boolean expireDestroyBatch(List<EntryExpiryTask> tasks) {
+    if (isCacheClosing() || isClosed() || isDestroyed()) {
+      return true;
+    }
+    tasks.get(0).waitOnExpirationSuspension();
+    List<Object> keyList = new ArrayList<>(tasks.size());
+    for (EntryExpiryTask task : tasks) {
+      RegionEntry entry = task.getRegionEntry();
+      if (entry != null) {
+        keyList.add(entry.getKey());
+      }
+    }
+    Object[] keys = keyList.toArray();
+    final long start = CachePerfStats.getStatTime();
+    int destroyed = -1;
+    @Released
+    EntryEventImpl baseEvent = EntryEventImpl.create(this, Operation.REMOVEALL_DESTROY, null, null,
+        null, false, getMyId());
+    DistributedRemoveAllOperation op = null;
+    try {
+      baseEvent.setNewEventId(getCache().getDistributedSystem());
+      op = new DistributedRemoveAllOperation(baseEvent, keys.length, false);
+      VersionedObjectList versions =
+          new VersionedObjectList(keys.length, true, getConcurrencyChecksEnabled());
+      waitUntilLocked(keys);
+      try {
+        try {
+          doLockForPrimary(false);
+        } catch (PrimaryBucketException e) {
+          // must have concurrently removed the primary
+          return false;
+        }
+        destroyed = 0;
+        try {
+          for (EntryExpiryTask task : tasks) {
+            try {
+              if (task.expireInBatch(op, versions)) {
+                destroyed++;
+              }
+            } catch (ConcurrentCacheModificationException ignore) {
+              // a newer version of the entry has been applied
+            } catch (CacheWriterException e) {
+              logger.warn(LocalizedMessage.create(
+                  LocalizedStrings.ExpiryTask_EXCEPTION_IN_EXPIRATION_TASK), e);
+            }
+          }
+          checkReadiness();
+          // the listeners and clients were notified of each EXPIRE_DESTROY by
+          // distributeDestroyOperation, so only send the batch to the secondaries
+          long token = postRemoveAllSend(op, versions);
+          op.endOperation(token);
+        } finally {
+          doUnlockForPrimary();
+        }
+      } finally {
+        removeAndNotifyKeys(keys);
+      }
+    } catch (RegionDestroyedException | CancelException ignore) {
+      // our job is done
+    } finally {
+      baseEvent.release();
+      if (op != null) {
+        op.freeOffHeapResources();
+      }
+      if (destroyed >= 0) {
+        getCache().getCachePerfStats().endExpirationBatch(start, destroyed);
+      }
+    }
+    return true;
+  }
+
   protected boolean isEntryEvictDestroyEnabled() {
     return getEvictionAttributes() != null
         && EvictionAction.LOCAL_DESTROY.equals(getEvictionAttributes().getAction());
@@ -1147,6 +1281,7 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     Assert.assertTrue(event.getOperation().isDistributed());
 
     beginLocalWrite(event);
+    this.writeOperations.increment();
     try {
       // increment the tailKey for the destroy event
       if (this.partitionedRegion.isParallelWanEnabled()) {
@@ -2180,6 +2315,39 @@ public class BucketRegion extends DistributedRegion implements Bucket {
     closeCacheCallback(getEvictionController());
   }
 
+  /**
+   * Record a read served by this bucket for its operation rate
+   */
+  public void recordRead() {
+    this.readOperations.increment();
+  }
+
+  /**
+   * Returns the reads per second plus {@code writeWeight} times the writes per second handled by
+   * this bucket. The rates are measured between samples, and a new sample is only taken once
+   * {@code minIntervalMillis} have passed since the previous one, so that callers asking back to
+   * back see the same, meaningful rates.
+   *
+   * @since Geode 1.4
+   */
+  public float getOperationRate(float writeWeight, long minIntervalMillis) {
+    synchronized (this.operationSampleLock) {
+      long now = System.nanoTime();
+      long elapsed = now - this.operationSampleTime;
+      if (elapsed > 0 && elapsed >= TimeUnit.MILLISECONDS.toNanos(minIntervalMillis)) {
+        long reads = this.readOperations.sum();
+        long writes = this.writeOperations.sum();
+        float seconds = elapsed / 1e9f;
+        this.readRate = (reads - this.sampledReads) / seconds;
+        this.writeRate = (writes - this.sampledWrites) / seconds;
+        this.operationSampleTime = now;
+        this.sampledReads = reads;
+        this.sampledWrites = writes;
+      }
+    }
+    return this.readRate + writeWeight * this.writeRate;
+  }
+
   public long getTotalBytes() {
     long result = this.bytesInMemory.get();
     if (result == BUCKET_DESTROYED) {
@@ -315,6 +315,7 @@ public class BucketRegionQueue extends AbstractBucketRegionQueue {
         // Give the actual conflation work to another thread.
         // ParallelGatewaySenderQueue takes care of maintaining a thread pool.
         queue.conflateEvent(conflatableObject, getId(), previousTailKey);
+        region.getParallelGatewaySender().getStatistics().incEventsConflatedInQueue();
       } else {
         region.getParallelGatewaySender().getStatistics().incConflationIndexesMapSize();
       }
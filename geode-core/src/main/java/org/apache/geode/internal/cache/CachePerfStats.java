@@ -19,6 +19,7 @@ import org.apache.geode.*;
 import org.apache.geode.internal.*;
 import org.apache.geode.distributed.internal.PoolStatHelper;
 import org.apache.geode.distributed.internal.QueueStatHelper;
+import org.apache.geode.internal.statistics.LatencyHistogram;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
 
 /**
@@ -49,6 +50,8 @@ public class CachePerfStats {
   protected static final int getInitialImagesInProgressId;
   protected static final int getInitialImagesCompletedId;
   protected static final int deltaGetInitialImagesCompletedId;
+  protected static final int rangeDigestGetInitialImagesCompletedId;
+  protected static final int rangeDigestRangesMatchedId;
   protected static final int getInitialImageTimeId;
   protected static final int getInitialImageKeysReceivedId;
   protected static final int regionsId;
@@ -111,6 +114,10 @@ public class CachePerfStats {
 
   protected static final int evictWorkTimeId;
 
+  protected static final int expirationBatchesId;
+  protected static final int expirationBatchEntriesId;
+  protected static final int expirationBatchTimeId;
+
 
   protected static final int indexUpdateInProgressId;
   protected static final int indexUpdateCompletedId;
@@ -128,6 +135,9 @@ public class CachePerfStats {
   protected static final int tombstoneGCCountId;
   protected static final int tombstoneOverhead1Id;
   protected static final int tombstoneOverhead2Id;
+  protected static final int tombstoneBatchGCsId;
+  protected static final int tombstoneBatchGCEntriesId;
+  protected static final int tombstoneBatchGCTimeId;
   protected static final int clearTimeoutsId;
 
   protected static final int deltaUpdatesId;
@@ -156,6 +166,15 @@ public class CachePerfStats {
   /** The Statistics object that we delegate most behavior to */
   protected final Statistics stats;
 
+  /**
+   * Latency histograms of gets, puts, destroys and query executions. They are only created, and
+   * only recorded to, when clock stats are enabled.
+   */
+  protected final LatencyHistogram getLatency;
+  protected final LatencyHistogram putLatency;
+  protected final LatencyHistogram destroyLatency;
+  protected final LatencyHistogram queryExecutionLatency;
+
   //////////////////////// Static methods ////////////////////////
 
   static {
@@ -343,7 +362,7 @@ public class CachePerfStats {
                                                                              // expression.
 
     type = f.createType("CachePerfStats", "Statistics about GemFire cache performance",
-        new StatisticDescriptor[] {
+        LatencyHistogram.withLatencyDescriptors(f, new StatisticDescriptor[] {
             f.createIntGauge("loadsInProgress", loadsInProgressDesc, "operations"),
             f.createIntCounter("loadsCompleted", loadsCompletedDesc, "operations"),
             f.createLongCounter("loadTime", loadTimeDesc, "nanoseconds", false),
@@ -382,6 +401,12 @@ public class CachePerfStats {
                 "operations"),
             f.createIntCounter("deltaGetInitialImagesCompleted", deltaGetInitialImagesCompletedDesc,
                 "operations"),
+            f.createIntCounter("rangeDigestGetInitialImagesCompleted",
+                "Total number of full getInitialImages initiated by this cache that skipped the key ranges whose digest matched the image provider.",
+                "operations"),
+            f.createLongCounter("rangeDigestRangesMatched",
+                "Total number of key ranges that were not transferred because their digest matched the image provider.",
+                "ranges"),
             f.createLongCounter("getInitialImageTime", getInitialImageTimeDesc, "nanoseconds"),
             f.createIntCounter("getInitialImageKeysReceived", getInitialImageKeysReceivedDesc,
                 "keys"),
@@ -461,6 +486,13 @@ public class CachePerfStats {
             f.createIntCounter("tombstoneGCs", tombstoneGCCountDesc, "operations"),
             f.createLongGauge("replicatedTombstonesSize", tombstoneOverhead1Desc, "bytes"),
             f.createLongGauge("nonReplicatedTombstonesSize", tombstoneOverhead2Desc, "bytes"),
+            f.createIntCounter("tombstoneBatchGCs",
+                "Number of batches of expired tombstones removed from replicated regions",
+                "operations"),
+            f.createLongCounter("tombstoneBatchGCEntries",
+                "Total number of expired tombstones removed in batches", "entries"),
+            f.createLongCounter("tombstoneBatchGCTime",
+                "Total time spent removing batches of expired tombstones", "nanoseconds", false),
             f.createIntCounter("clearTimeouts", clearTimeoutsDesc, "timeouts"),
             f.createIntGauge("evictorJobsStarted", "Number of evictor jobs started", "jobs"),
             f.createIntGauge("evictorJobsCompleted", "Number of evictor jobs completed", "jobs"),
@@ -468,6 +500,14 @@ public class CachePerfStats {
                 "Number of jobs waiting to be picked up by evictor threads", "jobs"),
             f.createLongCounter("evictWorkTime",
                 "Total time spent doing eviction work in background threads", "nanoseconds", false),
+            f.createIntCounter("expirationBatches",
+                "Number of batches of expired entries destroyed and distributed together",
+                "operations"),
+            f.createLongCounter("expirationBatchEntries",
+                "Total number of entries destroyed by expiration batches", "entries"),
+            f.createLongCounter("expirationBatchTime",
+                "Total time spent destroying and distributing expiration batches", "nanoseconds",
+                false),
             f.createLongCounter("nonSingleHopsCount", nonSingleHopsDesc,
                 "Total number of times client request observed more than one hop during operation.",
                 false),
@@ -504,7 +544,8 @@ public class CachePerfStats {
             f.createLongCounter("evictByCriteria_evaluations", evictByCriteria_evaluationsDesc,
                 "operations"),
             f.createLongCounter("evictByCriteria_evaluationTime",
-                evictByCriteria_evaluationTimeDesc, "nanoseconds")});
+                evictByCriteria_evaluationTimeDesc, "nanoseconds")},
+            "get", "put", "destroy", "queryExecution"));
 
     // Initialize id fields
     loadsInProgressId = type.nameToId("loadsInProgress");
@@ -531,6 +572,9 @@ public class CachePerfStats {
     getInitialImagesInProgressId = type.nameToId("getInitialImagesInProgress");
     getInitialImagesCompletedId = type.nameToId("getInitialImagesCompleted");
     deltaGetInitialImagesCompletedId = type.nameToId("deltaGetInitialImagesCompleted");
+    rangeDigestGetInitialImagesCompletedId =
+        type.nameToId("rangeDigestGetInitialImagesCompleted");
+    rangeDigestRangesMatchedId = type.nameToId("rangeDigestRangesMatched");
     getInitialImageTimeId = type.nameToId("getInitialImageTime");
     getInitialImageKeysReceivedId = type.nameToId("getInitialImageKeysReceived");
     regionsId = type.nameToId("regions");
@@ -595,6 +639,10 @@ public class CachePerfStats {
     evictorQueueSizeId = type.nameToId("evictorQueueSize");
     evictWorkTimeId = type.nameToId("evictWorkTime");
 
+    expirationBatchesId = type.nameToId("expirationBatches");
+    expirationBatchEntriesId = type.nameToId("expirationBatchEntries");
+    expirationBatchTimeId = type.nameToId("expirationBatchTime");
+
     metaDataRefreshCountId = type.nameToId("metaDataRefreshCount");
 
     conflatedEventsId = type.nameToId("conflatedEvents");
@@ -602,6 +650,9 @@ public class CachePerfStats {
     tombstoneGCCountId = type.nameToId("tombstoneGCs");
     tombstoneOverhead1Id = type.nameToId("replicatedTombstonesSize");
     tombstoneOverhead2Id = type.nameToId("nonReplicatedTombstonesSize");
+    tombstoneBatchGCsId = type.nameToId("tombstoneBatchGCs");
+    tombstoneBatchGCEntriesId = type.nameToId("tombstoneBatchGCEntries");
+    tombstoneBatchGCTimeId = type.nameToId("tombstoneBatchGCTime");
     clearTimeoutsId = type.nameToId("clearTimeouts");
 
     deltaUpdatesId = type.nameToId("deltaUpdates");
@@ -635,6 +686,10 @@ public class CachePerfStats {
    */
   public CachePerfStats() {
     stats = null;
+    getLatency = null;
+    putLatency = null;
+    destroyLatency = null;
+    queryExecutionLatency = null;
   }
 
   /**
@@ -642,7 +697,7 @@ public class CachePerfStats {
    * factory.
    */
   public CachePerfStats(StatisticsFactory factory) {
-    stats = factory.createAtomicStatistics(type, "cachePerfStats");
+    this(factory.createAtomicStatistics(type, "cachePerfStats"));
   }
 
   /**
@@ -650,7 +705,34 @@ public class CachePerfStats {
    * factory.
    */
   public CachePerfStats(StatisticsFactory factory, String name) {
-    stats = factory.createAtomicStatistics(type, "RegionStats-" + name);
+    this(factory.createAtomicStatistics(type, "RegionStats-" + name));
+  }
+
+  private CachePerfStats(Statistics stats) {
+    this.stats = stats;
+    getLatency = createLatencyHistogram("get");
+    putLatency = createLatencyHistogram("put");
+    destroyLatency = createLatencyHistogram("destroy");
+    queryExecutionLatency = createLatencyHistogram("queryExecution");
+  }
+
+  private LatencyHistogram createLatencyHistogram(String operation) {
+    if (!enableClockStats) {
+      return null;
+    }
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.publishTo(stats, operation);
+    return histogram;
+  }
+
+  /**
+   * Record {@code nanos} in {@code histogram}, which is null if clock stats were disabled when
+   * these stats were created.
+   */
+  protected static void recordLatency(LatencyHistogram histogram, long nanos) {
+    if (histogram != null) {
+      histogram.recordValue(nanos);
+    }
   }
 
   /**
@@ -712,6 +794,14 @@ public class CachePerfStats {
     return stats.getInt(deltaGetInitialImagesCompletedId);
   }
 
+  public int getRangeDigestGetInitialImagesCompleted() {
+    return stats.getInt(rangeDigestGetInitialImagesCompletedId);
+  }
+
+  public long getRangeDigestRangesMatched() {
+    return stats.getLong(rangeDigestRangesMatchedId);
+  }
+
   public long getGetInitialImageTime() {
     return stats.getLong(getInitialImageTimeId);
   }
@@ -740,6 +830,13 @@ public class CachePerfStats {
     return stats.getInt(putsId);
   }
 
+  /**
+   * @since Geode 1.4
+   */
+  public long getPutTime() {
+    return stats.getLong(putTimeId);
+  }
+
   public int getPutAlls() {
     return stats.getInt(putallsId);
   }
@@ -760,6 +857,13 @@ public class CachePerfStats {
     return stats.getInt(getsId);
   }
 
+  /**
+   * @since Geode 1.4
+   */
+  public long getGetTime() {
+    return stats.getLong(getTimeId);
+  }
+
   public int getMisses() {
     return stats.getInt(missesId);
   }
@@ -1058,6 +1162,15 @@ public class CachePerfStats {
     stats.incInt(deltaGetInitialImagesCompletedId, 1);
   }
 
+  /**
+   * @param matchedRanges the number of key ranges that did not have to be transferred
+   * @since Geode 1.4
+   */
+  public void incRangeDigestGIICompleted(int matchedRanges) {
+    stats.incInt(rangeDigestGetInitialImagesCompletedId, 1);
+    stats.incLong(rangeDigestRangesMatchedId, matchedRanges);
+  }
+
   public void incGetInitialImageKeysReceived() {
     stats.incInt(getInitialImageKeysReceivedId, 1);
   }
@@ -1102,6 +1215,18 @@ public class CachePerfStats {
     stats.incInt(destroysId, 1);
   }
 
+  /**
+   * Records the latency of an application destroy. The destroy itself is counted by
+   * {@link #incDestroys}.
+   *
+   * @param start the timestamp taken when the operation started
+   */
+  public void endDestroy(long start) {
+    if (enableClockStats) {
+      recordLatency(destroyLatency, getStatTime() - start);
+    }
+  }
+
   public void incCreates() {
     stats.incInt(createsId, 1);
   }
@@ -1122,7 +1247,9 @@ public class CachePerfStats {
    */
   public void endGet(long start, boolean miss) {
     if (enableClockStats) {
-      stats.incLong(getTimeId, getStatTime() - start);
+      long delta = getStatTime() - start;
+      stats.incLong(getTimeId, delta);
+      recordLatency(getLatency, delta);
     }
     stats.incInt(getsId, 1);
     if (miss) {
@@ -1147,6 +1274,7 @@ public class CachePerfStats {
       if (enableClockStats) {
         total = getStatTime() - start;
         stats.incLong(putTimeId, total);
+        recordLatency(putLatency, total);
       }
     }
     return total;
@@ -1168,6 +1296,7 @@ public class CachePerfStats {
     stats.incInt(queryExecutionsId, 1);
     if (enableClockStats) {
       stats.incLong(queryExecutionTimeId, executionTime);
+      recordLatency(queryExecutionLatency, executionTime);
     }
   }
 
@@ -1367,6 +1496,29 @@ public class CachePerfStats {
     this.stats.incLong(evictWorkTimeId, delta);
   }
 
+  public int getExpirationBatches() {
+    return this.stats.getInt(expirationBatchesId);
+  }
+
+  public long getExpirationBatchEntries() {
+    return this.stats.getLong(expirationBatchEntriesId);
+  }
+
+  /**
+   * Records a batch of expired entries that were destroyed and distributed together.
+   *
+   * @param start the stat time at which the batch was started
+   * @param entries the number of entries the batch destroyed
+   * @since Geode 1.4
+   */
+  public void endExpirationBatch(long start, int entries) {
+    this.stats.incInt(expirationBatchesId, 1);
+    this.stats.incLong(expirationBatchEntriesId, entries);
+    if (enableClockStats) {
+      this.stats.incLong(expirationBatchTimeId, getStatTime() - start);
+    }
+  }
+
   /**
    * Returns the Statistics instance that stores the cache perf stats.
    * 
@@ -1466,6 +1618,29 @@ public class CachePerfStats {
     return this.stats.getLong(tombstoneOverhead2Id);
   }
 
+  public int getTombstoneBatchGCs() {
+    return this.stats.getInt(tombstoneBatchGCsId);
+  }
+
+  public long getTombstoneBatchGCEntries() {
+    return this.stats.getLong(tombstoneBatchGCEntriesId);
+  }
+
+  /**
+   * Records a batch of expired tombstones that was removed from replicated regions.
+   *
+   * @param start the stat time at which the batch was started
+   * @param entries the number of tombstones in the batch
+   * @since Geode 1.4
+   */
+  public void endTombstoneBatchGC(long start, int entries) {
+    this.stats.incInt(tombstoneBatchGCsId, 1);
+    this.stats.incLong(tombstoneBatchGCEntriesId, entries);
+    if (enableClockStats) {
+      this.stats.incLong(tombstoneBatchGCTimeId, getStatTime() - start);
+    }
+  }
+
   public int getClearTimeouts() {
     return this.stats.getInt(clearTimeoutsId);
   }
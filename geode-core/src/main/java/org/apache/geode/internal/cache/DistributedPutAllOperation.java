@@ -853,9 +853,9 @@ public class DistributedPutAllOperation extends AbstractUpdateOperation {
    * 
    * @return a HashMap contain PutAllPRMessages, key is bucket id
    */
-  public HashMap createPRMessages() {
+  public HashMap<Integer, PutAllPRMessage> createPRMessages() {
     // getFilterRecipients(Collections.EMPTY_SET); // establish filter recipient routing information
-    HashMap prMsgMap = new HashMap();
+    HashMap<Integer, PutAllPRMessage> prMsgMap = new HashMap<>();
     final EntryEventImpl event = getBaseEvent();
 
     for (int i = 0; i < putAllDataSize; i++) {
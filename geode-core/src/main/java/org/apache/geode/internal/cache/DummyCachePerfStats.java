@@ -121,6 +121,11 @@ public class DummyCachePerfStats extends CachePerfStats {
     return 0;
   }
 
+  @Override
+  public long getPutTime() {
+    return 0;
+  }
+
   @Override
   public int getPutAlls() {
     return 0;
@@ -141,6 +146,11 @@ public class DummyCachePerfStats extends CachePerfStats {
     return 0;
   }
 
+  @Override
+  public long getGetTime() {
+    return 0;
+  }
+
   @Override
   public int getMisses() {
     return 0;
@@ -291,6 +301,9 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void incDestroys() {}
 
+  @Override
+  public void endDestroy(long start) {}
+
   @Override
   public void incCreates() {}
 
@@ -426,6 +439,15 @@ public class DummyCachePerfStats extends CachePerfStats {
   @Override
   public void incRetries() {}
 
+  @Override
+  public void endExpirationBatch(long start, int entries) {}
+
+  @Override
+  public void endTombstoneBatchGC(long start, int entries) {}
+
+  @Override
+  public void incRangeDigestGIICompleted(int matchedRanges) {}
+
   @Override
   public Statistics getStats() {
     return null;
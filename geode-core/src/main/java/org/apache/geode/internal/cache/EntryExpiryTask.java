@@ -22,8 +22,11 @@ package org.apache.geode.internal.cache;
 import org.apache.geode.cache.*;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.InternalStatisticsDisabledException;
+import org.apache.geode.internal.cache.tier.sockets.VersionedObjectList;
+import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.lang.SystemPropertyHelper;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.internal.offheap.annotations.Released;
 import org.apache.logging.log4j.Logger;
 
@@ -124,6 +127,93 @@ public class EntryExpiryTask extends ExpiryTask {
     }
   }
 
+  /**
+   * Returns true if this task would destroy its entry with a distributed destroy, which can be done
+   * as part of an expiration batch.
+   */
+  boolean canExpireInBatch() {
+    ExpirationAction action = getAction();
+    return this.re != null && action != null && action.isDestroy();
+  }
+
+  /**
+   * Returns true if the entry of this task has expired and can be added to an expiration batch.
+   * Otherwise the task is rescheduled, or dropped if its entry is gone. This is called before the
+   * batch locks its keys since, for idle expiration, it may ask the other members when they last
+   * accessed the entry.
+   */
+  boolean isExpiredBeforeBatch() {
+    RegionEntry entry = this.re;
+    if (entry == null) {
+      return false;
+    }
+    try {
+      if (isExpirationPossible()) {
+        return true;
+      }
+      getLocalRegion().cancelExpiryTask(entry, this);
+      reschedule();
+    } catch (EntryNotFoundException ignore) {
+      // the entry is gone so there is nothing to expire
+    } catch (CacheException e) {
+      logger.warn(
+          LocalizedMessage.create(LocalizedStrings.ExpiryTask_EXCEPTION_IN_EXPIRATION_TASK), e);
+    }
+    return false;
+  }
+
+  /**
+   * Does what {@link #run()} does for this task, except that an expired entry is destroyed as part
+   * of the given batch instead of being distributed by itself. The key and version of the destroy
+   * are added to versions. Returns true if the entry was destroyed.
+   */
+  boolean expireInBatch(DistributedRemoveAllOperation op, VersionedObjectList versions)
+      throws CacheException {
+    try {
+      RegionEntry entry = this.re;
+      if (entry == null) {
+        return false;
+      }
+      LocalRegion lr = getLocalRegion();
+      lr.cancelExpiryTask(entry, this);
+      if (!isExpirationAllowed()) {
+        return false;
+      }
+      // the other members were consulted by isExpiredBeforeBatch, so only recheck locally in case
+      // the entry was accessed or modified since then
+      long expTime = getExpirationTime();
+      if (expTime <= 0L || getNow() < expTime) {
+        reschedule();
+        return false;
+      }
+      RegionEntry re = getCheckedRegionEntry();
+      Object key = re.getKey();
+      @Released
+      EntryEventImpl event = EntryEventImpl.create(lr, Operation.EXPIRE_DESTROY, key, null,
+          createExpireEntryCallback(lr, key), false, lr.getMyId());
+      try {
+        if (lr.generateEventID()) {
+          event.setNewEventId(lr.getCache().getDistributedSystem());
+        }
+        event.setRemoveAllOperation(op);
+        lr.basicDestroy(event, true, null);
+        versions.addKeyAndVersion(key, event.getVersionTag());
+      } finally {
+        event.release();
+      }
+      if (expiryTaskListener != null) {
+        expiryTaskListener.afterExpire(this);
+      }
+      return true;
+    } catch (EntryNotFoundException ignore) {
+      return false;
+    } finally {
+      if (expiryTaskListener != null) {
+        expiryTaskListener.afterTaskRan(this);
+      }
+    }
+  }
+
   @Override
   protected boolean invalidate() throws TimeoutException, EntryNotFoundException {
     RegionEntry re = getCheckedRegionEntry();
@@ -188,7 +278,11 @@ public class EntryExpiryTask extends ExpiryTask {
       return;
     }
     if (getExpirationTime() > 0) {
-      addExpiryTask();
+      if (getLocalRegion().getCache().getExpirationScheduler().canRescheduleEntryExpiryTasks()) {
+        getLocalRegion().rescheduleExpiryTask(getCheckedRegionEntry(), this);
+      } else {
+        addExpiryTask();
+      }
       if (expiryTaskListener != null) {
         expiryTaskListener.afterReschedule(this);
       }
@@ -175,11 +175,11 @@ public class EvictionAttributesImpl extends EvictionAttributes
    * @see EvictionAttributes
    */
   public LRUAlgorithm createEvictionController(Region region, boolean isOffHeap) {
-    if (this.algorithm == EvictionAlgorithm.LRU_ENTRY) {
+    if (this.algorithm.isLRUEntry()) {
       this.evictionController = new LRUCapacityController(this.maximum, this.action, region);
-    } else if (this.algorithm == EvictionAlgorithm.LRU_HEAP) {
+    } else if (this.algorithm.isLRUHeap()) {
       this.evictionController = new HeapLRUCapacityController(this.sizer, this.action, region);
-    } else if (this.algorithm == EvictionAlgorithm.LRU_MEMORY) {
+    } else if (this.algorithm.isLRUMemory()) {
       this.evictionController =
           new MemLRUCapacityController(this.maximum, this.sizer, this.action, region, isOffHeap);
     } else if (this.algorithm == EvictionAlgorithm.LIFO_ENTRY) {
@@ -230,5 +230,14 @@ public class EvictionAttributesImpl extends EvictionAttributes
     return this.algorithm == EvictionAlgorithm.LIFO_MEMORY;
   }
 
+  /**
+   * Returns true if this object uses a sampled LRU algorithm
+   *
+   * @since Geode 1.4
+   */
+  public boolean isSampled() {
+    return this.algorithm.isSampled();
+  }
+
 
 }
@@ -27,7 +27,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * ExpirationScheduler uses a single instance of java.util.Timer (and therefore a single thread) per
- * VM to schedule and execute region and entry expiration tasks.
+ * VM to schedule and execute region and entry expiration tasks. If the EXPIRY_TIMER_WHEEL system
+ * property is set, entry expiration tasks are scheduled on an {@link ExpirationTimerWheel} instead.
  */
 
 public class ExpirationScheduler {
@@ -38,13 +39,66 @@ public class ExpirationScheduler {
   private static final int MAX_PENDING_CANCELS = Integer
       .getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PENDING_CANCELS", 10000).intValue();
 
+  /**
+   * Schedule entry expiration on a timer wheel instead of the timer. Not final for tests.
+   *
+   * @since Geode 1.4
+   */
+  static boolean USE_TIMER_WHEEL =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_TIMER_WHEEL");
+
+  /**
+   * The resolution of the timer wheel in milliseconds.
+   *
+   * @since Geode 1.4
+   */
+  private static final long TIMER_WHEEL_TICK_MILLIS =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_TIMER_WHEEL_TICK_MILLIS", 100);
+
+  /**
+   * Destroy the entries of a bucket that expire on the same tick of the timer wheel together, and
+   * distribute them to the other copies of the bucket in one message. Only used with the timer
+   * wheel. Not final for tests.
+   *
+   * @since Geode 1.4
+   */
+  static boolean BATCH_EXPIRATION =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_BATCH_DESTROY");
+
+  /**
+   * The largest number of entries destroyed by one expiration batch.
+   *
+   * @since Geode 1.4
+   */
+  static final int EXPIRY_BATCH_SIZE =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_BATCH_SIZE", 1000);
+
+  private final ExpirationTimerWheel timerWheel;
+
   public ExpirationScheduler(InternalDistributedSystem ds) {
     this.timer = new SystemTimer(ds, true);
+    if (USE_TIMER_WHEEL) {
+      this.timerWheel = new ExpirationTimerWheel("Expiration Timer Wheel", TIMER_WHEEL_TICK_MILLIS);
+      this.timerWheel.start();
+    } else {
+      this.timerWheel = null;
+    }
   }
 
   public void forcePurge() {
     pendingCancels.getAndSet(0);
     this.timer.timerPurge();
+    if (this.timerWheel != null) {
+      this.timerWheel.purge();
+    }
+  }
+
+  /**
+   * Returns true if a task that has fired without expiring its entry can be scheduled again
+   * instead of being replaced by a new one.
+   */
+  boolean canRescheduleEntryExpiryTasks() {
+    return this.timerWheel != null;
   }
 
   /**
@@ -56,6 +110,9 @@ public class ExpirationScheduler {
       pc = pendingCancels.getAndSet(0);
       if (pc > MAX_PENDING_CANCELS) {
         this.timer.timerPurge();
+        if (this.timerWheel != null) {
+          this.timerWheel.purge();
+        }
         // int purgedCancels = CFactory.timerPurge(this.timer);
         // we could try to do some fancy stuff here but the value
         // of the atomic is just a hint so don't bother adjusting it
@@ -78,6 +135,9 @@ public class ExpirationScheduler {
             LocalizedStrings.ExpirationScheduler_SCHEDULING__0__TO_FIRE_IN__1__MS,
             new Object[] {task, Long.valueOf(task.getExpiryMillis())}));
       }
+      if (this.timerWheel != null && task instanceof EntryExpiryTask) {
+        return this.timerWheel.schedule(task, task.getExpiryMillis()) ? task : null;
+      }
       // To fix bug 52267 do not create a Date here; instead calculate the relative duration.
       timer.schedule(task, task.getExpiryMillis());
     } catch (EntryNotFoundException e) {
@@ -99,5 +159,8 @@ public class ExpirationScheduler {
   /** @see java.util.Timer#cancel() */
   public void cancel() {
     timer.cancel();
+    if (this.timerWheel != null) {
+      this.timerWheel.stop();
+    }
   }
 }
@@ -0,0 +1,294 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.CancelException;
+import org.apache.geode.SystemFailure;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+
+/**
+ * A hierarchical timing wheel that schedules entry expiration tasks in place of the
+ * {@link org.apache.geode.internal.SystemTimer} used by {@link ExpirationScheduler}.
+ * <p>
+ * Time is divided into ticks. The wheel has {@link #LEVELS} levels of {@link #SLOTS} slots each; a
+ * slot on level n holds the tasks due in a span of SLOTS^n ticks. A task is added to the lowest
+ * level whose span reaches its deadline and moves down a level each time the slot it is in comes
+ * around, so adding a task costs the same no matter how many are scheduled. Each slot keeps its
+ * tasks and their deadlines in plain arrays. Cancelled tasks are left in their slot and dropped
+ * when the slot comes around, or when {@link #purge()} is called.
+ * <p>
+ * Only the wheel's thread touches the slots. Other threads add tasks to a queue that the wheel
+ * thread drains on every tick. The tasks due on a tick are handed to their region together, so that
+ * a region can expire its entries in batches.
+ *
+ * @since Geode 1.4
+ */
+class ExpirationTimerWheel implements Runnable {
+  private static final Logger logger = LogService.getLogger();
+
+  private static final int SLOT_BITS = 8;
+  static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  static final int LEVELS = 4;
+
+  private final long tickMillis;
+  private final long startNanos = System.nanoTime();
+  private final Slot[][] levels = new Slot[LEVELS][SLOTS];
+  private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+  private final String name;
+  private Thread thread;
+  private volatile boolean stopped;
+  private volatile boolean purgeRequested;
+
+  /** The last tick processed; only used by the wheel thread */
+  private long currentTick;
+
+  ExpirationTimerWheel(String name, long tickMillis) {
+    this.name = name;
+    this.tickMillis = Math.max(1, tickMillis);
+    for (Slot[] level : this.levels) {
+      for (int i = 0; i < SLOTS; i++) {
+        level[i] = new Slot();
+      }
+    }
+  }
+
+  void start() {
+    this.thread = new Thread(LoggingThreadGroup.createThreadGroup(this.name, logger), this,
+        this.name);
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  void stop() {
+    this.stopped = true;
+    Thread t = this.thread;
+    if (t != null) {
+      t.interrupt();
+    }
+    this.pending.clear();
+  }
+
+  /** Asks the wheel thread to drop cancelled tasks on its next tick */
+  void purge() {
+    this.purgeRequested = true;
+  }
+
+  /**
+   * Schedules the given task to run after delayMillis. Returns false if the wheel is stopped or
+   * the task was cancelled or is already scheduled.
+   */
+  boolean schedule(ExpiryTask task, long delayMillis) {
+    return schedule(task, delayMillis, now());
+  }
+
+  boolean schedule(ExpiryTask task, long delayMillis, long nowMillis) {
+    if (this.stopped || !task.markWheelScheduled()) {
+      return false;
+    }
+    this.pending.add(new Pending(task, nowMillis + delayMillis));
+    return true;
+  }
+
+  /** Returns the milliseconds elapsed on the wheel's clock */
+  long now() {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.startNanos);
+  }
+
+  @Override
+  public void run() {
+    while (!this.stopped) {
+      try {
+        fire(advance(now()));
+        long sleepMillis = (this.currentTick + 1) * this.tickMillis - now();
+        if (sleepMillis > 0) {
+          Thread.sleep(sleepMillis);
+        }
+      } catch (InterruptedException e) {
+        if (this.stopped) {
+          return;
+        }
+      } catch (CancelException e) {
+        return;
+      } catch (VirtualMachineError err) {
+        SystemFailure.initiateFailure(err);
+        // If this ever returns, rethrow the error. We're poisoned
+        // now, so don't let this thread continue.
+        throw err;
+      } catch (Throwable t) {
+        // Whenever you catch Error or Throwable, you must also
+        // catch VirtualMachineError (see above). However, there is
+        // _still_ a possibility that you are dealing with a cascading
+        // error condition, so you also need to check to see if the JVM
+        // is still usable:
+        SystemFailure.checkFailure();
+        logger.fatal(
+            LocalizedMessage.create(LocalizedStrings.ExpiryTask_EXCEPTION_IN_EXPIRATION_TASK), t);
+      }
+    }
+  }
+
+  /**
+   * Moves the wheel forward to the given time and returns the tasks that are now due. Must only be
+   * called by one thread at a time.
+   */
+  List<ExpiryTask> advance(long nowMillis) {
+    List<ExpiryTask> due = new ArrayList<>();
+    if (this.purgeRequested) {
+      this.purgeRequested = false;
+      for (Slot[] level : this.levels) {
+        for (Slot slot : level) {
+          slot.removeCancelled();
+        }
+      }
+    }
+    Pending p;
+    while ((p = this.pending.poll()) != null) {
+      insert(p.task, (p.deadlineMillis + this.tickMillis - 1) / this.tickMillis, due);
+    }
+    long targetTick = nowMillis / this.tickMillis;
+    while (this.currentTick < targetTick) {
+      long tick = ++this.currentTick;
+      // cascade the higher levels first so that their tasks can move down more than one level
+      for (int level = LEVELS - 1; level > 0; level--) {
+        if ((tick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+          cascade(this.levels[level][(int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK], due);
+        }
+      }
+      cascade(this.levels[0][(int) tick & SLOT_MASK], due);
+    }
+    return due;
+  }
+
+  private void cascade(Slot slot, List<ExpiryTask> due) {
+    if (slot.size == 0) {
+      return;
+    }
+    ExpiryTask[] tasks = slot.tasks;
+    long[] deadlines = slot.deadlines;
+    int size = slot.size;
+    slot.clear();
+    for (int i = 0; i < size; i++) {
+      if (!tasks[i].isWheelCancelled()) {
+        insert(tasks[i], deadlines[i], due);
+      }
+    }
+  }
+
+  private void insert(ExpiryTask task, long deadlineTick, List<ExpiryTask> due) {
+    long delta = deadlineTick - this.currentTick;
+    if (delta <= 0) {
+      due.add(task);
+      return;
+    }
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+      level++;
+    }
+    this.levels[level][(int) (deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK].add(task,
+        deadlineTick);
+  }
+
+  /** Hands the due tasks that have not been cancelled to their regions, one region at a time */
+  void fire(List<ExpiryTask> due) {
+    if (due.isEmpty()) {
+      return;
+    }
+    Map<LocalRegion, List<ExpiryTask>> byRegion = new IdentityHashMap<>();
+    for (ExpiryTask task : due) {
+      if (task.markWheelFired()) {
+        byRegion.computeIfAbsent(task.getLocalRegion(), k -> new ArrayList<>()).add(task);
+      }
+    }
+    for (Map.Entry<LocalRegion, List<ExpiryTask>> entry : byRegion.entrySet()) {
+      ExpiryTask.doWithNowSet(entry.getKey(),
+          () -> entry.getKey().performExpiryTimeouts(entry.getValue()));
+    }
+  }
+
+  /** Returns the number of tasks, including cancelled ones, held by the slots */
+  int size() {
+    int result = 0;
+    for (Slot[] level : this.levels) {
+      for (Slot slot : level) {
+        result += slot.size;
+      }
+    }
+    return result;
+  }
+
+  private static class Pending {
+    final ExpiryTask task;
+    final long deadlineMillis;
+
+    Pending(ExpiryTask task, long deadlineMillis) {
+      this.task = task;
+      this.deadlineMillis = deadlineMillis;
+    }
+  }
+
+  private static class Slot {
+    private static final ExpiryTask[] NO_TASKS = new ExpiryTask[0];
+    private static final long[] NO_DEADLINES = new long[0];
+
+    ExpiryTask[] tasks = NO_TASKS;
+    long[] deadlines = NO_DEADLINES;
+    int size;
+
+    void add(ExpiryTask task, long deadlineTick) {
+      if (this.size == this.tasks.length) {
+        int capacity = Math.max(4, this.size + (this.size >> 1));
+        this.tasks = Arrays.copyOf(this.tasks, capacity);
+        this.deadlines = Arrays.copyOf(this.deadlines, capacity);
+      }
+      this.tasks[this.size] = task;
+      this.deadlines[this.size] = deadlineTick;
+      this.size++;
+    }
+
+    void clear() {
+      this.tasks = NO_TASKS;
+      this.deadlines = NO_DEADLINES;
+      this.size = 0;
+    }
+
+    void removeCancelled() {
+      int kept = 0;
+      for (int i = 0; i < this.size; i++) {
+        if (!this.tasks[i].isWheelCancelled()) {
+          this.tasks[kept] = this.tasks[i];
+          this.deadlines[kept] = this.deadlines[i];
+          kept++;
+        }
+      }
+      Arrays.fill(this.tasks, kept, this.size, null);
+      this.size = kept;
+    }
+  }
+}
@@ -18,6 +18,7 @@ import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.apache.logging.log4j.Logger;
 
@@ -50,6 +51,20 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
 
   private static final ThreadPoolExecutor executor;
 
+  private static final int WHEEL_UNSCHEDULED = 0;
+  private static final int WHEEL_SCHEDULED = 1;
+  private static final int WHEEL_FIRED = 2;
+  private static final int WHEEL_CANCELLED = 3;
+
+  private static final AtomicIntegerFieldUpdater<ExpiryTask> wheelStateUpdater =
+      AtomicIntegerFieldUpdater.newUpdater(ExpiryTask.class, "wheelState");
+
+  /**
+   * Tracks this task on an {@link ExpirationTimerWheel}, which unlike the timer lets a task that
+   * has fired be scheduled again.
+   */
+  private volatile int wheelState = WHEEL_UNSCHEDULED;
+
   static {
     // default to inline expiry to fix bug 37115
     int nThreads = Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "EXPIRY_THREADS", 0);
@@ -230,7 +245,7 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
    * 
    * @since GemFire 5.0
    */
-  private void waitOnExpirationSuspension() {
+  void waitOnExpirationSuspension() {
     for (;;) {
       getLocalRegion().getCancelCriterion().checkCancelInProgress(null);
       synchronized (suspendLock) {
@@ -318,6 +333,9 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
   @Override
   public boolean cancel() {
     boolean superCancel = super.cancel();
+    if (wheelStateUpdater.compareAndSet(this, WHEEL_SCHEDULED, WHEEL_CANCELLED)) {
+      superCancel = true;
+    }
     LocalRegion lr = getLocalRegion();
     if (lr != null) {
       if (superCancel) {
@@ -327,6 +345,33 @@ public abstract class ExpiryTask extends SystemTimer.SystemTimerTask {
     return superCancel;
   }
 
+  /**
+   * Marks this task as scheduled on a timer wheel. Returns false if it is already scheduled or has
+   * been cancelled.
+   */
+  boolean markWheelScheduled() {
+    for (;;) {
+      int state = this.wheelState;
+      if (state == WHEEL_SCHEDULED || state == WHEEL_CANCELLED) {
+        return false;
+      }
+      if (wheelStateUpdater.compareAndSet(this, state, WHEEL_SCHEDULED)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Called by the timer wheel when this task is due. Returns false if it was cancelled.
+   */
+  boolean markWheelFired() {
+    return wheelStateUpdater.compareAndSet(this, WHEEL_SCHEDULED, WHEEL_FIRED);
+  }
+
+  boolean isWheelCancelled() {
+    return this.wheelState == WHEEL_CANCELLED;
+  }
+
   /**
    * An ExpiryTask is sent run() to perform its task. Note that this run() method should never throw
    * an exception - otherwise, it takes out the java.util.Timer thread, causing an exception
@@ -173,6 +173,9 @@ public class FilterProfile implements DataSerializableFixedID {
   /** CQs that are registered on the remote node **/
   private final CopyOnWriteHashMap<String, ServerCQ> cqs = new CopyOnWriteHashMap<>();
 
+  /** The index the CQ service keeps of the CQs in this profile; not sent with the profile */
+  private transient volatile Object cqIndex;
+
   /* the ID of the member that this profile describes */
   private DistributedMember memberID;
 
@@ -777,6 +780,24 @@ public class FilterProfile implements DataSerializableFixedID {
     return this.cqs;
   }
 
+  /**
+   * Returns the index the CQ service built of the CQs registered on this region, or null.
+   *
+   * @since Geode 1.4
+   */
+  public Object getCqIndex() {
+    return this.cqIndex;
+  }
+
+  /**
+   * Sets the index the CQ service built of the CQs registered on this region.
+   *
+   * @since Geode 1.4
+   */
+  public void setCqIndex(Object cqIndex) {
+    this.cqIndex = cqIndex;
+  }
+
   /**
    * does this profile contain any continuous queries?
    */
@@ -54,7 +54,7 @@ public class InitialImageFlowControl implements MembershipListener {
 
   private static final ProcessorKeeper21 keeper = new ProcessorKeeper21(false);
   private int id;
-  private int maxPermits = InitialImageOperation.CHUNK_PERMITS;
+  private int maxPermits = InitialImageOperation.getChunkPermits();
   private final Semaphore permits = new Semaphore(maxPermits);
   private final DM dm;
   private final InternalDistributedMember target;
@@ -47,6 +47,7 @@ import org.apache.geode.internal.logging.log4j.LogMarker;
 import org.apache.geode.internal.sequencelog.EntryLogger;
 import org.apache.geode.internal.sequencelog.RegionLogger;
 import org.apache.geode.internal.util.ObjectIntProcedure;
+import org.apache.geode.internal.util.concurrent.ByteRateLimiter;
 import org.apache.logging.log4j.Logger;
 
 import java.io.*;
@@ -86,12 +87,64 @@ public class InitialImageOperation {
       DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.MAXIMUM_UNFINISHED_OPERATIONS", 10000)
       .intValue();
 
+  /**
+   * If true, the image target returns the flow control permit for a chunk before applying it, so
+   * the provider streams the next chunks while earlier ones are still being applied, and the
+   * provider keeps a larger window of chunks in flight.
+   *
+   * @since Geode 1.4
+   */
+  public static final boolean PIPELINED_GII =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.PIPELINED");
+
+  /**
+   * Allowed number of in flight GII chunks when {@link #PIPELINED_GII} is enabled. This also bounds
+   * the number of chunks a target may be applying after having returned their permits.
+   *
+   * @since Geode 1.4
+   */
+  public static int PIPELINED_CHUNK_PERMITS = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.PIPELINED_CHUNK_PERMITS", 64)
+      .intValue();
+
   /**
    * Allowed number GIIs in parallel
    */
   public static int MAX_PARALLEL_GIIS =
-      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.MAX_PARALLEL_GIIS", 5)
-          .intValue();
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.MAX_PARALLEL_GIIS",
+          PIPELINED_GII ? 16 : 5).intValue();
+
+  /**
+   * Maximum number of bytes per second that this member sends for all the initial images it is
+   * providing, or zero for no limit. Lets many buckets be transferred in parallel without the
+   * transfer starving the rest of the traffic.
+   *
+   * @since Geode 1.4
+   */
+  public static final long MAX_BYTES_PER_SECOND = Long
+      .getLong(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.MAX_BYTES_PER_SECOND", 0)
+      .longValue();
+
+  private static final ByteRateLimiter providerBandwidth =
+      new ByteRateLimiter(MAX_BYTES_PER_SECOND);
+
+  /**
+   * If true, a member that recovered a persistent region from disk sends a
+   * {@link RegionRangeDigest} of its entries along with its image request. Should the provider not
+   * be able to send a delta, it only sends the key ranges whose digests differ instead of the whole
+   * region.
+   *
+   * @since Geode 1.4
+   */
+  public static final boolean RANGE_DIGEST_GII =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.RANGE_DIGEST");
+
+  /**
+   * Returns the number of chunks an image provider may have in flight to a single target.
+   */
+  static int getChunkPermits() {
+    return PIPELINED_GII ? PIPELINED_CHUNK_PERMITS : CHUNK_PERMITS;
+  }
 
   /**
    * the region we are fetching
@@ -118,6 +171,12 @@ public class InitialImageOperation {
    */
   protected Map<VersionSource, Long> gcVersions;
 
+  /**
+   * key ranges of the requested {@link RegionRangeDigest} that the provider found identical and did
+   * not send
+   */
+  protected volatile BitSet matchedRanges;
+
   /**
    * true if this is delta gii
    */
@@ -423,6 +482,9 @@ public class InitialImageOperation {
             }
           }
           m.checkTombstoneVersions = true;
+          if (RANGE_DIGEST_GII && recipient.getVersionObject().compareTo(Version.GEODE_140) >= 0) {
+            m.rangeDigest = RegionRangeDigest.create(this.region, RegionRangeDigest.RANGES);
+          }
         }
         if (received_rvv != null) {
           // pack the original RVV, then save the received one
@@ -460,8 +522,13 @@ public class InitialImageOperation {
           internalAfterSentRequestImage.run();
         }
         try {
+          this.matchedRanges = null;
           processor.waitForRepliesUninterruptibly();
 
+          if (this.gotImage && m.rangeDigest != null && this.matchedRanges != null) {
+            keepEntriesOfMatchedRanges(m.rangeDigest, this.matchedRanges);
+          }
+
           // review unfinished keys and remove untouched entries
           if (this.region.getDataPolicy().withPersistence() && keysOfUnfinishedOps != null
               && !keysOfUnfinishedOps.isEmpty()) {
@@ -558,6 +625,31 @@ public class InitialImageOperation {
     return reportGIIStatus();
   }
 
+  /**
+   * The provider skipped the key ranges whose digests matched ours, so the entries we recovered
+   * from disk for those ranges are current. Clear their recovered flag so that they are not
+   * destroyed as left over from recovery once the image is complete.
+   */
+  private void keepEntriesOfMatchedRanges(RegionRangeDigest digest, BitSet ranges) {
+    final DiskRegion dr = this.region.getDiskRegion();
+    if (dr == null) {
+      return;
+    }
+    for (RegionEntry re : this.entries.regionEntries()) {
+      if (re instanceof DiskEntry && ranges.get(digest.rangeOf(re.getKey()))) {
+        DiskEntry de = (DiskEntry) re;
+        synchronized (de) {
+          dr.testIsRecoveredAndClear(de.getDiskId());
+        }
+      }
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug("Region {} kept its entries for {} of {} key ranges", this.region.getFullPath(),
+          ranges.cardinality(), digest.getRangeCount());
+    }
+    this.region.getCachePerfStats().incRangeDigestGIICompleted(ranges.cardinality());
+  }
+
   /**
    * synchronize with another member (delta GII from it). If lostMember is not null, then only
    * changes that it made to the image provider will be sent back. Otherwise all changes made to the
@@ -1113,6 +1205,32 @@ public class InitialImageOperation {
      */
     private final AtomicInteger msgsBeingProcessed = new AtomicInteger();
 
+    /**
+     * number of chunks being applied whose flow control permit has already been returned
+     */
+    private final AtomicInteger chunksPermittedEarly = new AtomicInteger();
+
+    /**
+     * Returns true if the permit for a chunk that is about to be applied may be returned to the
+     * provider right away. The caller must invoke {@link #earlyPermittedChunkDone()} once the chunk
+     * has been applied.
+     */
+    boolean tryPermitEarly() {
+      for (;;) {
+        int current = this.chunksPermittedEarly.get();
+        if (current >= PIPELINED_CHUNK_PERMITS) {
+          return false;
+        }
+        if (this.chunksPermittedEarly.compareAndSet(current, current + 1)) {
+          return true;
+        }
+      }
+    }
+
+    void earlyPermittedChunkDone() {
+      this.chunksPermittedEarly.decrementAndGet();
+    }
+
     @Override
     public boolean isSevereAlertProcessingEnabled() {
       return isSevereAlertProcessingForced();
@@ -1326,6 +1444,10 @@ public class InitialImageOperation {
           if (m.gcVersions != null) {
             InitialImageOperation.this.gcVersions = m.gcVersions;
           }
+
+          if (m.matchedRanges != null) {
+            InitialImageOperation.this.matchedRanges = m.matchedRanges;
+          }
         }
         if (isDone) {
           super.process(msg, false); // removes from members and cause us to
@@ -1524,6 +1646,16 @@ public class InitialImageOperation {
     /* key list for unfinished operations */
     protected Set unfinishedKeys;
 
+    /**
+     * digest of the requester's entries, used to skip identical key ranges in a full image
+     */
+    protected RegionRangeDigest rangeDigest;
+
+    /**
+     * key ranges of {@link #rangeDigest} that match this member's entries and are not sent
+     */
+    private transient BitSet matchedRanges;
+
     /** The versions in which this message was modified */
     private static final Version[] dsfidVersions = null;
 
@@ -1703,6 +1835,15 @@ public class InitialImageOperation {
               }
             }
           }
+          if (this.rangeDigest != null && this.versionVector == null && !this.keysOnly
+              && rgn.concurrencyChecksEnabled) {
+            this.matchedRanges = this.rangeDigest
+                .matchingRanges(RegionRangeDigest.create(rgn, this.rangeDigest.getRangeCount()));
+            if (isGiiDebugEnabled) {
+              logger.trace(LogMarker.GII, "{} of {} key ranges match the requester's digest",
+                  this.matchedRanges.cardinality(), this.rangeDigest.getRangeCount());
+            }
+          }
           final RegionVersionHolder holderToSend = holderToSync;
           boolean finished = chunkEntries(rgn, CHUNK_SIZE_IN_BYTES, !keysOnly, versionVector,
               (HashSet) this.unfinishedKeys, flowControl, new ObjectIntProcedure() {
@@ -1891,6 +2032,11 @@ public class InitialImageOperation {
             if (rgn.checkEntryNotValid(mapEntry)) { // entry was just removed
               continue;
             }
+            if (this.matchedRanges != null
+                && this.matchedRanges.get(this.rangeDigest.rangeOf(key))) {
+              // the requester already has this key range
+              continue;
+            }
             if (logger.isDebugEnabled()) {
               Object v = mapEntry.getValueInVM(rgn); // OFFHEAP: noop
               if (v instanceof Conflatable) {
@@ -1958,6 +2104,10 @@ public class InitialImageOperation {
             currentChunkSize += entry.calcSerializedSize();
           }
 
+          if (providerBandwidth.isEnabled()) {
+            throttle(rgn, currentChunkSize);
+          }
+
           // send 1 for last message if no more data
           int lastMsg = it.hasNext() ? 0 : 1;
           keepGoing = proc.executeWith(chunkEntries, lastMsg);
@@ -1982,6 +2132,28 @@ public class InitialImageOperation {
       }
     }
 
+    /**
+     * Wait until the bytes of the next chunk fit within {@link #MAX_BYTES_PER_SECOND}.
+     */
+    private void throttle(DistributedRegion rgn, int chunkSizeInBytes) {
+      boolean interrupted = Thread.interrupted();
+      try {
+        for (;;) {
+          try {
+            providerBandwidth.acquire(chunkSizeInBytes, rgn.getCancelCriterion());
+            break;
+          } catch (InterruptedException e) {
+            interrupted = true;
+            rgn.getCancelCriterion().checkCancelInProgress(e);
+          }
+        }
+      } finally {
+        if (interrupted) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+
     private void replyNoData(DistributionManager dm, boolean isDeltaGII,
         Map<VersionSource, Long> gcVersions) {
       ImageReplyMessage.send(getSender(), this.processorId, null, dm, null, 0, 0, 1, true, 0,
@@ -1992,7 +2164,8 @@ public class InitialImageOperation {
         int numSeries, boolean lastInSeries, int flowControlId, boolean isDeltaGII,
         RegionVersionHolder holderToSend, Map<VersionSource, Long> gcVersions) {
       ImageReplyMessage.send(getSender(), this.processorId, null, dm, entries, seriesNum, msgNum,
-          numSeries, lastInSeries, flowControlId, isDeltaGII, holderToSend, gcVersions);
+          numSeries, lastInSeries, flowControlId, isDeltaGII, holderToSend, gcVersions,
+          lastInSeries ? this.matchedRanges : null);
     }
 
 
@@ -2035,6 +2208,9 @@ public class InitialImageOperation {
       this.versionVector = (RegionVersionVector) DataSerializer.readObject(in);
       this.lostMemberID = (InternalDistributedMember) DataSerializer.readObject(in);
       this.unfinishedKeys = (Set) DataSerializer.readObject(in);
+      if (InternalDataSerializer.getVersionForDataStream(in).compareTo(Version.GEODE_140) >= 0) {
+        this.rangeDigest = RegionRangeDigest.fromData(in);
+      }
     }
 
     @Override
@@ -2049,6 +2225,13 @@ public class InitialImageOperation {
       DataSerializer.writeObject(this.versionVector, out);
       DataSerializer.writeObject(this.lostMemberID, out);
       DataSerializer.writeObject(this.unfinishedKeys, out);
+      if (InternalDataSerializer.getVersionForDataStream(out).compareTo(Version.GEODE_140) >= 0) {
+        if (this.rangeDigest == null) {
+          DataSerializer.writeLongArray(null, out);
+        } else {
+          this.rangeDigest.toData(out);
+        }
+      }
     }
 
     @Override
@@ -2078,6 +2261,9 @@ public class InitialImageOperation {
       }
       buff.append("; versionVector=").append(versionVector);
       buff.append("; unfinished keys=").append(unfinishedKeys);
+      if (this.rangeDigest != null) {
+        buff.append("; rangeDigest=").append(this.rangeDigest);
+      }
       buff.append(")");
       return buff.toString();
     }
@@ -2681,6 +2867,12 @@ public class InitialImageOperation {
      */
     private Map<VersionSource, Long> gcVersions;
 
+    /**
+     * The key ranges of the requester's {@link RegionRangeDigest} that were not sent because they
+     * matched. This is sent with the last GII chunk.
+     */
+    private BitSet matchedRanges;
+
     /** the {@link Version} of the remote peer */
     private transient Version remoteVersion;
 
@@ -2707,6 +2899,20 @@ public class InitialImageOperation {
         ReplyException exception, DistributionManager dm, List entries, int seriesNum, int msgNum,
         int numSeries, boolean lastInSeries, int flowControlId, boolean isDeltaGII,
         RegionVersionHolder holderToSend, Map<VersionSource, Long> gcVersions) {
+      send(recipient, processorId, exception, dm, entries, seriesNum, msgNum, numSeries,
+          lastInSeries, flowControlId, isDeltaGII, holderToSend, gcVersions, null);
+    }
+
+    /**
+     * @param matchedRanges key ranges of the requester's digest that were skipped
+     * @see #send(InternalDistributedMember, int, ReplyException, DistributionManager, List, int,
+     *      int, int, boolean, int, boolean, RegionVersionHolder, Map)
+     */
+    public static void send(InternalDistributedMember recipient, int processorId,
+        ReplyException exception, DistributionManager dm, List entries, int seriesNum, int msgNum,
+        int numSeries, boolean lastInSeries, int flowControlId, boolean isDeltaGII,
+        RegionVersionHolder holderToSend, Map<VersionSource, Long> gcVersions,
+        BitSet matchedRanges) {
       ImageReplyMessage m = new ImageReplyMessage();
 
       m.processorId = processorId;
@@ -2727,6 +2933,7 @@ public class InitialImageOperation {
       m.holderToSend = holderToSend;
       m.hasHolderToSend = (holderToSend != null);
       m.gcVersions = gcVersions;
+      m.matchedRanges = matchedRanges;
       dm.putOutgoing(m);
     }
 
@@ -2734,6 +2941,19 @@ public class InitialImageOperation {
 
     @Override
     public void process(DM dm, ReplyProcessor21 processor) {
+      // With pipelined GII the permit goes back before the chunk is applied so that the
+      // provider can send the next chunk meanwhile. The image processor bounds how many
+      // chunks may be applied that way; past that we fall back to returning it afterwards.
+      ImageProcessor imageProcessor = null;
+      if (PIPELINED_GII && this.flowControlId != 0 && this.entries != null
+          && processor instanceof ImageProcessor) {
+        imageProcessor = (ImageProcessor) processor;
+        if (imageProcessor.tryPermitEarly()) {
+          FlowControlPermitMessage.send(dm, getSender(), this.flowControlId);
+        } else {
+          imageProcessor = null;
+        }
+      }
       // We have to do this here, rather than in the reply processor code,
       // because the reply processor may be null.
       try {
@@ -2742,7 +2962,9 @@ public class InitialImageOperation {
         // TODO we probably should send an abort message to the sender
         // if we have aborted, but at the very least we need to keep
         // the permits going.
-        if (this.flowControlId != 0) {
+        if (imageProcessor != null) {
+          imageProcessor.earlyPermittedChunkDone();
+        } else if (this.flowControlId != 0) {
           FlowControlPermitMessage.send(dm, getSender(), this.flowControlId);
         }
       }
@@ -2793,6 +3015,12 @@ public class InitialImageOperation {
         long value = InternalDataSerializer.readUnsignedVL(in);
         gcVersions.put(key, value);
       }
+      if (InternalDataSerializer.getVersionForDataStream(in).compareTo(Version.GEODE_140) >= 0) {
+        long[] ranges = DataSerializer.readLongArray(in);
+        if (ranges != null) {
+          this.matchedRanges = BitSet.valueOf(ranges);
+        }
+      }
     }
 
     @Override
@@ -2822,6 +3050,10 @@ public class InitialImageOperation {
           InternalDataSerializer.writeUnsignedVL(entry.getValue(), out);
         }
       }
+      if (InternalDataSerializer.getVersionForDataStream(out).compareTo(Version.GEODE_140) >= 0) {
+        DataSerializer.writeLongArray(
+            this.matchedRanges == null ? null : this.matchedRanges.toLongArray(), out);
+      }
     }
 
     @Override
@@ -801,6 +801,16 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
     }
   }
 
+  /**
+   * Runs expiry tasks of this region that are due at the same time. Overridden by regions that can
+   * expire entries more cheaply together than one at a time.
+   */
+  void performExpiryTimeouts(List<ExpiryTask> expiryTasks) {
+    for (ExpiryTask task : expiryTasks) {
+      task.run();
+    }
+  }
+
   private void initRoot() {
     this.destroyLock = new Semaphore(1);
   }
@@ -1102,8 +1112,10 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
     if (event.getEventId() == null && generateEventID()) {
       event.setNewEventId(this.cache.getDistributedSystem());
     }
+    long startDestroy = CachePerfStats.getStatTime();
     basicDestroy(event, true, // cacheWrite
         null); // expectedOldValue
+    getCachePerfStats().endDestroy(startDestroy);
     if (event.isOldValueOffHeap()) {
       return null;
     } else {
@@ -8123,6 +8135,35 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
     }
   }
 
+  /**
+   * Schedules a task that has fired without expiring its entry, for example because the entry was
+   * read since, to fire again. The task is reused unless custom expiration is configured, since
+   * the custom expiry might return different attributes now.
+   *
+   * @since Geode 1.4
+   */
+  void rescheduleExpiryTask(RegionEntry regionEntry, EntryExpiryTask task) {
+    if (this.customEntryIdleTimeout != null || this.customEntryTimeToLive != null) {
+      addExpiryTask(regionEntry);
+      return;
+    }
+    if (this.entryExpiryTasks.putIfAbsent(regionEntry, task) != null) {
+      // a new task has already been scheduled for this entry
+      return;
+    }
+    ExpirationScheduler scheduler = this.cache.getExpirationScheduler();
+    if (!scheduler.addEntryExpiryTask(task)) {
+      this.entryExpiryTasks.remove(regionEntry, task);
+    } else if (this.entryExpiryTasks.get(regionEntry) != task) {
+      // the task was replaced or removed while it was being scheduled
+      if (task.cancel()) {
+        scheduler.incCancels();
+      }
+    } else if (ExpiryTask.expiryTaskListener != null) {
+      ExpiryTask.expiryTaskListener.afterSchedule(task);
+    }
+  }
+
   void cancelExpiryTask(RegionEntry regionEntry) {
     cancelExpiryTask(regionEntry, null);
   }
@@ -11137,6 +11178,14 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
       this.cachePerfStats.incDestroys();
     }
 
+    @Override
+    public void endDestroy(long start) {
+      if (enableClockStats) {
+        recordLatency(destroyLatency, getStatTime() - start);
+      }
+      this.cachePerfStats.endDestroy(start);
+    }
+
     @Override
     public void incCreates() {
       this.stats.incInt(createsId, 1);
@@ -11179,7 +11228,9 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
     @Override
     public void endGet(long start, boolean miss) {
       if (enableClockStats) {
-        this.stats.incLong(getTimeId, getStatTime() - start);
+        long delta = getStatTime() - start;
+        this.stats.incLong(getTimeId, delta);
+        recordLatency(getLatency, delta);
       }
       this.stats.incInt(getsId, 1);
       if (miss) {
@@ -11206,6 +11257,7 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
         if (enableClockStats) {
           total = getStatTime() - start;
           this.stats.incLong(putTimeId, total);
+          recordLatency(putLatency, total);
         }
       }
       this.cachePerfStats.endPut(start, isUpdate);
@@ -11226,6 +11278,7 @@ public class LocalRegion extends AbstractRegion implements InternalRegion, Loade
       this.stats.incInt(queryExecutionsId, 1);
       if (enableClockStats) {
         this.stats.incLong(queryExecutionTimeId, executionTime);
+        recordLatency(queryExecutionLatency, executionTime);
       }
       this.cachePerfStats.endQueryExecution(executionTime);
     }
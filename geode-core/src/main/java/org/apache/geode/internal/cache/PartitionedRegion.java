@@ -34,19 +34,26 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
+import java.util.function.BiConsumer;
 
 import org.apache.logging.log4j.Logger;
 
@@ -703,6 +710,16 @@ public class PartitionedRegion extends LocalRegion
   public static final String RETRY_TIMEOUT_PROPERTY =
       DistributionConfig.GEMFIRE_PREFIX + "partitionedRegionRetryTimeout";
 
+  /**
+   * The most buckets that one putAll, removeAll or getAll works on at the same time. Defaults to
+   * the number of processors; 1 processes the buckets one after another.
+   *
+   * @since Geode 1.4
+   */
+  public static final int BULK_OP_PARALLELISM = Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "PartitionedRegion.BULK_OP_PARALLELISM",
+      Runtime.getRuntime().availableProcessors());
+
   private final PartitionRegionConfigValidator validator;
 
   final List<FixedPartitionAttributesImpl> fixedPAttrs;
@@ -2157,7 +2174,7 @@ public class PartitionedRegion extends LocalRegion
 
     final long startTime = PartitionedRegionStats.startTime();
     // build all the msgs by bucketid
-    HashMap prMsgMap = putAllOp.createPRMessages();
+    HashMap<Integer, PutAllPRMessage> prMsgMap = putAllOp.createPRMessages();
     PutAllPartialResult partialKeys = new PutAllPartialResult(putAllOp.putAllDataSize);
 
     // clear the successfulPuts list since we're actually doing the puts here
@@ -2165,11 +2182,8 @@ public class PartitionedRegion extends LocalRegion
     Map<Object, VersionTag> keyToVersionMap =
         new HashMap<Object, VersionTag>(successfulPuts.size());
     successfulPuts.clearVersions();
-    Iterator itor = prMsgMap.entrySet().iterator();
-    while (itor.hasNext()) {
-      Map.Entry mapEntry = (Map.Entry) itor.next();
-      Integer bucketId = (Integer) mapEntry.getKey();
-      PutAllPRMessage prMsg = (PutAllPRMessage) mapEntry.getValue();
+    // the buckets are sent to in parallel so the partial result is guarded by its own lock
+    forEachBucketInParallel(prMsgMap, (bucketId, prMsg) -> {
       checkReadiness();
       long then = 0;
       if (isDebugEnabled) {
@@ -2177,19 +2191,23 @@ public class PartitionedRegion extends LocalRegion
       }
       try {
         VersionedObjectList versions = sendMsgByBucket(bucketId, prMsg);
-        if (versions.size() > 0) {
-          partialKeys.addKeysAndVersions(versions);
-          versions.saveVersions(keyToVersionMap);
-        } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
-          Set keys = prMsg.getKeys();
-          partialKeys.addKeys(keys);
+        synchronized (partialKeys) {
+          if (versions.size() > 0) {
+            partialKeys.addKeysAndVersions(versions);
+            versions.saveVersions(keyToVersionMap);
+          } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
+            Set keys = prMsg.getKeys();
+            partialKeys.addKeys(keys);
+          }
         }
       } catch (PutAllPartialResultException pre) {
         // sendMsgByBucket applied partial keys
         if (isDebugEnabled) {
           logger.debug("PR.postPutAll encountered PutAllPartialResultException, ", pre);
         }
-        partialKeys.consolidate(pre.getResult());
+        synchronized (partialKeys) {
+          partialKeys.consolidate(pre.getResult());
+        }
       } catch (Exception ex) {
         // If failed at other exception
         if (isDebugEnabled) {
@@ -2198,7 +2216,9 @@ public class PartitionedRegion extends LocalRegion
         @Released
         EntryEventImpl firstEvent = prMsg.getFirstEvent(this);
         try {
-          partialKeys.saveFailedKey(firstEvent.getKey(), ex);
+          synchronized (partialKeys) {
+            partialKeys.saveFailedKey(firstEvent.getKey(), ex);
+          }
         } finally {
           firstEvent.release();
         }
@@ -2209,7 +2229,7 @@ public class PartitionedRegion extends LocalRegion
           logger.debug("PR.sendMsgByBucket took " + (now - then) + " ms");
         }
       }
-    }
+    });
     this.prStats.endPutAll(startTime);
     if (!keyToVersionMap.isEmpty()) {
       for (Iterator it = successfulPuts.getKeys().iterator(); it.hasNext();) {
@@ -2256,11 +2276,8 @@ public class PartitionedRegion extends LocalRegion
     // and the basicRemoveAll work was just a way to build the "op" object
     Map<Object, VersionTag> keyToVersionMap = new HashMap<Object, VersionTag>(successfulOps.size());
     successfulOps.clearVersions();
-    Iterator<Map.Entry<Integer, RemoveAllPRMessage>> itor = prMsgMap.entrySet().iterator();
-    while (itor.hasNext()) {
-      Map.Entry<Integer, RemoveAllPRMessage> mapEntry = itor.next();
-      Integer bucketId = (Integer) mapEntry.getKey();
-      RemoveAllPRMessage prMsg = mapEntry.getValue();
+    // the buckets are sent to in parallel so the partial result is guarded by its own lock
+    forEachBucketInParallel(prMsgMap, (bucketId, prMsg) -> {
       checkReadiness();
       long then = 0;
       if (isDebugEnabled) {
@@ -2268,19 +2285,23 @@ public class PartitionedRegion extends LocalRegion
       }
       try {
         VersionedObjectList versions = sendMsgByBucket(bucketId, prMsg);
-        if (versions.size() > 0) {
-          partialKeys.addKeysAndVersions(versions);
-          versions.saveVersions(keyToVersionMap);
-        } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
-          Set keys = prMsg.getKeys();
-          partialKeys.addKeys(keys);
+        synchronized (partialKeys) {
+          if (versions.size() > 0) {
+            partialKeys.addKeysAndVersions(versions);
+            versions.saveVersions(keyToVersionMap);
+          } else if (!this.concurrencyChecksEnabled) { // no keys returned if not versioned
+            Set keys = prMsg.getKeys();
+            partialKeys.addKeys(keys);
+          }
         }
       } catch (PutAllPartialResultException pre) {
         // sendMsgByBucket applied partial keys
         if (isDebugEnabled) {
           logger.debug("PR.postRemoveAll encountered BulkOpPartialResultException, ", pre);
         }
-        partialKeys.consolidate(pre.getResult());
+        synchronized (partialKeys) {
+          partialKeys.consolidate(pre.getResult());
+        }
       } catch (Exception ex) {
         // If failed at other exception
         if (isDebugEnabled) {
@@ -2289,7 +2310,9 @@ public class PartitionedRegion extends LocalRegion
         @Released
         EntryEventImpl firstEvent = prMsg.getFirstEvent(this);
         try {
-          partialKeys.saveFailedKey(firstEvent.getKey(), ex);
+          synchronized (partialKeys) {
+            partialKeys.saveFailedKey(firstEvent.getKey(), ex);
+          }
         } finally {
           firstEvent.release();
         }
@@ -2300,7 +2323,7 @@ public class PartitionedRegion extends LocalRegion
           logger.debug("PR.sendMsgByBucket took {} ms", (now - then));
         }
       }
-    }
+    });
     this.prStats.endRemoveAll(startTime);
     if (!keyToVersionMap.isEmpty()) {
       for (Iterator it = successfulOps.getKeys().iterator(); it.hasNext();) {
@@ -2329,6 +2352,82 @@ public class PartitionedRegion extends LocalRegion
     return -1;
   }
 
+  /**
+   * Runs the action for each bucket of a bulk operation, with up to {@link #BULK_OP_PARALLELISM}
+   * buckets in progress at once. The calling thread works on buckets too, so the operation still
+   * completes if the thread pool can not take any more work. Returns once every bucket is done;
+   * the first exception thrown by the action, if any, is then rethrown.
+   *
+   * @since Geode 1.4
+   */
+  public <T> void forEachBucketInParallel(Map<Integer, T> work,
+      BiConsumer<Integer, T> action) {
+    forEachBucketInParallel(work, action, BULK_OP_PARALLELISM,
+        getDistributionManager().getWaitingThreadPool());
+  }
+
+  static <T> void forEachBucketInParallel(Map<Integer, T> work, BiConsumer<Integer, T> action,
+      int maxParallelism, ExecutorService executor) {
+    int parallelism = Math.min(maxParallelism, work.size());
+    if (parallelism <= 1) {
+      for (Map.Entry<Integer, T> entry : work.entrySet()) {
+        action.accept(entry.getKey(), entry.getValue());
+      }
+      return;
+    }
+
+    final Queue<Map.Entry<Integer, T>> remaining = new ConcurrentLinkedQueue<>(work.entrySet());
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    Runnable worker = () -> {
+      Map.Entry<Integer, T> entry;
+      while (failure.get() == null && (entry = remaining.poll()) != null) {
+        try {
+          action.accept(entry.getKey(), entry.getValue());
+        } catch (RuntimeException | Error e) {
+          failure.compareAndSet(null, e);
+        }
+      }
+    };
+
+    List<Future<?>> helpers = new ArrayList<>(parallelism - 1);
+    try {
+      for (int i = 1; i < parallelism; i++) {
+        helpers.add(executor.submit(worker));
+      }
+    } catch (RejectedExecutionException ignore) {
+      // the pool is shutting down; do the rest of the work in this thread
+    }
+    worker.run();
+
+    boolean interrupted = false;
+    for (Future<?> helper : helpers) {
+      while (true) {
+        try {
+          helper.get();
+          break;
+        } catch (InterruptedException e) {
+          // the helpers are working on events owned by this thread so wait for them regardless
+          interrupted = true;
+        } catch (ExecutionException e) {
+          failure.compareAndSet(null, e.getCause());
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    Throwable t = failure.get();
+    if (t instanceof RuntimeException) {
+      throw (RuntimeException) t;
+    } else if (t instanceof Error) {
+      throw (Error) t;
+    } else if (t != null) {
+      throw new InternalGemFireException(t);
+    }
+  }
+
   /*
    * If failed after retries, it will throw PartitionedRegionStorageException, no need for return
    * value
@@ -2013,6 +2013,7 @@ public class PartitionedRegionDataStore implements HasCachePerfStats {
           bucketRegion.getName(), returnTombstones);
     }
     invokeBucketReadHook();
+    bucketRegion.recordRead();
     try {
       ret = bucketRegion.get(key, aCallbackArgument, true, disableCopyOnRead, preferCD,
           requestingClient, clientEvent, returnTombstones, opScopeIsLocal, false);
@@ -2058,6 +2059,7 @@ public class PartitionedRegionDataStore implements HasCachePerfStats {
           keyInfo.getBucketId(), bucketRegion.getName());
     }
     invokeBucketReadHook();
+    bucketRegion.recordRead();
 
     try {
       RawValue result = bucketRegion.getSerialized(keyInfo, true, doNotLockEntry, requestingClient,
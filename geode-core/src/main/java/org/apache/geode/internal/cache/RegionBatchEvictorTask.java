@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.RegionDestroyedException;
+import org.apache.geode.internal.cache.lru.HeapEvictor;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+
+/**
+ * Used by the adaptive {@link HeapEvictor} instead of {@link RegionEvictorTask}. Any number of
+ * these tasks share one queue of regions, ordered coldest first, and one budget of bytes to evict.
+ * Each task takes the next region from the queue and evicts a batch of entries from it. A region
+ * that still had entries to evict is put back at the end of the queue, so every region gives up a
+ * batch before any region gives up a second one.
+ *
+ * @since Geode 1.4
+ */
+public class RegionBatchEvictorTask implements Runnable {
+
+  private static final Logger logger = LogService.getLogger();
+
+  private final Queue<LocalRegion> regions;
+
+  private final HeapEvictor evictor;
+
+  private final AtomicLong bytesRemaining;
+
+  private final int batchSize;
+
+  public RegionBatchEvictorTask(Queue<LocalRegion> regions, HeapEvictor evictor,
+      AtomicLong bytesRemaining, int batchSize) {
+    this.regions = regions;
+    this.evictor = evictor;
+    this.bytesRemaining = bytesRemaining;
+    this.batchSize = batchSize;
+  }
+
+  @Override
+  public void run() {
+    CachePerfStats stats = this.evictor.getGemFireCache().getCachePerfStats();
+    stats.incEvictorJobsStarted();
+    try {
+      LocalRegion region;
+      while (this.bytesRemaining.get() > 0 && this.evictor.mustEvict()
+          && (region = this.regions.poll()) != null) {
+        final long start = CachePerfStats.getStatTime();
+        try {
+          long bytesEvicted = ((AbstractLRURegionMap) region.entries)
+              .centralizedLruUpdateCallback(this.bytesRemaining.get(), this.batchSize);
+          if (bytesEvicted > 0) {
+            this.bytesRemaining.addAndGet(-bytesEvicted);
+            this.evictor.incBytesEvicted(bytesEvicted);
+            this.regions.add(region);
+          }
+        } catch (RegionDestroyedException rd) {
+          region.cache.getCancelCriterion().checkCancelInProgress(rd);
+        } catch (Exception e) {
+          region.cache.getCancelCriterion().checkCancelInProgress(e);
+          logger.warn(LocalizedMessage.create(LocalizedStrings.Eviction_EVICTOR_TASK_EXCEPTION,
+              new Object[] {e.getMessage()}), e);
+        } finally {
+          stats.incEvictWorkTime(CachePerfStats.getStatTime() - start);
+        }
+      }
+    } finally {
+      RegionEvictorTask.setLastTaskCompletionTime(System.currentTimeMillis());
+      stats.incEvictorJobsCompleted();
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.apache.geode.DataSerializer;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.versions.VersionSource;
+import org.apache.geode.internal.cache.versions.VersionStamp;
+
+/**
+ * A digest of the entries of a region, split into ranges of key hash codes. Each range is
+ * summarized by one hash over the keys and version stamps of its entries. Two members can then tell
+ * which ranges hold the same versions without exchanging the entries themselves.
+ * <p>
+ * A member that recovered a persistent region from disk sends its digest with its request for an
+ * initial image. If the provider has to fall back to a full image, it only sends the ranges whose
+ * digests differ. The requester keeps the entries it recovered for all other ranges.
+ * <p>
+ * The hash of a range is the sum of the hashes of its entries, so it does not depend on the order
+ * in which the entries are visited.
+ *
+ * @since Geode 1.4
+ */
+class RegionRangeDigest {
+
+  /**
+   * Number of key ranges a region is split into
+   */
+  static final int RANGES = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GetInitialImage.DIGEST_RANGES", 256)
+      .intValue();
+
+  private final long[] rangeHashes;
+
+  RegionRangeDigest(int ranges) {
+    this.rangeHashes = new long[ranges];
+  }
+
+  private RegionRangeDigest(long[] rangeHashes) {
+    this.rangeHashes = rangeHashes;
+  }
+
+  /**
+   * Computes the digest of the entries, including tombstones, that are currently in the region.
+   */
+  static RegionRangeDigest create(LocalRegion region, int ranges) {
+    RegionRangeDigest digest = new RegionRangeDigest(ranges);
+    VersionSource myId = region.getVersionMember();
+    for (RegionEntry re : region.entries.regionEntries()) {
+      synchronized (re) {
+        if (re.isRemoved() && !re.isTombstone()) {
+          continue;
+        }
+        VersionStamp stamp = re.getVersionStamp();
+        if (stamp == null) {
+          digest.add(re.getKey(), null, 0, 0, re.isTombstone());
+        } else {
+          VersionSource id = stamp.getMemberID();
+          digest.add(re.getKey(), id == null ? myId : id, stamp.getRegionVersion(),
+              stamp.getEntryVersion(), re.isTombstone());
+        }
+      }
+    }
+    return digest;
+  }
+
+  void add(Object key, VersionSource member, long regionVersion, int entryVersion,
+      boolean tombstone) {
+    int keyHash = key.hashCode();
+    long h = mix(keyHash);
+    h = mix(h + (member == null ? 0 : member.hashCode()));
+    h = mix(h + regionVersion);
+    h = mix(h + entryVersion);
+    if (tombstone) {
+      h = mix(h + 1);
+    }
+    this.rangeHashes[rangeOf(keyHash)] += h;
+  }
+
+  int rangeOf(Object key) {
+    return rangeOf(key.hashCode());
+  }
+
+  private int rangeOf(int keyHash) {
+    return (int) ((mix(keyHash) >>> 1) % this.rangeHashes.length);
+  }
+
+  int getRangeCount() {
+    return this.rangeHashes.length;
+  }
+
+  /**
+   * Returns the ranges for which this digest and the given one are equal, or null if the two
+   * digests were not computed over the same number of ranges.
+   */
+  BitSet matchingRanges(RegionRangeDigest other) {
+    if (other.rangeHashes.length != this.rangeHashes.length) {
+      return null;
+    }
+    BitSet matched = new BitSet(this.rangeHashes.length);
+    for (int i = 0; i < this.rangeHashes.length; i++) {
+      if (this.rangeHashes[i] == other.rangeHashes[i]) {
+        matched.set(i);
+      }
+    }
+    return matched;
+  }
+
+  /**
+   * The finalization step of MurmurHash3's 64 bit variant
+   */
+  private static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  void toData(DataOutput out) throws IOException {
+    DataSerializer.writeLongArray(this.rangeHashes, out);
+  }
+
+  static RegionRangeDigest fromData(DataInput in) throws IOException {
+    long[] hashes = DataSerializer.readLongArray(in);
+    return hashes == null ? null : new RegionRangeDigest(hashes);
+  }
+
+  @Override
+  public String toString() {
+    return "RegionRangeDigest[ranges=" + this.rangeHashes.length + "]";
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.geode.internal.cache.TombstoneService.Tombstone;
+import org.apache.geode.internal.cache.versions.VersionSource;
+import org.apache.geode.internal.size.ReflectionSingleObjectSizer;
+
+/**
+ * A first-in first-out queue of the tombstones kept by {@link TombstoneService}. Rather than a
+ * {@link Tombstone} object and a queue node for every tombstone, the queue keeps its tombstones in
+ * chunks of parallel arrays, which takes less than half the memory. Tombstone objects only exist
+ * while they wait to be moved into the chunks and while the queue is being read.
+ * <p>
+ * Any thread may {@link #add} tombstones without locking. All other methods must be called by one
+ * thread at a time; they first move the added tombstones into the chunks.
+ * <p>
+ * There is a queue for every region with tombstones waiting to be expired, and most of them hold
+ * few tombstones, so the first chunk is small and each new chunk is twice the size of the one
+ * before it, up to {@link #CHUNK_SIZE}.
+ *
+ * @since Geode 1.4
+ */
+class TombstoneQueue {
+
+  /** The size of the first chunk of an empty queue */
+  static final int FIRST_CHUNK_SIZE = 16;
+
+  /** The size that chunks stop growing at */
+  static final int CHUNK_SIZE = 1024;
+
+  /**
+   * The memory used by each tombstone in the chunks, not counting its key: the references to its
+   * entry, region and member ID, and its entry version, region version, timestamp and distributed
+   * system ID.
+   */
+  static final int PER_TOMBSTONE_OVERHEAD =
+      ReflectionSingleObjectSizer.REFERENCE_SIZE * 3 + 4 + 8 + 8 + 1;
+
+  private final Queue<Tombstone> added = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger addedCount = new AtomicInteger();
+  private final List<Chunk> chunks = new ArrayList<>();
+  private volatile int chunkedCount;
+
+  void add(Tombstone tombstone) {
+    this.added.add(tombstone);
+    this.addedCount.incrementAndGet();
+  }
+
+  /** Returns the number of tombstones in the queue; may be called by any thread */
+  int size() {
+    return this.chunkedCount + this.addedCount.get();
+  }
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /** Returns the oldest tombstone, or null if the queue is empty */
+  Tombstone peek() {
+    moveAdded();
+    if (this.chunkedCount == 0) {
+      return null;
+    }
+    Chunk first = this.chunks.get(0);
+    return first.get(first.head);
+  }
+
+  /** Removes the oldest tombstone */
+  void remove() {
+    moveAdded();
+    if (this.chunkedCount == 0) {
+      return;
+    }
+    Chunk first = this.chunks.get(0);
+    first.clear(first.head);
+    first.head++;
+    if (first.head == first.tail) {
+      this.chunks.remove(0);
+    }
+    this.chunkedCount--;
+  }
+
+  /**
+   * Removes the tombstones that the predicate accepts, keeping the others in order. Returns the
+   * estimated memory used by the tombstones that were removed.
+   */
+  long removeIf(Predicate<Tombstone> predicate) {
+    moveAdded();
+    long removedSize = 0;
+    int kept = 0;
+    int writeChunk = 0;
+    int writeIndex = this.chunks.isEmpty() ? 0 : this.chunks.get(0).head;
+    for (Chunk chunk : this.chunks) {
+      for (int i = chunk.head; i < chunk.tail; i++) {
+        Tombstone t = chunk.get(i);
+        if (predicate.test(t)) {
+          removedSize += t.getSize();
+          continue;
+        }
+        if (writeIndex == this.chunks.get(writeChunk).capacity()) {
+          writeChunk++;
+          writeIndex = 0;
+        }
+        this.chunks.get(writeChunk).copy(writeIndex, chunk, i);
+        writeIndex++;
+        kept++;
+      }
+    }
+    if (kept == 0) {
+      this.chunks.clear();
+    } else {
+      Chunk last = this.chunks.get(writeChunk);
+      for (int i = writeIndex; i < last.tail; i++) {
+        last.clear(i);
+      }
+      last.tail = writeIndex;
+      this.chunks.subList(writeChunk + 1, this.chunks.size()).clear();
+    }
+    this.chunkedCount = kept;
+    return removedSize;
+  }
+
+  /** Passes each tombstone, oldest first, to the given action */
+  void forEach(Consumer<Tombstone> action) {
+    moveAdded();
+    for (Chunk chunk : this.chunks) {
+      for (int i = chunk.head; i < chunk.tail; i++) {
+        action.accept(chunk.get(i));
+      }
+    }
+  }
+
+  private void moveAdded() {
+    Tombstone t;
+    while ((t = this.added.poll()) != null) {
+      Chunk last = this.chunks.isEmpty() ? null : this.chunks.get(this.chunks.size() - 1);
+      if (last == null) {
+        last = new Chunk(FIRST_CHUNK_SIZE);
+        this.chunks.add(last);
+      } else if (last.tail == last.capacity()) {
+        last = new Chunk(Math.min(last.capacity() * 2, CHUNK_SIZE));
+        this.chunks.add(last);
+      }
+      last.set(last.tail, t);
+      last.tail++;
+      this.chunkedCount++;
+      this.addedCount.decrementAndGet();
+    }
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    forEach(t -> {
+      if (sb.length() > 1) {
+        sb.append(", ");
+      }
+      sb.append(t);
+    });
+    return sb.append(']').toString();
+  }
+
+  private static class Chunk {
+    final RegionEntry[] entries;
+    final LocalRegion[] regions;
+    final VersionSource[] memberIds;
+    final int[] entryVersions;
+    final long[] regionVersions;
+    final long[] timestamps;
+    final byte[] distributedSystemIds;
+    int head;
+    int tail;
+
+    Chunk(int capacity) {
+      this.entries = new RegionEntry[capacity];
+      this.regions = new LocalRegion[capacity];
+      this.memberIds = new VersionSource[capacity];
+      this.entryVersions = new int[capacity];
+      this.regionVersions = new long[capacity];
+      this.timestamps = new long[capacity];
+      this.distributedSystemIds = new byte[capacity];
+    }
+
+    int capacity() {
+      return this.entries.length;
+    }
+
+    Tombstone get(int i) {
+      return new Tombstone(this.entries[i], this.regions[i], this.memberIds[i],
+          this.entryVersions[i], this.regionVersions[i], this.timestamps[i],
+          this.distributedSystemIds[i]);
+    }
+
+    void set(int i, Tombstone t) {
+      this.entries[i] = t.entry;
+      this.regions[i] = t.region;
+      this.memberIds[i] = t.getMemberID();
+      this.entryVersions[i] = t.getEntryVersion();
+      this.regionVersions[i] = t.getRegionVersion();
+      this.timestamps[i] = t.getVersionTimeStamp();
+      this.distributedSystemIds[i] = (byte) t.getDistributedSystemId();
+    }
+
+    void copy(int i, Chunk from, int j) {
+      if (from == this && i == j) {
+        return;
+      }
+      this.entries[i] = from.entries[j];
+      this.regions[i] = from.regions[j];
+      this.memberIds[i] = from.memberIds[j];
+      this.entryVersions[i] = from.entryVersions[j];
+      this.regionVersions[i] = from.regionVersions[j];
+      this.timestamps[i] = from.timestamps[j];
+      this.distributedSystemIds[i] = from.distributedSystemIds[j];
+    }
+
+    /** Drops the references held for the given slot so that they can be collected */
+    void clear(int i) {
+      this.entries[i] = null;
+      this.regions[i] = null;
+      this.memberIds[i] = null;
+    }
+  }
+}
@@ -21,9 +21,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -322,16 +320,10 @@ public class TombstoneService {
     return this.replicatedTombstoneSweeper.getBlockGCLock();
   }
 
-  private static class Tombstone extends CompactVersionHolder {
+  static class Tombstone extends CompactVersionHolder {
     // tombstone overhead size
-    public static int PER_TOMBSTONE_OVERHEAD = ReflectionSingleObjectSizer.REFERENCE_SIZE // queue's
-                                                                                          // reference
-                                                                                          // to the
-                                                                                          // tombstone
-        + ReflectionSingleObjectSizer.REFERENCE_SIZE * 3 // entry, region, member ID
-        + ReflectionSingleObjectSizer.REFERENCE_SIZE // region entry value (Token.TOMBSTONE)
-        + 18; // version numbers and timestamp
-
+    public static int PER_TOMBSTONE_OVERHEAD = TombstoneQueue.PER_TOMBSTONE_OVERHEAD
+        + ReflectionSingleObjectSizer.REFERENCE_SIZE; // region entry value (Token.TOMBSTONE)
 
     RegionEntry entry;
     LocalRegion region;
@@ -342,6 +334,13 @@ public class TombstoneService {
       this.region = region;
     }
 
+    Tombstone(RegionEntry entry, LocalRegion region, VersionSource memberID, int entryVersion,
+        long regionVersion, long versionTimeStamp, int distributedSystemId) {
+      super(memberID, entryVersion, regionVersion, versionTimeStamp, distributedSystemId);
+      this.entry = entry;
+      this.region = region;
+    }
+
     public int getSize() {
       return Tombstone.PER_TOMBSTONE_OVERHEAD // includes per-entry overhead
           + ObjectSizer.DEFAULT.sizeof(entry.getKey());
@@ -408,10 +407,14 @@ public class TombstoneService {
      */
     private final ExecutorService executor;
     /**
-     * tombstones that have expired and are awaiting batch removal.
+     * tombstones that have expired and are awaiting batch removal, grouped by region.
      */
-    private final List<Tombstone> expiredTombstones;
+    private final Map<LocalRegion, TombstoneQueue> expiredTombstones;
     private final Object expiredTombstonesLock = new Object();
+    /**
+     * the number of tombstones in expiredTombstones
+     */
+    private volatile int expiredTombstoneCount;
 
     /**
      * Force batch expiration
@@ -442,7 +445,7 @@ public class TombstoneService {
         CancelCriterion cancelCriterion, ExecutorService executor) {
       super(cacheTime, stats, cancelCriterion, REPLICATE_TOMBSTONE_TIMEOUT,
           "Replicate/Partition Region Garbage Collector");
-      this.expiredTombstones = new ArrayList<Tombstone>();
+      this.expiredTombstones = new HashMap<>();
       this.executor = executor;
     }
 
@@ -470,26 +473,27 @@ public class TombstoneService {
 
     @Override
     protected boolean removeExpiredIf(Predicate<Tombstone> predicate) {
-      boolean result = false;
       long removalSize = 0;
       synchronized (expiredTombstonesLock) {
-        // Iterate in reverse order to optimize lots of removes.
-        // Since expiredTombstones is an ArrayList removing from
-        // low indexes requires moving everything at a higher index down.
-        for (int idx = expiredTombstones.size() - 1; idx >= 0; idx--) {
-          Tombstone t = expiredTombstones.get(idx);
-          if (predicate.test(t)) {
-            removalSize += t.getSize();
-            expiredTombstones.remove(idx);
-            result = true;
+        for (Iterator<TombstoneQueue> it = expiredTombstones.values().iterator(); it.hasNext();) {
+          TombstoneQueue queue = it.next();
+          int sizeBefore = queue.size();
+          removalSize += queue.removeIf(predicate);
+          expiredTombstoneCount -= sizeBefore - queue.size();
+          if (queue.isEmpty()) {
+            it.remove();
           }
         }
       }
       updateMemoryEstimate(-removalSize);
-      return result;
+      return removalSize > 0;
     }
 
-    /** expire a batch of tombstones */
+    /**
+     * expire a batch of tombstones. The block GC lock is held for one region at a time, so a delta
+     * GII that starts while the batch is in progress only waits for the current region; the regions
+     * that are left are expired by the next batch.
+     */
     private void expireBatch() {
       // fix for bug #46087 - OOME due to too many GC threads
       if (this.batchExpirationInProgress) {
@@ -498,6 +502,71 @@ public class TombstoneService {
         // seconds)
         return;
       }
+      if (isGCBlocked()) {
+        return;
+      }
+
+      this.batchExpirationInProgress = true;
+      boolean batchScheduled = false;
+      final long start = CachePerfStats.getStatTime();
+      int expiredCount = 0;
+      try {
+        List<LocalRegion> regions;
+        synchronized (expiredTombstonesLock) {
+          regions = new ArrayList<>(expiredTombstones.keySet());
+        }
+
+        // TODO seems like no need for the value of this map to be a Set.
+        // It could instead be a List, which would be nice because the per entry
+        // memory overhead for a set is much higher than an ArrayList
+        // BUT we send it to clients and the old
+        // version of them expects it to be a Set.
+        final Map<DistributedRegion, Set<Object>> reapedKeys = new HashMap<>();
+        for (LocalRegion region : regions) {
+          synchronized (getBlockGCLock()) {
+            if (isGCBlocked()) {
+              break;
+            }
+            synchronized (expiredTombstonesLock) {
+              TombstoneQueue queue = expiredTombstones.remove(region);
+              if (queue != null) {
+                expiredTombstoneCount -= queue.size();
+                expiredCount += queue.size();
+                expireRegionBatch((DistributedRegion) region, queue, reapedKeys);
+              }
+            }
+          }
+        }
+
+        // do messaging in a pool so this thread is not stuck trying to
+        // communicate with other members
+        executor.execute(new Runnable() {
+          public void run() {
+            try {
+              // this thread should not reference other sweeper state, which is not synchronized
+              for (Map.Entry<DistributedRegion, Set<Object>> mapEntry : reapedKeys.entrySet()) {
+                DistributedRegion r = mapEntry.getKey();
+                Set<Object> rKeysReaped = mapEntry.getValue();
+                r.distributeTombstoneGC(rKeysReaped);
+              }
+            } finally {
+              batchExpirationInProgress = false;
+            }
+          }
+        });
+        batchScheduled = true;
+      } finally {
+        if (testHook_forceBatchExpireCall != null) {
+          testHook_forceBatchExpireCall.countDown();
+        }
+        if (!batchScheduled) {
+          batchExpirationInProgress = false;
+        }
+        stats.endTombstoneBatchGC(start, expiredCount);
+      }
+    }
+
+    private boolean isGCBlocked() {
       synchronized (getBlockGCLock()) {
         int count = getGCBlockCount();
         if (count > 0) {
@@ -505,90 +574,51 @@ public class TombstoneService {
           if (logger.isDebugEnabled()) {
             logger.debug("expireBatch skipped due to {} Delta GII on going", count);
           }
-          return;
+          return true;
         }
+        return false;
+      }
+    }
 
-        this.batchExpirationInProgress = true;
-        boolean batchScheduled = false;
-        try {
-
-          // TODO seems like no need for the value of this map to be a Set.
-          // It could instead be a List, which would be nice because the per entry
-          // memory overhead for a set is much higher than an ArrayList
-          // BUT we send it to clients and the old
-          // version of them expects it to be a Set.
-          final Map<DistributedRegion, Set<Object>> reapedKeys = new HashMap<>();
-
-          // Update the GC RVV for all of the affected regions.
-          // We need to do this so that we can persist the GC RVV before
-          // we start removing entries from the map.
-          synchronized (expiredTombstonesLock) {
-            for (Tombstone t : expiredTombstones) {
-              DistributedRegion tr = (DistributedRegion) t.region;
-              tr.getVersionVector().recordGCVersion(t.getMemberID(), t.getRegionVersion());
-              if (!reapedKeys.containsKey(tr)) {
-                reapedKeys.put(tr, Collections.emptySet());
-              }
-            }
-          }
+    /**
+     * Removes the expired tombstones of one region. The region's GC version vector is updated
+     * with the highest expired version of each member, rather than once for every tombstone, and
+     * persisted before any entry is removed from the map.
+     */
+    private void expireRegionBatch(DistributedRegion r, TombstoneQueue queue,
+        Map<DistributedRegion, Set<Object>> reapedKeys) {
+      final Map<VersionSource, Long> gcVersions = new HashMap<>();
+      queue.forEach(t -> gcVersions.merge(t.getMemberID(), t.getRegionVersion(), Math::max));
+      for (Map.Entry<VersionSource, Long> entry : gcVersions.entrySet()) {
+        r.getVersionVector().recordGCVersion(entry.getKey(), entry.getValue());
+      }
 
-          for (DistributedRegion r : reapedKeys.keySet()) {
-            // Remove any exceptions from the RVV that are older than the GC version
-            r.getVersionVector().pruneOldExceptions();
+      // Remove any exceptions from the RVV that are older than the GC version
+      r.getVersionVector().pruneOldExceptions();
 
-            // Persist the GC RVV to disk. This needs to happen BEFORE we remove
-            // the entries from map, to prevent us from removing a tombstone
-            // from disk that has a version greater than the persisted
-            // GV RVV.
-            if (r.getDataPolicy().withPersistence()) {
-              r.getDiskRegion().writeRVVGC(r);
-            }
-          }
+      // Persist the GC RVV to disk. This needs to happen BEFORE we remove
+      // the entries from map, to prevent us from removing a tombstone
+      // from disk that has a version greater than the persisted
+      // GV RVV.
+      if (r.getDataPolicy().withPersistence()) {
+        r.getDiskRegion().writeRVVGC(r);
+      }
 
-          // Remove the tombstones from the in memory region map.
-          removeExpiredIf(t -> {
-            // for PR buckets we have to keep track of the keys removed because clients have
-            // them all lumped in a single non-PR region
-            DistributedRegion tr = (DistributedRegion) t.region;
-            boolean tombstoneWasStillInRegionMap =
-                tr.getRegionMap().removeTombstone(t.entry, t, false, true);
-            if (tombstoneWasStillInRegionMap && hasToTrackKeysForClients(tr)) {
-              Set<Object> keys = reapedKeys.get(tr);
-              if (keys.isEmpty()) {
-                keys = new HashSet<Object>();
-                reapedKeys.put(tr, keys);
-              }
-              keys.add(t.entry.getKey());
-            }
-            return true;
-          });
-
-          // do messaging in a pool so this thread is not stuck trying to
-          // communicate with other members
-          executor.execute(new Runnable() {
-            public void run() {
-              try {
-                // this thread should not reference other sweeper state, which is not synchronized
-                for (Map.Entry<DistributedRegion, Set<Object>> mapEntry : reapedKeys.entrySet()) {
-                  DistributedRegion r = mapEntry.getKey();
-                  Set<Object> rKeysReaped = mapEntry.getValue();
-                  r.distributeTombstoneGC(rKeysReaped);
-                }
-              } finally {
-                batchExpirationInProgress = false;
-              }
-            }
-          });
-          batchScheduled = true;
-        } finally {
-          if (testHook_forceBatchExpireCall != null) {
-            testHook_forceBatchExpireCall.countDown();
-          }
-          if (!batchScheduled) {
-            batchExpirationInProgress = false;
-          }
+      // Remove the tombstones from the in memory region map.
+      // for PR buckets we have to keep track of the keys removed because clients have
+      // them all lumped in a single non-PR region
+      final boolean trackKeys = hasToTrackKeysForClients(r);
+      final Set<Object> keys = trackKeys ? new HashSet<>() : Collections.emptySet();
+      long removalSize = queue.removeIf(t -> {
+        boolean tombstoneWasStillInRegionMap =
+            r.getRegionMap().removeTombstone(t.entry, t, false, true);
+        if (tombstoneWasStillInRegionMap && trackKeys) {
+          keys.add(t.entry.getKey());
         }
-      } // sync on deltaGIILock
+        return true;
+      });
+      updateMemoryEstimate(-removalSize);
+      reapedKeys.put(r, keys);
     }
 
     /**
@@ -619,14 +649,14 @@ public class TombstoneService {
       if (testHook_forceBatchExpireCall != null) {
         return true;
       }
-      if (expiredTombstones.size() >= EXPIRED_TOMBSTONE_LIMIT) {
+      if (expiredTombstoneCount >= EXPIRED_TOMBSTONE_LIMIT) {
         return true;
       }
       return false;
     }
 
     private void testHookIfIdleExpireBatch() {
-      if (IDLE_EXPIRATION && sleepTime >= EXPIRY_TIME && !this.expiredTombstones.isEmpty()) {
+      if (IDLE_EXPIRATION && sleepTime >= EXPIRY_TIME && this.expiredTombstoneCount > 0) {
         expireBatch();
       }
     }
@@ -646,7 +676,7 @@ public class TombstoneService {
       if (this.batchExpirationInProgress) {
         return;
       }
-      if (this.expiredTombstones.size() <= (EXPIRED_TOMBSTONE_LIMIT / 4)) {
+      if (this.expiredTombstoneCount <= (EXPIRED_TOMBSTONE_LIMIT / 4)) {
         return;
       }
       if (FORCE_GC_MEMORY_EVENTS || isFreeMemoryLow()) {
@@ -683,7 +713,9 @@ public class TombstoneService {
         logger.trace(LogMarker.TOMBSTONE, "adding expired tombstone {} to batch", tombstone);
       }
       synchronized (expiredTombstonesLock) {
-        expiredTombstones.add(tombstone);
+        expiredTombstones.computeIfAbsent(tombstone.region, k -> new TombstoneQueue())
+            .add(tombstone);
+        expiredTombstoneCount++;
       }
     }
 
@@ -694,8 +726,10 @@ public class TombstoneService {
 
     @Override
     public String toString() {
-      return super.toString() + " batchedExpiredTombstones[" + expiredTombstones.size() + "] = "
-          + expiredTombstones.toString();
+      synchronized (expiredTombstonesLock) {
+        return super.toString() + " batchedExpiredTombstones[" + expiredTombstoneCount + "] = "
+            + expiredTombstones.toString();
+      }
     }
 
     @Override
@@ -724,7 +758,7 @@ public class TombstoneService {
 
     @Override
     public long getScheduledTombstoneCount() {
-      return super.getScheduledTombstoneCount() + this.expiredTombstones.size();
+      return super.getScheduledTombstoneCount() + this.expiredTombstoneCount;
     }
   }
 
@@ -752,9 +786,9 @@ public class TombstoneService {
     /**
      * the current tombstones. These are queued for expiration. When tombstones are resurrected they
      * are left in this queue and the sweeper thread figures out that they are no longer valid
-     * tombstones.
+     * tombstones. Guarded by the queue head lock, except for adding.
      */
-    private final Queue<Tombstone> tombstones;
+    private final TombstoneQueue tombstones;
     /**
      * Estimate of the amount of memory used by this sweeper
      */
@@ -783,7 +817,7 @@ public class TombstoneService {
       this.cancelCriterion = cancelCriterion;
       this.EXPIRY_TIME = expiryTime;
       this.PURGE_INTERVAL = Math.min(DEFUNCT_TOMBSTONE_SCAN_INTERVAL, expiryTime);
-      this.tombstones = new ConcurrentLinkedQueue<Tombstone>();
+      this.tombstones = new TombstoneQueue();
       this.memoryUsedEstimate = new AtomicLong();
       this.queueHeadLock = new StoppableReentrantLock(cancelCriterion);
       this.sweeperThread = new Thread(
@@ -809,23 +843,15 @@ public class TombstoneService {
      * @return true if predicate ever returned true
      */
     private boolean removeUnexpiredIf(Predicate<Tombstone> predicate) {
-      boolean result = false;
-      long removalSize = 0;
+      long removalSize;
       lockQueueHead();
       try {
-        for (Iterator<Tombstone> it = getQueue().iterator(); it.hasNext();) {
-          Tombstone t = it.next();
-          if (predicate.test(t)) {
-            removalSize += t.getSize();
-            it.remove();
-            result = true;
-          }
-        }
+        removalSize = this.tombstones.removeIf(predicate);
       } finally {
         unlockQueueHead();
       }
       updateMemoryEstimate(-removalSize);
-      return result;
+      return removalSize > 0;
     }
 
     /**
@@ -870,10 +896,6 @@ public class TombstoneService {
       this.memoryUsedEstimate.addAndGet(delta);
     }
 
-    protected Queue<Tombstone> getQueue() {
-      return this.tombstones;
-    }
-
     void scheduleTombstone(Tombstone ts) {
       this.tombstones.add(ts);
       updateMemoryEstimate(ts.getSize());
@@ -1008,12 +1030,17 @@ public class TombstoneService {
     }
 
     public long getScheduledTombstoneCount() {
-      return getQueue().size();
+      return this.tombstones.size();
     }
 
     @Override
     public String toString() {
-      return "[" + getQueue().size() + "] " + getQueue().toString();
+      lockQueueHead();
+      try {
+        return "[" + this.tombstones.size() + "] " + this.tombstones.toString();
+      } finally {
+        unlockQueueHead();
+      }
     }
 
     /**
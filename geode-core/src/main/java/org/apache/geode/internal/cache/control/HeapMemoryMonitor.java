@@ -160,6 +160,7 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
   private final ResourceAdvisor resourceAdvisor;
   private final InternalCache cache;
   private final ResourceManagerStats stats;
+  private final MemoryUsageGradient usageGradient = new MemoryUsageGradient();
 
   private static boolean testDisableMemoryUpdates = false;
   private static long testBytesUsedForThresholdSet = -1;
@@ -467,6 +468,7 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
    */
   public void updateStateAndSendEvent(long bytesUsed) {
     this.stats.changeTenuredHeapUsed(bytesUsed);
+    this.stats.changeHeapUsageGrowthRate(this.usageGradient.update(bytesUsed, System.nanoTime()));
     synchronized (this) {
       MemoryState oldState = this.mostRecentEvent.getState();
       MemoryState newState = this.thresholds.computeNextState(oldState, bytesUsed);
@@ -636,6 +638,11 @@ public class HeapMemoryMonitor implements NotificationListener, MemoryMonitor {
     return getTenuredMemoryPoolMXBean().getUsage().getUsed();
   }
 
+  @Override
+  public long getUsageGrowthRate() {
+    return this.usageGradient.getBytesPerSecond();
+  }
+
   public static long getTenuredPoolMaxMemory() {
     return tenuredPoolMaxMemory;
   }
@@ -552,6 +552,22 @@ public class InternalResourceManager implements ResourceManager {
     return this.loadProbe;
   }
 
+  /**
+   * Starts a rebalance of all partitioned regions that only moves primaries, measuring the load of
+   * each primary with the given probe rather than the one of this resource manager.
+   *
+   * @param probe the probe to use, e.g. an
+   *        {@link org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe}
+   * @param simulate true to only compute the primary moves without doing them
+   * @since Geode 1.4
+   */
+  public RebalanceOperation startPrimaryRebalance(LoadProbe probe, boolean simulate) {
+    RebalanceOperationImpl op =
+        new RebalanceOperationImpl(this.cache, simulate, new FilterByPath(null, null), probe, true);
+    op.start();
+    return op;
+  }
+
   /**
    * This method is test purposes only.
    */
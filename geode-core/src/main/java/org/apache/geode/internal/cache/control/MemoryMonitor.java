@@ -28,6 +28,16 @@ public interface MemoryMonitor extends ResourceMonitor {
 
   public boolean hasEvictionThreshold();
 
+  /**
+   * Returns how fast the memory used is growing, in bytes per second. A negative rate means the
+   * memory used is shrinking.
+   *
+   * @since Geode 1.4
+   */
+  default public long getUsageGrowthRate() {
+    return 0;
+  }
+
   default public float getCriticalThreshold() {
     return getThresholds().getCriticalThreshold();
   }
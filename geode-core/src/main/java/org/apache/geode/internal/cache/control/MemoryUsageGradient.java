@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how fast the memory used by a {@link MemoryMonitor} is changing. The rate is a moving
+ * average, weighted towards the most recent samples, of the change in bytes used per second.
+ * Samples that arrive less than {@link #MIN_INTERVAL_NANOS} after the last one are folded into the
+ * next so that bursts of updates, as happen with off-heap memory, do not make the rate noisy.
+ *
+ * @since Geode 1.4
+ */
+class MemoryUsageGradient {
+
+  static final long MIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  /** The weight given to the newest sample */
+  private static final double ALPHA = 0.5;
+
+  private long lastBytesUsed = -1;
+  private long lastNanos;
+  private volatile long bytesPerSecond;
+
+  /**
+   * Adds a sample of the bytes used and returns the updated rate in bytes per second.
+   */
+  synchronized long update(long bytesUsed, long nanos) {
+    if (this.lastBytesUsed == -1) {
+      this.lastBytesUsed = bytesUsed;
+      this.lastNanos = nanos;
+      return 0;
+    }
+    long elapsed = nanos - this.lastNanos;
+    if (elapsed < MIN_INTERVAL_NANOS) {
+      return this.bytesPerSecond;
+    }
+    double rate = (bytesUsed - this.lastBytesUsed) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    long result = (long) (ALPHA * rate + (1 - ALPHA) * this.bytesPerSecond);
+    this.bytesPerSecond = result;
+    this.lastBytesUsed = bytesUsed;
+    this.lastNanos = nanos;
+    return result;
+  }
+
+  long getBytesPerSecond() {
+    return this.bytesPerSecond;
+  }
+}
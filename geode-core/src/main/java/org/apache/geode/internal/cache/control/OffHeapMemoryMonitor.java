@@ -58,6 +58,7 @@ public class OffHeapMemoryMonitor implements MemoryMonitor, MemoryUsageListener
   private final ResourceAdvisor resourceAdvisor;
   private final InternalCache cache;
   private final ResourceManagerStats stats;
+  private final MemoryUsageGradient usageGradient = new MemoryUsageGradient();
   /**
    * InternalResoruceManager insists on creating a OffHeapMemoryMonitor even when it does not have
    * off-heap memory. So we need to handle memoryAllocator being null.
@@ -301,6 +302,8 @@ public class OffHeapMemoryMonitor implements MemoryMonitor, MemoryUsageListener
    */
   public boolean updateStateAndSendEvent(long bytesUsed) {
     boolean result = false;
+    this.stats
+        .changeOffHeapUsageGrowthRate(this.usageGradient.update(bytesUsed, System.nanoTime()));
     synchronized (this) {
       final MemoryEvent mre = this.mostRecentEvent;
       final MemoryState oldState = mre.getState();
@@ -432,6 +435,11 @@ public class OffHeapMemoryMonitor implements MemoryMonitor, MemoryUsageListener
     return this.memoryAllocator.getUsedMemory();
   }
 
+  @Override
+  public long getUsageGrowthRate() {
+    return this.usageGradient.getBytesPerSecond();
+  }
+
   /**
    * Deliver a memory event from one of the monitors to both local listeners and remote resource
    * managers. Also, if a critical event is received and a query monitor has been enabled, then the
@@ -39,6 +39,7 @@ import org.apache.geode.cache.partition.PartitionRebalanceInfo;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.partitioned.LoadProbe;
 import org.apache.geode.internal.cache.partitioned.PartitionedRegionRebalanceOp;
 import org.apache.geode.internal.cache.partitioned.rebalance.CompositeDirector;
 import org.apache.geode.internal.logging.LogService;
@@ -56,12 +57,39 @@ public class RebalanceOperationImpl implements RebalanceOperation {
   private int pendingTasks;
   private final AtomicBoolean cancelled = new AtomicBoolean();
   private final Object futureLock = new Object();
+  /**
+   * the region rebalances submitted by this operation, guarded by futureLock
+   */
+  private final List<PartitionedRegionRebalanceOp> rebalanceOps =
+      new ArrayList<PartitionedRegionRebalanceOp>();
   private RegionFilter filter;
 
+  /**
+   * the probe used to measure load, or null for the one of the resource manager
+   */
+  private final LoadProbe loadProbe;
+
+  /**
+   * true if this operation only moves primaries
+   */
+  private final boolean primariesOnly;
+
   RebalanceOperationImpl(InternalCache cache, boolean simulation, RegionFilter filter) {
+    this(cache, simulation, filter, null, false);
+  }
+
+  /**
+   * @param loadProbe the probe used to measure load, or null for the one of the resource manager
+   * @param primariesOnly true to only move primaries, without creating or moving buckets
+   * @since Geode 1.4
+   */
+  RebalanceOperationImpl(InternalCache cache, boolean simulation, RegionFilter filter,
+      LoadProbe loadProbe, boolean primariesOnly) {
     this.simulation = simulation;
     this.cache = cache;
     this.filter = filter;
+    this.loadProbe = loadProbe;
+    this.primariesOnly = primariesOnly;
   }
 
   public void start() {
@@ -96,9 +124,11 @@ public class RebalanceOperationImpl implements RebalanceOperation {
                 continue;
               }
             } else {
-              PartitionedRegionRebalanceOp prOp =
-                  new PartitionedRegionRebalanceOp(region, simulation,
-                      new CompositeDirector(true, true, true, true), true, true, cancelled, stats);
+              CompositeDirector director = this.primariesOnly
+                  ? new CompositeDirector(false, false, false, true)
+                  : new CompositeDirector(true, true, true, true);
+              PartitionedRegionRebalanceOp prOp = new PartitionedRegionRebalanceOp(region,
+                  simulation, director, true, true, cancelled, stats, this.loadProbe);
               this.futureList.add(submitRebalanceTask(prOp, start));
             }
           }
@@ -122,6 +152,7 @@ public class RebalanceOperationImpl implements RebalanceOperation {
     synchronized (futureLock) {
       // this update should happen inside this.futureLock
       pendingTasks++;
+      rebalanceOps.add(rebalanceOp);
 
       try {
         Future<RebalanceResults> future = ex.submit(new Callable<RebalanceResults>() {
@@ -162,6 +193,24 @@ public class RebalanceOperationImpl implements RebalanceOperation {
     }
   }
 
+  /**
+   * Return the results of this rebalance as far as it has progressed. The details of the regions
+   * that are still being rebalanced are updated as their bucket operations complete.
+   *
+   * @since Geode 1.4
+   */
+  public RebalanceResults getProgress() {
+    RebalanceResultsImpl results = new RebalanceResultsImpl();
+    synchronized (futureLock) {
+      for (PartitionedRegionRebalanceOp rebalanceOp : rebalanceOps) {
+        for (PartitionRebalanceDetailsImpl details : rebalanceOp.getProgress()) {
+          results.addDetails(details);
+        }
+      }
+    }
+    return results;
+  }
+
   private List<Future<RebalanceResults>> getFutureList() {
     synchronized (this.futureList) {
       return this.futureList;
@@ -50,6 +50,8 @@ public class ResourceManagerStats {
   private static final int rebalanceBucketTransfersFailedId;
   private static final int rebalanceBucketTransfersTimeId;
   private static final int rebalanceBucketTransfersBytesId;
+  private static final int rebalanceBucketTransfersConcurrencyId;
+  private static final int rebalanceBucketTransfersThrottleTimeId;
   private static final int rebalancePrimaryTransfersInProgressId;
   private static final int rebalancePrimaryTransfersCompletedId;
   private static final int rebalancePrimaryTransfersFailedId;
@@ -71,6 +73,12 @@ public class ResourceManagerStats {
   private static final int resourceEventsDeliveredId;
   private static final int resourceEventQueueSizeId;
   private static final int thresholdEventProcessorThreadJobsId;
+  private static final int heapUsageGrowthRateId;
+  private static final int offHeapUsageGrowthRateId;
+  private static final int heapEvictionRateId;
+  private static final int offHeapEvictionRateId;
+  private static final int heapEvictorParallelismId;
+  private static final int offHeapEvictorParallelismId;
 
 
 
@@ -135,6 +143,14 @@ public class ResourceManagerStats {
             f.createLongCounter("rebalanceBucketTransfersBytes",
                 "Total bytes transfered while directing bucket transfer operations for rebalancing.",
                 "bytes", false),
+            f.createIntGauge("rebalanceBucketTransfersConcurrency",
+                "The number of bucket transfer operations that rebalancing currently allows to run"
+                    + " at once.",
+                "operations"),
+            f.createLongCounter("rebalanceBucketTransfersThrottleTime",
+                "Total time bucket transfer operations for rebalancing waited for the transfer rate"
+                    + " limit.",
+                "nanoseconds", false),
 
             f.createIntGauge("rebalancePrimaryTransfersInProgress",
                 "Current number of primary transfer operations being directed for rebalancing.",
@@ -183,7 +199,25 @@ public class ResourceManagerStats {
                 "Pending events for thresholdEventProcessor thread", "events"),
             f.createIntGauge("thresholdEventProcessorThreadJobs",
                 "Number of jobs currently being processed by the thresholdEventProcessorThread",
-                "jobs")});
+                "jobs"),
+            f.createLongGauge("heapUsageGrowthRate",
+                "The rate at which the tenured heap used is growing, negative when shrinking.",
+                "bytes/second"),
+            f.createLongGauge("offHeapUsageGrowthRate",
+                "The rate at which the off-heap memory used is growing, negative when shrinking.",
+                "bytes/second"),
+            f.createLongGauge("heapEvictionRate",
+                "The rate at which the adaptive heap evictor most recently freed memory.",
+                "bytes/second"),
+            f.createLongGauge("offHeapEvictionRate",
+                "The rate at which the adaptive off-heap evictor most recently freed memory.",
+                "bytes/second"),
+            f.createIntGauge("heapEvictorParallelism",
+                "The number of tasks the adaptive heap evictor is currently running at once.",
+                "tasks"),
+            f.createIntGauge("offHeapEvictorParallelism",
+                "The number of tasks the adaptive off-heap evictor is currently running at once.",
+                "tasks")});
 
     rebalancesInProgressId = type.nameToId("rebalancesInProgress");
     rebalancesCompletedId = type.nameToId("rebalancesCompleted");
@@ -204,6 +238,10 @@ public class ResourceManagerStats {
     rebalanceBucketTransfersFailedId = type.nameToId("rebalanceBucketTransfersFailed");
     rebalanceBucketTransfersTimeId = type.nameToId("rebalanceBucketTransfersTime");
     rebalanceBucketTransfersBytesId = type.nameToId("rebalanceBucketTransfersBytes");
+    rebalanceBucketTransfersConcurrencyId =
+        type.nameToId("rebalanceBucketTransfersConcurrency");
+    rebalanceBucketTransfersThrottleTimeId =
+        type.nameToId("rebalanceBucketTransfersThrottleTime");
     rebalancePrimaryTransfersInProgressId = type.nameToId("rebalancePrimaryTransfersInProgress");
     rebalancePrimaryTransfersCompletedId = type.nameToId("rebalancePrimaryTransfersCompleted");
     rebalancePrimaryTransfersFailedId = type.nameToId("rebalancePrimaryTransfersFailed");
@@ -225,6 +263,12 @@ public class ResourceManagerStats {
     resourceEventsDeliveredId = type.nameToId("resourceEventsDelivered");
     resourceEventQueueSizeId = type.nameToId("resourceEventQueueSize");
     thresholdEventProcessorThreadJobsId = type.nameToId("thresholdEventProcessorThreadJobs");
+    heapUsageGrowthRateId = type.nameToId("heapUsageGrowthRate");
+    offHeapUsageGrowthRateId = type.nameToId("offHeapUsageGrowthRate");
+    heapEvictionRateId = type.nameToId("heapEvictionRate");
+    offHeapEvictionRateId = type.nameToId("offHeapEvictionRate");
+    heapEvictorParallelismId = type.nameToId("heapEvictorParallelism");
+    offHeapEvictorParallelismId = type.nameToId("offHeapEvictorParallelism");
   }
 
   private final Statistics stats;
@@ -298,6 +342,14 @@ public class ResourceManagerStats {
     }
   }
 
+  public void changeBucketTransferConcurrency(int newValue) {
+    this.stats.setInt(rebalanceBucketTransfersConcurrencyId, newValue);
+  }
+
+  public void incBucketTransferThrottleTime(long delta) {
+    this.stats.incLong(rebalanceBucketTransfersThrottleTimeId, delta);
+  }
+
   public void startPrimaryTransfer(int regions) {
     this.stats.incInt(rebalancePrimaryTransfersInProgressId, regions);
   }
@@ -376,6 +428,14 @@ public class ResourceManagerStats {
     return this.stats.getLong(rebalanceBucketTransfersBytesId);
   }
 
+  public int getRebalanceBucketTransfersConcurrency() {
+    return this.stats.getInt(rebalanceBucketTransfersConcurrencyId);
+  }
+
+  public long getRebalanceBucketTransfersThrottleTime() {
+    return this.stats.getLong(rebalanceBucketTransfersThrottleTimeId);
+  }
+
   public int getRebalancePrimaryTransfersInProgress() {
     return this.stats.getInt(rebalancePrimaryTransfersInProgressId);
   }
@@ -520,6 +580,54 @@ public class ResourceManagerStats {
     return this.stats.getInt(thresholdEventProcessorThreadJobsId);
   }
 
+  public void changeHeapUsageGrowthRate(long newValue) {
+    this.stats.setLong(heapUsageGrowthRateId, newValue);
+  }
+
+  public long getHeapUsageGrowthRate() {
+    return this.stats.getLong(heapUsageGrowthRateId);
+  }
+
+  public void changeOffHeapUsageGrowthRate(long newValue) {
+    this.stats.setLong(offHeapUsageGrowthRateId, newValue);
+  }
+
+  public long getOffHeapUsageGrowthRate() {
+    return this.stats.getLong(offHeapUsageGrowthRateId);
+  }
+
+  public void changeHeapEvictionRate(long newValue) {
+    this.stats.setLong(heapEvictionRateId, newValue);
+  }
+
+  public long getHeapEvictionRate() {
+    return this.stats.getLong(heapEvictionRateId);
+  }
+
+  public void changeOffHeapEvictionRate(long newValue) {
+    this.stats.setLong(offHeapEvictionRateId, newValue);
+  }
+
+  public long getOffHeapEvictionRate() {
+    return this.stats.getLong(offHeapEvictionRateId);
+  }
+
+  public void changeHeapEvictorParallelism(int newValue) {
+    this.stats.setInt(heapEvictorParallelismId, newValue);
+  }
+
+  public int getHeapEvictorParallelism() {
+    return this.stats.getInt(heapEvictorParallelismId);
+  }
+
+  public void changeOffHeapEvictorParallelism(int newValue) {
+    this.stats.setInt(offHeapEvictorParallelismId, newValue);
+  }
+
+  public int getOffHeapEvictorParallelism() {
+    return this.stats.getInt(offHeapEvictorParallelismId);
+  }
+
   /**
    * @return a {@link QueueStatHelper} so that we can record number of events in the
    *         thresholdEventProcessor queue.
@@ -21,6 +21,7 @@ import org.apache.geode.StatisticsType;
 import org.apache.geode.StatisticsTypeFactory;
 import org.apache.geode.distributed.internal.DistributionStats;
 import org.apache.geode.internal.statistics.DummyStatisticsImpl;
+import org.apache.geode.internal.statistics.LatencyHistogram;
 import org.apache.geode.internal.statistics.StatisticsTypeFactoryImpl;
 
 public class FunctionServiceStats {
@@ -28,6 +29,12 @@ public class FunctionServiceStats {
   /** The <code>StatisticsType</code> of the statistics */
   private static final StatisticsType _type;
 
+  /**
+   * Name of the operation whose latency percentiles are published, as
+   * functionExecutionLatencyP50 and so on
+   */
+  private static final String FUNCTION_EXECUTION = "functionExecution";
+
   /**
    * Total number of completed function.execute() calls (aka invocations of a function) per VM. Name
    * of the function executions completed statistic
@@ -122,8 +129,9 @@ public class FunctionServiceStats {
     StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
 
     _type = f.createType(statName, statDescription,
-        new StatisticDescriptor[] {f.createIntCounter(FUNCTION_EXECUTIONS_COMPLETED,
-            "Total number of completed function.execute() calls", "operations"),
+        LatencyHistogram.withLatencyDescriptors(f, new StatisticDescriptor[] {
+            f.createIntCounter(FUNCTION_EXECUTIONS_COMPLETED,
+                "Total number of completed function.execute() calls", "operations"),
 
             f.createLongCounter(FUNCTION_EXECUTIONS_COMPLETED_PROCESSING_TIME,
                 "Total time consumed for all completed invocations", "nanoseconds"),
@@ -150,7 +158,7 @@ public class FunctionServiceStats {
             f.createIntCounter(FUNCTION_EXECUTION_EXCEPTIONS,
                 "Total number of Exceptions Occurred while executing function", "operations"),
 
-        });
+        }, FUNCTION_EXECUTION));
     // Initialize id fields
     _functionExecutionsCompletedId = _type.nameToId(FUNCTION_EXECUTIONS_COMPLETED);
     _functionExecutionsCompletedProcessingTimeId =
@@ -170,6 +178,9 @@ public class FunctionServiceStats {
   /** The <code>Statistics</code> instance to which most behavior is delegated */
   private final Statistics _stats;
 
+  /** Latency of completed executions, only kept when clock stats are enabled */
+  private final LatencyHistogram _executionLatency;
+
   // ///////////////////// Constructors ///////////////////////
 
   /**
@@ -181,10 +192,17 @@ public class FunctionServiceStats {
    */
   public FunctionServiceStats(StatisticsFactory factory, String name) {
     this._stats = factory.createAtomicStatistics(_type, name);
+    if (DistributionStats.enableClockStats) {
+      this._executionLatency = new LatencyHistogram();
+      this._executionLatency.publishTo(this._stats, FUNCTION_EXECUTION);
+    } else {
+      this._executionLatency = null;
+    }
   }
 
   private FunctionServiceStats() {
     this._stats = new DummyStatisticsImpl(this._type, null, 0);
+    this._executionLatency = null;
   }
 
   static FunctionServiceStats createDummy() {
@@ -381,6 +399,9 @@ public class FunctionServiceStats {
     // Increment function execution complete processing time
     long elapsed = ts - start;
     this._stats.incLong(_functionExecutionsCompletedProcessingTimeId, elapsed);
+    if (this._executionLatency != null) {
+      this._executionLatency.recordValue(elapsed);
+    }
 
     if (haveResult) {
       // Decrement function Executions with haveResult = true running.
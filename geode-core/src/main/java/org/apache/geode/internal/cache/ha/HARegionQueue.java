@@ -217,6 +217,9 @@ public class HARegionQueue implements RegionQueue {
   /** queue to hold events during GII transfer so we do not modify the queue during chunking */
   private Queue giiQueue = new ConcurrentLinkedQueue();
 
+  /** run before the region of this queue provides its image to another member, or null */
+  private volatile Runnable beforeImageProvided;
+
   /**
    * Constant used to indicate the instance of BlockingHARegionQueue. The static function used for
    * creating the queue instance should be passed this as parameter for creating
@@ -694,6 +697,10 @@ public class HARegionQueue implements RegionQueue {
    * event. Bug #41681
    */
   public void startGiiQueueing() {
+    Runnable callback = this.beforeImageProvided;
+    if (callback != null) {
+      callback.run();
+    }
     this.giiLock.writeLock().lock();
     this.giiCount++; // TODO: non-atomic operation on volatile!
     if (logger.isDebugEnabled()) {
@@ -705,6 +712,14 @@ public class HARegionQueue implements RegionQueue {
     // Thread.currentThread().interrupt(); }
   }
 
+  /**
+   * Sets the callback run before the region of this queue provides its image to another member,
+   * which for a client queue is a server creating a redundant queue for the client.
+   */
+  public void setBeforeImageProvided(Runnable callback) {
+    this.beforeImageProvided = callback;
+  }
+
   /**
    * at the end of a GII image request we decrement the in-process count and, if it falls to zero we
    * empty the list of messages that put() has been building. This is done with the lock held to
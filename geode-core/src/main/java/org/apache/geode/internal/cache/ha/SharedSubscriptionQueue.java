@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.ha;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+
+/**
+ * A queue of client subscription events shared by every client proxy of a server.
+ * <p>
+ * Each {@link HARegionQueue} keeps a region entry, an event id mapping and counters for every event
+ * it holds, so with thousands of subscribed clients an event routed to most of them costs the
+ * server hundreds of bytes per client even though the event itself is shared through the
+ * HAContainer. This queue instead stores each event once in a ring, together with the sorted slots
+ * of the subscribers it is routed to and the number of them that have still to dispatch it. A
+ * {@link Subscriber} only keeps the sequence of the next entry it has to look at, the number of
+ * entries waiting for it and the few sequences ahead of that which it has already released out of
+ * order. An entry is released once every subscriber has dispatched it, and the head of the ring
+ * moves past released entries.
+ * <p>
+ * The queue is not highly available; it is only used by the primary proxies of non-durable clients
+ * when {@link #ENABLED}, whose secondaries keep queueing into their HARegionQueues. A primary
+ * {@linkplain Subscriber#detach detaches} from the queue before a new secondary copies its
+ * HARegionQueue, so that the secondary gets the events the primary still has to send.
+ *
+ * @since Geode 1.4
+ */
+public class SharedSubscriptionQueue {
+
+  /**
+   * Whether the primary proxies of non-durable clients queue their events in a shared queue instead
+   * of their HARegionQueue. Not final for tests.
+   */
+  public static boolean ENABLED =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "ClientSubscription.SHARED_QUEUE");
+
+  static final int INITIAL_CAPACITY = 1024;
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  /** The slots in use by open subscribers, guarded by lock */
+  private final BitSet slots = new BitSet();
+
+  /** The events of the entries in the ring, indexed by sequence, guarded by lock */
+  private Object[] messages;
+
+  /** The sorted slots of the subscribers each entry is routed to, guarded by lock */
+  private int[][] targets;
+
+  /** The number of subscribers that have still to dispatch each entry, guarded by lock */
+  private int[] refs;
+
+  /** The sequence of the oldest entry not yet released, guarded by lock */
+  private long head;
+
+  /** The sequence the next entry will be appended at, guarded by lock */
+  private long tail;
+
+  public SharedSubscriptionQueue() {
+    this(INITIAL_CAPACITY);
+  }
+
+  SharedSubscriptionQueue(int initialCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(2, initialCapacity) - 1) << 1;
+    this.messages = new Object[capacity];
+    this.targets = new int[capacity][];
+    this.refs = new int[capacity];
+  }
+
+  /**
+   * Returns a new subscriber that will see the entries appended from now on.
+   */
+  public Subscriber subscribe() {
+    this.lock.lock();
+    try {
+      int slot = this.slots.nextClearBit(0);
+      this.slots.set(slot);
+      return new Subscriber(slot, this.tail);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Appends {@code message} once for all of the open {@code subscribers}.
+   */
+  public void append(Object message, Collection<Subscriber> subscribers) {
+    int[] slots = new int[subscribers.size()];
+    int count = 0;
+    this.lock.lock();
+    try {
+      for (Subscriber subscriber : subscribers) {
+        if (!subscriber.closed) {
+          slots[count++] = subscriber.slot;
+        } else if (subscriber.sink != null) {
+          subscriber.sink.accept(message);
+        }
+      }
+      if (count == 0) {
+        return;
+      }
+      if (count < slots.length) {
+        slots = Arrays.copyOf(slots, count);
+      }
+      Arrays.sort(slots);
+      append(message, slots);
+      for (Subscriber subscriber : subscribers) {
+        if (!subscriber.closed) {
+          subscriber.pending++;
+          subscriber.available.signal();
+        }
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of entries in the ring, which includes released entries that are behind one
+   * that is not.
+   */
+  public int size() {
+    this.lock.lock();
+    try {
+      return (int) (this.tail - this.head);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  int capacity() {
+    this.lock.lock();
+    try {
+      return this.messages.length;
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private void append(Object message, int[] slots) {
+    if (this.tail - this.head == this.messages.length) {
+      grow();
+    }
+    int index = index(this.tail);
+    this.messages[index] = message;
+    this.targets[index] = slots;
+    this.refs[index] = slots.length;
+    this.tail++;
+  }
+
+  private void grow() {
+    int capacity = this.messages.length << 1;
+    Object[] newMessages = new Object[capacity];
+    int[][] newTargets = new int[capacity][];
+    int[] newRefs = new int[capacity];
+    for (long sequence = this.head; sequence < this.tail; sequence++) {
+      int from = index(sequence);
+      int to = (int) (sequence & (capacity - 1));
+      newMessages[to] = this.messages[from];
+      newTargets[to] = this.targets[from];
+      newRefs[to] = this.refs[from];
+    }
+    this.messages = newMessages;
+    this.targets = newTargets;
+    this.refs = newRefs;
+  }
+
+  private int index(long sequence) {
+    return (int) (sequence & (this.messages.length - 1));
+  }
+
+  private boolean isTarget(long sequence, int slot) {
+    int[] slots = this.targets[index(sequence)];
+    return slots != null && Arrays.binarySearch(slots, slot) >= 0;
+  }
+
+  private void release(long sequence) {
+    int index = index(sequence);
+    if (--this.refs[index] > 0) {
+      return;
+    }
+    this.messages[index] = null;
+    this.targets[index] = null;
+    while (this.head < this.tail && this.refs[index(this.head)] == 0) {
+      this.head++;
+    }
+  }
+
+  /**
+   * One client's view of the queue. Only the dispatcher of the client peeks and removes, but
+   * events may be appended and removed by other threads.
+   */
+  public class Subscriber {
+
+    private final int slot;
+
+    private final Condition available = lock.newCondition();
+
+    /** The sequence of the next entry to look at, guarded by lock */
+    private long cursor;
+
+    /** The sequence of the entry last returned by peek, or -1, guarded by lock */
+    private long peeked = -1;
+
+    /** The number of entries routed to this subscriber and not yet released, guarded by lock */
+    private int pending;
+
+    /** Sequences at or after the cursor that have already been released, guarded by lock */
+    private final Set<Long> released = new HashSet<>();
+
+    private volatile boolean closed;
+
+    /** Where the events appended after this subscriber was detached go, or null */
+    private volatile Consumer<Object> sink;
+
+    private Subscriber(int slot, long cursor) {
+      this.slot = slot;
+      this.cursor = cursor;
+    }
+
+    /**
+     * Returns the next event routed to this subscriber without removing it, waiting up to
+     * {@code timeoutMillis} for one to be appended.
+     *
+     * @return the event, or null if none was appended in time or the subscriber is closed
+     */
+    public Object peek(long timeoutMillis) throws InterruptedException {
+      long remaining = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+      lock.lock();
+      try {
+        while (this.pending == 0 && !this.closed) {
+          if (remaining <= 0) {
+            return null;
+          }
+          remaining = this.available.awaitNanos(remaining);
+        }
+        if (this.closed) {
+          return null;
+        }
+        this.cursor = next(this.cursor);
+        this.peeked = this.cursor;
+        return messages[index(this.cursor)];
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases the event last returned by {@link #peek}.
+     */
+    public void remove() {
+      lock.lock();
+      try {
+        if (this.closed || this.peeked < 0) {
+          return;
+        }
+        this.pending--;
+        release(this.peeked);
+        this.cursor = this.peeked + 1;
+        this.peeked = -1;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Appends {@code message} for this subscriber only.
+     */
+    public void append(Object message) {
+      lock.lock();
+      try {
+        if (this.closed) {
+          if (this.sink != null) {
+            this.sink.accept(message);
+          }
+          return;
+        }
+        SharedSubscriptionQueue.this.append(message, new int[] {this.slot});
+        this.pending++;
+        this.available.signal();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases every queued event routed to this subscriber that matches {@code filter}.
+     *
+     * @return the number of events released
+     */
+    public int removeIf(Predicate<Object> filter) {
+      lock.lock();
+      try {
+        int removed = 0;
+        for (long sequence = Math.max(this.cursor, head); sequence < tail; sequence++) {
+          if (isTarget(sequence, this.slot) && !this.released.contains(sequence)
+              && filter.test(messages[index(sequence)])) {
+            if (sequence == this.peeked) {
+              // the dispatcher is already sending it, so there is nothing left to remove
+              this.cursor = sequence + 1;
+              this.peeked = -1;
+            } else {
+              this.released.add(sequence);
+            }
+            this.pending--;
+            release(sequence);
+            removed++;
+          }
+        }
+        return removed;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases and returns every queued event routed to this subscriber.
+     */
+    public List<Object> drain() {
+      lock.lock();
+      try {
+        List<Object> events = new ArrayList<>(this.pending);
+        while (this.pending > 0) {
+          long sequence = next(this.cursor);
+          events.add(messages[index(sequence)]);
+          this.cursor = sequence + 1;
+          this.pending--;
+          release(sequence);
+        }
+        this.peeked = -1;
+        return events;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Returns the number of events routed to this subscriber that it has not removed.
+     */
+    public int size() {
+      lock.lock();
+      try {
+        return this.pending;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public boolean isClosed() {
+      return this.closed;
+    }
+
+    /**
+     * Returns whether this subscriber was closed by {@link #detach}.
+     */
+    public boolean isDetached() {
+      return this.sink != null;
+    }
+
+    /**
+     * Closes this subscriber, handing its queued events and any appended for it from now on to
+     * {@code sink} in order. The sink is called while the queue is locked.
+     */
+    public void detach(Consumer<Object> sink) {
+      lock.lock();
+      try {
+        if (this.closed) {
+          return;
+        }
+        for (Object message : drain()) {
+          sink.accept(message);
+        }
+        this.sink = sink;
+        close();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Releases the events still queued for this subscriber and wakes up a waiting
+     * {@link #peek}.
+     */
+    public void close() {
+      lock.lock();
+      try {
+        if (this.closed) {
+          return;
+        }
+        drain();
+        this.closed = true;
+        this.released.clear();
+        slots.clear(this.slot);
+        this.available.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /**
+     * Returns the sequence of the first entry at or after {@code from} routed to this subscriber
+     * and not yet released, forgetting the released sequences skipped on the way. Only called
+     * while events are pending. Entries before the head have all been released and their part of
+     * the ring may have been reused, so they are not looked at.
+     */
+    private long next(long from) {
+      long sequence = from;
+      if (sequence < head) {
+        sequence = head;
+        this.released.removeIf(released -> released < head);
+      }
+      while (true) {
+        if (!this.released.isEmpty() && this.released.remove(sequence)) {
+          sequence++;
+        } else if (isTarget(sequence, this.slot)) {
+          return sequence;
+        } else {
+          sequence++;
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "SharedSubscriptionQueue.Subscriber[slot=" + this.slot + ";pending=" + size() + "]";
+    }
+  }
+}
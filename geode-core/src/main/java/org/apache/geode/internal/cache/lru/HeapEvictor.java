@@ -24,6 +24,9 @@ import org.apache.geode.internal.cache.control.HeapMemoryMonitor;
 import org.apache.geode.internal.cache.control.InternalResourceManager;
 import org.apache.geode.internal.cache.control.InternalResourceManager.ResourceType;
 import org.apache.geode.internal.cache.control.MemoryEvent;
+import org.apache.geode.internal.cache.control.MemoryMonitor;
+import org.apache.geode.internal.cache.control.MemoryThresholds;
+import org.apache.geode.internal.cache.control.ResourceManagerStats;
 import org.apache.geode.internal.cache.control.ResourceListener;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.LoggingThreadGroup;
@@ -33,6 +36,8 @@ import org.apache.logging.log4j.Logger;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Triggers centralized eviction(asynchronously) when the ResourceManager sends an eviction event
@@ -71,6 +76,18 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
               + "HeapLRUCapacityController.higherEntryCountBucketCalculationInterval", 100)
           .intValue();
 
+  /**
+   * When true, each eviction loop submits {@link RegionBatchEvictorTask}s that evict batches of
+   * entries from the coldest buckets first, and the number of tasks follows how close memory is to
+   * the critical threshold and how fast it is growing.
+   */
+  public static final boolean ADAPTIVE_EVICTION = Boolean
+      .getBoolean(DistributionConfig.GEMFIRE_PREFIX + "HeapLRUCapacityController.adaptiveEviction");
+
+  /** The number of entries an adaptive evictor task evicts from a bucket before moving on. */
+  public static final int EVICTION_BATCH_SIZE = Math.max(1, Integer.getInteger(
+      DistributionConfig.GEMFIRE_PREFIX + "HeapLRUCapacityController.evictionBatchSize", 100));
+
   private static final String EVICTOR_THREAD_GROUP_NAME = "EvictorThreadGroup";
 
   private static final String EVICTOR_THREAD_NAME = "EvictorThread";
@@ -96,6 +113,13 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
   private final AtomicBoolean isRunning = new AtomicBoolean(true);
 
+  /** Bytes evicted by adaptive tasks since the last eviction loop started */
+  private final LongAdder bytesEvicted = new LongAdder();
+
+  private volatile long lastLoopNanos;
+
+  private volatile int adaptiveParallelism;
+
   public HeapEvictor(InternalCache gemFireCache) {
     this.cache = gemFireCache;
     initializeEvictorThreadPool();
@@ -169,6 +193,25 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     return allRegionList;
   }
 
+  /**
+   * Returns the regions in order of the last modified time of the next entry each would evict, so
+   * that the regions holding the least recently used data come first.
+   */
+  private List<LocalRegion> getAllColdestFirstRegionList() {
+    List<LocalRegion> allRegionList = getAllRegionList();
+
+    // Capture the times so that they do not change while sorting
+    final Object2LongOpenHashMap<LocalRegion> times =
+        new Object2LongOpenHashMap<>(allRegionList.size());
+    for (LocalRegion r : allRegionList) {
+      RegionMap map = r.getRegionMap();
+      times.put(r, map instanceof AbstractLRURegionMap
+          ? ((AbstractLRURegionMap) map).getOldestEntryTime() : Long.MAX_VALUE);
+    }
+    allRegionList.sort((r1, r2) -> Long.compare(times.getLong(r1), times.getLong(r2)));
+    return allRegionList;
+  }
+
   public InternalCache getGemFireCache() {
     return (InternalCache) this.cache;
   }
@@ -309,6 +352,92 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
     return evictorTaskSet;
   }
 
+  /**
+   * Submits the adaptive evictor tasks for one eviction loop. The tasks share the regions, coldest
+   * first, and try to evict the burst size plus what is expected to be allocated before the next
+   * loop.
+   */
+  private void createAndSubmitAdaptiveEvictionTasks(int delayTime) {
+    long now = System.nanoTime();
+    long evictionRate = 0;
+    long evicted = this.bytesEvicted.sumThenReset();
+    if (this.lastLoopNanos != 0 && now > this.lastLoopNanos) {
+      evictionRate = (long) (evicted * (double) TimeUnit.SECONDS.toNanos(1)
+          / (now - this.lastLoopNanos));
+    }
+    this.lastLoopNanos = now;
+
+    MemoryMonitor monitor = getMemoryMonitor();
+    MemoryThresholds thresholds = monitor.getThresholds();
+    long growthRate = monitor.getUsageGrowthRate();
+    long limitBytes = thresholds.isCriticalThresholdEnabled()
+        ? thresholds.getCriticalThresholdBytes() : thresholds.getMaxMemoryBytes();
+    int parallelism = computeParallelism(monitor.getBytesUsed(),
+        thresholds.getEvictionThresholdClearBytes(), limitBytes, growthRate, evictionRate,
+        this.adaptiveParallelism, Math.max(1, MAX_EVICTOR_THREADS - 1));
+
+    List<LocalRegion> allRegionList = getAllColdestFirstRegionList();
+    parallelism = Math.min(parallelism, Math.max(1, allRegionList.size()));
+    this.adaptiveParallelism = parallelism;
+    updateAdaptiveStats(evictionRate, parallelism);
+    if (allRegionList.isEmpty()) {
+      return;
+    }
+
+    long bytesToEvict =
+        getTotalBytesToEvict() + Math.max(0, growthRate) * delayTime / TimeUnit.SECONDS.toMillis(1);
+    Queue<LocalRegion> regions = new ConcurrentLinkedQueue<>(allRegionList);
+    AtomicLong bytesRemaining = new AtomicLong(bytesToEvict);
+    for (int i = 0; i < parallelism && mustEvict(); i++) {
+      executeInThreadPool(
+          new RegionBatchEvictorTask(regions, this, bytesRemaining, EVICTION_BATCH_SIZE));
+    }
+  }
+
+  /**
+   * Returns the number of adaptive evictor tasks to run at once. The number grows with how far the
+   * memory used is between the eviction clear threshold and the limit, and doubles from the
+   * previous loop while memory is growing faster than it was being evicted.
+   *
+   * @param bytesUsed the memory currently used
+   * @param evictionClearBytes the memory used below which eviction stops
+   * @param limitBytes the critical threshold, or the maximum memory if there is none
+   * @param growthRate the rate at which memory used is growing in bytes per second
+   * @param evictionRate the rate at which the last loop evicted in bytes per second
+   * @param previousParallelism the number of tasks run by the last loop
+   * @param maxParallelism the most tasks that may run at once
+   */
+  static int computeParallelism(long bytesUsed, long evictionClearBytes, long limitBytes,
+      long growthRate, long evictionRate, int previousParallelism, int maxParallelism) {
+    double pressure = 1;
+    if (limitBytes > evictionClearBytes) {
+      pressure = (double) (bytesUsed - evictionClearBytes) / (limitBytes - evictionClearBytes);
+      pressure = Math.max(0, Math.min(1, pressure));
+    }
+    int result = (int) Math.ceil(pressure * maxParallelism);
+    if (growthRate > evictionRate && previousParallelism > 0) {
+      result = Math.max(result, previousParallelism * 2);
+    }
+    return Math.max(1, Math.min(maxParallelism, result));
+  }
+
+  /**
+   * Adds to the bytes evicted by adaptive evictor tasks, from which the eviction rate is computed.
+   */
+  public void incBytesEvicted(long bytes) {
+    this.bytesEvicted.add(bytes);
+  }
+
+  protected MemoryMonitor getMemoryMonitor() {
+    return this.cache.getInternalResourceManager().getHeapMonitor();
+  }
+
+  protected void updateAdaptiveStats(long evictionRate, int parallelism) {
+    ResourceManagerStats stats = this.cache.getInternalResourceManager().getStats();
+    stats.changeHeapEvictionRate(evictionRate);
+    stats.changeHeapEvictorParallelism(parallelism);
+  }
+
   // Since the amount of memory used is to a large degree dependent upon when
   // garbage collection is run, it's difficult to determine when to stop
   // evicting. So, an initial calculation is done to determine the number of
@@ -381,7 +510,9 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
             if (numEvictionLoopsCompleted < testAbortAfterLoopCount) {
               try {
                 // Submit tasks into the queue to do the evictions
-                if (EVICT_HIGH_ENTRY_COUNT_BUCKETS_FIRST) {
+                if (ADAPTIVE_EVICTION) {
+                  createAndSubmitAdaptiveEvictionTasks(getEvictionLoopDelayTime());
+                } else if (EVICT_HIGH_ENTRY_COUNT_BUCKETS_FIRST) {
                   createAndSubmitWeightedRegionEvictionTasks();
                 } else {
                   for (RegionEvictorTask task : createRegionEvictionTasks()) {
@@ -433,6 +564,11 @@ public class HeapEvictor implements ResourceListener<MemoryEvent> {
 
       } else {
         this.mustEvict.set(false);
+        if (ADAPTIVE_EVICTION) {
+          this.lastLoopNanos = 0;
+          this.adaptiveParallelism = 0;
+          updateAdaptiveStats(0, 0);
+        }
       }
     }
   }
@@ -89,6 +89,8 @@ public class HeapLRUCapacityController extends LRUAlgorithm {
         "Maximum number of entry destroys triggered by LRU before scan occurs.";
     final String lruEvaluationsDesc = "Number of entries evaluated during LRU operations.";
     final String lruGreedyReturnsDesc = "Number of non-LRU entries evicted during LRU operations";
+    final String lruEvictedBytesDesc =
+        "Estimated amount of memory freed by evicting entries through the adaptive evictor.";
 
     statType = f.createType("HeapLRUStatistics",
         "Statistics about byte based Least Recently Used region entry disposal",
@@ -97,7 +99,8 @@ public class HeapLRUCapacityController extends LRUAlgorithm {
             f.createLongCounter("lruDestroys", lruDestroysDesc, "entries"),
             f.createLongGauge("lruDestroysLimit", lruDestroysLimitDesc, "entries"),
             f.createLongCounter("lruEvaluations", lruEvaluationsDesc, "entries"),
-            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries"),});
+            f.createLongCounter("lruGreedyReturns", lruGreedyReturnsDesc, "entries"),
+            f.createLongCounter("lruEvictedBytes", lruEvictedBytesDesc, "bytes"),});
   }
 
   // //////////////////// Instance Fields /////////////////////
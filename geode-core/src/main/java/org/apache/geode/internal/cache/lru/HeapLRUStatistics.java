@@ -28,6 +28,9 @@ import org.apache.geode.*;
  */
 public class HeapLRUStatistics extends LRUStatistics {
 
+  private static final int lruEvictedBytesId =
+      HeapLRUCapacityController.statType.nameToId("lruEvictedBytes");
+
   public HeapLRUStatistics(StatisticsFactory factory, String name, EnableLRU helper) {
     super(factory, name, helper);
   }
@@ -57,5 +60,15 @@ public class HeapLRUStatistics extends LRUStatistics {
   public void resetCounter() {
     super.resetCounter();
   }
+
+  /**
+   * Adds the estimated size of entries evicted by the adaptive evictor, which is compared with the
+   * rate at which heap is being allocated.
+   *
+   * @since Geode 1.4
+   */
+  public void incEvictedBytes(long delta) {
+    getStats().incLong(lruEvictedBytesId, delta);
+  }
 }
 
@@ -276,6 +276,34 @@ public class NewLRUClockHand {
     }
   }
 
+  /**
+   * Returns the last modified time of the entry that would be considered for eviction next, which
+   * the evictor uses to find the coldest regions. Returns Long.MAX_VALUE if the list is empty.
+   *
+   * @since Geode 1.4
+   */
+  public long getOldestEntryTime() {
+    LRUClockNode aNode;
+    synchronized (lock) {
+      aNode = this.head.nextLRUNode();
+      if (aNode == this.tail) {
+        return Long.MAX_VALUE;
+      }
+    }
+    return getEntryTime(aNode);
+  }
+
+  /**
+   * Returns the time used to rank an entry for eviction, which is the current time if it has been
+   * used since it was last considered.
+   */
+  protected static long getEntryTime(LRUClockNode aNode) {
+    if (aNode.testRecentlyUsed() || !(aNode instanceof RegionEntry)) {
+      return System.currentTimeMillis();
+    }
+    return ((RegionEntry) aNode).getLastModified();
+  }
+
   public long getExpensiveListCount() {
     synchronized (lock) {
       long count = 0;
@@ -409,7 +437,7 @@ public class NewLRUClockHand {
   protected static class HeadLock extends Object {
   }
 
-  private static class GuardNode implements LRUClockNode {
+  static class GuardNode implements LRUClockNode {
 
     private LRUClockNode next;
     LRUClockNode prev;
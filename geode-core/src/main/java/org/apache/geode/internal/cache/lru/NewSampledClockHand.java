@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.lru;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.InternalRegionArguments;
+import org.apache.geode.internal.cache.RegionEntry;
+import org.apache.geode.internal.cache.versions.RegionVersionVector;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.log4j.LogMarker;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+
+/**
+ * NewSampledClockHand chooses the entry to evict without keeping the entries in a list. Each call
+ * to {@link #getLRUEntry()} looks at samples of {@link #SAMPLE_SIZE} entries picked at random from
+ * the region's entry map and returns the one with the lowest access count, choosing the one that
+ * was modified least recently among equal counts.
+ * <p>
+ * The access count of an entry is raised each time it is sampled and found to have been used since
+ * it was last sampled, up to {@link #MAX_ACCESS_COUNT}, and lowered each time it has not been. An
+ * entry that keeps being read is therefore protected for several samples after it stops being
+ * read, and a new entry is protected until it has been sampled twice. Further samples are taken
+ * while the best entry found so far still has a count above zero.
+ * <p>
+ * Entries that may be evicted are marked by pointing their next LRU link at the (empty) tail guard
+ * node and their previous LRU link at a guard node standing for their access count, so adding and
+ * removing an entry and updating its count only synchronize on the entry itself instead of on a
+ * lock shared by the whole region.
+ *
+ * @since Geode 1.4
+ */
+public class NewSampledClockHand extends NewLRUClockHand {
+  private static final Logger logger = LogService.getLogger();
+
+  /** The number of entries looked at to pick each entry to evict. */
+  public static final int SAMPLE_SIZE =
+      Math.max(1, Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "lru.sampleSize", 5));
+
+  /**
+   * The number of samples taken before settling for the entry with the lowest access count, or
+   * falling back to scanning the map if none of the sampled entries could be evicted.
+   */
+  private static final int MAX_SAMPLES = 16;
+
+  /** The highest access count, which is the number of unused samples an entry survives. */
+  static final int MAX_ACCESS_COUNT = 3;
+
+  /** The guard node that the previous LRU link of an entry points at for each access count. */
+  private final LRUClockNode[] accessCounts = newAccessCounts();
+
+  private final CustomEntryConcurrentHashMap<?, ?> map;
+
+  /** The number of entries that may be evicted. */
+  private final LongAdder count = new LongAdder();
+
+  public NewSampledClockHand(Object region, EnableLRU ccHelper,
+      InternalRegionArguments internalRegionArgs, CustomEntryConcurrentHashMap<?, ?> map) {
+    super(region, ccHelper, internalRegionArgs);
+    this.map = map;
+  }
+
+  public NewSampledClockHand(Region region, EnableLRU ccHelper, NewLRUClockHand oldList,
+      CustomEntryConcurrentHashMap<?, ?> map) {
+    super(region, ccHelper, oldList);
+    this.map = map;
+  }
+
+  @Override
+  public void appendEntry(final LRUClockNode aNode) {
+    synchronized (aNode) {
+      if (aNode.nextLRUNode() != null || aNode.prevLRUNode() != null) {
+        return;
+      }
+      aNode.setNextLRUNode(this.tail);
+      aNode.setPrevLRUNode(this.accessCounts[0]);
+    }
+    this.count.increment();
+  }
+
+  private static LRUClockNode[] newAccessCounts() {
+    LRUClockNode[] result = new LRUClockNode[MAX_ACCESS_COUNT + 1];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = new GuardNode();
+    }
+    return result;
+  }
+
+  @Override
+  public boolean unlinkEntry(LRUClockNode entry) {
+    if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+      logger.trace(LogMarker.LRU_CLOCK, "unlinkEntry called for {}", entry);
+    }
+    entry.setEvicted();
+    stats().incDestroys();
+    return remove(entry);
+  }
+
+  private boolean remove(LRUClockNode aNode) {
+    synchronized (aNode) {
+      if (aNode.nextLRUNode() == null || aNode.prevLRUNode() == null) {
+        // not in the pool anymore
+        return false;
+      }
+      aNode.setNextLRUNode(null);
+      aNode.setPrevLRUNode(null);
+    }
+    this.count.decrement();
+    return true;
+  }
+
+  /**
+   * Return the entry with the lowest access count of random samples of the entries that may be
+   * evicted, or null if there are none. The entry will no longer be a candidate for eviction.
+   */
+  @Override
+  public LRUClockNode getLRUEntry() {
+    long numEvals = 0;
+    try {
+      LRUClockNode best = null;
+      int bestCount = Integer.MAX_VALUE;
+      long bestTime = Long.MAX_VALUE;
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int samples = 0; samples < MAX_SAMPLES && this.count.sum() > 0; samples++) {
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+          Object value = this.map.sampleValue(random);
+          if (value == null) {
+            return null;
+          }
+          numEvals++;
+          if (!isCandidate(value)) {
+            continue;
+          }
+          LRUClockNode aNode = (LRUClockNode) value;
+          int accessCount = updateAccessCount(aNode);
+          if (accessCount < 0) {
+            continue;
+          }
+          long lastModified = ((RegionEntry) aNode).getLastModified();
+          if (best == null || accessCount < bestCount
+              || (accessCount == bestCount && lastModified < bestTime)) {
+            best = aNode;
+            bestCount = accessCount;
+            bestTime = lastModified;
+          }
+        }
+        if (best == null || (bestCount > 0 && samples < MAX_SAMPLES - 1)) {
+          continue;
+        }
+        if (claim(best)) {
+          if (logger.isTraceEnabled(LogMarker.LRU_CLOCK)) {
+            logger.trace(LogMarker.LRU_CLOCK, "returning sampled entry {} with access count {}",
+                best, bestCount);
+          }
+          return best;
+        }
+        // another thread evicted or removed it first
+        best = null;
+        bestCount = Integer.MAX_VALUE;
+        bestTime = Long.MAX_VALUE;
+      }
+      if (best != null && claim(best)) {
+        return best;
+      }
+      if (this.count.sum() <= 0) {
+        return null;
+      }
+      // The sampled entries were not candidates so take the first one that is
+      for (Iterator<?> it = this.map.values().iterator(); it.hasNext();) {
+        Object value = it.next();
+        numEvals++;
+        if (isCandidate(value) && claim((LRUClockNode) value)) {
+          stats().incGreedyReturns(1);
+          return (LRUClockNode) value;
+        }
+      }
+      // nothing can be evicted, so the count has drifted from the entries that are linked
+      this.count.reset();
+      this.count.add(getExpensiveListCount());
+      return null;
+    } finally {
+      stats().incEvaluations(numEvals);
+    }
+  }
+
+  /**
+   * Returns the last modified time of the least recently used of a random sample of the entries.
+   */
+  @Override
+  public long getOldestEntryTime() {
+    long result = Long.MAX_VALUE;
+    if (this.count.sum() <= 0) {
+      return result;
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < SAMPLE_SIZE; i++) {
+      Object value = this.map.sampleValue(random);
+      if (value == null) {
+        break;
+      }
+      if (isCandidate(value)) {
+        result = Math.min(result, getEntryTime((LRUClockNode) value));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Raises the access count of the given entry if it has been used since it was last sampled, or
+   * lowers it otherwise, and returns the new count, or -1 if the entry is no longer a candidate.
+   */
+  private int updateAccessCount(LRUClockNode aNode) {
+    boolean used = aNode.testRecentlyUsed();
+    if (used) {
+      aNode.unsetRecentlyUsed();
+    }
+    synchronized (aNode) {
+      LRUClockNode prev = aNode.prevLRUNode();
+      if (prev == null) {
+        return -1;
+      }
+      int accessCount = 0;
+      while (accessCount < MAX_ACCESS_COUNT && this.accessCounts[accessCount] != prev) {
+        accessCount++;
+      }
+      if (this.accessCounts[accessCount] != prev) {
+        // not linked by appendEntry, so treat it as never used
+        accessCount = 0;
+      }
+      if (used) {
+        accessCount = Math.min(accessCount + 1, MAX_ACCESS_COUNT);
+      } else if (accessCount > 0) {
+        accessCount--;
+      }
+      aNode.setPrevLRUNode(this.accessCounts[accessCount]);
+      return accessCount;
+    }
+  }
+
+  private boolean isCandidate(Object value) {
+    if (!(value instanceof LRUClockNode) || !(value instanceof RegionEntry)) {
+      return false;
+    }
+    LRUClockNode aNode = (LRUClockNode) value;
+    return aNode.nextLRUNode() != null && !aNode.testEvicted()
+        && !((RegionEntry) value).isInUseByTransaction();
+  }
+
+  /**
+   * Remove the given entry from the pool if it is still a candidate for eviction.
+   */
+  private boolean claim(LRUClockNode aNode) {
+    synchronized (aNode) {
+      if (!isCandidate(aNode)) {
+        return false;
+      }
+      return remove(aNode);
+    }
+  }
+
+  @Override
+  public void clear(RegionVersionVector rvv) {
+    super.clear(rvv);
+    this.count.reset();
+    if (rvv != null) {
+      // the clear removes entries one by one, unlinking each of them, so start from the entries
+      // that are linked now
+      this.count.add(getExpensiveListCount());
+    }
+  }
+
+  @Override
+  public long getExpensiveListCount() {
+    long result = 0;
+    for (Object value : this.map.values()) {
+      if (value instanceof LRUClockNode && ((LRUClockNode) value).nextLRUNode() != null) {
+        result++;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String getAuditReport() {
+    int totalNodes = 0;
+    int evictedNodes = 0;
+    int usedNodes = 0;
+    for (Object value : this.map.values()) {
+      if (!(value instanceof LRUClockNode) || ((LRUClockNode) value).nextLRUNode() == null) {
+        continue;
+      }
+      LRUClockNode aNode = (LRUClockNode) value;
+      totalNodes++;
+      if (aNode.testEvicted())
+        evictedNodes++;
+      if (aNode.testRecentlyUsed())
+        usedNodes++;
+    }
+    StringBuffer result = new StringBuffer(128);
+    result.append("Sampled LRU Audit: entries = ").append(totalNodes).append(" evicted = ")
+        .append(evictedNodes).append(" used = ").append(usedNodes);
+    return result.toString();
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.max(0, this.count.sum());
+  }
+}
@@ -19,6 +19,8 @@ import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.control.InternalResourceManager.ResourceType;
+import org.apache.geode.internal.cache.control.MemoryMonitor;
+import org.apache.geode.internal.cache.control.ResourceManagerStats;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.offheap.MemoryAllocator;
 
@@ -93,4 +95,16 @@ public class OffHeapEvictor extends HeapEvictor {
   protected ResourceType getResourceType() {
     return ResourceType.OFFHEAP_MEMORY;
   }
+
+  @Override
+  protected MemoryMonitor getMemoryMonitor() {
+    return this.cache.getInternalResourceManager().getOffHeapMonitor();
+  }
+
+  @Override
+  protected void updateAdaptiveStats(long evictionRate, int parallelism) {
+    ResourceManagerStats stats = this.cache.getInternalResourceManager().getStats();
+    stats.changeOffHeapEvictionRate(evictionRate);
+    stats.changeOffHeapEvictorParallelism(parallelism);
+  }
 }
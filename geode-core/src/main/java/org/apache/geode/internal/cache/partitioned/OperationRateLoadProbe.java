@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.DataSerializableFixedID;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.BucketAdvisor;
+import org.apache.geode.internal.cache.BucketRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.PartitionedRegionDataStore;
+
+/**
+ * A load probe which calculates the load of a pr using the operations its buckets handle. The load
+ * of a bucket is its size in bytes, as with {@link SizedBasedLoadProbe}, so bucket moves still
+ * balance data. The load of a primary is the rate of reads plus the weighted rate of writes the
+ * bucket handled recently. Hot primaries are spread across members, rather than each member just
+ * getting the same number of primaries.
+ * <p>
+ * Select it with gemfire.ResourceManager.PR_LOAD_PROBE_CLASS for every rebalance, or pass it to
+ * {@link org.apache.geode.internal.cache.control.InternalResourceManager#startPrimaryRebalance} to
+ * only move primaries.
+ *
+ * @since Geode 1.4
+ */
+public class OperationRateLoadProbe implements LoadProbe, DataSerializableFixedID {
+  private static final long serialVersionUID = -2398563462546087713L;
+
+  /**
+   * How many reads a write is worth. Writes cost more than reads because the primary also has to
+   * distribute them to the secondaries.
+   */
+  public static final float WRITE_WEIGHT = Float.parseFloat(System.getProperty(
+      DistributionConfig.GEMFIRE_PREFIX + "OperationRateLoadProbe.WRITE_WEIGHT", "2"));
+
+  /**
+   * The minimum time in milliseconds over which the operation rates of a bucket are measured
+   */
+  public static final long MIN_SAMPLE_INTERVAL = Long.getLong(
+      DistributionConfig.GEMFIRE_PREFIX + "OperationRateLoadProbe.MIN_SAMPLE_INTERVAL", 10000)
+      .longValue();
+
+  public PRLoad getLoad(PartitionedRegion pr) {
+    PartitionedRegionDataStore ds = pr.getDataStore();
+    int configuredBucketCount = pr.getTotalNumberOfBuckets();
+    PRLoad prLoad = new PRLoad(configuredBucketCount, pr.getLocalMaxMemory());
+
+    for (Integer bidInt : ds.getAllLocalBucketIds()) {
+      int bid = bidInt.intValue();
+      long bucketSize = ds.getBucketSize(bid);
+      if (bucketSize < SizedBasedLoadProbe.MIN_BUCKET_SIZE) {
+        bucketSize = SizedBasedLoadProbe.MIN_BUCKET_SIZE;
+      }
+
+      BucketAdvisor bucketAdvisor = pr.getRegionAdvisor().getBucket(bid).getBucketAdvisor();
+      // Wait for a primary to exist for this bucket, because
+      // it might be this member.
+      bucketAdvisor.getPrimary();
+      boolean isPrimary = bucketAdvisor.isPrimary();
+      float primaryLoad = 0;
+      if (isPrimary) {
+        // every primary counts for at least one so that idle primaries are spread as well
+        primaryLoad = 1;
+        BucketRegion bucket = ds.getLocalBucketById(bid);
+        if (bucket != null) {
+          primaryLoad += bucket.getOperationRate(WRITE_WEIGHT, MIN_SAMPLE_INTERVAL);
+        }
+      }
+      prLoad.addBucket(bid, bucketSize, primaryLoad);
+    }
+
+    return prLoad;
+  }
+
+  public void fromData(DataInput in) throws IOException, ClassNotFoundException {}
+
+  public void toData(DataOutput out) throws IOException {}
+
+  public int getDSFID() {
+    return OPERATION_RATE_LOAD_PROBE;
+  }
+
+  @Override
+  public Version[] getSerializationVersions() {
+    return null;
+  }
+}
@@ -46,6 +46,7 @@ import org.apache.geode.internal.cache.partitioned.BecomePrimaryBucketMessage.Be
 import org.apache.geode.internal.cache.partitioned.MoveBucketMessage.MoveBucketResponse;
 import org.apache.geode.internal.cache.partitioned.RemoveBucketMessage.RemoveBucketResponse;
 import org.apache.geode.internal.cache.partitioned.rebalance.BucketOperator;
+import org.apache.geode.internal.cache.partitioned.rebalance.BucketMoveThrottle;
 import org.apache.geode.internal.cache.partitioned.rebalance.BucketOperatorImpl;
 import org.apache.geode.internal.cache.partitioned.rebalance.BucketOperatorWrapper;
 import org.apache.geode.internal.cache.partitioned.rebalance.ParallelBucketOperator;
@@ -56,6 +57,7 @@ import org.apache.geode.internal.cache.partitioned.rebalance.SimulatedBucketOper
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
+import org.apache.geode.internal.util.concurrent.ByteRateLimiter;
 
 /**
  * This class performs a rebalance on a single partitioned region.
@@ -83,6 +85,40 @@ public class PartitionedRegionRebalanceOp {
 
   private static final int MAX_PARALLEL_OPERATIONS =
       Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_RECOVERIES", 8);
+
+  /**
+   * The maximum number of bucket moves a rebalance runs at once. Concurrent moves never share a
+   * source or target member. With the default of one, buckets are moved one at a time.
+   *
+   * @since Geode 1.4
+   */
+  private static final int MAX_PARALLEL_BUCKET_MOVES =
+      Integer.getInteger(DistributionConfig.GEMFIRE_PREFIX + "MAX_PARALLEL_BUCKET_MOVES", 1);
+
+  /**
+   * The maximum number of bytes per second the rebalances directed by this member move between
+   * members, or zero for no limit.
+   *
+   * @since Geode 1.4
+   */
+  private static final long MAX_BUCKET_MOVE_BYTES_PER_SECOND =
+      Long.getLong(DistributionConfig.GEMFIRE_PREFIX + "MAX_BUCKET_MOVE_BYTES_PER_SECOND", 0);
+
+  /**
+   * By how many percent the latency of foreground operations may rise over the best latency seen
+   * during a rebalance before fewer bucket moves are run at once.
+   *
+   * @since Geode 1.4
+   */
+  private static final int BUCKET_MOVE_LATENCY_TOLERANCE_PERCENT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "BUCKET_MOVE_LATENCY_TOLERANCE_PERCENT", 50);
+
+  /**
+   * Shared by all rebalances directed by this member, so concurrent rebalances of different
+   * regions stay within the limit together.
+   */
+  private static final ByteRateLimiter moveBandwidth =
+      new ByteRateLimiter(MAX_BUCKET_MOVE_BYTES_PER_SECOND);
   private final boolean DEBUG =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "LOG_REBALANCE");
 
@@ -99,6 +135,17 @@ public class PartitionedRegionRebalanceOp {
 
   private final RebalanceDirector director;
 
+  /**
+   * the probe used to measure the load of the members, or null for the resource manager's
+   */
+  private final LoadProbe loadProbe;
+
+  /**
+   * The details of the rebalance in progress, updated as operations complete.
+   */
+  private volatile Set<PartitionRebalanceDetailsImpl> progressDetails =
+      Collections.<PartitionRebalanceDetailsImpl>emptySet();
+
   /**
    * Create a rebalance operation for a single region.
    * 
@@ -130,6 +177,21 @@ public class PartitionedRegionRebalanceOp {
   public PartitionedRegionRebalanceOp(PartitionedRegion region, boolean simulate,
       RebalanceDirector director, boolean replaceOfflineData, boolean isRebalance,
       AtomicBoolean cancelled, ResourceManagerStats stats) {
+    this(region, simulate, director, replaceOfflineData, isRebalance, cancelled, stats, null);
+  }
+
+  /**
+   * Create a rebalance operation for a single region that measures load with the given probe.
+   *
+   * @param loadProbe the probe used to measure the load of each member, or null to use the one of
+   *        the resource manager
+   * @see #PartitionedRegionRebalanceOp(PartitionedRegion, boolean, RebalanceDirector, boolean,
+   *      boolean, AtomicBoolean, ResourceManagerStats)
+   * @since Geode 1.4
+   */
+  public PartitionedRegionRebalanceOp(PartitionedRegion region, boolean simulate,
+      RebalanceDirector director, boolean replaceOfflineData, boolean isRebalance,
+      AtomicBoolean cancelled, ResourceManagerStats stats, LoadProbe loadProbe) {
 
     PartitionedRegion leader = ColocationHelper.getLeaderRegion(region);
     Assert.assertTrue(leader != null);
@@ -143,6 +205,28 @@ public class PartitionedRegionRebalanceOp {
     this.replaceOfflineData = replaceOfflineData;
     this.isRebalance = isRebalance;
     this.stats = simulate ? null : stats;
+    this.loadProbe = loadProbe;
+  }
+
+  /**
+   * Return the details of this rebalance as far as it has progressed.
+   *
+   * @since Geode 1.4
+   */
+  public Set<PartitionRebalanceDetailsImpl> getProgress() {
+    return this.progressDetails;
+  }
+
+  /**
+   * Return the throttle for moving buckets in parallel, or null to move them one at a time.
+   */
+  private BucketMoveThrottle getMoveThrottle(InternalCache cache) {
+    if (simulate || (MAX_PARALLEL_BUCKET_MOVES <= 1 && !moveBandwidth.isEnabled())) {
+      return null;
+    }
+    return new BucketMoveThrottle(MAX_PARALLEL_BUCKET_MOVES, moveBandwidth,
+        cache.getCachePerfStats(), BUCKET_MOVE_LATENCY_TOLERANCE_PERCENT,
+        cache.getCancelCriterion(), stats);
   }
 
   /**
@@ -194,8 +278,10 @@ public class PartitionedRegionRebalanceOp {
       InternalCache cache = leaderRegion.getCache();
       Map<PartitionedRegion, InternalPRInfo> detailsMap = fetchDetails(cache);
       BucketOperatorWrapper serialOperator = getBucketOperator(detailsMap);
+      this.progressDetails = serialOperator.getDetailSet();
       ParallelBucketOperator parallelOperator = new ParallelBucketOperator(MAX_PARALLEL_OPERATIONS,
-          cache.getDistributionManager().getWaitingThreadPool(), serialOperator);
+          cache.getDistributionManager().getWaitingThreadPool(), serialOperator,
+          getMoveThrottle(cache));
       model = buildModel(parallelOperator, detailsMap, resourceManager);
       for (PartitionRebalanceDetailsImpl details : serialOperator.getDetailSet()) {
         details.setPartitionMemberDetailsBefore(
@@ -399,7 +485,8 @@ public class PartitionedRegionRebalanceOp {
   }
 
   private Map<PartitionedRegion, InternalPRInfo> fetchDetails(InternalCache cache) {
-    LoadProbe probe = cache.getInternalResourceManager().getLoadProbe();
+    LoadProbe probe = this.loadProbe != null ? this.loadProbe
+        : cache.getInternalResourceManager().getLoadProbe();
     Map<PartitionedRegion, InternalPRInfo> detailsMap =
         new LinkedHashMap<PartitionedRegion, InternalPRInfo>(colocatedRegions.size());
     for (PartitionedRegion colocatedRegion : colocatedRegions) {
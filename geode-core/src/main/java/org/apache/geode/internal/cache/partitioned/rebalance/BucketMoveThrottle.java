@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned.rebalance;
+
+import org.apache.geode.CancelCriterion;
+import org.apache.geode.internal.cache.CachePerfStats;
+import org.apache.geode.internal.cache.control.ResourceManagerStats;
+import org.apache.geode.internal.util.concurrent.ByteRateLimiter;
+
+/**
+ * Decides how many bucket moves a {@link ParallelBucketOperator} may run at once, and how fast they
+ * may transfer data.
+ * 
+ * Moves are paced by a byte rate limit. The number of concurrent moves starts at one and grows by
+ * one for every move that completes while the latency of foreground gets and puts on this member
+ * stays within a tolerance of the best latency seen during the rebalance. It is halved when the
+ * latency exceeds that tolerance. Foreground latency is only measured when clock statistics are
+ * enabled; otherwise the concurrency grows up to the maximum.
+ * 
+ * @since Geode 1.4
+ */
+public class BucketMoveThrottle {
+
+  private final int maxConcurrency;
+  private final ByteRateLimiter bandwidth;
+  private final CachePerfStats foregroundStats;
+  private final float latencyTolerance;
+  private final CancelCriterion stopper;
+  private final ResourceManagerStats stats;
+
+  private int concurrency = 1;
+  private long lastForegroundOps;
+  private long lastForegroundTime;
+  private double bestLatency = Double.MAX_VALUE;
+
+  /**
+   * @param maxConcurrency the maximum number of moves to run at once
+   * @param bandwidth limits the bytes moved per second
+   * @param foregroundStats the statistics to read the latency of foreground operations from, or
+   *        null to not adapt to foreground latency
+   * @param latencyTolerancePercent by how many percent foreground latency may exceed the best
+   *        latency seen before the concurrency is reduced
+   * @param stats the statistics to report the concurrency and the time spent waiting for bandwidth
+   *        to, or null
+   */
+  public BucketMoveThrottle(int maxConcurrency, ByteRateLimiter bandwidth,
+      CachePerfStats foregroundStats, int latencyTolerancePercent, CancelCriterion stopper,
+      ResourceManagerStats stats) {
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.bandwidth = bandwidth;
+    this.foregroundStats = foregroundStats;
+    this.latencyTolerance = 1 + latencyTolerancePercent / 100f;
+    this.stopper = stopper;
+    this.stats = stats;
+    if (foregroundStats != null) {
+      this.lastForegroundOps = getForegroundOps();
+      this.lastForegroundTime = getForegroundTime();
+    }
+    if (stats != null) {
+      stats.changeBucketTransferConcurrency(this.concurrency);
+    }
+  }
+
+  /**
+   * Return the number of moves that may currently run at once.
+   */
+  public synchronized int getConcurrency() {
+    return this.concurrency;
+  }
+
+  public int getMaxConcurrency() {
+    return this.maxConcurrency;
+  }
+
+  /**
+   * Wait until a move of the given number of bytes may start without exceeding the byte rate limit.
+   */
+  public void acquireBandwidth(long bytes) throws InterruptedException {
+    long waited = this.bandwidth.acquire(bytes, this.stopper);
+    if (waited > 0 && this.stats != null) {
+      this.stats.incBucketTransferThrottleTime(waited);
+    }
+  }
+
+  /**
+   * Called when a move completes, to adapt the concurrency to the foreground latency observed
+   * since the previous move completed.
+   */
+  public void moveCompleted() {
+    if (this.foregroundStats == null) {
+      adjust(0, 0);
+    } else {
+      adjust(getForegroundOps(), getForegroundTime());
+    }
+  }
+
+  /**
+   * Adapt the concurrency given the total number of foreground operations and the total time they
+   * took.
+   */
+  synchronized void adjust(long foregroundOps, long foregroundTime) {
+    long ops = foregroundOps - this.lastForegroundOps;
+    long time = foregroundTime - this.lastForegroundTime;
+    this.lastForegroundOps = foregroundOps;
+    this.lastForegroundTime = foregroundTime;
+
+    if (ops > 0 && time > 0) {
+      double latency = (double) time / ops;
+      if (latency < this.bestLatency) {
+        this.bestLatency = latency;
+      }
+      if (latency > this.bestLatency * this.latencyTolerance) {
+        setConcurrency(Math.max(1, this.concurrency / 2));
+        return;
+      }
+    }
+    setConcurrency(Math.min(this.maxConcurrency, this.concurrency + 1));
+  }
+
+  private void setConcurrency(int newValue) {
+    if (newValue != this.concurrency) {
+      this.concurrency = newValue;
+      if (this.stats != null) {
+        this.stats.changeBucketTransferConcurrency(newValue);
+      }
+    }
+  }
+
+  private long getForegroundOps() {
+    return (long) this.foregroundStats.getGets() + this.foregroundStats.getPuts();
+  }
+
+  private long getForegroundTime() {
+    return this.foregroundStats.getGetTime() + this.foregroundStats.getPutTime();
+  }
+}
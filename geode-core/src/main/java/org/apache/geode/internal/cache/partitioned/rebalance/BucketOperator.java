@@ -59,6 +59,21 @@ public interface BucketOperator {
   boolean moveBucket(InternalDistributedMember sourceMember, InternalDistributedMember targetMember,
       int bucketId, Map<String, Long> colocatedRegionBytes);
 
+  /**
+   * Move a bucket from one member to another. This call may be asynchronous, it will notify the
+   * completion when the operation is done. The same threading rules as for
+   * {@link #createRedundantBucket} apply to the completion.
+   * 
+   * @param sourceMember The member we want to move the bucket off of.
+   * @param targetMember The member we want to move the bucket too.
+   * @param bucketId the id of the bucket we want to move
+   * @param completion a callback which will receive a notification on the success or failure of the
+   *        operation.
+   * @since Geode 1.4
+   */
+  void moveBucket(InternalDistributedMember sourceMember, InternalDistributedMember targetMember,
+      int bucketId, Map<String, Long> colocatedRegionBytes, Completion completion);
+
   /**
    * Move a primary from one node to another. This method will not be called unless both nodes are
    * hosting the bucket, and the source node is the primary for the bucket.
@@ -73,7 +88,7 @@ public interface BucketOperator {
 
   /**
    * Wait for any pending asynchronous operations that this thread submitted earlier to complete.
-   * Currently only createRedundantBucket may be asynchronous.
+   * Currently only createRedundantBucket and moveBucket with a completion may be asynchronous.
    */
   public void waitForOperations();
 
@@ -83,7 +98,7 @@ public interface BucketOperator {
    * 
    * The completions are NOT THREADSAFE.
    * 
-   * They will be completed when createRedundantBucket or waitForOperations is called.
+   * They will be completed when createRedundantBucket, moveBucket or waitForOperations is called.
    */
   public interface Completion {
     public void onSuccess();
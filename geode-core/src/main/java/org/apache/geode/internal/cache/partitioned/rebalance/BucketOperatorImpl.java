@@ -37,6 +37,21 @@ public class BucketOperatorImpl implements BucketOperator {
     return rebalanceOp.moveBucketForRegion(source, target, bucketId);
   }
 
+  @Override
+  public void moveBucket(InternalDistributedMember source, InternalDistributedMember target,
+      int bucketId, Map<String, Long> colocatedRegionBytes, Completion completion) {
+    boolean result = false;
+    try {
+      result = moveBucket(source, target, bucketId, colocatedRegionBytes);
+    } finally {
+      if (result) {
+        completion.onSuccess();
+      } else {
+        completion.onFailure();
+      }
+    }
+  }
+
   @Override
   public boolean movePrimary(InternalDistributedMember source, InternalDistributedMember target,
       int bucketId) {
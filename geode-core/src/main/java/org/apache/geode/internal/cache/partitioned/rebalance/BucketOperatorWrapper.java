@@ -88,6 +88,17 @@ public class BucketOperatorWrapper implements BucketOperator {
     return result;
   }
 
+  @Override
+  public void moveBucket(InternalDistributedMember sourceMember,
+      InternalDistributedMember targetMember, int id, Map<String, Long> colocatedRegionBytes,
+      Completion completion) {
+    if (moveBucket(sourceMember, targetMember, id, colocatedRegionBytes)) {
+      completion.onSuccess();
+    } else {
+      completion.onFailure();
+    }
+  }
+
   @Override
   public void createRedundantBucket(final InternalDistributedMember targetMember, final int i,
       final Map<String, Long> colocatedRegionBytes, final Completion completion) {
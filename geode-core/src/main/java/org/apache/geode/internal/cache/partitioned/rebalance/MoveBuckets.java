@@ -49,11 +49,18 @@ public class MoveBuckets extends RebalanceDirectorAdapter {
   private boolean moveBuckets() {
     Move bestMove = model.findBestBucketMove();
 
+    if (bestMove == null) {
+      // Let the moves in progress finish. If some of them failed, there may be
+      // other moves worth making.
+      model.waitForOperations();
+      bestMove = model.findBestBucketMove();
+    }
+
     if (bestMove == null) {
       return false;
     }
 
-    model.moveBucket(bestMove);
+    model.startBucketMove(bestMove);
 
     return true;
   }
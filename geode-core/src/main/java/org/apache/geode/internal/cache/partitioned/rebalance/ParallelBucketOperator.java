@@ -14,9 +14,12 @@
  */
 package org.apache.geode.internal.cache.partitioned.rebalance;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
@@ -38,6 +41,10 @@ import org.apache.geode.distributed.internal.membership.InternalDistributedMembe
  * completions are notified.
  * 
  * Note that only createRedundantBucket is asynchronous, the rest of the operations are synchronous.
+ * If the operator is created with a {@link BucketMoveThrottle}, moveBucket with a completion is
+ * asynchronous as well. Concurrent moves never share a source or target member, so each member
+ * sends or receives at most one bucket at a time, and the throttle limits how many run at once and
+ * how many bytes they move per second.
  * 
  */
 public class ParallelBucketOperator implements BucketOperator {
@@ -51,6 +58,19 @@ public class ParallelBucketOperator implements BucketOperator {
   private final ConcurrentLinkedQueue<Completion> pendingFailure =
       new ConcurrentLinkedQueue<BucketOperator.Completion>();
 
+  /**
+   * Limits asynchronous bucket moves, or null if bucket moves are synchronous.
+   */
+  private final BucketMoveThrottle moveThrottle;
+
+  /**
+   * The source and target members of the moves in progress. Guarded by itself.
+   */
+  private final Set<InternalDistributedMember> movingMembers =
+      new HashSet<InternalDistributedMember>();
+
+  private int movesInProgress;
+
 
   /**
    * Create a parallel bucket operator
@@ -64,10 +84,23 @@ public class ParallelBucketOperator implements BucketOperator {
    */
   public ParallelBucketOperator(int maxParallelOperations, ExecutorService executor,
       BucketOperator operator) {
+    this(maxParallelOperations, executor, operator, null);
+  }
+
+  /**
+   * Create a parallel bucket operator that also moves buckets asynchronously
+   * 
+   * @param moveThrottle limits the bucket moves running at once and the bytes they transfer, or
+   *        null to move buckets synchronously.
+   * @since Geode 1.4
+   */
+  public ParallelBucketOperator(int maxParallelOperations, ExecutorService executor,
+      BucketOperator operator, BucketMoveThrottle moveThrottle) {
     this.maxParallelOperations = maxParallelOperations;
     this.operationSemaphore = new Semaphore(maxParallelOperations);
     this.delegate = operator;
     this.executor = executor;
+    this.moveThrottle = moveThrottle;
   }
 
   /**
@@ -125,6 +158,137 @@ public class ParallelBucketOperator implements BucketOperator {
     return delegate.moveBucket(sourceMember, targetMember, bucketId, colocatedRegionBytes);
   }
 
+  /**
+   * Move a bucket asynchronously if this operator has a move throttle. This call blocks until
+   * neither the source nor the target member is part of another move, the throttle allows another
+   * move to run and the transfer rate limit allows the bytes of the bucket to be sent.
+   * 
+   * The completion will not be notified until the caller makes another call to createRedundant
+   * bucket, moveBucket or waitForOperations.
+   */
+  @Override
+  public void moveBucket(final InternalDistributedMember sourceMember,
+      final InternalDistributedMember targetMember, final int bucketId,
+      final Map<String, Long> colocatedRegionBytes, final Completion completion) {
+    if (moveThrottle == null) {
+      delegate.moveBucket(sourceMember, targetMember, bucketId, colocatedRegionBytes, completion);
+      return;
+    }
+
+    drainCompletions();
+    if (!reserveMembers(sourceMember, targetMember)) {
+      completion.onFailure();
+      return;
+    }
+
+    try {
+      long bytes = 0;
+      for (Long regionBytes : colocatedRegionBytes.values()) {
+        bytes += regionBytes.longValue();
+      }
+      moveThrottle.acquireBandwidth(bytes);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      releaseMembers(sourceMember, targetMember);
+      completion.onFailure();
+      return;
+    } catch (RuntimeException e) {
+      releaseMembers(sourceMember, targetMember);
+      throw e;
+    }
+
+    try {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            delegate.moveBucket(sourceMember, targetMember, bucketId, colocatedRegionBytes,
+                new Completion() {
+                  @Override
+                  public void onSuccess() {
+                    pendingSuccess.add(completion);
+                  }
+
+                  @Override
+                  public void onFailure() {
+                    pendingFailure.add(completion);
+                  }
+                });
+          } catch (CancelException e) {
+            // ignore
+          } catch (RegionDestroyedException e) {
+            // ignore
+          } finally {
+            moveThrottle.moveCompleted();
+            releaseMembers(sourceMember, targetMember);
+          }
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      // the executor is shut down or saturated, so the move will never run
+      releaseMembers(sourceMember, targetMember);
+      completion.onFailure();
+    }
+  }
+
+  /**
+   * Wait until neither member is part of a move in progress and the throttle allows another move,
+   * then mark both members as moving.
+   * 
+   * @return false if the executor was shut down while waiting
+   */
+  private boolean reserveMembers(InternalDistributedMember sourceMember,
+      InternalDistributedMember targetMember) {
+    boolean interrupted = false;
+    try {
+      synchronized (movingMembers) {
+        while (movingMembers.contains(sourceMember) || movingMembers.contains(targetMember)
+            || movesInProgress >= moveThrottle.getConcurrency()) {
+          if (executor.isShutdown()) {
+            return false;
+          }
+          try {
+            movingMembers.wait(1000);
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+        movingMembers.add(sourceMember);
+        movingMembers.add(targetMember);
+        movesInProgress++;
+        return true;
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private void releaseMembers(InternalDistributedMember sourceMember,
+      InternalDistributedMember targetMember) {
+    synchronized (movingMembers) {
+      movingMembers.remove(sourceMember);
+      movingMembers.remove(targetMember);
+      movesInProgress--;
+      movingMembers.notifyAll();
+    }
+  }
+
+  /**
+   * Wait up to the given time for the moves in progress to finish.
+   * 
+   * @return true if no moves are in progress
+   */
+  private boolean waitForMoves(long timeoutMillis) throws InterruptedException {
+    synchronized (movingMembers) {
+      if (movesInProgress > 0) {
+        movingMembers.wait(timeoutMillis);
+      }
+      return movesInProgress == 0;
+    }
+  }
+
   @Override
   public boolean movePrimary(InternalDistributedMember source, InternalDistributedMember target,
       int bucketId) {
@@ -153,6 +317,10 @@ public class ParallelBucketOperator implements BucketOperator {
         if (operationSemaphore.tryAcquire(maxParallelOperations, 1, TimeUnit.SECONDS)) {
           operationSemaphore.release(maxParallelOperations);
 
+          if (!waitForMoves(1000)) {
+            continue;
+          }
+
           drainCompletions();
 
           if (interrupted) {
@@ -120,6 +120,11 @@ public class PartitionedRegionLoadModel {
   private SortedSet<BucketRollup> overRedundancyBuckets = null;
   private final Collection<Move> attemptedPrimaryMoves = new HashSet<Move>();
   private final Collection<Move> attemptedBucketMoves = new HashSet<Move>();
+
+  /**
+   * Buckets that are being moved asynchronously by {@link #startBucketMove(Move)}.
+   */
+  private final Set<Bucket> movingBuckets = new HashSet<Bucket>();
   private final Collection<Move> attemptedBucketCreations = new HashSet<Move>();
   private final Collection<Move> attemptedBucketRemoves = new HashSet<Move>();
 
@@ -742,6 +747,9 @@ public class PartitionedRegionLoadModel {
     double bestImprovement = 0;
     for (Member source : this.members.values()) {
       for (Bucket bucket : source.getBuckets()) {
+        if (this.movingBuckets.contains(bucket)) {
+          continue;
+        }
         for (Member target : this.members.values()) {
           if (bucket.getMembersHosting().contains(target)) {
             continue;
@@ -789,6 +797,55 @@ public class PartitionedRegionLoadModel {
     return successfulMove;
   }
 
+  /**
+   * Start moving a bucket, potentially asynchronously.
+   * 
+   * The model is updated as if the move succeeded right away, and the change is undone if the
+   * bucket operator reports a failure. Buckets that are still being moved are not considered by
+   * {@link #findBestBucketMove()}. Invoke {@link #waitForOperations()} to wait for those moves to
+   * actually complete.
+   * 
+   * @since Geode 1.4
+   */
+  public void startBucketMove(Move bestMove) {
+    final Member bestSource = bestMove.getSource();
+    final Member bestTarget = bestMove.getTarget();
+    final BucketRollup bestBucket = (BucketRollup) bestMove.getBucket();
+    final boolean movingPrimary = bestSource.equals(bestBucket.getPrimary());
+
+    Map<String, Long> colocatedRegionSizes = getColocatedRegionSizes(bestBucket);
+
+    boolean entryAdded = this.attemptedBucketMoves.add(bestMove);
+    Assert.assertTrue(entryAdded,
+        "PartitionedRegionLoadModel.startBucketMove - excluded set is not growing, so we probably would have an infinite loop here");
+
+    bestBucket.addMember(bestTarget);
+    if (movingPrimary) {
+      bestBucket.setPrimary(bestTarget, bestBucket.getPrimaryLoad());
+    }
+    bestBucket.removeMember(bestSource);
+    this.movingBuckets.add(bestBucket);
+
+    this.operator.moveBucket(bestSource.getDistributedMember(), bestTarget.getDistributedMember(),
+        bestBucket.getId(), colocatedRegionSizes, new BucketOperator.Completion() {
+          @Override
+          public void onSuccess() {
+            movingBuckets.remove(bestBucket);
+          }
+
+          @Override
+          public void onFailure() {
+            // If the move failed, we need to undo the changes we made to the model
+            movingBuckets.remove(bestBucket);
+            bestBucket.addMember(bestSource);
+            if (movingPrimary) {
+              bestBucket.setPrimary(bestSource, bestBucket.getPrimaryLoad());
+            }
+            bestBucket.removeMember(bestTarget);
+          }
+        });
+  }
+
   /**
    * Return a snapshot of what the partitioned member details look like.
    * 
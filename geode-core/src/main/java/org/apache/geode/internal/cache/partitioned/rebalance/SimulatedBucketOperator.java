@@ -34,6 +34,16 @@ public class SimulatedBucketOperator implements BucketOperator {
     return true;
   }
 
+  @Override
+  public void moveBucket(InternalDistributedMember source, InternalDistributedMember target,
+      int id, Map<String, Long> colocatedRegionBytes, BucketOperator.Completion completion) {
+    if (moveBucket(source, target, id, colocatedRegionBytes)) {
+      completion.onSuccess();
+    } else {
+      completion.onFailure();
+    }
+  }
+
   public boolean movePrimary(InternalDistributedMember source, InternalDistributedMember target,
       int bucketId) {
     return true;
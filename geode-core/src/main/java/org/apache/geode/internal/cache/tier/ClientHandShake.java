@@ -22,6 +22,7 @@ import java.security.Principal;
 
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
+import org.apache.geode.internal.cache.tier.sockets.WireCompression;
 
 /**
  * <code>ClientHandShake</code> represents a handshake from the client.
@@ -41,4 +42,11 @@ public interface ClientHandShake {
 
   public void accept(OutputStream out, InputStream in, byte epType, int qSize,
       CommunicationMode communicationMode, Principal principal) throws IOException;
+
+  /**
+   * Returns the compression agreed with the client by {@link #accept}, or null if there is none.
+   *
+   * @since Geode 1.4
+   */
+  public WireCompression getWireCompression();
 }
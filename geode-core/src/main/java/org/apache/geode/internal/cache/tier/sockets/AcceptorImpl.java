@@ -46,6 +46,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.RejectedExecutionHandler;
@@ -120,6 +121,12 @@ public class AcceptorImpl implements Acceptor, Runnable, CommBufferPool {
    */
   private final ThreadPoolExecutor clientQueueInitPool;
 
+  /**
+   * A pool used by gateway receivers to apply the events of a batch in parallel, or null if they
+   * are applied by the server connection thread alone.
+   */
+  private final ThreadPoolExecutor gatewayApplyPool;
+
   /**
    * The port on which this acceptor listens for client connections
    */
@@ -210,6 +217,18 @@ public class AcceptorImpl implements Acceptor, Runnable, CommBufferPool {
    */
   public static final int MINIMUM_MAX_CONNECTIONS = 16;
 
+  /**
+   * The number of threads, including the server connection thread, that a gateway receiver uses
+   * to apply the events of each batch. Events on the same key are always applied by the same
+   * thread, in the order they were sent. One or less applies every batch in order on the server
+   * connection thread. Not final for tests.
+   *
+   * @since Geode 1.4
+   */
+  public static int GATEWAY_RECEIVER_APPLY_THREADS = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewayReceiver.APPLY_THREADS", 1)
+      .intValue();
+
   /**
    * The buffer size for server-side sockets.
    */
@@ -543,6 +562,7 @@ public class AcceptorImpl implements Acceptor, Runnable, CommBufferPool {
     pool = initializeServerConnectionThreadPool();
     hsPool = initializeHandshakerThreadPool();
     clientQueueInitPool = initializeClientQueueInitializerThreadPool();
+    gatewayApplyPool = initializeGatewayApplyThreadPool();
 
     isAuthenticationRequired = this.securityService.isClientSecurityRequired();
 
@@ -620,6 +640,40 @@ public class AcceptorImpl implements Acceptor, Runnable, CommBufferPool {
         clientQueueThreadFactory, 60000);
   }
 
+  private ThreadPoolExecutor initializeGatewayApplyThreadPool() {
+    if (!this.isGatewayReceiver || GATEWAY_RECEIVER_APPLY_THREADS <= 1) {
+      return null;
+    }
+    final ThreadGroup applyThreadGroup = LoggingThreadGroup
+        .createThreadGroup("GatewayReceiver Batch Apply on port " + this.localPort, logger);
+
+    ThreadFactory applyThreadFactory = new ThreadFactory() {
+      AtomicInteger threadNum = new AtomicInteger(-1);
+
+      @Override
+      public Thread newThread(final Runnable command) {
+        Thread thread = new Thread(applyThreadGroup, command,
+            applyThreadGroup.getName() + " Thread " + threadNum.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+    // the server connection thread applies one partition of each batch itself
+    int poolSize = GATEWAY_RECEIVER_APPLY_THREADS - 1;
+    ThreadPoolExecutor applyPool = new ThreadPoolExecutor(poolSize, poolSize, 60,
+        TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), applyThreadFactory);
+    applyPool.allowCoreThreadTimeOut(true);
+    return applyPool;
+  }
+
+  /**
+   * Returns the pool gateway receivers use to apply the events of a batch in parallel, or null if
+   * each batch is applied by its server connection thread alone.
+   */
+  public ExecutorService getGatewayApplyPool() {
+    return this.gatewayApplyPool;
+  }
+
   private ThreadPoolExecutor initializeServerConnectionThreadPool() throws IOException {
     String gName = "ServerConnection "
         // + serverSock.getInetAddress()
@@ -1644,6 +1698,10 @@ public class AcceptorImpl implements Acceptor, Runnable, CommBufferPool {
       this.pool.shutdownNow();
     }
     this.hsPool.shutdownNow();
+    if (this.gatewayApplyPool != null) {
+      // let queued partitions run since their server connection threads are waiting for them
+      this.gatewayApplyPool.shutdown();
+    }
   }
 
   private void shutdownSCs() {
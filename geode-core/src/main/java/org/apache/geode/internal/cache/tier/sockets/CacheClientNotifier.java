@@ -101,6 +101,7 @@ import org.apache.geode.internal.cache.ha.HAContainerMap;
 import org.apache.geode.internal.cache.ha.HAContainerRegion;
 import org.apache.geode.internal.cache.ha.HAContainerWrapper;
 import org.apache.geode.internal.cache.ha.HARegionQueue;
+import org.apache.geode.internal.cache.ha.SharedSubscriptionQueue;
 import org.apache.geode.internal.cache.ha.ThreadIdentifier;
 import org.apache.geode.internal.cache.tier.Acceptor;
 import org.apache.geode.internal.cache.tier.MessageType;
@@ -966,12 +967,15 @@ public class CacheClientNotifier {
                                                                  // but no p2p distribution
 
     List<CacheClientProxy> deadProxies = null;
+    // the proxies that share a queue collect their subscriptions so the event is queued only once
+    List<SharedSubscriptionQueue.Subscriber> subscribers =
+        this.sharedSubscriptionQueue == null ? null : new ArrayList<>();
     for (ClientProxyMembershipID clientId : filterClients) {
       CacheClientProxy proxy;
       proxy = this.getClientProxy(clientId, true);
       if (proxy != null) {
         if (proxy.isAlive() || proxy.isPaused() || proxy.isConnected() || proxy.isDurable()) {
-          proxy.deliverMessage(conflatable);
+          proxy.deliverMessage(conflatable, subscribers);
         } else {
           proxy.getStatistics().incMessagesFailedQueued();
           if (deadProxies == null) {
@@ -982,6 +986,9 @@ public class CacheClientNotifier {
         this.blackListSlowReciever(proxy);
       }
     }
+    if (subscribers != null && !subscribers.isEmpty()) {
+      this.sharedSubscriptionQueue.append(CacheClientProxy.unwrap(conflatable), subscribers);
+    }
     checkAndRemoveFromClientMsgsRegion(conflatable);
     // Remove any dead clients from the clients to notify
     if (deadProxies != null) {
@@ -2131,6 +2138,13 @@ public class CacheClientNotifier {
    */
   private volatile HAContainerWrapper haContainer;
 
+  /**
+   * The queue shared by the primary proxies of non-durable clients, or null unless
+   * {@link SharedSubscriptionQueue#ENABLED}
+   */
+  private final SharedSubscriptionQueue sharedSubscriptionQueue =
+      SharedSubscriptionQueue.ENABLED ? new SharedSubscriptionQueue() : null;
+
   /**
    * The size of the server-to-client communication socket buffers. This can be modified using the
    * BridgeServer.SOCKET_BUFFER_SIZE system property.
@@ -2211,6 +2225,10 @@ public class CacheClientNotifier {
     return haContainer;
   }
 
+  public SharedSubscriptionQueue getSharedSubscriptionQueue() {
+    return this.sharedSubscriptionQueue;
+  }
+
   public void initHaContainer(List overflowAttributesList) {
     // lazily initialize haContainer in case this CCN instance was created by a gateway receiver
     if (overflowAttributesList != null
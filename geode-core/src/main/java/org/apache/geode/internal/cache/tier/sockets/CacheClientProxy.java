@@ -91,6 +91,7 @@ import org.apache.geode.internal.cache.ha.HAContainerWrapper;
 import org.apache.geode.internal.cache.ha.HARegionQueue;
 import org.apache.geode.internal.cache.ha.HARegionQueueAttributes;
 import org.apache.geode.internal.cache.ha.HARegionQueueStats;
+import org.apache.geode.internal.cache.ha.SharedSubscriptionQueue;
 import org.apache.geode.internal.cache.tier.InterestType;
 import org.apache.geode.internal.cache.tier.sockets.ClientUpdateMessageImpl.CqNameToOp;
 import org.apache.geode.internal.cache.tier.sockets.command.Get70;
@@ -1003,6 +1004,10 @@ public class CacheClientProxy implements ClientSession {
     if (this._messageDispatcher == null) {
       return;
     }
+    SharedSubscriptionQueue.Subscriber subscription = this._messageDispatcher._subscription;
+    if (subscription != null) {
+      subscription.close();
+    }
     try {
       // Using Destroy Region bcoz this method is modified in HARegion so as
       // not to distribute.
@@ -1539,15 +1544,14 @@ public class CacheClientProxy implements ClientSession {
    * Delivers the message to the client representing this client proxy.
    * 
    * @param conflatable
+   * @param subscribers if not null, the subscriptions to the shared queue that the caller appends
+   *        the message to once it has been delivered to every proxy; a proxy that shares the queue
+   *        adds its subscription instead of queueing the message itself
    */
-  protected void deliverMessage(Conflatable conflatable) {
+  protected void deliverMessage(Conflatable conflatable,
+      List<SharedSubscriptionQueue.Subscriber> subscribers) {
     ThreadState state = this.securityService.bindSubject(this.subject);
-    ClientUpdateMessage clientMessage = null;
-    if (conflatable instanceof HAEventWrapper) {
-      clientMessage = ((HAEventWrapper) conflatable).getClientUpdateMessage();
-    } else {
-      clientMessage = (ClientUpdateMessage) conflatable;
-    }
+    ClientUpdateMessage clientMessage = (ClientUpdateMessage) unwrap(conflatable);
 
     this._statistics.incMessagesReceived();
 
@@ -1570,14 +1574,24 @@ public class CacheClientProxy implements ClientSession {
                   "Message dispatcher for proxy {} is getting initialized. Adding message to the queuedEvents.",
                   this);
             }
-            this.queuedEvents.add(conflatable);
+            // the wrapper may have let go of the message by the time a shared queue is filled
+            this.queuedEvents.add(subscribers != null && canShareSubscriptionQueue()
+                ? clientMessage : conflatable);
             return;
           }
         }
       }
 
       if (this._messageDispatcher != null) {
-        this._messageDispatcher.enqueueMessage(conflatable);
+        SharedSubscriptionQueue.Subscriber subscription = this._messageDispatcher._subscription;
+        if (subscription != null && subscribers != null) {
+          if (this._messageDispatcher.isSharedQueueFull()) {
+            this._messageDispatcher._messageQueue.isClientSlowReciever = true;
+          }
+          subscribers.add(subscription);
+        } else {
+          this._messageDispatcher.enqueueMessage(conflatable);
+        }
       } else {
         this._statistics.incMessagesFailedQueued();
         if (logger.isDebugEnabled()) {
@@ -1594,6 +1608,27 @@ public class CacheClientProxy implements ClientSession {
       state.clear();
   }
 
+  /**
+   * Returns the message an event routed to the clients is queued as.
+   */
+  static Conflatable unwrap(Conflatable conflatable) {
+    if (conflatable instanceof HAEventWrapper) {
+      return ((HAEventWrapper) conflatable).getClientUpdateMessage();
+    }
+    return conflatable;
+  }
+
+  /**
+   * Returns whether the events for this proxy may be queued in the shared queue instead of its
+   * HARegionQueue. Only the primary of a non-durable client without server side conflation or
+   * post processing of values qualifies, since the shared queue is neither highly available nor
+   * conflated and holds one copy of each event for all its clients.
+   */
+  boolean canShareSubscriptionQueue() {
+    return !isDurable() && this.isPrimary && this.clientConflation != HandShake.CONFLATION_ON
+        && !this.securityService.needPostProcess();
+  }
+
   protected void sendMessageDirectly(ClientMessage message) {
     // Send the message directly if the connection exists
     // (do not go through the queue).
@@ -2190,11 +2225,23 @@ public class CacheClientProxy implements ClientSession {
    */
   static class MessageDispatcher extends Thread {
 
+    /**
+     * How long a dispatcher sending from the shared queue waits for a message before checking
+     * whether it has been stopped
+     */
+    private static final long SHARED_QUEUE_PEEK_TIMEOUT = 1000;
+
     /**
      * The queue of messages to be sent to the client
      */
     protected final HARegionQueue _messageQueue;
 
+    /**
+     * The subscription to the notifier's shared queue that messages are sent from instead of the
+     * message queue, or null. Set to null when the dispatcher stops sharing the queue.
+     */
+    protected volatile SharedSubscriptionQueue.Subscriber _subscription;
+
     // /**
     // * An int used to keep track of the number of messages dropped for logging
     // * purposes. If greater than zero then a warning has been logged about
@@ -2294,6 +2341,49 @@ public class CacheClientProxy implements ClientSession {
           private static final long serialVersionUID = 0L;
         };
       }
+      SharedSubscriptionQueue sharedQueue = proxy._cacheClientNotifier.getSharedSubscriptionQueue();
+      if (sharedQueue != null && proxy.canShareSubscriptionQueue()) {
+        this._subscription = sharedQueue.subscribe();
+        this._messageQueue.setBeforeImageProvided(this::stopSharingQueue);
+      } else {
+        this._subscription = null;
+      }
+    }
+
+    /**
+     * Stops sending from the notifier's shared queue. The events still queued there for the client,
+     * and those appended for it later, are put in the message queue instead, which this dispatcher
+     * sends from from now on. Called before the message queue provides its image to a server
+     * creating a redundant queue for the client, since that queue would otherwise miss the events
+     * held only by the shared queue. A message being sent at the time may be sent twice, which the
+     * client ignores.
+     */
+    void stopSharingQueue() {
+      SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+      if (subscription == null) {
+        return;
+      }
+      if (logger.isDebugEnabled()) {
+        logger.debug("{}: Moving {} messages from the shared queue to the message queue", this,
+            subscription.size());
+      }
+      subscription.detach(this::putInMessageQueue);
+      this._subscription = null;
+    }
+
+    private void putInMessageQueue(Object message) {
+      try {
+        this._messageQueue.put(message);
+      } catch (CancelException e) {
+        throw e;
+      } catch (Exception e) {
+        if (!isStopped()) {
+          this._proxy._statistics.incMessagesFailedQueued();
+          logger.fatal(LocalizedMessage.create(
+              LocalizedStrings.CacheClientProxy_0_EXCEPTION_OCCURRED_WHILE_ATTEMPTING_TO_ADD_MESSAGE_TO_QUEUE,
+              this), e);
+        }
+      }
     }
 
     private CacheClientProxy getProxy() {
@@ -2356,9 +2446,16 @@ public class CacheClientProxy implements ClientSession {
         for (int numberOfPeeks = 0; numberOfPeeks < MAXIMUM_SHUTDOWN_PEEKS; ++numberOfPeeks) {
           boolean interrupted = Thread.interrupted();
           try {
-            events = this._messageQueue.peek(1, -1);
-            if (events == null || events.size() == 0) {
-              break;
+            SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+            if (subscription != null) {
+              if (subscription.size() == 0) {
+                break;
+              }
+            } else {
+              events = this._messageQueue.peek(1, -1);
+              if (events == null || events.size() == 0) {
+                break;
+              }
             }
             if (logger.isDebugEnabled()) {
               logger.debug("Waiting for client to drain queue: {}", _proxy.proxyID);
@@ -2398,9 +2495,23 @@ public class CacheClientProxy implements ClientSession {
      * @return the size of the queue
      */
     protected int getQueueSize() {
+      SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+      if (subscription != null) {
+        return subscription.size();
+      }
       return this._messageQueue == null ? 0 : this._messageQueue.size();
     }
 
+    /**
+     * Returns whether this dispatcher shares the notifier's queue and has as many messages waiting
+     * in it as the client's queue may hold.
+     */
+    protected boolean isSharedQueueFull() {
+      SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+      return subscription != null && subscription.size() >= getProxy()._maximumMessageCount
+          && getCache().getInternalDistributedSystem().getConfig().getRemoveUnresponsiveClient();
+    }
+
     /**
      * Returns the size of the queue calculated through stats This includes events that have
      * dispatched but have yet been removed
@@ -2408,6 +2519,10 @@ public class CacheClientProxy implements ClientSession {
      * @return the size of the queue
      */
     protected int getQueueSizeStat() {
+      SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+      if (subscription != null) {
+        return subscription.size();
+      }
       if (this._messageQueue != null) {
         HARegionQueueStats stats = this._messageQueue.getStatistics();
         return ((int) (stats.getEventsEnqued() - stats.getEventsRemoved()
@@ -2420,6 +2535,20 @@ public class CacheClientProxy implements ClientSession {
 
     protected void drainClientCqEvents(ClientProxyMembershipID clientId,
         InternalCqQuery cqToClose) {
+      SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+      if (subscription != null) {
+        subscription.removeIf(message -> {
+          if (!(message instanceof ClientUpdateMessageImpl)) {
+            return false;
+          }
+          ClientUpdateMessageImpl updateMessage = (ClientUpdateMessageImpl) message;
+          updateMessage.removeClientCq(clientId, cqToClose);
+          return !updateMessage.hasCqs(clientId) && !updateMessage.isClientInterested(clientId);
+        });
+        if (!subscription.isDetached()) {
+          return;
+        }
+      }
       this._messageQueue.closeClientCq(clientId, cqToClose);
     }
 
@@ -2485,12 +2614,20 @@ public class CacheClientProxy implements ClientSession {
             }
             waitForResumption();
           }
-          try {
-            clientMessage = (ClientMessage) this._messageQueue.peek();
-          } catch (RegionDestroyedException skipped) {
-            break;
+          SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+          if (subscription != null) {
+            clientMessage = (ClientMessage) subscription.peek(SHARED_QUEUE_PEEK_TIMEOUT);
+            if (subscription.isClosed() && !subscription.isDetached()) {
+              break;
+            }
+          } else {
+            try {
+              clientMessage = (ClientMessage) this._messageQueue.peek();
+            } catch (RegionDestroyedException skipped) {
+              break;
+            }
           }
-          getStatistics().setQueueSize(this._messageQueue.size());
+          getStatistics().setQueueSize(getQueueSize());
           if (isStopped()) {
             break;
           }
@@ -2501,12 +2638,16 @@ public class CacheClientProxy implements ClientSession {
             boolean isDispatched = dispatchMessage(clientMessage);
             getStatistics().endMessage(start);
             if (isDispatched) {
-              this._messageQueue.remove();
+              if (subscription != null) {
+                subscription.remove();
+              } else {
+                this._messageQueue.remove();
+              }
               if (clientMessage instanceof ClientMarkerMessageImpl) {
                 getProxy().markerEnqueued = false;
               }
             }
-          } else {
+          } else if (subscription == null) {
             this._messageQueue.remove();
           }
           clientMessage = null;
@@ -2600,8 +2741,13 @@ public class CacheClientProxy implements ClientSession {
         try {
           // Clear the interrupt status if any,
           Thread.interrupted();
-          int size = this._messageQueue.size();
-          list = this._messageQueue.peek(size);
+          SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+          if (subscription != null) {
+            list = subscription.drain();
+          } else {
+            int size = this._messageQueue.size();
+            list = this._messageQueue.peek(size);
+          }
           if (logger.isDebugEnabled()) {
             logger.debug(
                 "{}: After flagging the dispatcher to stop , the residual List of messages to be dispatched={} size={}",
@@ -2617,7 +2763,9 @@ public class CacheClientProxy implements ClientSession {
               // has been sent? That way list will be more accurate
               // if we have an exception.
             }
-            this._messageQueue.remove();
+            if (subscription == null) {
+              this._messageQueue.remove();
+            }
           }
         } catch (CancelException e) {
           if (logger.isDebugEnabled()) {
@@ -2806,7 +2954,15 @@ public class CacheClientProxy implements ClientSession {
      */
     protected void enqueueMessage(Conflatable clientMessage) {
       try {
-        this._messageQueue.put(clientMessage);
+        SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+        if (subscription != null) {
+          Conflatable message = unwrap(clientMessage);
+          if (message != null) {
+            subscription.append(message);
+          }
+        } else {
+          this._messageQueue.put(clientMessage);
+        }
         if (this._proxy.isPaused() && this._proxy.isDurable()) {
           this._proxy._cacheClientNotifier.statistics.incEventEnqueuedWhileClientAwayCount();
           if (logger.isDebugEnabled()) {
@@ -2838,7 +2994,12 @@ public class CacheClientProxy implements ClientSession {
           logger.debug("{}: Queueing marker message. <{}>. The queue contains {} entries.", this,
               message, getQueueSize());
         }
-        this._messageQueue.put(message);
+        SharedSubscriptionQueue.Subscriber subscription = this._subscription;
+        if (subscription != null) {
+          subscription.append(message);
+        } else {
+          this._messageQueue.put(message);
+        }
         if (logger.isDebugEnabled()) {
           logger.debug("{}: Queued marker message. The queue contains {} entries.", this,
               getQueueSize());
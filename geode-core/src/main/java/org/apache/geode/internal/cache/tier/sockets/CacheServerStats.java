@@ -210,6 +210,14 @@ public class CacheServerStats implements MessageStats {
   int messagesBeingReceivedId;
   int messageBytesBeingReceivedId;
 
+  // Wire compression statistics
+  int wireUncompressedBytesSentId;
+  int wireCompressedBytesSentId;
+  int wireCompressionTimeId;
+  int wireCompressedBytesReceivedId;
+  int wireUncompressedBytesReceivedId;
+  int wireDecompressionTimeId;
+
   int connectionsTimedOutId;
   int threadQueueSizeId;
   int acceptsInProgressId;
@@ -453,6 +461,22 @@ public class CacheServerStats implements MessageStats {
             "messages"),
         statisticsFactory.createLongGauge("messageBytesBeingReceived",
             "Current number of bytes consumed by messages being received or processed.", "bytes"),
+        statisticsFactory.createLongCounter("wireUncompressedBytesSent",
+            "Total number of bytes in the message parts sent to clients that were eligible for compression.",
+            "bytes"),
+        statisticsFactory.createLongCounter("wireCompressedBytesSent",
+            "Total number of bytes those message parts took up on the wire after compression.",
+            "bytes"),
+        statisticsFactory.createLongCounter("wireCompressionTime",
+            "Total time spent compressing message parts sent to clients.", "nanoseconds"),
+        statisticsFactory.createLongCounter("wireCompressedBytesReceived",
+            "Total number of bytes in the compressed message parts received from clients.",
+            "bytes"),
+        statisticsFactory.createLongCounter("wireUncompressedBytesReceived",
+            "Total number of bytes those message parts took up after decompression.", "bytes"),
+        statisticsFactory.createLongCounter("wireDecompressionTime",
+            "Total time spent decompressing message parts received from clients.",
+            "nanoseconds"),
         statisticsFactory.createIntCounter("connectionsTimedOut",
             "Total number of connections that have been timed out by the server because of client inactivity",
             "connections"),
@@ -593,6 +617,12 @@ public class CacheServerStats implements MessageStats {
 
     messagesBeingReceivedId = this.stats.nameToId("messagesBeingReceived");
     messageBytesBeingReceivedId = this.stats.nameToId("messageBytesBeingReceived");
+    wireUncompressedBytesSentId = this.stats.nameToId("wireUncompressedBytesSent");
+    wireCompressedBytesSentId = this.stats.nameToId("wireCompressedBytesSent");
+    wireCompressionTimeId = this.stats.nameToId("wireCompressionTime");
+    wireCompressedBytesReceivedId = this.stats.nameToId("wireCompressedBytesReceived");
+    wireUncompressedBytesReceivedId = this.stats.nameToId("wireUncompressedBytesReceived");
+    wireDecompressionTimeId = this.stats.nameToId("wireDecompressionTime");
     connectionsTimedOutId = this.stats.nameToId("connectionsTimedOut");
     threadQueueSizeId = this.stats.nameToId("threadQueueSize");
     acceptsInProgressId = this.stats.nameToId("acceptsInProgress");
@@ -955,6 +985,32 @@ public class CacheServerStats implements MessageStats {
     }
   }
 
+  @Override
+  public void incWireCompression(long uncompressedBytes, long compressedBytes, long nanos) {
+    this.stats.incLong(wireUncompressedBytesSentId, uncompressedBytes);
+    this.stats.incLong(wireCompressedBytesSentId, compressedBytes);
+    this.stats.incLong(wireCompressionTimeId, nanos);
+  }
+
+  @Override
+  public void incWireDecompression(long compressedBytes, long uncompressedBytes, long nanos) {
+    this.stats.incLong(wireCompressedBytesReceivedId, compressedBytes);
+    this.stats.incLong(wireUncompressedBytesReceivedId, uncompressedBytes);
+    this.stats.incLong(wireDecompressionTimeId, nanos);
+  }
+
+  /**
+   * Returns the ratio of the size of the message parts sent to clients that were eligible for
+   * compression to their size on the wire, or 1 if none have been sent.
+   */
+  public double getWireCompressionRatio() {
+    long compressed = this.stats.getLong(wireCompressedBytesSentId);
+    if (compressed == 0) {
+      return 1.0;
+    }
+    return (double) this.stats.getLong(wireUncompressedBytesSentId) / compressed;
+  }
+
   public void incReadClientReadyRequestTime(long delta) {
     this.stats.incLong(readClientReadyRequestTimeId, delta);
     this.stats.incInt(clientReadyRequestsId, 1);
@@ -228,6 +228,20 @@ public class HandShake implements ClientHandShake {
    */
   private byte[] overrides = null;
 
+  /**
+   * The wire compression codec the client asked for, read from the override byte.
+   *
+   * @since Geode 1.4
+   */
+  private byte requestedWireCompression = WireCompression.NONE;
+
+  /**
+   * The wire compression agreed with the client, set by accept.
+   *
+   * @since Geode 1.4
+   */
+  private WireCompression wireCompression;
+
   /**
    * Test hooks for per client conflation
    * 
@@ -296,7 +310,12 @@ public class HandShake implements ClientHandShake {
           // Note: credentials should always be the last piece in handshake for
           // Diffie-Hellman key exchange to work
           if (clientVersion.compareTo(Version.GFE_603) >= 0) {
-            setOverrides(new byte[] {dis.readByte()});
+            byte override = dis.readByte();
+            setOverrides(new byte[] {override});
+            if (clientVersion.compareTo(Version.GEODE_140) >= 0) {
+              this.requestedWireCompression =
+                  (byte) ((override >>> 2) & WireCompression.CODEC_MASK);
+            }
           } else {
             setClientConflation(dis.readByte());
           }
@@ -330,6 +349,11 @@ public class HandShake implements ClientHandShake {
     return this.clientVersion;
   }
 
+  @Override
+  public WireCompression getWireCompression() {
+    return this.wireCompression;
+  }
+
   /**
    * Client-side handshake. This form of HandShake can communicate with a server
    */
@@ -483,8 +507,14 @@ public class HandShake implements ClientHandShake {
       DataSerializer.writeObject(this.id, idOut);
 
       if (currentClientVersion.compareTo(Version.GFE_603) >= 0) {
-        for (int bytes = 0; bytes < this.overrides.length; bytes++) {
-          hdos.writeByte(this.overrides[bytes]);
+        byte[] values = this.overrides;
+        if (!isCallbackConnection && currentClientVersion.compareTo(Version.GEODE_140) >= 0) {
+          // the two bits after the client conflation setting ask for wire compression
+          values = values.clone();
+          values[0] |= (byte) (WireCompression.getRequestedCodec() << 2);
+        }
+        for (int bytes = 0; bytes < values.length; bytes++) {
+          hdos.writeByte(values[bytes]);
         }
       } else {
         // write the client conflation setting byte
@@ -1167,6 +1197,14 @@ public class HandShake implements ClientHandShake {
       dos.writeInt(pdxSize);
     }
 
+    // Answer the client's request for wire compression with the codec that will be used
+    if (this.clientVersion.compareTo(Version.GEODE_140) >= 0 && (!communicationMode.isWAN()
+        || ServerHandShakeProcessor.currentServerVersion.compareTo(Version.GEODE_140) >= 0)) {
+      byte codec = WireCompression.acceptCodec(this.requestedWireCompression);
+      dos.writeByte(codec);
+      this.wireCompression = WireCompression.forCodec(codec);
+    }
+
     // Flush
     dos.flush();
   }
@@ -1279,6 +1317,12 @@ public class HandShake implements ClientHandShake {
         serverQStatus.setPdxSize(remotePdxSize);
       }
 
+      // Read the wire compression codec the server agreed to
+      if (currentClientVersion.compareTo(Version.GEODE_140) >= 0 && (!communicationMode.isWAN()
+          || Version.GEODE_140.compareTo(conn.getWanSiteVersion()) <= 0)) {
+        serverQStatus.setWireCompression(WireCompression.forCodec(dis.readByte()));
+      }
+
       return serverQStatus;
     } catch (IOException ex) {
       CancelCriterion stopper = this.system.getCancelCriterion();
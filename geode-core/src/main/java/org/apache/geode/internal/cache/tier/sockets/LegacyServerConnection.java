@@ -64,6 +64,7 @@ public class LegacyServerConnection extends ServerConnection {
     try {
       this.handshake.accept(theSocket.getOutputStream(), theSocket.getInputStream(), epType, qSize,
           this.communicationMode, this.principal);
+      setWireCompression(this.handshake.getWireCompression());
     } catch (IOException ioe) {
       if (!crHelper.isShutdown() && !isTerminated()) {
         logger.warn(LocalizedMessage.create(
@@ -161,6 +161,9 @@ public class Message {
 
   private Version version;
 
+  /** the compression agreed for the connection this message is sent and read on, if any */
+  private WireCompression wireCompression;
+
   /**
    * Creates a new message with the given number of parts
    */
@@ -560,9 +563,10 @@ public class Message {
         long totalPartLen = 0;
         long headerLen = 0;
         int partsToTransmit = this.numberOfParts;
+        Part[] parts = compressParts();
 
         for (int i = 0; i < this.numberOfParts; i++) {
-          Part part = this.partsList[i];
+          Part part = parts[i];
           headerLen += PART_HEADER_SIZE;
           totalPartLen += part.getLength();
         }
@@ -592,7 +596,7 @@ public class Message {
         commBuffer.clear();
         packHeaderInfoForSending(msgLen, securityPart != null);
         for (int i = 0; i < partsToTransmit; i++) {
-          Part part = i == this.numberOfParts ? securityPart : this.partsList[i];
+          Part part = i == this.numberOfParts ? securityPart : parts[i];
 
           if (commBuffer.remaining() < PART_HEADER_SIZE) {
             flushBuffer();
@@ -630,6 +634,28 @@ public class Message {
     }
   }
 
+  /**
+   * Returns the parts to send, with a compressed copy in place of each part that is worth
+   * compressing. The parts themselves are left alone so the message can still be resent as it is
+   * on a connection that does not use compression.
+   */
+  private Part[] compressParts() {
+    Part[] parts = this.partsList;
+    if (this.wireCompression == null) {
+      return parts;
+    }
+    for (int i = 0; i < this.numberOfParts; i++) {
+      Part compressed = this.partsList[i].compressedCopy(this.wireCompression, this.messageStats);
+      if (compressed != null) {
+        if (parts == this.partsList) {
+          parts = this.partsList.clone();
+        }
+        parts[i] = compressed;
+      }
+    }
+    return parts;
+  }
+
   void flushBuffer() throws IOException {
     final ByteBuffer cb = getCommBuffer();
     if (this.socketChannel != null) {
@@ -926,6 +952,13 @@ public class Message {
         }
       }
       part.init(partBytes, partType);
+      if (part.isCompressed()) {
+        if (this.wireCompression == null) {
+          throw new IOException(
+              "Received a compressed message part on a connection that does not use compression");
+        }
+        part.decompress(this.wireCompression, this.messageStats);
+      }
     }
   }
 
@@ -1080,6 +1113,21 @@ public class Message {
     this.outputStream = null;
     this.cachedCommBuffer = null;
     this.messageStats = null;
+    this.wireCompression = null;
+  }
+
+  /**
+   * Sets the compression agreed for the connection this message is sent and read on, or null to
+   * send every part as it is.
+   *
+   * @since Geode 1.4
+   */
+  public void setWireCompression(WireCompression wireCompression) {
+    this.wireCompression = wireCompression;
+  }
+
+  public WireCompression getWireCompression() {
+    return this.wireCompression;
   }
 
   /**
@@ -28,4 +28,22 @@ public interface MessageStats {
   public void incMessagesBeingReceived(int bytes);
 
   public void decMessagesBeingReceived(int bytes);
+
+  /**
+   * Records that a message part of <code>uncompressedBytes</code> was sent as
+   * <code>compressedBytes</code> after <code>nanos</code> spent compressing it.
+   *
+   * @since Geode 1.4
+   */
+  public default void incWireCompression(long uncompressedBytes, long compressedBytes,
+      long nanos) {}
+
+  /**
+   * Records that a message part received as <code>compressedBytes</code> was decompressed to
+   * <code>uncompressedBytes</code> in <code>nanos</code>.
+   *
+   * @since Geode 1.4
+   */
+  public default void incWireDecompression(long compressedBytes, long uncompressedBytes,
+      long nanos) {}
 }
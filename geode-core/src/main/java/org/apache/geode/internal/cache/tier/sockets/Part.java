@@ -51,6 +51,14 @@ public class Part {
   private static final byte EMPTY_BYTEARRAY_CODE = 2;
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
 
+  /**
+   * Added to the type code of a part whose payload was compressed with the connection's
+   * {@link WireCompression}. Only sent once both ends have agreed on compression in the handshake.
+   *
+   * @since Geode 1.4
+   */
+  static final byte COMPRESSED_FLAG = 0x10;
+
   /**
    * The payload of this part. Could be null, a byte[] or a HeapDataOutputStream on the send side.
    * Could be null, or a byte[] on the receiver side.
@@ -146,6 +154,44 @@ public class Part {
     return this.typeCode;
   }
 
+  boolean isCompressed() {
+    return (this.typeCode & COMPRESSED_FLAG) != 0;
+  }
+
+  /**
+   * Returns a new part holding the compressed payload of this one, or null if this part is too
+   * small, is off-heap or does not compress.
+   */
+  Part compressedCopy(WireCompression compression, MessageStats stats) {
+    // off-heap values are sent straight from their memory rather than copied to compress them
+    if (this.part instanceof StoredObject || getLength() < compression.getThreshold()) {
+      return null;
+    }
+    byte[] bytes;
+    if (this.part instanceof byte[]) {
+      bytes = (byte[]) this.part;
+    } else {
+      bytes = new byte[getLength()];
+      writeTo(ByteBuffer.wrap(bytes));
+    }
+    byte[] compressed = compression.compress(bytes, stats);
+    if (compressed == null) {
+      return null;
+    }
+    Part copy = new Part();
+    copy.part = compressed;
+    copy.typeCode = (byte) (this.typeCode | COMPRESSED_FLAG);
+    return copy;
+  }
+
+  /**
+   * Replaces the compressed payload this part was read with by its uncompressed form.
+   */
+  void decompress(WireCompression compression, MessageStats stats) throws IOException {
+    this.part = compression.decompress((byte[]) this.part, stats);
+    this.typeCode = (byte) (this.typeCode & ~COMPRESSED_FLAG);
+  }
+
   /**
    * Return the length of the part. The length is the number of bytes needed for its serialized
    * form.
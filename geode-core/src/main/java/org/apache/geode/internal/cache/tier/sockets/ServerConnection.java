@@ -390,6 +390,24 @@ public abstract class ServerConnection implements Runnable {
     return this.handshake;
   }
 
+  /**
+   * Sets the compression agreed with the client in the handshake on all of this connection's
+   * messages.
+   *
+   * @since Geode 1.4
+   */
+  protected void setWireCompression(WireCompression wireCompression) {
+    requestMsg.setWireCompression(wireCompression);
+    replyMsg.setWireCompression(wireCompression);
+    responseMsg.setWireCompression(wireCompression);
+    errorMsg.setWireCompression(wireCompression);
+    chunkedResponseMsg.setWireCompression(wireCompression);
+    queryResponseMsg.setWireCompression(wireCompression);
+    executeFunctionResponseMsg.setWireCompression(wireCompression);
+    registerInterestResponseMsg.setWireCompression(wireCompression);
+    keySetResponseMsg.setWireCompression(wireCompression);
+  }
+
   public void setHandshake(ClientHandShake handshake) {
     this.handshake = handshake;
     Version v = handshake.getVersion();
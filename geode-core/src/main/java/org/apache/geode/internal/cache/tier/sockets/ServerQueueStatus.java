@@ -33,6 +33,8 @@ public class ServerQueueStatus {
   private DistributedMember memberId = null;
   /** size of the PDX registry on the server. Currently only set for gateways */
   private int pdxSize = 0;
+  /** the compression agreed with the server for the connection, or null for none */
+  private WireCompression wireCompression;
 
   /**
    * Default constructor Called when connectionsPerServer=0
@@ -119,6 +121,14 @@ public class ServerQueueStatus {
     this.pdxSize = pdxSize;
   }
 
+  public WireCompression getWireCompression() {
+    return wireCompression;
+  }
+
+  public void setWireCompression(WireCompression wireCompression) {
+    this.wireCompression = wireCompression;
+  }
+
   /**
    * The member id of the server we connected to.
    * 
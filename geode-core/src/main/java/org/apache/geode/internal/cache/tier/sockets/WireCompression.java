@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import java.io.IOException;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.compression.CompressionException;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.compression.LZ4Compressor;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.distributed.internal.DistributionStats;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * The compression used for the {@link Part}s of the messages sent over one client to server or
+ * gateway sender to gateway receiver connection.
+ * <p>
+ * The connecting side asks for a codec, named by the {@link #CODEC_PROPERTY} system property, in
+ * the handshake and the accepting side answers with the codec it will use, which is
+ * {@link #NONE} if it does not know the codec or has compression disabled with
+ * {@link #SERVER_ENABLED_PROPERTY}. Once a codec has been agreed each side compresses the parts it
+ * sends that are at least {@link #THRESHOLD_PROPERTY} bytes long and marks them as compressed in
+ * their type code; smaller parts, and parts that do not shrink, are sent as they are.
+ *
+ * @since Geode 1.4
+ */
+public class WireCompression {
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * The codec a client or gateway sender asks for: "none" (the default), "lz4" or "deflate".
+   */
+  public static final String CODEC_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "wire-compression";
+
+  /**
+   * The size in bytes below which a part is sent uncompressed.
+   */
+  public static final String THRESHOLD_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "wire-compression-threshold";
+
+  /**
+   * Set to false on a server or gateway receiver to refuse all requests for compression.
+   */
+  public static final String SERVER_ENABLED_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "server.wire-compression-enabled";
+
+  public static final byte NONE = 0;
+  public static final byte LZ4 = 1;
+  public static final byte DEFLATE = 2;
+
+  static final int DEFAULT_THRESHOLD = 4096;
+
+  /**
+   * The codec ids fit in the two bits of the handshake's override byte that follow the client
+   * conflation setting.
+   */
+  static final int CODEC_MASK = 0x03;
+
+  private final byte codec;
+  private final Compressor compressor;
+  private final int threshold;
+
+  WireCompression(byte codec, Compressor compressor, int threshold) {
+    this.codec = codec;
+    this.compressor = compressor;
+    this.threshold = Math.max(1, threshold);
+  }
+
+  /**
+   * Returns the codec this member asks for when it connects to a server or gateway receiver.
+   */
+  public static byte getRequestedCodec() {
+    String name = System.getProperty(CODEC_PROPERTY);
+    if (name == null || name.trim().isEmpty() || "none".equalsIgnoreCase(name.trim())) {
+      return NONE;
+    }
+    if ("lz4".equalsIgnoreCase(name.trim())) {
+      return LZ4;
+    }
+    if ("deflate".equalsIgnoreCase(name.trim())) {
+      return DEFLATE;
+    }
+    logger.warn("Ignoring unknown {} value {}", CODEC_PROPERTY, name);
+    return NONE;
+  }
+
+  /**
+   * Returns the codec that a server or gateway receiver will use for a connection that asked for
+   * the given codec.
+   */
+  public static byte acceptCodec(byte requested) {
+    if (!Boolean.parseBoolean(System.getProperty(SERVER_ENABLED_PROPERTY, "true"))) {
+      return NONE;
+    }
+    switch (requested) {
+      case LZ4:
+      case DEFLATE:
+        return requested;
+      default:
+        return NONE;
+    }
+  }
+
+  /**
+   * Returns the compression for the given codec, or null for {@link #NONE}.
+   */
+  public static WireCompression forCodec(byte codec) {
+    int threshold = Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD);
+    switch (codec) {
+      case NONE:
+        return null;
+      case LZ4:
+        return new WireCompression(codec, new LZ4Compressor(), threshold);
+      case DEFLATE:
+        return new WireCompression(codec, new DeflateCompressor(1, null), threshold);
+      default:
+        throw new IllegalArgumentException("Unknown wire compression codec " + codec);
+    }
+  }
+
+  public byte getCodec() {
+    return this.codec;
+  }
+
+  public int getThreshold() {
+    return this.threshold;
+  }
+
+  /**
+   * Returns the compressed form of the given bytes, or null if they are below the threshold or do
+   * not get any smaller.
+   */
+  byte[] compress(byte[] bytes, MessageStats stats) {
+    if (bytes.length < this.threshold) {
+      return null;
+    }
+    long start = DistributionStats.getStatTime();
+    byte[] compressed = this.compressor.compress(bytes);
+    boolean smaller = compressed.length < bytes.length;
+    if (stats != null) {
+      stats.incWireCompression(bytes.length, smaller ? compressed.length : bytes.length,
+          DistributionStats.getStatTime() - start);
+    }
+    return smaller ? compressed : null;
+  }
+
+  /**
+   * Returns the uncompressed form of bytes that were returned by {@link #compress}.
+   */
+  byte[] decompress(byte[] bytes, MessageStats stats) throws IOException {
+    long start = DistributionStats.getStatTime();
+    byte[] result;
+    try {
+      result = this.compressor.decompress(bytes);
+    } catch (CompressionException e) {
+      throw new IOException("Could not decompress a message part", e);
+    }
+    if (stats != null) {
+      stats.incWireDecompression(bytes.length, result.length,
+          DistributionStats.getStatTime() - start);
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return "WireCompression[codec=" + this.codec + ", threshold=" + this.threshold + "]";
+  }
+}
@@ -16,9 +16,19 @@ package org.apache.geode.internal.cache.tier.sockets.command;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.apache.geode.CancelException;
+import org.apache.geode.InternalGemFireException;
 import org.apache.geode.cache.CacheClosedException;
 import org.apache.geode.cache.EntryNotFoundException;
 import org.apache.geode.cache.RegionDestroyedException;
@@ -38,6 +48,7 @@ import org.apache.geode.internal.cache.LocalRegion;
 import org.apache.geode.internal.cache.tier.CachedRegionHelper;
 import org.apache.geode.internal.cache.tier.Command;
 import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.internal.cache.tier.sockets.AcceptorImpl;
 import org.apache.geode.internal.cache.tier.sockets.BaseCommand;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.Part;
@@ -81,14 +92,9 @@ public class GatewayReceiverCommand extends BaseCommand {
   @Override
   public void cmdExecute(final Message clientMessage, final ServerConnection serverConnection,
       final SecurityService securityService, long start) throws IOException, InterruptedException {
-    Part regionNamePart = null, keyPart = null, valuePart = null, callbackArgPart = null;
-    String regionName = null;
-    Object callbackArg = null, key = null;
     int partNumber = 0;
     CachedRegionHelper crHelper = serverConnection.getCachedRegionHelper();
     GatewayReceiverStats stats = (GatewayReceiverStats) serverConnection.getCacheServerStats();
-    EventID eventId = null;
-    LocalRegion region = null;
     List<BatchException70> exceptions = new ArrayList<BatchException70>();
     Throwable fatalException = null;
     // requiresResponse = true;// let PROCESS_BATCH deal with this itself
@@ -97,8 +103,6 @@ public class GatewayReceiverCommand extends BaseCommand {
       start = DistributionStats.getStatTime();
       stats.incReadProcessBatchRequestTime(start - oldStart);
     }
-    Part callbackArgExistsPart;
-
     stats.incBatchSize(clientMessage.getPayloadLength());
 
     // Retrieve the number of events
@@ -167,393 +171,562 @@ public class GatewayReceiverCommand extends BaseCommand {
     boolean removeOnException =
         clientMessage.getPart(partNumber++).getSerializedForm()[0] == 1 ? true : false;
 
-    // event received in batch also have PDX events at the start of the batch,to
-    // represent correct index on which the exception occurred, number of PDX
-    // events need to be subtracted.
-    int indexWithoutPDXEvent = -1; //
-    for (int i = 0; i < numberOfEvents; i++) {
-      boolean retry = true;
-      boolean isPdxEvent = false;
-      indexWithoutPDXEvent++;
-      // System.out.println("Processing event " + i + " in batch " + batchId + "
-      // starting with part number " + partNumber);
-      Part actionTypePart = clientMessage.getPart(partNumber);
-      int actionType = actionTypePart.getInt();
+    List<BatchEvent> events = locateEvents(clientMessage, partNumber, numberOfEvents);
+    Batch batch = new Batch(clientMessage, serverConnection, crHelper, stats, batchId,
+        numberOfEvents, dsid, removeOnException);
 
-      long versionTimeStamp = VersionTag.ILLEGAL_VERSION_TIMESTAMP;
-      EventIDHolder clientEvent = null;
+    long applyStart = stats.startTime();
+    List<Throwable> failures;
+    ExecutorService applyPool = serverConnection.getAcceptor().getGatewayApplyPool();
+    // access control callbacks are not required to be thread safe
+    if (applyPool != null && serverConnection.getAuthzRequest() == null) {
+      failures = applyEventsInParallel(batch, events, applyPool,
+          AcceptorImpl.GATEWAY_RECEIVER_APPLY_THREADS);
+    } else {
+      failures = applyEvents(batch, events, null);
+    }
+    stats.incBatchApplyTime(stats.startTime() - applyStart);
 
-      boolean callbackArgExists = false;
+    for (Throwable failure : failures) {
+      if (failure instanceof CancelException) {
+        serverConnection.setFlagProcessMessagesAsFalse();
+        serverConnection.setClientDisconnectedException(failure);
+        return;
+      } else if (failure instanceof BatchException70) {
+        exceptions.add((BatchException70) failure);
+      } else {
+        fatalException = failure;
+      }
+    }
+    // the sender resumes from the first failed event
+    Collections.sort(exceptions, new Comparator<BatchException70>() {
+      @Override
+      public int compare(BatchException70 e1, BatchException70 e2) {
+        return Integer.compare(e1.getIndex(), e2.getIndex());
+      }
+    });
 
-      try {
-        do {
-          if (isPdxEvent) {
-            // This is a retried event. Reset the PDX event index.
-            indexWithoutPDXEvent++;
-          }
-          isPdxEvent = false;
-          Part possibleDuplicatePart = clientMessage.getPart(partNumber + 1);
-          byte[] possibleDuplicatePartBytes;
-          try {
-            possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
-          } catch (Exception e) {
-            logger.warn(LocalizedMessage.create(
-                LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
-                new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                    Integer.valueOf(numberOfEvents)}),
-                e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
-
-          // Make sure instance variables are null before each iteration
-          regionName = null;
-          key = null;
-          callbackArg = null;
-
-          // Retrieve the region name from the message parts
-          regionNamePart = clientMessage.getPart(partNumber + 2);
-          regionName = regionNamePart.getString();
-          if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
-            indexWithoutPDXEvent--;
-            isPdxEvent = true;
-          }
+    {
+      long oldStart = start;
+      start = DistributionStats.getStatTime();
+      stats.incProcessBatchTime(start - oldStart);
+    }
+    if (fatalException != null) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else if (!exceptions.isEmpty()) {
+      serverConnection.incrementLatestBatchIdReplied(batchId);
+      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
+      serverConnection.setAsTrue(RESPONDED);
+    } else {
+      // Increment the batch id unless the received batch id is -1 (a failover
+      // batch)
+      serverConnection.incrementLatestBatchIdReplied(batchId);
 
-          // Retrieve the event id from the message parts
-          // This was going to be used to determine possible
-          // duplication of events, but it is unused now. In
-          // fact the event id is overridden by the FROM_GATEWAY
-          // token.
-          Part eventIdPart = clientMessage.getPart(partNumber + 3);
-          eventIdPart.setVersion(serverConnection.getClientVersion());
-          // String eventId = eventIdPart.getString();
-          try {
-            eventId = (EventID) eventIdPart.getObject();
-          } catch (Exception e) {
-            logger.warn(LocalizedMessage.create(
-                LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
-                new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                    Integer.valueOf(numberOfEvents)}),
-                e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
+      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
+      serverConnection.setAsTrue(RESPONDED);
+      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
+            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
+            "normal", serverConnection.getSocketString());
+      }
+    }
+  }
 
-          // Retrieve the key from the message parts
-          keyPart = clientMessage.getPart(partNumber + 4);
-          try {
-            key = keyPart.getStringOrObject();
-          } catch (Exception e) {
-            logger.warn(LocalizedMessage.create(
-                LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
-                new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                    Integer.valueOf(numberOfEvents)}),
-                e);
-            handleException(removeOnException, stats, e);
-            break;
-          }
-          int index = -1;
-          switch (actionType) {
-            case 0: // Create
-              try {
-
-                /*
-                 * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
-                 * System.out.println("Processing new key: " + key); if
-                 * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
-                 * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
-                 * .toLocalizedString()); }
-                 */
-
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Creating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+  /**
+   * Applies one event of a batch to the cache.
+   *
+   * @return null if the event was applied, the {@link BatchException70} to report back to the
+   *         sender if it failed, a {@link CancelException} if the cache is closing, or any other
+   *         exception if the batch cannot be processed any further
+   */
+  private Throwable applyEvent(Batch batch, BatchEvent event)
+      throws InterruptedException, IOException {
+    final Message clientMessage = batch.clientMessage;
+    final ServerConnection serverConnection = batch.serverConnection;
+    final CachedRegionHelper crHelper = batch.crHelper;
+    final GatewayReceiverStats stats = batch.stats;
+    final int batchId = batch.batchId;
+    final int numberOfEvents = batch.numberOfEvents;
+    final int dsid = batch.dsid;
+    final boolean removeOnException = batch.removeOnException;
+    final int partNumber = event.partNumber;
+    Part regionNamePart = null, keyPart = null, valuePart = null, callbackArgPart = null;
+    String regionName = null;
+    Object callbackArg = null, key = null;
+    EventID eventId = null;
+    LocalRegion region = null;
+    Part callbackArgExistsPart;
+
+    boolean retry = true;
+    boolean isPdxEvent = false;
+    Part actionTypePart = clientMessage.getPart(partNumber);
+    int actionType = actionTypePart.getInt();
+
+    long versionTimeStamp = VersionTag.ILLEGAL_VERSION_TIMESTAMP;
+    EventIDHolder clientEvent = null;
+
+    boolean callbackArgExists = false;
+
+    try {
+      do {
+        isPdxEvent = false;
+        Part possibleDuplicatePart = clientMessage.getPart(partNumber + 1);
+        byte[] possibleDuplicatePartBytes;
+        try {
+          possibleDuplicatePartBytes = (byte[]) possibleDuplicatePart.getObject();
+        } catch (Exception e) {
+          logger.warn(LocalizedMessage.create(
+              LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
+              new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                  Integer.valueOf(numberOfEvents)}),
+              e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        boolean possibleDuplicate = possibleDuplicatePartBytes[0] == 0x01;
+
+        // Make sure instance variables are null before each iteration
+        regionName = null;
+        key = null;
+        callbackArg = null;
+
+        // Retrieve the region name from the message parts
+        regionNamePart = clientMessage.getPart(partNumber + 2);
+        regionName = regionNamePart.getString();
+        if (regionName.equals(PeerTypeRegistration.REGION_FULL_PATH)) {
+          isPdxEvent = true;
+        }
+
+        // Retrieve the event id from the message parts
+        // This was going to be used to determine possible
+        // duplication of events, but it is unused now. In
+        // fact the event id is overridden by the FROM_GATEWAY
+        // token.
+        Part eventIdPart = clientMessage.getPart(partNumber + 3);
+        eventIdPart.setVersion(serverConnection.getClientVersion());
+        // String eventId = eventIdPart.getString();
+        try {
+          eventId = (EventID) eventIdPart.getObject();
+        } catch (Exception e) {
+          logger.warn(LocalizedMessage.create(
+              LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
+              new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                  Integer.valueOf(numberOfEvents)}),
+              e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+
+        // Retrieve the key from the message parts
+        keyPart = clientMessage.getPart(partNumber + 4);
+        try {
+          // the key was already read if the batch was partitioned
+          key = event.key != null ? event.key : keyPart.getStringOrObject();
+        } catch (Exception e) {
+          logger.warn(LocalizedMessage.create(
+              LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_REQUEST_1_CONTAINING_2_EVENTS,
+              new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                  Integer.valueOf(numberOfEvents)}),
+              e);
+          handleException(removeOnException, stats, e);
+          break;
+        }
+        int index = -1;
+        switch (actionType) {
+          case 0: // Create
+            try {
+
+              /*
+               * CLIENT EXCEPTION HANDLING TESTING CODE String keySt = (String) key;
+               * System.out.println("Processing new key: " + key); if
+               * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
+               * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
+               * .toLocalizedString()); }
+               */
+
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = clientMessage.getPart(partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Creating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          LocalizedMessage
+                              .create(
+                                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_CREATE_REQUEST_1_FOR_2_EVENTS,
+                                  new Object[] {serverConnection.getName(),
+                                      Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            LocalizedMessage
-                                .create(
-                                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_CREATE_REQUEST_1_FOR_2_EVENTS,
-                                    new Object[] {serverConnection.getName(),
-                                        Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
-                            e);
-                    throw e;
-                  }
+              }
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg, eventId);
+              }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              // Process the create request
+              if (key == null || regionName == null) {
+                StringId message = null;
+                Object[] messageArgs =
+                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
+                if (key == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_CREATE_REQUEST_1_IS_NULL;
                 }
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch create request {} on {} for region {} key {} value {} callbackArg {}, eventId={}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg, eventId);
+                if (regionName == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_CREATE_REQUEST_1_IS_NULL;
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                // Process the create request
-                if (key == null || regionName == null) {
-                  StringId message = null;
-                  Object[] messageArgs =
-                      new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
-                  if (key == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_CREATE_REQUEST_1_IS_NULL;
-                  }
-                  if (regionName == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_CREATE_REQUEST_1_IS_NULL;
-                  }
-                  String s = message.toLocalizedString(messageArgs);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = message.toLocalizedString(messageArgs);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                // [sumedh] This should be done on client while sending
+                // since that is the WAN gateway
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext =
+                      authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                // Attempt to create the entry
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  // [sumedh] This should be done on client while sending
-                  // since that is the WAN gateway
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext =
-                        authzRequest.putAuthorize(regionName, key, value, isObject, callbackArg);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  // Attempt to create the entry
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgeCreate(key, value, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent, false);
-                    // If the create fails (presumably because it already exists),
-                    // attempt to update the entry
-                    if (!result) {
-                      result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    }
+                  result = region.basicBridgeCreate(key, value, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent, false);
+                  // If the create fails (presumably because it already exists),
+                  // attempt to update the entry
+                  if (!result) {
+                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   }
+                }
 
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incCreateRequest();
-                    retry = false;
-                  } else {
-                    // This exception will be logged in the catch block below
-                    throw new Exception(
-                        LocalizedStrings.ProcessBatch_0_FAILED_TO_CREATE_OR_UPDATE_ENTRY_FOR_REGION_1_KEY_2_VALUE_3_CALLBACKARG_4
-                            .toLocalizedString(new Object[] {serverConnection.getName(), regionName,
-                                key, valuePart, callbackArg}));
-                  }
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  serverConnection.setModificationInfo(true, regionName, key);
+                  stats.incCreateRequest();
+                  retry = false;
+                } else {
+                  // This exception will be logged in the catch block below
+                  throw new Exception(
+                      LocalizedStrings.ProcessBatch_0_FAILED_TO_CREATE_OR_UPDATE_ENTRY_FOR_REGION_1_KEY_2_VALUE_3_CALLBACKARG_4
+                          .toLocalizedString(new Object[] {serverConnection.getName(), regionName,
+                              key, valuePart, callbackArg}));
                 }
-              } catch (Exception e) {
-                logger.warn(LocalizedMessage.create(
-                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_CREATE_REQUEST_1_FOR_2_EVENTS,
-                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                        Integer.valueOf(numberOfEvents)}),
-                    e);
-                handleException(removeOnException, stats, e);
               }
-              break;
-            case 1: // Update
-              try {
-                /*
-                 * CLIENT EXCEPTION HANDLING TESTING CODE keySt = (String) key;
-                 * System.out.println("Processing updated key: " + key); if
-                 * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
-                 * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
-                 * .toLocalizedString()); }
-                 */
-
-                // Retrieve the value from the message parts (do not deserialize it)
-                valuePart = clientMessage.getPart(partNumber + 5);
-                // try {
-                // logger.warn(getName() + ": Updating key " + key + " value " +
-                // valuePart.getObject());
-                // } catch (Exception e) {}
-
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 6;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+            } catch (Exception e) {
+              logger.warn(LocalizedMessage.create(
+                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_CREATE_REQUEST_1_FOR_2_EVENTS,
+                  new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                      Integer.valueOf(numberOfEvents)}),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+          case 1: // Update
+            try {
+              /*
+               * CLIENT EXCEPTION HANDLING TESTING CODE keySt = (String) key;
+               * System.out.println("Processing updated key: " + key); if
+               * (keySt.startsWith("failure")) { throw new Exception(LocalizedStrings
+               * .ProcessBatch_THIS_EXCEPTION_REPRESENTS_A_FAILURE_ON_THE_SERVER
+               * .toLocalizedString()); }
+               */
+
+              // Retrieve the value from the message parts (do not deserialize it)
+              valuePart = clientMessage.getPart(partNumber + 5);
+              // try {
+              // logger.warn(getName() + ": Updating key " + key + " value " +
+              // valuePart.getObject());
+              // } catch (Exception e) {}
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 6;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          LocalizedMessage
+                              .create(
+                                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_REQUEST_1_CONTAINING_2_EVENTS,
+                                  new Object[] {serverConnection.getName(),
+                                      Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
+                          e);
+                  throw e;
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            LocalizedMessage
-                                .create(
-                                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_REQUEST_1_CONTAINING_2_EVENTS,
-                                    new Object[] {serverConnection.getName(),
-                                        Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
-                            e);
-                    throw e;
-                  }
+              }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update request
+              if (key == null || regionName == null) {
+                StringId message = null;
+                Object[] messageArgs =
+                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
+                if (key == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_KEY_FOR_THE_BATCH_UPDATE_REQUEST_1_IS_NULL;
                 }
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
+                if (regionName == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_UPDATE_REQUEST_1_IS_NULL;
                 }
-                // Process the update request
-                if (key == null || regionName == null) {
-                  StringId message = null;
-                  Object[] messageArgs =
-                      new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
-                  if (key == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_KEY_FOR_THE_BATCH_UPDATE_REQUEST_1_IS_NULL;
-                  }
-                  if (regionName == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_UPDATE_REQUEST_1_IS_NULL;
-                  }
-                  String s = message.toLocalizedString(messageArgs);
-                  logger.warn(s);
-                  throw new Exception(s);
+                String s = message.toLocalizedString(messageArgs);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
-                region = (LocalRegion) crHelper.getRegion(regionName);
-                if (region == null) {
-                  handleRegionNull(serverConnection, regionName, batchId);
+                clientEvent.setPossibleDuplicate(possibleDuplicate);
+                handleMessageRetry(region, clientEvent);
+                byte[] value = valuePart.getSerializedForm();
+                boolean isObject = valuePart.isObject();
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
+                      value, isObject, callbackArg, PutOperationContext.UPDATE);
+                  value = putContext.getSerializedValue();
+                  isObject = putContext.isObject();
+                }
+                boolean result = false;
+                if (isPdxEvent) {
+                  result = addPdxType(crHelper, key, value);
                 } else {
-                  clientEvent = new EventIDHolder(eventId);
-                  if (versionTimeStamp > 0) {
-                    VersionTag tag = VersionTag.create(region.getVersionMember());
-                    tag.setIsGatewayTag(true);
-                    tag.setVersionTimeStamp(versionTimeStamp);
-                    tag.setDistributedSystemId(dsid);
-                    clientEvent.setVersionTag(tag);
-                  }
-                  clientEvent.setPossibleDuplicate(possibleDuplicate);
-                  handleMessageRetry(region, clientEvent);
-                  byte[] value = valuePart.getSerializedForm();
-                  boolean isObject = valuePart.isObject();
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    PutOperationContext putContext = authzRequest.putAuthorize(regionName, key,
-                        value, isObject, callbackArg, PutOperationContext.UPDATE);
-                    value = putContext.getSerializedValue();
-                    isObject = putContext.isObject();
-                  }
-                  boolean result = false;
-                  if (isPdxEvent) {
-                    result = addPdxType(crHelper, key, value);
-                  } else {
-                    result = region.basicBridgePut(key, value, null, isObject, callbackArg,
-                        serverConnection.getProxyID(), false, clientEvent);
-                  }
-                  if (result || clientEvent.isConcurrencyConflict()) {
-                    serverConnection.setModificationInfo(true, regionName, key);
-                    stats.incUpdateRequest();
-                    retry = false;
-                  } else {
-                    final Object[] msgArgs = new Object[] {serverConnection.getName(), regionName,
-                        key, valuePart, callbackArg};
-                    final StringId message =
-                        LocalizedStrings.ProcessBatch_0_FAILED_TO_UPDATE_ENTRY_FOR_REGION_1_KEY_2_VALUE_3_AND_CALLBACKARG_4;
-                    String s = message.toLocalizedString(msgArgs);
-                    logger.info(s);
-                    throw new Exception(s);
-                  }
+                  result = region.basicBridgePut(key, value, null, isObject, callbackArg,
+                      serverConnection.getProxyID(), false, clientEvent);
                 }
-              } catch (Exception e) {
-                // Preserve the connection under all circumstances
-                logger.warn(LocalizedMessage.create(
-                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_REQUEST_1_CONTAINING_2_EVENTS,
-                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                        Integer.valueOf(numberOfEvents)}),
-                    e);
-                handleException(removeOnException, stats, e);
-              }
-              break;
-            case 2: // Destroy
-              try {
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
-                {
-                  byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                  callbackArgExists = partBytes[0] == 0x01;
+                if (result || clientEvent.isConcurrencyConflict()) {
+                  serverConnection.setModificationInfo(true, regionName, key);
+                  stats.incUpdateRequest();
+                  retry = false;
+                } else {
+                  final Object[] msgArgs = new Object[] {serverConnection.getName(), regionName,
+                      key, valuePart, callbackArg};
+                  final StringId message =
+                      LocalizedStrings.ProcessBatch_0_FAILED_TO_UPDATE_ENTRY_FOR_REGION_1_KEY_2_VALUE_3_AND_CALLBACKARG_4;
+                  String s = message.toLocalizedString(msgArgs);
+                  logger.info(s);
+                  throw new Exception(s);
                 }
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  try {
-                    callbackArg = callbackArgPart.getObject();
-                  } catch (Exception e) {
-                    logger
-                        .warn(
-                            LocalizedMessage
-                                .create(
-                                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_DESTROY_REQUEST_1_CONTAINING_2_EVENTS,
-                                    new Object[] {serverConnection.getName(),
-                                        Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
-                            e);
-                    throw e;
-                  }
+              }
+            } catch (Exception e) {
+              // Preserve the connection under all circumstances
+              logger.warn(LocalizedMessage.create(
+                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_REQUEST_1_CONTAINING_2_EVENTS,
+                  new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                      Integer.valueOf(numberOfEvents)}),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+          case 2: // Destroy
+            try {
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+              {
+                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+                callbackArgExists = partBytes[0] == 0x01;
+              }
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                try {
+                  callbackArg = callbackArgPart.getObject();
+                } catch (Exception e) {
+                  logger
+                      .warn(
+                          LocalizedMessage
+                              .create(
+                                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_DESTROY_REQUEST_1_CONTAINING_2_EVENTS,
+                                  new Object[] {serverConnection.getName(),
+                                      Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)}),
+                          e);
+                  throw e;
                 }
+              }
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key);
-                }
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug("{}: Processing batch destroy request {} on {} for region {} key {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key);
+              }
 
-                // Process the destroy request
-                if (key == null || regionName == null) {
-                  StringId message = null;
-                  if (key == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_KEY_FOR_THE_BATCH_DESTROY_REQUEST_1_IS_NULL;
-                  }
-                  if (regionName == null) {
-                    message =
-                        LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_DESTROY_REQUEST_1_IS_NULL;
-                  }
-                  Object[] messageArgs =
-                      new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
-                  String s = message.toLocalizedString(messageArgs);
-                  logger.warn(s);
-                  throw new Exception(s);
+              // Process the destroy request
+              if (key == null || regionName == null) {
+                StringId message = null;
+                if (key == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_KEY_FOR_THE_BATCH_DESTROY_REQUEST_1_IS_NULL;
+                }
+                if (regionName == null) {
+                  message =
+                      LocalizedStrings.ProcessBatch_0_THE_INPUT_REGION_NAME_FOR_THE_BATCH_DESTROY_REQUEST_1_IS_NULL;
+                }
+                Object[] messageArgs =
+                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId)};
+                String s = message.toLocalizedString(messageArgs);
+                logger.warn(s);
+                throw new Exception(s);
+              }
+              region = (LocalRegion) crHelper.getRegion(regionName);
+              if (region == null) {
+                handleRegionNull(serverConnection, regionName, batchId);
+              } else {
+                clientEvent = new EventIDHolder(eventId);
+                if (versionTimeStamp > 0) {
+                  VersionTag tag = VersionTag.create(region.getVersionMember());
+                  tag.setIsGatewayTag(true);
+                  tag.setVersionTimeStamp(versionTimeStamp);
+                  tag.setDistributedSystemId(dsid);
+                  clientEvent.setVersionTag(tag);
                 }
+                handleMessageRetry(region, clientEvent);
+                // Destroy the entry
+                AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
+                if (authzRequest != null) {
+                  DestroyOperationContext destroyContext =
+                      authzRequest.destroyAuthorize(regionName, key, callbackArg);
+                  callbackArg = destroyContext.getCallbackArg();
+                }
+                try {
+                  region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
+                      false, clientEvent);
+                  serverConnection.setModificationInfo(true, regionName, key);
+                } catch (EntryNotFoundException e) {
+                  logger.info(LocalizedMessage.create(
+                      LocalizedStrings.ProcessBatch_0_DURING_BATCH_DESTROY_NO_ENTRY_WAS_FOUND_FOR_KEY_1,
+                      new Object[] {serverConnection.getName(), key}));
+                  // throw new Exception(e);
+                }
+                stats.incDestroyRequest();
+                retry = false;
+              }
+            } catch (Exception e) {
+              logger.warn(LocalizedMessage.create(
+                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_DESTROY_REQUEST_1_CONTAINING_2_EVENTS,
+                  new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                      Integer.valueOf(numberOfEvents)}),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
+            break;
+          case 3: // Update Time-stamp for a RegionEntry
+
+            try {
+              // Region name
+              regionNamePart = clientMessage.getPart(partNumber + 2);
+              regionName = regionNamePart.getString();
+
+              // Retrieve the event id from the message parts
+              eventIdPart = clientMessage.getPart(partNumber + 3);
+              eventId = (EventID) eventIdPart.getObject();
+
+              // Retrieve the key from the message parts
+              keyPart = clientMessage.getPart(partNumber + 4);
+              key = keyPart.getStringOrObject();
+
+              // Retrieve the callbackArg from the message parts if necessary
+              index = partNumber + 5;
+              callbackArgExistsPart = clientMessage.getPart(index++);
+
+              byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
+              callbackArgExists = partBytes[0] == 0x01;
+
+              if (callbackArgExists) {
+                callbackArgPart = clientMessage.getPart(index++);
+                callbackArg = callbackArgPart.getObject();
+              }
+
+              versionTimeStamp = clientMessage.getPart(index++).getLong();
+              if (logger.isDebugEnabled()) {
+                logger.debug(
+                    "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
+                    serverConnection.getName(), batchId, serverConnection.getSocketString(),
+                    regionName, key, valuePart, callbackArg);
+              }
+              // Process the update time-stamp request
+              if (key == null || regionName == null) {
+                StringId message =
+                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_VERSION_REQUEST_1_CONTAINING_2_EVENTS;
+
+                Object[] messageArgs = new Object[] {serverConnection.getName(),
+                    Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)};
+                String s = message.toLocalizedString(messageArgs);
+                logger.warn(s);
+                throw new Exception(s);
+
+              } else {
                 region = (LocalRegion) crHelper.getRegion(regionName);
+
                 if (region == null) {
                   handleRegionNull(serverConnection, regionName, batchId);
                 } else {
+
                   clientEvent = new EventIDHolder(eventId);
+
                   if (versionTimeStamp > 0) {
                     VersionTag tag = VersionTag.create(region.getVersionMember());
                     tag.setIsGatewayTag(true);
@@ -561,214 +734,270 @@ public class GatewayReceiverCommand extends BaseCommand {
                     tag.setDistributedSystemId(dsid);
                     clientEvent.setVersionTag(tag);
                   }
-                  handleMessageRetry(region, clientEvent);
-                  // Destroy the entry
-                  AuthorizeRequest authzRequest = serverConnection.getAuthzRequest();
-                  if (authzRequest != null) {
-                    DestroyOperationContext destroyContext =
-                        authzRequest.destroyAuthorize(regionName, key, callbackArg);
-                    callbackArg = destroyContext.getCallbackArg();
-                  }
+
+                  // Update the version tag
                   try {
-                    region.basicBridgeDestroy(key, callbackArg, serverConnection.getProxyID(),
-                        false, clientEvent);
-                    serverConnection.setModificationInfo(true, regionName, key);
+                    region.basicBridgeUpdateVersionStamp(key, callbackArg,
+                        serverConnection.getProxyID(), false, clientEvent);
                   } catch (EntryNotFoundException e) {
                     logger.info(LocalizedMessage.create(
-                        LocalizedStrings.ProcessBatch_0_DURING_BATCH_DESTROY_NO_ENTRY_WAS_FOUND_FOR_KEY_1,
+                        LocalizedStrings.ProcessBatch_0_DURING_BATCH_UPDATE_VERSION_NO_ENTRY_WAS_FOUND_FOR_KEY_1,
                         new Object[] {serverConnection.getName(), key}));
-                    // throw new Exception(e);
                   }
-                  stats.incDestroyRequest();
                   retry = false;
                 }
-              } catch (Exception e) {
-                logger.warn(LocalizedMessage.create(
-                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_DESTROY_REQUEST_1_CONTAINING_2_EVENTS,
-                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                        Integer.valueOf(numberOfEvents)}),
-                    e);
-                handleException(removeOnException, stats, e);
               }
-              break;
-            case 3: // Update Time-stamp for a RegionEntry
-
-              try {
-                // Region name
-                regionNamePart = clientMessage.getPart(partNumber + 2);
-                regionName = regionNamePart.getString();
+            } catch (Exception e) {
+              logger.warn(LocalizedMessage.create(
+                  LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_VERSION_REQUEST_1_CONTAINING_2_EVENTS,
+                  new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
+                      Integer.valueOf(numberOfEvents)}),
+                  e);
+              handleException(removeOnException, stats, e);
+            }
 
-                // Retrieve the event id from the message parts
-                eventIdPart = clientMessage.getPart(partNumber + 3);
-                eventId = (EventID) eventIdPart.getObject();
-
-                // Retrieve the key from the message parts
-                keyPart = clientMessage.getPart(partNumber + 4);
-                key = keyPart.getStringOrObject();
+            break;
+          default:
+            logger.fatal(LocalizedMessage.create(
+                LocalizedStrings.Processbatch_0_UNKNOWN_ACTION_TYPE_1_FOR_BATCH_FROM_2,
+                new Object[] {serverConnection.getName(), Integer.valueOf(actionType),
+                    serverConnection.getSocketString()}));
+            stats.incUnknowsOperationsReceived();
+        }
+      } while (retry);
+    } catch (CancelException e) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
+            serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
+            serverConnection.getProxyID());
+      }
+      return e;
+    } catch (Exception e) {
+      // If an interrupted exception is thrown , rethrow it
+      checkForInterrupt(serverConnection, e);
 
-                // Retrieve the callbackArg from the message parts if necessary
-                index = partNumber + 5;
-                callbackArgExistsPart = clientMessage.getPart(index++);
+      // If we have an issue with the PDX registry, stop processing more data
+      if (e.getCause() instanceof PdxRegistryMismatchException) {
+        logger.fatal(LocalizedMessage.create(LocalizedStrings.GatewayReceiver_PDX_CONFIGURATION,
+            new Object[] {serverConnection.getMembershipID()}), e.getCause());
+        return e.getCause();
+      }
 
-                byte[] partBytes = (byte[]) callbackArgExistsPart.getObject();
-                callbackArgExists = partBytes[0] == 0x01;
+      // Increment the batch id unless the received batch id is -1 (a
+      // failover batch)
+      DistributedSystem ds = crHelper.getCache().getDistributedSystem();
+      String exceptionMessage = LocalizedStrings.GatewayReceiver_EXCEPTION_WHILE_PROCESSING_BATCH
+          .toLocalizedString(new Object[] {
+              ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
+              ds.getDistributedMember()});
+      return new BatchException70(exceptionMessage, e, event.index, batchId);
+    }
+    return null;
+  }
 
-                if (callbackArgExists) {
-                  callbackArgPart = clientMessage.getPart(index++);
-                  callbackArg = callbackArgPart.getObject();
-                }
+  /**
+   * Finds the first part of each event in the batch, so that the events can be applied
+   * independently of each other.
+   */
+  static List<BatchEvent> locateEvents(Message clientMessage, int partNumber, int numberOfEvents) {
+    List<BatchEvent> events = new ArrayList<BatchEvent>(numberOfEvents);
+    // event received in batch also have PDX events at the start of the batch,to
+    // represent correct index on which the exception occurred, number of PDX
+    // events need to be subtracted.
+    int indexWithoutPDXEvent = -1;
+    for (int i = 0; i < numberOfEvents; i++) {
+      int actionType = clientMessage.getPart(partNumber).getInt();
+      String regionName = clientMessage.getPart(partNumber + 2).getString();
+      boolean isPdxEvent = PeerTypeRegistration.REGION_FULL_PATH.equals(regionName);
+      if (!isPdxEvent) {
+        indexWithoutPDXEvent++;
+      }
+      events.add(new BatchEvent(partNumber, regionName, isPdxEvent, indexWithoutPDXEvent));
 
-                versionTimeStamp = clientMessage.getPart(index++).getLong();
-                if (logger.isDebugEnabled()) {
-                  logger.debug(
-                      "{}: Processing batch update-version request {} on {} for region {} key {} value {} callbackArg {}",
-                      serverConnection.getName(), batchId, serverConnection.getSocketString(),
-                      regionName, key, valuePart, callbackArg);
-                }
-                // Process the update time-stamp request
-                if (key == null || regionName == null) {
-                  StringId message =
-                      LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_VERSION_REQUEST_1_CONTAINING_2_EVENTS;
-
-                  Object[] messageArgs = new Object[] {serverConnection.getName(),
-                      Integer.valueOf(batchId), Integer.valueOf(numberOfEvents)};
-                  String s = message.toLocalizedString(messageArgs);
-                  logger.warn(s);
-                  throw new Exception(s);
+      // Increment the partNumber
+      if (actionType == 0 /* create */ || actionType == 1 /* update */) {
+        partNumber += callbackArgExists(clientMessage.getPart(partNumber + 6)) ? 9 : 8;
+      } else if (actionType == 2 /* destroy */ || actionType == 3 /* update-version */) {
+        partNumber += callbackArgExists(clientMessage.getPart(partNumber + 5)) ? 8 : 7;
+      }
+    }
+    return events;
+  }
 
-                } else {
-                  region = (LocalRegion) crHelper.getRegion(regionName);
-
-                  if (region == null) {
-                    handleRegionNull(serverConnection, regionName, batchId);
-                  } else {
-
-                    clientEvent = new EventIDHolder(eventId);
-
-                    if (versionTimeStamp > 0) {
-                      VersionTag tag = VersionTag.create(region.getVersionMember());
-                      tag.setIsGatewayTag(true);
-                      tag.setVersionTimeStamp(versionTimeStamp);
-                      tag.setDistributedSystemId(dsid);
-                      clientEvent.setVersionTag(tag);
-                    }
-
-                    // Update the version tag
-                    try {
-                      region.basicBridgeUpdateVersionStamp(key, callbackArg,
-                          serverConnection.getProxyID(), false, clientEvent);
-                    } catch (EntryNotFoundException e) {
-                      logger.info(LocalizedMessage.create(
-                          LocalizedStrings.ProcessBatch_0_DURING_BATCH_UPDATE_VERSION_NO_ENTRY_WAS_FOUND_FOR_KEY_1,
-                          new Object[] {serverConnection.getName(), key}));
-                    }
-                    retry = false;
-                  }
-                }
-              } catch (Exception e) {
-                logger.warn(LocalizedMessage.create(
-                    LocalizedStrings.ProcessBatch_0_CAUGHT_EXCEPTION_PROCESSING_BATCH_UPDATE_VERSION_REQUEST_1_CONTAINING_2_EVENTS,
-                    new Object[] {serverConnection.getName(), Integer.valueOf(batchId),
-                        Integer.valueOf(numberOfEvents)}),
-                    e);
-                handleException(removeOnException, stats, e);
-              }
+  private static boolean callbackArgExists(Part callbackArgExistsPart) {
+    return callbackArgExistsPart.getSerializedForm()[0] == 0x01;
+  }
 
-              break;
-            default:
-              logger.fatal(LocalizedMessage.create(
-                  LocalizedStrings.Processbatch_0_UNKNOWN_ACTION_TYPE_1_FOR_BATCH_FROM_2,
-                  new Object[] {serverConnection.getName(), Integer.valueOf(actionType),
-                      serverConnection.getSocketString()}));
-              stats.incUnknowsOperationsReceived();
+  /**
+   * Applies {@code events} in order. Stops early if one of them fails in a way that ends the
+   * processing of the batch, or if {@code abort} is set by another thread applying the batch.
+   *
+   * @return the failures of the events, in order
+   */
+  private List<Throwable> applyEvents(Batch batch, List<BatchEvent> events, AtomicBoolean abort)
+      throws InterruptedException, IOException {
+    List<Throwable> failures = new ArrayList<Throwable>();
+    for (BatchEvent event : events) {
+      if (abort != null && abort.get()) {
+        break;
+      }
+      Throwable failure = applyEvent(batch, event);
+      if (failure != null) {
+        failures.add(failure);
+        if (!(failure instanceof BatchException70)) {
+          if (abort != null) {
+            abort.set(true);
           }
-        } while (retry);
-      } catch (CancelException e) {
-        if (logger.isDebugEnabled()) {
-          logger.debug(
-              "{} ignoring message of type {} from client {} because shutdown occurred during message processing.",
-              serverConnection.getName(), MessageType.getString(clientMessage.getMessageType()),
-              serverConnection.getProxyID());
-        }
-        serverConnection.setFlagProcessMessagesAsFalse();
-        serverConnection.setClientDisconnectedException(e);
-        return;
-      } catch (Exception e) {
-        // If an interrupted exception is thrown , rethrow it
-        checkForInterrupt(serverConnection, e);
-
-        // If we have an issue with the PDX registry, stop processing more data
-        if (e.getCause() instanceof PdxRegistryMismatchException) {
-          fatalException = e.getCause();
-          logger.fatal(LocalizedMessage.create(LocalizedStrings.GatewayReceiver_PDX_CONFIGURATION,
-              new Object[] {serverConnection.getMembershipID()}), e.getCause());
           break;
         }
+      }
+    }
+    return failures;
+  }
 
-        // Increment the batch id unless the received batch id is -1 (a
-        // failover batch)
-        DistributedSystem ds = crHelper.getCache().getDistributedSystem();
-        String exceptionMessage = LocalizedStrings.GatewayReceiver_EXCEPTION_WHILE_PROCESSING_BATCH
-            .toLocalizedString(new Object[] {
-                ((InternalDistributedSystem) ds).getDistributionManager().getDistributedSystemId(),
-                ds.getDistributedMember()});
-        BatchException70 be =
-            new BatchException70(exceptionMessage, e, indexWithoutPDXEvent, batchId);
-        exceptions.add(be);
-      } finally {
-        // Increment the partNumber
-        if (actionType == 0 /* create */ || actionType == 1 /* update */) {
-          if (callbackArgExists) {
-            partNumber += 9;
-          } else {
-            partNumber += 8;
-          }
-        } else if (actionType == 2 /* destroy */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
-          }
-        } else if (actionType == 3 /* update-version */) {
-          if (callbackArgExists) {
-            partNumber += 8;
-          } else {
-            partNumber += 7;
+  /**
+   * Applies the events of a batch using up to {@code threads} threads, the current one included.
+   * PDX types are registered first, wherever they are in the batch, since the other events may
+   * need them. The other events are split by region and key, so events on the same key are still
+   * applied in the order they were sent.
+   *
+   * @return the failures of the events
+   */
+  private List<Throwable> applyEventsInParallel(final Batch batch, List<BatchEvent> events,
+      ExecutorService applyPool, int threads) throws InterruptedException, IOException {
+    List<BatchEvent> pdxEvents = new ArrayList<BatchEvent>();
+    List<BatchEvent> dataEvents = new ArrayList<BatchEvent>(events.size());
+    for (BatchEvent event : events) {
+      if (event.isPdxEvent) {
+        pdxEvents.add(event);
+      } else {
+        dataEvents.add(event);
+      }
+    }
+    final AtomicBoolean abort = new AtomicBoolean();
+    List<Throwable> failures = applyEvents(batch, pdxEvents, abort);
+    if (abort.get()) {
+      return failures;
+    }
+
+    List<List<BatchEvent>> partitions = partition(batch.clientMessage, dataEvents, threads);
+    if (partitions.size() <= 1) {
+      failures.addAll(applyEvents(batch, dataEvents, abort));
+      return failures;
+    }
+    batch.stats.incParallelBatchesApplied(partitions.size());
+
+    List<Future<List<Throwable>>> futures = new ArrayList<Future<List<Throwable>>>();
+    for (final List<BatchEvent> partition : partitions.subList(1, partitions.size())) {
+      Callable<List<Throwable>> task = new Callable<List<Throwable>>() {
+        @Override
+        public List<Throwable> call() throws Exception {
+          return applyPartition(batch, partition, abort);
+        }
+      };
+      try {
+        futures.add(applyPool.submit(task));
+      } catch (RejectedExecutionException e) {
+        // the receiver is stopping
+        abort.set(true);
+        break;
+      }
+    }
+
+    Throwable thrown = null;
+    try {
+      failures.addAll(applyPartition(batch, partitions.get(0), abort));
+    } catch (InterruptedException | IOException | RuntimeException | Error e) {
+      thrown = e;
+    }
+    // always wait for the other partitions, which are still reading the message
+    boolean interrupted = false;
+    for (Future<List<Throwable>> future : futures) {
+      for (;;) {
+        try {
+          failures.addAll(future.get());
+          break;
+        } catch (InterruptedException e) {
+          abort.set(true);
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (thrown == null) {
+            thrown = e.getCause();
           }
+          break;
         }
       }
     }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+      if (thrown == null) {
+        thrown = new InterruptedException();
+      }
+    }
 
-    {
-      long oldStart = start;
-      start = DistributionStats.getStatTime();
-      stats.incProcessBatchTime(start - oldStart);
+    if (thrown instanceof InterruptedException) {
+      throw (InterruptedException) thrown;
+    } else if (thrown instanceof IOException) {
+      throw (IOException) thrown;
+    } else if (thrown instanceof RuntimeException) {
+      throw (RuntimeException) thrown;
+    } else if (thrown instanceof Error) {
+      throw (Error) thrown;
+    } else if (thrown != null) {
+      throw new InternalGemFireException(thrown);
     }
-    if (fatalException != null) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeFatalException(clientMessage, fatalException, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else if (!exceptions.isEmpty()) {
-      serverConnection.incrementLatestBatchIdReplied(batchId);
-      writeBatchException(clientMessage, exceptions, serverConnection, batchId);
-      serverConnection.setAsTrue(RESPONDED);
-    } else {
-      // Increment the batch id unless the received batch id is -1 (a failover
-      // batch)
-      serverConnection.incrementLatestBatchIdReplied(batchId);
+    return failures;
+  }
 
-      writeReply(clientMessage, serverConnection, batchId, numberOfEvents);
-      serverConnection.setAsTrue(RESPONDED);
-      stats.incWriteProcessBatchResponseTime(DistributionStats.getStatTime() - start);
-      if (logger.isDebugEnabled()) {
-        logger.debug(
-            "{}: Sent process batch normal response for batch {} containing {} events ({} bytes) with {} acknowledgement on {}",
-            serverConnection.getName(), batchId, numberOfEvents, clientMessage.getPayloadLength(),
-            "normal", serverConnection.getSocketString());
+  private List<Throwable> applyPartition(Batch batch, List<BatchEvent> partition,
+      AtomicBoolean abort) throws InterruptedException, IOException {
+    long start = batch.stats.startTime();
+    boolean completed = false;
+    try {
+      List<Throwable> failures = applyEvents(batch, partition, abort);
+      completed = true;
+      return failures;
+    } finally {
+      if (!completed) {
+        abort.set(true);
       }
+      batch.stats.incPartitionApplyTime(batch.stats.startTime() - start);
     }
   }
 
+  /**
+   * Splits {@code events} into at most {@code count} non-empty lists by their region and key,
+   * keeping the order of the events within each list. The key read from the message is kept on the
+   * event, so that it is not deserialized again when the event is applied.
+   */
+  static List<List<BatchEvent>> partition(Message clientMessage, List<BatchEvent> events,
+      int count) {
+    List<List<BatchEvent>> partitions = new ArrayList<List<BatchEvent>>(count);
+    for (int i = 0; i < count; i++) {
+      partitions.add(new ArrayList<BatchEvent>());
+    }
+    for (BatchEvent event : events) {
+      int hash = event.regionName == null ? 0 : event.regionName.hashCode();
+      try {
+        Object key = clientMessage.getPart(event.partNumber + 4).getStringOrObject();
+        if (key != null) {
+          event.key = key;
+          hash = 31 * hash + key.hashCode();
+        }
+      } catch (Exception ignore) {
+        // the event fails to apply when its key cannot be read, wherever it goes
+      }
+      partitions.get((hash & Integer.MAX_VALUE) % count).add(event);
+    }
+    for (Iterator<List<BatchEvent>> it = partitions.iterator(); it.hasNext();) {
+      if (it.next().isEmpty()) {
+        it.remove();
+      }
+    }
+    return partitions;
+  }
+
   private boolean addPdxType(CachedRegionHelper crHelper, Object key, Object value)
       throws Exception {
     if (key instanceof EnumId) {
@@ -872,4 +1101,51 @@ public class GatewayReceiverCommand extends BaseCommand {
     logger.warn(LocalizedMessage.create(LocalizedStrings.ProcessBatch_0_WROTE_BATCH_EXCEPTION,
         servConn.getName()), exception);
   }
+
+  /**
+   * The state shared by all the events of a batch being processed.
+   */
+  private static class Batch {
+    final Message clientMessage;
+    final ServerConnection serverConnection;
+    final CachedRegionHelper crHelper;
+    final GatewayReceiverStats stats;
+    final int batchId;
+    final int numberOfEvents;
+    final int dsid;
+    final boolean removeOnException;
+
+    Batch(Message clientMessage, ServerConnection serverConnection, CachedRegionHelper crHelper,
+        GatewayReceiverStats stats, int batchId, int numberOfEvents, int dsid,
+        boolean removeOnException) {
+      this.clientMessage = clientMessage;
+      this.serverConnection = serverConnection;
+      this.crHelper = crHelper;
+      this.stats = stats;
+      this.batchId = batchId;
+      this.numberOfEvents = numberOfEvents;
+      this.dsid = dsid;
+      this.removeOnException = removeOnException;
+    }
+  }
+
+  /**
+   * Where an event starts in the message of a batch.
+   */
+  static class BatchEvent {
+    final int partNumber;
+    final String regionName;
+    final boolean isPdxEvent;
+    /** The index of the event in the batch, not counting PDX events */
+    final int index;
+    /** The key of the event, once it has been read from the message */
+    Object key;
+
+    BatchEvent(int partNumber, String regionName, boolean isPdxEvent, int index) {
+      this.partNumber = partNumber;
+      this.regionName = regionName;
+      this.isPdxEvent = isPdxEvent;
+      this.index = index;
+    }
+  }
 }
@@ -327,6 +327,19 @@ public class Get70 extends BaseCommand {
     if (servConn != null) {
       servConn.setModificationInfo(true, regionName, key);
     }
+    ClientProxyMembershipID id = servConn == null ? null : servConn.getProxyID();
+    return getEntryRetained(region, key, callbackArg, id);
+  }
+
+  /**
+   * Same as getEntryRetained but does not touch the server connection, so it may be called from a
+   * thread other than the connection's own.
+   *
+   * @since Geode 1.4
+   */
+  @Retained
+  public Entry getEntryRetained(Region region, Object key, Object callbackArg,
+      ClientProxyMembershipID id) {
     VersionTag versionTag = null;
     // LocalRegion lregion = (LocalRegion)region;
 
@@ -336,7 +349,6 @@ public class Get70 extends BaseCommand {
     @Retained
     Object data = null;
 
-    ClientProxyMembershipID id = servConn == null ? null : servConn.getProxyID();
     VersionTagHolder versionHolder = new VersionTagHolder();
     data =
         ((LocalRegion) region).getRetained(key, callbackArg, true, true, id, versionHolder, true);
@@ -15,7 +15,11 @@
 package org.apache.geode.internal.cache.tier.sockets.command;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.geode.cache.Region;
@@ -23,10 +27,13 @@ import org.apache.geode.cache.operations.GetOperationContext;
 import org.apache.geode.cache.operations.internal.GetOperationContextImpl;
 import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.PartitionedRegionHelper;
 import org.apache.geode.internal.cache.tier.Command;
 import org.apache.geode.internal.cache.tier.MessageType;
 import org.apache.geode.internal.cache.tier.sockets.BaseCommand;
 import org.apache.geode.internal.cache.tier.sockets.ChunkedMessage;
+import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.internal.cache.tier.sockets.Message;
 import org.apache.geode.internal.cache.tier.sockets.ObjectPartList;
 import org.apache.geode.internal.cache.tier.sockets.Part;
@@ -170,8 +177,14 @@ public class GetAll70 extends BaseCommand {
     // to get and return all the keys and values. I think this was used for register interest.
     VersionedObjectList values = new VersionedObjectList(MAXIMUM_CHUNK_SIZE, keys == null,
         region.getAttributes().getConcurrencyChecksEnabled(), requestSerializedValues);
+    AuthorizeRequest authzRequest = servConn.getAuthzRequest();
+    // The values of a partitioned region's keys are fetched a chunk at a time from all of the
+    // chunk's buckets at once. Old style authorization has to see each get before it happens, so
+    // it keeps the one key at a time path.
+    boolean prefetch = keys != null && authzRequest == null
+        && region instanceof PartitionedRegion && PartitionedRegion.BULK_OP_PARALLELISM > 1;
+    ChunkEntries chunk = null;
     try {
-      AuthorizeRequest authzRequest = servConn.getAuthzRequest();
       AuthorizeRequestPP postAuthzRequest = servConn.getPostAuthzRequest();
       Get70 request = (Get70) Get70.getCommand();
       final boolean isDebugEnabled = logger.isDebugEnabled();
@@ -183,6 +196,10 @@ public class GetAll70 extends BaseCommand {
           sendGetAllResponseChunk(region, values, false, servConn);
           values.clear();
         }
+        if (prefetch && (chunk == null || chunk.end == i)) {
+          chunk = new ChunkEntries(keys, i, Math.min(numKeys, i + MAXIMUM_CHUNK_SIZE));
+          chunk.fetch((PartitionedRegion) region, regionName, request, servConn, securityService);
+        }
 
         Object key;
         boolean keyNotPresent = false;
@@ -211,13 +228,21 @@ public class GetAll70 extends BaseCommand {
           }
         }
 
-        try {
-          securityService.authorize(Resource.DATA, Operation.READ, regionName, key.toString());
-        } catch (NotAuthorizedException ex) {
+        NotAuthorizedException notAuthorized = null;
+        if (chunk != null) {
+          notAuthorized = chunk.notAuthorized[i - chunk.start];
+        } else {
+          try {
+            securityService.authorize(Resource.DATA, Operation.READ, regionName, key.toString());
+          } catch (NotAuthorizedException ex) {
+            notAuthorized = ex;
+          }
+        }
+        if (notAuthorized != null) {
           logger.warn(LocalizedMessage.create(
               LocalizedStrings.GetAll_0_CAUGHT_THE_FOLLOWING_EXCEPTION_ATTEMPTING_TO_GET_VALUE_FOR_KEY_1,
-              new Object[] {servConn.getName(), key}), ex);
-          values.addExceptionPart(key, ex);
+              new Object[] {servConn.getName(), key}), notAuthorized);
+          values.addExceptionPart(key, notAuthorized);
           continue;
         }
 
@@ -225,7 +250,12 @@ public class GetAll70 extends BaseCommand {
         // the value if it is a byte[].
         // Getting a value in serialized form is pretty nasty. I split this out
         // so the logic can be re-used by the CacheClientProxy.
-        Get70.Entry entry = request.getEntry(region, key, null, servConn);
+        Get70.Entry entry;
+        if (chunk != null) {
+          entry = chunk.take(i);
+        } else {
+          entry = request.getEntry(region, key, null, servConn);
+        }
         @Retained
         final Object originalData = entry.value;
         Object data = originalData;
@@ -288,6 +318,76 @@ public class GetAll70 extends BaseCommand {
       servConn.setAsTrue(RESPONDED);
     } finally {
       values.release();
+      if (chunk != null) {
+        chunk.release();
+      }
+    }
+  }
+
+  /**
+   * The entries of one chunk of keys of a partitioned region, fetched in parallel by bucket.
+   */
+  private static class ChunkEntries {
+    private final Object[] keys;
+    final int start;
+    final int end;
+    final NotAuthorizedException[] notAuthorized;
+    private final Get70.Entry[] entries;
+
+    ChunkEntries(Object[] keys, int start, int end) {
+      this.keys = keys;
+      this.start = start;
+      this.end = end;
+      this.notAuthorized = new NotAuthorizedException[end - start];
+      this.entries = new Get70.Entry[end - start];
+    }
+
+    void fetch(PartitionedRegion region, String regionName, Get70 request,
+        ServerConnection servConn, SecurityService securityService) {
+      // authorization is bound to this thread, so check every key before handing out the gets
+      Map<Integer, List<Integer>> indexesByBucket = new HashMap<>();
+      for (int i = 0; i < this.entries.length; i++) {
+        Object key = this.keys[this.start + i];
+        try {
+          securityService.authorize(Resource.DATA, Operation.READ, regionName, key.toString());
+        } catch (NotAuthorizedException ex) {
+          this.notAuthorized[i] = ex;
+          continue;
+        }
+        int bucketId = PartitionedRegionHelper.getHashKey(region,
+            org.apache.geode.cache.Operation.GET, key, null, null);
+        indexesByBucket.computeIfAbsent(bucketId, k -> new ArrayList<>()).add(i);
+      }
+
+      servConn.setModificationInfo(true, region.getFullPath(), this.keys[this.start]);
+      ClientProxyMembershipID id = servConn.getProxyID();
+      region.forEachBucketInParallel(indexesByBucket, (bucketId, indexes) -> {
+        for (int i : indexes) {
+          this.entries[i] = request.getEntryRetained(region, this.keys[this.start + i], null, id);
+        }
+      });
+    }
+
+    /**
+     * Hands the retained entry for the key at the given index over to the caller.
+     */
+    @Retained
+    Get70.Entry take(int index) {
+      Get70.Entry entry = this.entries[index - this.start];
+      this.entries[index - this.start] = null;
+      return entry;
+    }
+
+    /**
+     * Releases the entries that were fetched but never taken.
+     */
+    void release() {
+      for (int i = 0; i < this.entries.length; i++) {
+        if (this.entries[i] != null) {
+          OffHeapHelper.release(this.entries[i].value);
+          this.entries[i] = null;
+        }
+      }
     }
   }
 
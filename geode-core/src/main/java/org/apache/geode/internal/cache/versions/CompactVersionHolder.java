@@ -45,6 +45,22 @@ public class CompactVersionHolder<T extends VersionSource> implements VersionHol
     this.memberID = tag.getMemberID();
   }
 
+  /**
+   * Creates a holder for the given version parts, for callers that keep them apart from any tag.
+   *
+   * @since Geode 1.4
+   */
+  public CompactVersionHolder(T memberID, int entryVersion, long regionVersion,
+      long versionTimeStamp, int distributedSystemId) {
+    this.entryVersionLowBytes = (short) (entryVersion & 0xffff);
+    this.entryVersionHighByte = (byte) ((entryVersion & 0xff0000) >> 16);
+    this.regionVersionHighBytes = (short) (regionVersion >> 32);
+    this.regionVersionLowBytes = (int) regionVersion;
+    this.versionTimeStamp = versionTimeStamp;
+    this.distributedSystemId = (byte) (distributedSystemId & 0xff);
+    this.memberID = memberID;
+  }
+
 
 
   public int getEntryVersion() {
@@ -35,6 +35,7 @@ import org.apache.geode.cache.CacheException;
 import org.apache.geode.cache.EntryEvent;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
+import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueImpl;
 import org.apache.geode.cache.RegionDestroyedException;
 import org.apache.geode.cache.wan.GatewayEventFilter;
 import org.apache.geode.cache.wan.GatewayQueueEvent;
@@ -142,6 +143,18 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
    */
   private int batchSize;
 
+  /**
+   * Tunes the batch size and bounds the number of unacknowledged batches when the sender batches
+   * adaptively; null otherwise.
+   */
+  private final AdaptiveBatchController adaptiveBatchController;
+
+  /**
+   * How long to wait for a batch to be acknowledged before checking whether this processor has been
+   * stopped, paused or reset.
+   */
+  private static final long IN_FLIGHT_WAIT_MILLIS = 100;
+
   /**
    * @param createThreadGroup
    * @param string
@@ -151,6 +164,14 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
     super(createThreadGroup, string);
     this.sender = (AbstractGatewaySender) sender;
     this.batchSize = sender.getBatchSize();
+    // AsyncEventQueues deliver to their listener in this thread, so there is nothing to pipeline
+    if (AdaptiveBatchController.ADAPTIVE_BATCHING
+        && !sender.getId().contains(AsyncEventQueueImpl.ASYNC_EVENT_QUEUE_PREFIX)) {
+      this.adaptiveBatchController =
+          new AdaptiveBatchController(this.batchSize, this.sender.getStatistics());
+    } else {
+      this.adaptiveBatchController = null;
+    }
   }
 
   abstract protected void initializeMessageQueue(String id);
@@ -211,6 +232,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
   }
 
   protected int getBatchSize() {
+    if (this.adaptiveBatchController != null) {
+      return this.adaptiveBatchController.getBatchSize();
+    }
     return this.batchSize;
   }
 
@@ -227,6 +251,33 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
           LocalizedStrings.AbstractGatewaySenderEventProcessor_SET_BATCH_SIZE,
           new Object[] {currentBatchSize, this.batchSize}));
     }
+    if (this.adaptiveBatchController != null) {
+      this.adaptiveBatchController.limitBatchSize(this.batchSize);
+    }
+  }
+
+  AdaptiveBatchController getAdaptiveBatchController() {
+    return this.adaptiveBatchController;
+  }
+
+  /**
+   * Wait until the adaptive in-flight limit allows another batch to be sent, or until this
+   * processor is stopped, paused or has to resend its peeked events.
+   */
+  private void waitForInFlightCapacity() throws InterruptedException {
+    final GatewaySenderStats statistics = this.sender.getStatistics();
+    long start = -1;
+    while (!this.adaptiveBatchController.awaitCapacity(IN_FLIGHT_WAIT_MILLIS)) {
+      if (start == -1) {
+        start = statistics.startTime();
+      }
+      if (stopped() || this.isPaused || this.resetLastPeekedEvents) {
+        break;
+      }
+    }
+    if (start != -1) {
+      statistics.incBatchesInFlightWaitTime(statistics.startTime() - start);
+    }
   }
 
   /**
@@ -423,7 +474,7 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
 
         // Peek a batch
         if (isDebugEnabled) {
-          logger.debug("Attempting to peek a batch of {} events", this.batchSize);
+          logger.debug("Attempting to peek a batch of {} events", getBatchSize());
         }
         for (;;) {
           // check before sleeping
@@ -475,7 +526,13 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
                * Thread.currentThread().interrupt(); } } }
                */
             }
-            events = this.queue.peek(this.batchSize, batchTimeInterval);
+            if (this.adaptiveBatchController != null) {
+              waitForInFlightCapacity();
+              if (stopped() || this.isPaused || this.resetLastPeekedEvents) {
+                continue;
+              }
+            }
+            events = this.queue.peek(getBatchSize(), batchTimeInterval);
           } catch (InterruptedException e) {
             interrupted = true;
             this.sender.getCancelCriterion().checkCancelInProgress(e);
@@ -488,6 +545,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
           if (events.isEmpty()) {
             continue; // nothing to do!
           }
+          if (this.adaptiveBatchController != null) {
+            this.adaptiveBatchController.batchPeeked(getBatchSize(), events.size());
+          }
 
           // this list is access by ack reader thread so create new every time. #50220
           filteredList = new ArrayList<GatewaySenderEventImpl>();
@@ -590,6 +650,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
             if (!pdxEventsToBeDispatched.isEmpty()) {
               this.batchIdToPDXEventsMap.put(getBatchId(), pdxEventsToBeDispatched);
             }
+            if (this.adaptiveBatchController != null) {
+              this.adaptiveBatchController.batchSent(getBatchId());
+            }
           }
 
           eventsToBeDispatched.addAll(filteredList);
@@ -867,6 +930,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
 
   private void resetLastPeekedEvents() {
     this.batchIdToEventsMap.clear();
+    if (this.adaptiveBatchController != null) {
+      this.adaptiveBatchController.reset();
+    }
     // make sure that when there is problem while receiving ack, pdx gateway
     // sender events isDispatched is set to false so that same events will be
     // dispatched in next batch
@@ -988,6 +1054,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
         }
       }
       List<GatewaySenderEventImpl> events = eventsArr[0];
+      if (this.adaptiveBatchController != null) {
+        this.adaptiveBatchController.batchAcknowledged(batchId, events.size());
+      }
       if (logger.isDebugEnabled()) {
         logger.debug("Removing events from the queue {}", events.size());
       }
@@ -1195,6 +1264,9 @@ public abstract class AbstractGatewaySenderEventProcessor extends Thread {
       // just checking in case we should log a warning
     } finally {
       this.queue.close();
+      if (this.adaptiveBatchController != null) {
+        this.adaptiveBatchController.close();
+      }
       if (logger.isDebugEnabled()) {
         logger.debug("Closed dispatcher");
       }
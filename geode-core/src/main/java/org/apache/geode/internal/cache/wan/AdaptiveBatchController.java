@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Chooses the batch size and the number of unacknowledged batches a gateway sender event processor
+ * may have outstanding on its connection, based on the acknowledgement latency and throughput it
+ * observes.
+ * <p>
+ * The processor reports each batch it sends and each acknowledgement it receives. Every window of
+ * at least {@link #MIN_WINDOW_ACKS} acknowledgements the controller compares the average
+ * acknowledgement latency with the lowest latency it has seen. Batches without events are not
+ * counted, so they cannot drag the lowest latency down.
+ * <ul>
+ * <li>If latency has inflated, the link or the receiver is saturated: the in-flight limit is
+ * halved, or the batch size reduced once only one batch is outstanding. The window after a cut is
+ * left to drain the batches sent before it, so one episode of congestion is only cut once.</li>
+ * <li>Otherwise, while the queue has a backlog, the in-flight limit grows by one whenever the
+ * processor had to wait for it, and the batch size is hill-climbed towards the size that acks the
+ * most events per second.</li>
+ * </ul>
+ * The batch size stays between a tenth of and {@link #MAX_BATCH_SIZE_MULTIPLIER} times the
+ * configured batch size, and never grows past a size that the receiver has rejected as too large.
+ *
+ * @since Geode 1.4
+ */
+public class AdaptiveBatchController {
+
+  private static final Logger logger = LogService.getLogger();
+
+  /**
+   * Whether gateway senders tune their batch size and in-flight batches instead of using the fixed
+   * configured batch size with an unbounded number of outstanding batches.
+   */
+  public static final boolean ADAPTIVE_BATCHING =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.ADAPTIVE_BATCHING");
+
+  /** The most unacknowledged batches a processor may have outstanding when batching adaptively */
+  public static final int MAX_BATCHES_IN_FLIGHT = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.MAX_BATCHES_IN_FLIGHT", 8)
+      .intValue();
+
+  /** How many times the configured batch size adaptive batching may grow a batch to */
+  public static final int MAX_BATCH_SIZE_MULTIPLIER = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.MAX_BATCH_SIZE_MULTIPLIER", 10)
+      .intValue();
+
+  static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  /** The fewest acknowledgements a window ends with, so that one slow batch is not a window */
+  static final int MIN_WINDOW_ACKS = 2;
+
+  /** Average latency above this multiple of the lowest latency seen is treated as congestion */
+  static final int LATENCY_TOLERANCE = 2;
+
+  /** Throughput has to drop by more than this fraction before the batch size turns around */
+  static final double THROUGHPUT_TOLERANCE = 0.05;
+
+  private int minBatchSize;
+
+  private final int maxInFlight;
+
+  private final GatewaySenderStats stats;
+
+  /** The send time of each outstanding batch, keyed by batch id */
+  private final Map<Integer, Long> sendTimes = new HashMap<>();
+
+  private int maxBatchSize;
+
+  private int batchSize;
+
+  private int inFlightLimit;
+
+  /** The direction the batch size is being climbed in, 1 for growing and -1 for shrinking */
+  private int direction = 1;
+
+  /** The lowest window average latency seen, which drifts up slowly so a new route is learnt */
+  private long baselineLatency;
+
+  private double lastThroughput;
+
+  private long windowStart;
+
+  private int windowAcks;
+
+  private long windowEvents;
+
+  private long windowLatency;
+
+  private boolean windowBacklogged;
+
+  private boolean windowWaited;
+
+  /** Whether the current window follows a cut, and is only waiting for the cut to take effect */
+  private boolean settling;
+
+  private boolean closed;
+
+  public AdaptiveBatchController(int configuredBatchSize, GatewaySenderStats stats) {
+    this(configuredBatchSize, MAX_BATCHES_IN_FLIGHT, stats, System.nanoTime());
+  }
+
+  AdaptiveBatchController(int configuredBatchSize, int maxInFlight, GatewaySenderStats stats,
+      long startNanos) {
+    int configured = Math.max(1, configuredBatchSize);
+    this.minBatchSize = Math.max(1, configured / 10);
+    this.maxBatchSize = (int) Math.min(Integer.MAX_VALUE,
+        (long) configured * Math.max(1, MAX_BATCH_SIZE_MULTIPLIER));
+    this.maxInFlight = Math.max(1, maxInFlight);
+    this.stats = stats;
+    this.batchSize = configured;
+    this.inFlightLimit = Math.min(2, this.maxInFlight);
+    this.windowStart = startNanos;
+    stats.incAdaptiveBatchSize(this.batchSize);
+    stats.incBatchesInFlightLimit(this.inFlightLimit);
+  }
+
+  public synchronized int getBatchSize() {
+    return this.batchSize;
+  }
+
+  public synchronized int getInFlightLimit() {
+    return this.inFlightLimit;
+  }
+
+  public synchronized int getBatchesInFlight() {
+    return this.sendTimes.size();
+  }
+
+  /**
+   * Wait up to {@code timeoutMillis} for fewer than the in-flight limit of batches to be
+   * outstanding.
+   *
+   * @return whether another batch may be sent
+   */
+  public synchronized boolean awaitCapacity(long timeoutMillis) throws InterruptedException {
+    if (this.sendTimes.size() < this.inFlightLimit) {
+      return true;
+    }
+    this.windowWaited = true;
+    wait(timeoutMillis);
+    return this.sendTimes.size() < this.inFlightLimit;
+  }
+
+  /**
+   * Records the result of a peek, which shows whether the queue is keeping batches full.
+   */
+  public synchronized void batchPeeked(int requested, int peeked) {
+    if (peeked >= requested) {
+      this.windowBacklogged = true;
+    }
+  }
+
+  public void batchSent(int batchId) {
+    batchSent(batchId, System.nanoTime());
+  }
+
+  synchronized void batchSent(int batchId, long nowNanos) {
+    if (this.sendTimes.put(batchId, nowNanos) == null) {
+      this.stats.incBatchesInFlight(1);
+    }
+  }
+
+  public void batchAcknowledged(int batchId, int numEvents) {
+    batchAcknowledged(batchId, numEvents, System.nanoTime());
+  }
+
+  synchronized void batchAcknowledged(int batchId, int numEvents, long nowNanos) {
+    Long sent = this.sendTimes.remove(batchId);
+    if (sent == null) {
+      return;
+    }
+    this.stats.incBatchesInFlight(-1);
+    long latency = Math.max(0, nowNanos - sent);
+    this.stats.endBatchAck(latency);
+    notifyAll();
+    if (numEvents == 0) {
+      return;
+    }
+    this.windowAcks++;
+    this.windowEvents += numEvents;
+    this.windowLatency += latency;
+    if (nowNanos - this.windowStart >= WINDOW_NANOS && this.windowAcks >= MIN_WINDOW_ACKS) {
+      endWindow(nowNanos);
+    }
+  }
+
+  /**
+   * Forget the outstanding batches, which happens when the connection is reset and the batch ids
+   * start again.
+   */
+  public synchronized void reset() {
+    this.stats.incBatchesInFlight(-this.sendTimes.size());
+    this.sendTimes.clear();
+    notifyAll();
+  }
+
+  /**
+   * Never grow batches beyond {@code size} again, because the receiver has rejected a batch that
+   * large.
+   */
+  public synchronized void limitBatchSize(int size) {
+    this.maxBatchSize = Math.max(1, size);
+    this.minBatchSize = Math.min(this.minBatchSize, this.maxBatchSize);
+    if (this.batchSize > this.maxBatchSize) {
+      setBatchSize(this.maxBatchSize);
+    }
+    this.direction = -1;
+  }
+
+  private void endWindow(long nowNanos) {
+    long avgLatency = this.windowLatency / this.windowAcks;
+    double throughput = (double) this.windowEvents * WINDOW_NANOS / (nowNanos - this.windowStart);
+    if (this.settling) {
+      // the batches acknowledged in this window were mostly sent before the cut, so their latency
+      // neither causes another cut nor moves the baseline
+      this.settling = false;
+    } else {
+      if (this.baselineLatency == 0 || avgLatency < this.baselineLatency) {
+        this.baselineLatency = avgLatency;
+      } else {
+        this.baselineLatency += (avgLatency - this.baselineLatency) / 16;
+      }
+
+      if (avgLatency > this.baselineLatency * LATENCY_TOLERANCE) {
+        if (this.inFlightLimit > 1) {
+          setInFlightLimit(this.inFlightLimit / 2);
+        } else {
+          this.direction = -1;
+          setBatchSize(this.batchSize * 3 / 4);
+        }
+        this.settling = true;
+      } else if (this.windowBacklogged) {
+        if (this.windowWaited && this.inFlightLimit < this.maxInFlight) {
+          setInFlightLimit(this.inFlightLimit + 1);
+        }
+        if (throughput < this.lastThroughput * (1 - THROUGHPUT_TOLERANCE)) {
+          this.direction = -this.direction;
+        }
+        setBatchSize(this.direction > 0 ? this.batchSize + Math.max(1, this.batchSize / 4)
+            : this.batchSize * 4 / 5);
+      }
+    }
+    if (logger.isDebugEnabled()) {
+      logger.debug(
+          "Adaptive batching window: {} acks, {} events/s, {} ns average latency, {} ns baseline;"
+              + " batch size {}, in-flight limit {}",
+          this.windowAcks, (long) throughput, avgLatency, this.baselineLatency, this.batchSize,
+          this.inFlightLimit);
+    }
+
+    this.lastThroughput = throughput;
+    this.windowStart = nowNanos;
+    this.windowAcks = 0;
+    this.windowEvents = 0;
+    this.windowLatency = 0;
+    this.windowBacklogged = false;
+    this.windowWaited = false;
+  }
+
+  private void setBatchSize(int size) {
+    int newSize = Math.max(this.minBatchSize, Math.min(this.maxBatchSize, size));
+    if (newSize != this.batchSize) {
+      this.stats.incAdaptiveBatchSize(newSize - this.batchSize);
+      this.stats.incBatchSizeAdjustments();
+      this.batchSize = newSize;
+    }
+  }
+
+  private void setInFlightLimit(int limit) {
+    int newLimit = Math.max(1, Math.min(this.maxInFlight, limit));
+    if (newLimit != this.inFlightLimit) {
+      this.stats.incBatchesInFlightLimit(newLimit - this.inFlightLimit);
+      this.stats.incBatchesInFlightLimitAdjustments();
+      this.inFlightLimit = newLimit;
+      notifyAll();
+    }
+  }
+
+  /**
+   * Removes this controller's contribution from the statistics it shares with the sender's other
+   * dispatcher threads.
+   */
+  public synchronized void close() {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    reset();
+    this.stats.incAdaptiveBatchSize(-this.batchSize);
+    this.stats.incBatchesInFlightLimit(-this.inFlightLimit);
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "AdaptiveBatchController[batchSize=" + this.batchSize + ";inFlightLimit="
+        + this.inFlightLimit + ";batchesInFlight=" + this.sendTimes.size() + "]";
+  }
+}
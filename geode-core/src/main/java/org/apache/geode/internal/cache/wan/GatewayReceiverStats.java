@@ -59,6 +59,18 @@ public class GatewayReceiverStats extends CacheServerStats {
   /** Name of the events retried */
   private static final String EVENTS_RETRIED = "eventsRetried";
 
+  /** Name of the batch apply time statistic */
+  private static final String BATCH_APPLY_TIME = "batchApplyTime";
+
+  /** Name of the batches applied in parallel statistic */
+  private static final String PARALLEL_BATCHES_APPLIED = "parallelBatchesApplied";
+
+  /** Name of the batch apply partitions statistic */
+  private static final String BATCH_APPLY_PARTITIONS = "batchApplyPartitions";
+
+  /** Name of the partition apply time statistic */
+  private static final String PARTITION_APPLY_TIME = "partitionApplyTime";
+
   // /** Id of the events queued statistic */
   // private int failoverBatchesReceivedId;
 
@@ -92,6 +104,18 @@ public class GatewayReceiverStats extends CacheServerStats {
   /** Id of the events retried statistic */
   private int eventsRetriedId;
 
+  /** Id of the batch apply time statistic */
+  private int batchApplyTimeId;
+
+  /** Id of the batches applied in parallel statistic */
+  private int parallelBatchesAppliedId;
+
+  /** Id of the batch apply partitions statistic */
+  private int batchApplyPartitionsId;
+
+  /** Id of the partition apply time statistic */
+  private int partitionApplyTimeId;
+
   // ///////////////////// Constructors ///////////////////////
 
   public static GatewayReceiverStats createGatewayReceiverStats(String ownerName) {
@@ -118,7 +142,17 @@ public class GatewayReceiverStats extends CacheServerStats {
         f.createIntCounter(EXCEPTIONS_OCCURRED,
             "number of exceptions occurred while porcessing the batches", "operations"),
         f.createIntCounter(EVENTS_RETRIED,
-            "total number events retried by this GatewayReceiver due to exceptions", "operations")};
+            "total number events retried by this GatewayReceiver due to exceptions", "operations"),
+        f.createLongCounter(BATCH_APPLY_TIME,
+            "Total time spent applying the events of batches to the cache", "nanoseconds"),
+        f.createIntCounter(PARALLEL_BATCHES_APPLIED,
+            "Number of batches whose events were applied by more than one thread", "operations"),
+        f.createIntCounter(BATCH_APPLY_PARTITIONS,
+            "Total number of partitions the batches applied in parallel were split into",
+            "operations"),
+        f.createLongCounter(PARTITION_APPLY_TIME,
+            "Total time spent applying partitions of batches, summed over all apply threads",
+            "nanoseconds")};
     return new GatewayReceiverStats(f, ownerName, typeName, descriptors);
 
   }
@@ -138,6 +172,10 @@ public class GatewayReceiverStats extends CacheServerStats {
     unknowsOperationsReceivedId = statType.nameToId(UNKNOWN_OPERATIONS_RECEIVED);
     exceptionsOccurredId = statType.nameToId(EXCEPTIONS_OCCURRED);
     eventsRetriedId = statType.nameToId(EVENTS_RETRIED);
+    batchApplyTimeId = statType.nameToId(BATCH_APPLY_TIME);
+    parallelBatchesAppliedId = statType.nameToId(PARALLEL_BATCHES_APPLIED);
+    batchApplyPartitionsId = statType.nameToId(BATCH_APPLY_PARTITIONS);
+    partitionApplyTimeId = statType.nameToId(PARTITION_APPLY_TIME);
   }
 
   // /////////////////// Instance Methods /////////////////////
@@ -263,6 +301,45 @@ public class GatewayReceiverStats extends CacheServerStats {
     return this.stats.getInt(eventsRetriedId);
   }
 
+  /**
+   * Increments the time spent applying the events of batches to the cache.
+   */
+  public void incBatchApplyTime(long nanos) {
+    this.stats.incLong(batchApplyTimeId, nanos);
+  }
+
+  public long getBatchApplyTime() {
+    return this.stats.getLong(batchApplyTimeId);
+  }
+
+  /**
+   * Increments the number of batches applied in parallel by 1, and the number of partitions they
+   * were split into by {@code partitions}.
+   */
+  public void incParallelBatchesApplied(int partitions) {
+    this.stats.incInt(parallelBatchesAppliedId, 1);
+    this.stats.incInt(batchApplyPartitionsId, partitions);
+  }
+
+  public int getParallelBatchesApplied() {
+    return this.stats.getInt(parallelBatchesAppliedId);
+  }
+
+  public int getBatchApplyPartitions() {
+    return this.stats.getInt(batchApplyPartitionsId);
+  }
+
+  /**
+   * Increments the time spent applying partitions of batches.
+   */
+  public void incPartitionApplyTime(long nanos) {
+    this.stats.incLong(partitionApplyTimeId, nanos);
+  }
+
+  public long getPartitionApplyTime() {
+    return this.stats.getLong(partitionApplyTimeId);
+  }
+
   /**
    * Returns the current time (ns).
    * 
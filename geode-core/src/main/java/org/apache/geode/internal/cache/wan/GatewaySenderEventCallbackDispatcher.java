@@ -17,14 +17,31 @@ package org.apache.geode.internal.cache.wan;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.logging.log4j.Logger;
 
 import org.apache.geode.CancelException;
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
 import org.apache.geode.cache.asyncqueue.AsyncEventListener;
+import org.apache.geode.cache.asyncqueue.internal.AsyncEventQueueStats;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.cache.EventID;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.logging.LoggingThreadGroup;
 import org.apache.geode.internal.logging.log4j.LocalizedMessage;
 import org.apache.geode.i18n.StringId;
 
@@ -39,6 +56,31 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
 
   private static final Logger logger = LogService.getLogger();
 
+  /**
+   * The number of threads, including the dispatcher thread, that invoke the listeners with each
+   * batch. A batch is split by bucket, or by region and key for serial queues, so all the events on
+   * a key are still processed in order by a single invocation. Listeners have to be thread safe to
+   * use more than one thread.
+   *
+   * @since Geode 1.4
+   */
+  public static final int LISTENER_THREADS = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "AsyncEventQueue.LISTENER_THREADS", 1)
+      .intValue();
+
+  /**
+   * How long to wait before dispatching a batch again after the listeners failed to process part
+   * of it, when using more than one {@link #LISTENER_THREADS}. The wait doubles with each
+   * consecutive failure up to {@link #RETRY_MAX_BACKOFF_MS}.
+   */
+  public static final long RETRY_INITIAL_BACKOFF_MS = Long
+      .getLong(DistributionConfig.GEMFIRE_PREFIX + "AsyncEventQueue.RETRY_INITIAL_BACKOFF_MS", 100)
+      .longValue();
+
+  public static final long RETRY_MAX_BACKOFF_MS = Long
+      .getLong(DistributionConfig.GEMFIRE_PREFIX + "AsyncEventQueue.RETRY_MAX_BACKOFF_MS", 5000)
+      .longValue();
+
   /**
    * The <code>SerialGatewayEventProcessor</code> used by this <code>CacheListener</code> to process
    * events.
@@ -56,9 +98,46 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
    */
   private final Object eventLock = new Object();
 
+  /**
+   * The threads that invoke the listeners with all but one part of each batch, or null if each
+   * batch is processed by the dispatcher thread alone.
+   */
+  private final ExecutorService listenerPool;
+
+  /**
+   * The events of the last batch that the listeners did process although the batch as a whole
+   * failed. They are left out when the batch is dispatched again. Only used by the dispatcher
+   * thread.
+   */
+  private final Set<EventID> processedEventIds = new HashSet<EventID>();
+
+  /** The number of consecutive batches the listeners failed to process */
+  private int consecutiveFailures;
+
   public GatewaySenderEventCallbackDispatcher(AbstractGatewaySenderEventProcessor eventProcessor) {
     this.eventProcessor = eventProcessor;
     initializeEventListeners();
+    this.listenerPool = LISTENER_THREADS > 1 ? createListenerPool(LISTENER_THREADS - 1) : null;
+  }
+
+  private ExecutorService createListenerPool(int size) {
+    final ThreadGroup group = LoggingThreadGroup
+        .createThreadGroup("AsyncEventListener Invokers for " + this.eventProcessor, logger);
+    ThreadFactory threadFactory = new ThreadFactory() {
+      private final AtomicInteger threadNum = new AtomicInteger(-1);
+
+      @Override
+      public Thread newThread(Runnable command) {
+        Thread thread =
+            new Thread(group, command, group.getName() + " Thread " + threadNum.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+    ThreadPoolExecutor pool = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<Runnable>(), threadFactory);
+    pool.allowCoreThreadTimeOut(true);
+    return pool;
   }
 
   /**
@@ -148,26 +227,239 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
       return true;
     }
     int batchId = this.eventProcessor.getBatchId();
+    if (this.listenerPool != null) {
+      return dispatchBatchInParallel(events, batchId);
+    }
     boolean successAll = true;
     try {
-      for (AsyncEventListener listener : this.eventListeners) {
-        boolean successOne = listener.processEvents(events);
-        if (!successOne) {
-          successAll = false;
+      successAll = invokeListeners(events);
+    } catch (Exception e) {
+      throw batchFailed(e, batchId);
+    }
+    return successAll;
+  }
+
+  private GatewaySenderException batchFailed(Exception e, int batchId) {
+    final StringId alias =
+        LocalizedStrings.SerialGatewayEventCallbackDispatcher__0___EXCEPTION_DURING_PROCESSING_BATCH__1_;
+    final Object[] aliasArgs = new Object[] {this, Integer.valueOf(batchId)};
+    String exMsg = alias.toLocalizedString(aliasArgs);
+    GatewaySenderException ge = new GatewaySenderException(exMsg, e);
+    logger.warn(LocalizedMessage.create(alias, aliasArgs), ge);
+    return ge;
+  }
+
+  /**
+   * Passes {@code events} to each registered listener in turn.
+   *
+   * @return whether every listener processed the events
+   */
+  private boolean invokeListeners(List events) {
+    AsyncEventQueueStats stats = getAsyncEventQueueStats();
+    boolean successAll = true;
+    for (AsyncEventListener listener : this.eventListeners) {
+      long start = stats == null ? 0 : stats.startListenerInvocation();
+      boolean successOne = false;
+      try {
+        successOne = listener.processEvents(events);
+      } finally {
+        if (stats != null) {
+          stats.endListenerInvocation(start, successOne);
         }
       }
-    } catch (Exception e) {
-      final StringId alias =
-          LocalizedStrings.SerialGatewayEventCallbackDispatcher__0___EXCEPTION_DURING_PROCESSING_BATCH__1_;
-      final Object[] aliasArgs = new Object[] {this, Integer.valueOf(batchId)};
-      String exMsg = alias.toLocalizedString(aliasArgs);
-      GatewaySenderException ge = new GatewaySenderException(exMsg, e);
-      logger.warn(LocalizedMessage.create(alias, aliasArgs), ge);
-      throw ge;
+      if (!successOne) {
+        successAll = false;
+      }
     }
     return successAll;
   }
 
+  private AsyncEventQueueStats getAsyncEventQueueStats() {
+    GatewaySenderStats stats = this.eventProcessor.sender.getStatistics();
+    return stats instanceof AsyncEventQueueStats ? (AsyncEventQueueStats) stats : null;
+  }
+
+  /**
+   * Splits {@code events} between the listener threads and waits for all of them. When a part of
+   * the batch fails, the parts that were processed are remembered and left out when the processor
+   * dispatches the batch again, after backing off, so one failing bucket does not make the
+   * listeners process the rest of the batch over and over.
+   */
+  private boolean dispatchBatchInParallel(List events, int batchId)
+      throws GatewaySenderException {
+    AsyncEventQueueStats stats = getAsyncEventQueueStats();
+    if (this.consecutiveFailures > 0) {
+      long backoff = backoffMillis(this.consecutiveFailures, RETRY_INITIAL_BACKOFF_MS,
+          RETRY_MAX_BACKOFF_MS);
+      long start = System.nanoTime();
+      boolean interrupted = !backOff(backoff);
+      if (stats != null) {
+        stats.incBatchRetries(System.nanoTime() - start);
+      }
+      if (interrupted) {
+        return false;
+      }
+    }
+
+    List<AsyncEvent> pending = new ArrayList<AsyncEvent>(events.size());
+    for (Object event : events) {
+      if (event instanceof GatewaySenderEventImpl && this.processedEventIds
+          .contains(((GatewaySenderEventImpl) event).getEventId())) {
+        continue;
+      }
+      pending.add((AsyncEvent) event);
+    }
+    if (stats != null && pending.size() < events.size()) {
+      stats.incEventsNotRedispatched(events.size() - pending.size());
+    }
+
+    List<List<AsyncEvent>> partitions = partition(pending, LISTENER_THREADS);
+    if (stats != null && partitions.size() > 1) {
+      stats.incParallelBatchesDispatched();
+    }
+    List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>(partitions.size());
+    for (final List<AsyncEvent> partition : partitions.subList(1, partitions.size())) {
+      Future<Boolean> future;
+      try {
+        future = this.listenerPool.submit(new Callable<Boolean>() {
+          @Override
+          public Boolean call() {
+            return invokeListeners(partition);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        // the dispatcher is stopping; the partition will be dispatched again
+        future = null;
+      }
+      futures.add(future);
+    }
+
+    boolean successAll = true;
+    Exception failure = null;
+    if (!partitions.isEmpty()) {
+      try {
+        if (invokeListeners(partitions.get(0))) {
+          addProcessedEvents(partitions.get(0));
+        } else {
+          successAll = false;
+        }
+      } catch (Exception e) {
+        successAll = false;
+        failure = e;
+      }
+    }
+    // wait for every partition so no two invocations ever overlap on a key
+    boolean interrupted = false;
+    for (int i = 0; i < futures.size(); i++) {
+      Future<Boolean> future = futures.get(i);
+      boolean success = false;
+      while (future != null) {
+        try {
+          success = future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause() instanceof Exception ? (Exception) e.getCause()
+                : new GatewaySenderException(e.getCause());
+          }
+          break;
+        }
+      }
+      if (success) {
+        addProcessedEvents(partitions.get(i + 1));
+      } else {
+        successAll = false;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (successAll) {
+      this.processedEventIds.clear();
+      this.consecutiveFailures = 0;
+      return true;
+    }
+    this.consecutiveFailures++;
+    if (failure instanceof CancelException) {
+      throw (CancelException) failure;
+    } else if (failure != null) {
+      throw batchFailed(failure, batchId);
+    }
+    return false;
+  }
+
+  private void addProcessedEvents(List<AsyncEvent> events) {
+    for (AsyncEvent event : events) {
+      if (event instanceof GatewaySenderEventImpl) {
+        this.processedEventIds.add(((GatewaySenderEventImpl) event).getEventId());
+      }
+    }
+  }
+
+  /**
+   * Waits {@code millis} unless the processor stops.
+   *
+   * @return false if the wait was interrupted
+   */
+  private boolean backOff(long millis) {
+    long end = System.currentTimeMillis() + millis;
+    try {
+      for (long remaining = millis; remaining > 0 && !this.eventProcessor
+          .isStopped(); remaining = end - System.currentTimeMillis()) {
+        Thread.sleep(Math.min(remaining, 100));
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  static long backoffMillis(int consecutiveFailures, long initial, long max) {
+    long backoff = initial;
+    for (int i = 1; i < consecutiveFailures && backoff < max; i++) {
+      backoff *= 2;
+    }
+    return Math.min(backoff, max);
+  }
+
+  /**
+   * Splits {@code events} into at most {@code count} non-empty lists, keeping the events of each
+   * bucket together, or the events of each region and key when they do not belong to a bucket.
+   * The events of each list keep their order.
+   */
+  static List<List<AsyncEvent>> partition(List<AsyncEvent> events, int count) {
+    List<List<AsyncEvent>> partitions = new ArrayList<List<AsyncEvent>>(count);
+    for (int i = 0; i < count; i++) {
+      partitions.add(new ArrayList<AsyncEvent>());
+    }
+    for (AsyncEvent event : events) {
+      int hash = 0;
+      if (event instanceof GatewaySenderEventImpl) {
+        GatewaySenderEventImpl senderEvent = (GatewaySenderEventImpl) event;
+        if (senderEvent.getBucketId() >= 0) {
+          hash = senderEvent.getBucketId();
+        } else {
+          String regionPath = senderEvent.getRegionPath();
+          Object key = senderEvent.getKey();
+          hash = 31 * (regionPath == null ? 0 : regionPath.hashCode())
+              + (key == null ? 0 : key.hashCode());
+        }
+      }
+      partitions.get((hash & Integer.MAX_VALUE) % count).add(event);
+    }
+    List<List<AsyncEvent>> nonEmpty = new ArrayList<List<AsyncEvent>>(count);
+    for (List<AsyncEvent> partition : partitions) {
+      if (!partition.isEmpty()) {
+        nonEmpty.add(partition);
+      }
+    }
+    return nonEmpty;
+  }
+
   @Override
   public boolean isRemoteDispatcher() {
     return false;
@@ -180,8 +472,9 @@ public class GatewaySenderEventCallbackDispatcher implements GatewaySenderEventD
 
   @Override
   public void stop() {
-    // no op
-
+    if (this.listenerPool != null) {
+      this.listenerPool.shutdown();
+    }
   }
 
   @Override
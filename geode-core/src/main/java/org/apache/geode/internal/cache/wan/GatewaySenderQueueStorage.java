@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import org.apache.logging.log4j.Logger;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LogService;
+
+/**
+ * Where the regions backing gateway sender and async event queues keep their events.
+ * <p>
+ * By default events live on the heap until the queue outgrows the sender's maximum queue memory,
+ * after which the newest ones overflow to disk. When a remote site is down for long enough the
+ * queue grows to millions of events that all have to be tracked by the garbage collector, so the
+ * {@link #PROPERTY} system property may choose a more compact storage for every queue in the
+ * member.
+ *
+ * @since Geode 1.4
+ */
+public enum GatewaySenderQueueStorage {
+
+  /**
+   * Events are stored on the heap and overflow to disk once the queue uses more than the maximum
+   * queue memory.
+   */
+  HEAP,
+
+  /**
+   * Events are stored serialized in off-heap memory, leaving only the region entries and their keys
+   * on the heap, and overflow to disk once the queue uses more than the maximum queue memory.
+   * Requires the member to be configured with off-heap memory, otherwise {@link #HEAP} is used.
+   */
+  OFF_HEAP,
+
+  /**
+   * Events are written straight to the queue's disk store, whose oplogs are append-only, and only
+   * the {@link #RESIDENT_ENTRIES} at the head of each queue region or bucket, which are the next to
+   * be dispatched, keep their value on the heap. Every other event costs the heap just its entry,
+   * key and disk location.
+   * <p>
+   * The resident events are bounded by count rather than size, so the sender's maximum queue memory
+   * does not apply and the heap used by the values grows with the size of the events. A memory
+   * bound can not be used instead because the partitioned regions of parallel queues always evict
+   * by memory at their local max memory, which is the maximum queue memory. A warning is logged
+   * for every queue using this storage.
+   */
+  OVERFLOW;
+
+  private static final Logger logger = LogService.getLogger();
+
+  public static final String PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.QUEUE_STORAGE";
+
+  /**
+   * The number of events in each queue region or bucket that keep their value on the heap when
+   * using {@link #OVERFLOW} storage.
+   */
+  public static final int RESIDENT_ENTRIES = Integer
+      .getInteger(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.QUEUE_RESIDENT_ENTRIES", 1000)
+      .intValue();
+
+  /**
+   * The storage selected by {@link #PROPERTY}. Not final for tests.
+   */
+  public static GatewaySenderQueueStorage CONFIGURED = parse(System.getProperty(PROPERTY));
+
+  static GatewaySenderQueueStorage parse(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return HEAP;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      logger.warn("Ignoring unknown gateway sender queue storage {}={}; storing events on the heap",
+          PROPERTY, value);
+      return HEAP;
+    }
+  }
+
+  /**
+   * Returns the storage the queue of {@code sender} should use, which is the configured storage
+   * unless it is not available in this member.
+   */
+  public static GatewaySenderQueueStorage forSender(AbstractGatewaySender sender) {
+    return forSender(sender, CONFIGURED);
+  }
+
+  static GatewaySenderQueueStorage forSender(AbstractGatewaySender sender,
+      GatewaySenderQueueStorage configured) {
+    if (configured == OFF_HEAP && sender.getCache().getOffHeapStore() == null) {
+      logger.warn(
+          "The queue of gateway sender {} cannot be stored off-heap because no off-heap memory is configured; storing events on the heap",
+          sender.getId());
+      return HEAP;
+    }
+    if (configured == OVERFLOW) {
+      logger.warn(
+          "The queue of gateway sender {} keeps up to {} events per queue region or bucket on the heap whatever their size; its maximum queue memory of {} megabytes does not apply",
+          sender.getId(), RESIDENT_ENTRIES, sender.getMaximumQueueMemory());
+    }
+    return configured;
+  }
+
+  /**
+   * Configures the attributes of a queue region to store its events in this way.
+   *
+   * @param maximumQueueMemory the maximum queue memory of the sender, in megabytes, which
+   *        {@link #OVERFLOW} ignores
+   */
+  @SuppressWarnings("rawtypes")
+  public void configure(AttributesFactory factory, int maximumQueueMemory) {
+    switch (this) {
+      case OVERFLOW:
+        factory.setEvictionAttributes(EvictionAttributes
+            .createLIFOEntryAttributes(RESIDENT_ENTRIES, EvictionAction.OVERFLOW_TO_DISK));
+        break;
+      case OFF_HEAP:
+        factory.setOffHeap(true);
+        // fall through to also overflow once the queue uses the maximum queue memory
+      default:
+        // allow for no overflow directory
+        factory.setEvictionAttributes(EvictionAttributes
+            .createLIFOMemoryAttributes(maximumQueueMemory, EvictionAction.OVERFLOW_TO_DISK));
+    }
+  }
+}
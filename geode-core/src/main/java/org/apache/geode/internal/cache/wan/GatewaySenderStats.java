@@ -92,6 +92,28 @@ public class GatewaySenderStats {
   protected static final String SYNCHRONIZATION_EVENTS_ENQUEUED = "synchronizationEventsEnqueued";
   protected static final String SYNCHRONIZATION_EVENTS_PROVIDED = "synchronizationEventsProvided";
 
+  protected static final String WIRE_UNCOMPRESSED_BYTES_SENT = "wireUncompressedBytesSent";
+  protected static final String WIRE_COMPRESSED_BYTES_SENT = "wireCompressedBytesSent";
+  protected static final String WIRE_COMPRESSION_TIME = "wireCompressionTime";
+  protected static final String WIRE_COMPRESSED_BYTES_RECEIVED = "wireCompressedBytesReceived";
+  protected static final String WIRE_UNCOMPRESSED_BYTES_RECEIVED = "wireUncompressedBytesReceived";
+  protected static final String WIRE_DECOMPRESSION_TIME = "wireDecompressionTime";
+
+  protected static final String ADAPTIVE_BATCH_SIZE = "adaptiveBatchSize";
+  protected static final String BATCH_SIZE_ADJUSTMENTS = "batchSizeAdjustments";
+  protected static final String BATCHES_IN_FLIGHT = "batchesInFlight";
+  protected static final String BATCHES_IN_FLIGHT_LIMIT = "batchesInFlightLimit";
+  protected static final String BATCHES_IN_FLIGHT_LIMIT_ADJUSTMENTS =
+      "batchesInFlightLimitAdjustments";
+  protected static final String BATCHES_IN_FLIGHT_WAIT_TIME = "batchesInFlightWaitTime";
+  protected static final String BATCHES_ACKNOWLEDGED = "batchesAcknowledged";
+  protected static final String BATCH_ACK_TIME = "batchAckTime";
+
+  /** Name of the queued events superseded by a newer event on the same key statistic */
+  protected static final String EVENTS_CONFLATED_IN_QUEUE = "eventsConflatedInQueue";
+  /** Name of the queued events replaced in place by a newer event on the same key statistic */
+  protected static final String EVENTS_REPLACED_IN_QUEUE = "eventsReplacedInQueue";
+
   /** Id of the events queued statistic */
   protected static int eventsReceivedId;
   /** Id of the events queued statistic */
@@ -147,6 +169,30 @@ public class GatewaySenderStats {
   protected static int synchronizationEventsEnqueuedId;
   /** Id of synchronization events provided */
   protected static int synchronizationEventsProvidedId;
+  /** Id of the bytes of batch message parts eligible for wire compression */
+  protected static int wireUncompressedBytesSentId;
+  /** Id of the bytes those batch message parts took up on the wire */
+  protected static int wireCompressedBytesSentId;
+  /** Id of the wire compression time */
+  protected static int wireCompressionTimeId;
+  /** Id of the bytes of compressed acknowledgement message parts received */
+  protected static int wireCompressedBytesReceivedId;
+  /** Id of the bytes those acknowledgement message parts took up after decompression */
+  protected static int wireUncompressedBytesReceivedId;
+  /** Id of the wire decompression time */
+  protected static int wireDecompressionTimeId;
+  protected static int adaptiveBatchSizeId;
+  protected static int batchSizeAdjustmentsId;
+  protected static int batchesInFlightId;
+  protected static int batchesInFlightLimitId;
+  protected static int batchesInFlightLimitAdjustmentsId;
+  protected static int batchesInFlightWaitTimeId;
+  protected static int batchesAcknowledgedId;
+  protected static int batchAckTimeId;
+  /** Id of the queued events superseded by a newer event on the same key statistic */
+  protected static int eventsConflatedInQueueId;
+  /** Id of the queued events replaced in place by a newer event on the same key statistic */
+  protected static int eventsReplacedInQueueId;
 
   /**
    * Static initializer to create and initialize the <code>StatisticsType</code>
@@ -224,7 +270,52 @@ public class GatewaySenderStats {
             f.createIntCounter(SYNCHRONIZATION_EVENTS_ENQUEUED,
                 "Number of synchronization events added to the event queue.", "operations"),
             f.createIntCounter(SYNCHRONIZATION_EVENTS_PROVIDED,
-                "Number of synchronization events provided to other members.", "operations"),});
+                "Number of synchronization events provided to other members.", "operations"),
+            f.createLongCounter(WIRE_UNCOMPRESSED_BYTES_SENT,
+                "Total number of bytes in the batch message parts sent to receivers that were eligible for compression.",
+                "bytes"),
+            f.createLongCounter(WIRE_COMPRESSED_BYTES_SENT,
+                "Total number of bytes those message parts took up on the wire after compression.",
+                "bytes"),
+            f.createLongCounter(WIRE_COMPRESSION_TIME,
+                "Total time spent compressing message parts sent to receivers.", "nanoseconds"),
+            f.createLongCounter(WIRE_COMPRESSED_BYTES_RECEIVED,
+                "Total number of bytes in the compressed message parts received from receivers.",
+                "bytes"),
+            f.createLongCounter(WIRE_UNCOMPRESSED_BYTES_RECEIVED,
+                "Total number of bytes those message parts took up after decompression.",
+                "bytes"),
+            f.createLongCounter(WIRE_DECOMPRESSION_TIME,
+                "Total time spent decompressing message parts received from receivers.",
+                "nanoseconds"),
+            f.createIntGauge(ADAPTIVE_BATCH_SIZE,
+                "Batch size currently chosen by adaptive batching, summed over the dispatcher threads.",
+                "operations"),
+            f.createIntCounter(BATCH_SIZE_ADJUSTMENTS,
+                "Number of times adaptive batching changed the batch size.", "operations"),
+            f.createIntGauge(BATCHES_IN_FLIGHT,
+                "Number of batches sent to receivers and not yet acknowledged.", "operations"),
+            f.createIntGauge(BATCHES_IN_FLIGHT_LIMIT,
+                "Number of unacknowledged batches adaptive batching currently allows, summed over the dispatcher threads.",
+                "operations"),
+            f.createIntCounter(BATCHES_IN_FLIGHT_LIMIT_ADJUSTMENTS,
+                "Number of times adaptive batching changed the limit on unacknowledged batches.",
+                "operations"),
+            f.createLongCounter(BATCHES_IN_FLIGHT_WAIT_TIME,
+                "Total time dispatcher threads spent waiting for an unacknowledged batch to be acknowledged before sending another.",
+                "nanoseconds"),
+            f.createIntCounter(BATCHES_ACKNOWLEDGED,
+                "Number of batches whose acknowledgement was timed by adaptive batching.",
+                "operations"),
+            f.createLongCounter(BATCH_ACK_TIME,
+                "Total time between sending those batches and receiving their acknowledgements.",
+                "nanoseconds"),
+            f.createIntCounter(EVENTS_CONFLATED_IN_QUEUE,
+                "Number of queued events superseded by a newer event on the same key when it was enqueued.",
+                "operations"),
+            f.createIntCounter(EVENTS_REPLACED_IN_QUEUE,
+                "Number of queued events that were replaced in place by a newer event on the same key, keeping their position in the queue.",
+                "operations"),});
 
     // Initialize id fields
     eventsReceivedId = type.nameToId(EVENTS_RECEIVED);
@@ -256,6 +347,22 @@ public class GatewaySenderStats {
     loadBalanceTimeId = type.nameToId(LOAD_BALANCE_TIME);
     synchronizationEventsEnqueuedId = type.nameToId(SYNCHRONIZATION_EVENTS_ENQUEUED);
     synchronizationEventsProvidedId = type.nameToId(SYNCHRONIZATION_EVENTS_PROVIDED);
+    wireUncompressedBytesSentId = type.nameToId(WIRE_UNCOMPRESSED_BYTES_SENT);
+    wireCompressedBytesSentId = type.nameToId(WIRE_COMPRESSED_BYTES_SENT);
+    wireCompressionTimeId = type.nameToId(WIRE_COMPRESSION_TIME);
+    wireCompressedBytesReceivedId = type.nameToId(WIRE_COMPRESSED_BYTES_RECEIVED);
+    wireUncompressedBytesReceivedId = type.nameToId(WIRE_UNCOMPRESSED_BYTES_RECEIVED);
+    wireDecompressionTimeId = type.nameToId(WIRE_DECOMPRESSION_TIME);
+    adaptiveBatchSizeId = type.nameToId(ADAPTIVE_BATCH_SIZE);
+    batchSizeAdjustmentsId = type.nameToId(BATCH_SIZE_ADJUSTMENTS);
+    batchesInFlightId = type.nameToId(BATCHES_IN_FLIGHT);
+    batchesInFlightLimitId = type.nameToId(BATCHES_IN_FLIGHT_LIMIT);
+    batchesInFlightLimitAdjustmentsId = type.nameToId(BATCHES_IN_FLIGHT_LIMIT_ADJUSTMENTS);
+    batchesInFlightWaitTimeId = type.nameToId(BATCHES_IN_FLIGHT_WAIT_TIME);
+    batchesAcknowledgedId = type.nameToId(BATCHES_ACKNOWLEDGED);
+    batchAckTimeId = type.nameToId(BATCH_ACK_TIME);
+    eventsConflatedInQueueId = type.nameToId(EVENTS_CONFLATED_IN_QUEUE);
+    eventsReplacedInQueueId = type.nameToId(EVENTS_REPLACED_IN_QUEUE);
   }
 
   ////////////////////// Instance Fields //////////////////////
@@ -541,6 +648,34 @@ public class GatewaySenderStats {
     this.stats.incInt(eventsConflatedFromBatchesId, numEvents);
   }
 
+  /**
+   * Increments the "eventsConflatedInQueue" stat.
+   */
+  public void incEventsConflatedInQueue() {
+    this.stats.incInt(eventsConflatedInQueueId, 1);
+  }
+
+  /**
+   * Returns the current value of the "eventsConflatedInQueue" stat.
+   */
+  public int getEventsConflatedInQueue() {
+    return this.stats.getInt(eventsConflatedInQueueId);
+  }
+
+  /**
+   * Increments the "eventsReplacedInQueue" stat.
+   */
+  public void incEventsReplacedInQueue() {
+    this.stats.incInt(eventsReplacedInQueueId, 1);
+  }
+
+  /**
+   * Returns the current value of the "eventsReplacedInQueue" stat.
+   */
+  public int getEventsReplacedInQueue() {
+    return this.stats.getInt(eventsReplacedInQueueId);
+  }
+
 
   /**
    * Returns the current value of the "unprocessedTokensAddedByPrimary" stat.
@@ -775,6 +910,116 @@ public class GatewaySenderStats {
     this.stats.incInt(synchronizationEventsProvidedId, 1);
   }
 
+  /**
+   * Records the compression of message parts sent to a gateway receiver.
+   *
+   * @since Geode 1.4
+   */
+  public void incWireCompression(long uncompressedBytes, long compressedBytes, long nanos) {
+    this.stats.incLong(wireUncompressedBytesSentId, uncompressedBytes);
+    this.stats.incLong(wireCompressedBytesSentId, compressedBytes);
+    this.stats.incLong(wireCompressionTimeId, nanos);
+  }
+
+  /**
+   * Records the decompression of message parts received from a gateway receiver.
+   *
+   * @since Geode 1.4
+   */
+  public void incWireDecompression(long compressedBytes, long uncompressedBytes, long nanos) {
+    this.stats.incLong(wireCompressedBytesReceivedId, compressedBytes);
+    this.stats.incLong(wireUncompressedBytesReceivedId, uncompressedBytes);
+    this.stats.incLong(wireDecompressionTimeId, nanos);
+  }
+
+  /**
+   * Returns the ratio of the size of the compressible message parts sent to the size they took up
+   * on the wire, or 1 if nothing has been compressed.
+   *
+   * @since Geode 1.4
+   */
+  public double getWireCompressionRatio() {
+    long compressed = this.stats.getLong(wireCompressedBytesSentId);
+    return compressed == 0 ? 1.0
+        : (double) this.stats.getLong(wireUncompressedBytesSentId) / compressed;
+  }
+
+  /**
+   * Changes the batch size chosen by adaptive batching.
+   *
+   * @since Geode 1.4
+   */
+  public void incAdaptiveBatchSize(int delta) {
+    this.stats.incInt(adaptiveBatchSizeId, delta);
+  }
+
+  /**
+   * Increments the number of times adaptive batching changed the batch size.
+   *
+   * @since Geode 1.4
+   */
+  public void incBatchSizeAdjustments() {
+    this.stats.incInt(batchSizeAdjustmentsId, 1);
+  }
+
+  /**
+   * Changes the number of batches waiting to be acknowledged.
+   *
+   * @since Geode 1.4
+   */
+  public void incBatchesInFlight(int delta) {
+    this.stats.incInt(batchesInFlightId, delta);
+  }
+
+  /**
+   * Changes the number of unacknowledged batches adaptive batching allows.
+   *
+   * @since Geode 1.4
+   */
+  public void incBatchesInFlightLimit(int delta) {
+    this.stats.incInt(batchesInFlightLimitId, delta);
+  }
+
+  /**
+   * Increments the number of times adaptive batching changed the limit on unacknowledged batches.
+   *
+   * @since Geode 1.4
+   */
+  public void incBatchesInFlightLimitAdjustments() {
+    this.stats.incInt(batchesInFlightLimitAdjustmentsId, 1);
+  }
+
+  /**
+   * Increments the time spent waiting for room to send another batch.
+   *
+   * @since Geode 1.4
+   */
+  public void incBatchesInFlightWaitTime(long nanos) {
+    this.stats.incLong(batchesInFlightWaitTimeId, nanos);
+  }
+
+  /**
+   * Records the time between sending a batch and receiving its acknowledgement.
+   *
+   * @since Geode 1.4
+   */
+  public void endBatchAck(long nanos) {
+    this.stats.incInt(batchesAcknowledgedId, 1);
+    this.stats.incLong(batchAckTimeId, nanos);
+  }
+
+  public int getAdaptiveBatchSize() {
+    return this.stats.getInt(adaptiveBatchSizeId);
+  }
+
+  public int getBatchesInFlight() {
+    return this.stats.getInt(batchesInFlightId);
+  }
+
+  public int getBatchesInFlightLimit() {
+    return this.stats.getInt(batchesInFlightLimitId);
+  }
+
   public Statistics getStats() {
     return stats;
   }
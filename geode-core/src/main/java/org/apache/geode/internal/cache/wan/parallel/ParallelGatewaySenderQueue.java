@@ -46,8 +46,6 @@ import org.apache.geode.cache.CacheException;
 import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.EntryNotFoundException;
-import org.apache.geode.cache.EvictionAction;
-import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.PartitionAttributesFactory;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
@@ -78,6 +76,7 @@ import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.AsyncEventQueueConfigurationException;
 import org.apache.geode.internal.cache.wan.GatewaySenderConfigurationException;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.cache.wan.GatewaySenderQueueStorage;
 import org.apache.geode.internal.cache.wan.GatewaySenderException;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 import org.apache.geode.internal.i18n.LocalizedStrings;
@@ -340,11 +339,8 @@ public class ParallelGatewaySenderQueue implements RegionQueue {
           fact.setDiskSynchronous(false);
         }
 
-        // allow for no overflow directory
-        EvictionAttributes ea = EvictionAttributes.createLIFOMemoryAttributes(
-            sender.getMaximumQueueMemory(), EvictionAction.OVERFLOW_TO_DISK);
-
-        fact.setEvictionAttributes(ea);
+        GatewaySenderQueueStorage.forSender(sender).configure(fact,
+            sender.getMaximumQueueMemory());
         fact.setPartitionAttributes(pfact.create());
 
         final RegionAttributes ra = fact.create();
@@ -490,11 +486,8 @@ public class ParallelGatewaySenderQueue implements RegionQueue {
           fact.setDiskSynchronous(false);
         }
 
-        // allow for no overflow directory
-        EvictionAttributes ea = EvictionAttributes.createLIFOMemoryAttributes(
-            sender.getMaximumQueueMemory(), EvictionAction.OVERFLOW_TO_DISK);
-
-        fact.setEvictionAttributes(ea);
+        GatewaySenderQueueStorage.forSender(sender).configure(fact,
+            sender.getMaximumQueueMemory());
         fact.setPartitionAttributes(pfact.create());
 
         final RegionAttributes ra = fact.create();
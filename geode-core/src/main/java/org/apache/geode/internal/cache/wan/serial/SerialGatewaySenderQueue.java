@@ -38,8 +38,6 @@ import org.apache.geode.cache.CacheListener;
 import org.apache.geode.cache.CacheWriterException;
 import org.apache.geode.cache.DataPolicy;
 import org.apache.geode.cache.EntryNotFoundException;
-import org.apache.geode.cache.EvictionAction;
-import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.Operation;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.RegionAttributes;
@@ -65,6 +63,7 @@ import org.apache.geode.internal.cache.versions.RegionVersionVector;
 import org.apache.geode.internal.cache.versions.VersionSource;
 import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
 import org.apache.geode.internal.cache.wan.GatewaySenderEventImpl;
+import org.apache.geode.internal.cache.wan.GatewaySenderQueueStorage;
 import org.apache.geode.internal.cache.wan.GatewaySenderStats;
 import org.apache.geode.internal.i18n.LocalizedStrings;
 import org.apache.geode.internal.logging.LogService;
@@ -161,6 +160,21 @@ public class SerialGatewaySenderQueue implements RegionQueue {
   private static final boolean NO_ACK =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "gateway-queue-no-ack");
 
+  /**
+   * Whether a conflated event replaces the queued event on the same key in place, so the key keeps
+   * its position in the queue, instead of removing it and adding the new event to the tail. Off by
+   * default. Not final for tests.
+   *
+   * @since Geode 1.4
+   */
+  static boolean CONFLATE_IN_PLACE =
+      Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "GatewaySender.IN_PLACE_CONFLATION");
+
+  /**
+   * The key peekAhead is reading, which replaceOldEntry must leave alone. Guarded by this queue.
+   */
+  private long peekingKey = -1;
+
   private volatile long lastDispatchedKey = -1;
 
   private volatile long lastDestroyedKey = -1;
@@ -232,12 +246,57 @@ public class SerialGatewaySenderQueue implements RegionQueue {
         (r instanceof DistributedRegion && r.getName().equals(PeerTypeRegistration.REGION_NAME));
     final boolean isWbcl = this.regionName.startsWith(AsyncEventQueueImpl.ASYNC_EVENT_QUEUE_PREFIX);
     if (!(isPDXRegion && isWbcl)) {
-      putAndGetKey(event);
+      if (!replaceOldEntry(eventImpl)) {
+        putAndGetKey(event);
+      }
       return true;
     }
     return false;
   }
 
+  /**
+   * Replaces the queued event on the same region and key as {@code object} with {@code object},
+   * keeping its position in the queue, if that event has not been peeked yet. A key updated faster
+   * than the queue drains is then still dispatched when it reaches the head, rather than moving to
+   * the tail on every update, and the queue holds at most one event per key.
+   *
+   * @return whether the queued event was replaced, otherwise {@code object} still has to be added
+   */
+  private boolean replaceOldEntry(Conflatable object) throws CacheException {
+    if (!CONFLATE_IN_PLACE || !this.enableConflation || !object.shouldBeConflated()) {
+      return false;
+    }
+    Map<Object, Long> latestIndexesForRegion = this.indexes.get(object.getRegionToConflate());
+    if (latestIndexesForRegion == null) {
+      return false;
+    }
+    Long previousIndex = latestIndexesForRegion.get(object.getKeyToConflate());
+    if (previousIndex == null) {
+      return false;
+    }
+    // Events before the current key have been peeked and may be part of a batch in flight, so
+    // replacing them would lose the new event when that batch is acknowledged. The same goes for
+    // the event peekAhead is reading.
+    Long currentKey = getCurrentKey();
+    if (currentKey == null || before(previousIndex, currentKey)
+        || previousIndex.longValue() == this.peekingKey
+        || !this.region.containsKey(previousIndex)) {
+      return false;
+    }
+    // the queue region does not release an overwritten event, so release it here. An event that
+    // has overflowed to disk holds no off-heap value.
+    Object previous = ((LocalRegion) this.region).getValueInVM(previousIndex);
+    this.region.put(previousIndex, (AsyncEvent) object);
+    GatewaySenderEventImpl.release(previous);
+    this.stats.incEventsConflatedInQueue();
+    this.stats.incEventsReplacedInQueue();
+    if (logger.isDebugEnabled()) {
+      logger.debug("{}: Replaced event at key={} with {} head={} tail={}", this, previousIndex,
+          object, this.headKey, this.tailKey);
+    }
+    return true;
+  }
+
   private long putAndGetKey(Object object) throws CacheException {
     // Get the tail key
     Long key = Long.valueOf(getTailKey());
@@ -580,6 +639,7 @@ public class SerialGatewaySenderQueue implements RegionQueue {
       if (!keepOldEntry) {
         Conflatable previous = (Conflatable) this.region.remove(previousIndex);
         this.stats.decQueueSize(1);
+        this.stats.incEventsConflatedInQueue();
         if (isDebugEnabled) {
           logger.debug("{}: Previous conflatable at key={} head={} tail={}: {}", this,
               previousIndex, this.headKey, tailKey, previous);
@@ -702,7 +762,13 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     return currentKey;
   }
 
-  private AsyncEvent getObjectInSerialSenderQueue(Long currentKey) {
+  private AsyncEvent getObjectInSerialSenderQueue(Long currentKey, boolean guardPeekedKey) {
+    if (guardPeekedKey) {
+      // an event replaced before this is read in its place, and none is replaced after
+      synchronized (this) {
+        this.peekingKey = currentKey;
+      }
+    }
     AsyncEvent object = optimalGet(currentKey);
     if ((null != object) && logger.isDebugEnabled()) {
       logger.debug("{}: Peeked {}->{}", this, currentKey, object);
@@ -720,6 +786,9 @@ public class SerialGatewaySenderQueue implements RegionQueue {
   }
 
   private AsyncEvent peekAhead() throws CacheException {
+    // keep replaceOldEntry from replacing the event being peeked, without holding the lock on this
+    // queue while the event is read, possibly from disk
+    final boolean guardPeekedKey = CONFLATE_IN_PLACE && this.enableConflation;
     AsyncEvent object = null;
     Long currentKey = getCurrentKey();
     if (currentKey == null) {
@@ -741,7 +810,7 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     // does not save anything since GatewayBatchOp needs to GatewayEventImpl
     // in object form.
     while (before(currentKey, getTailKey())
-        && (null == (object = getObjectInSerialSenderQueue(currentKey)))) {
+        && (null == (object = getObjectInSerialSenderQueue(currentKey, guardPeekedKey)))) {
       if (logger.isTraceEnabled()) {
         logger.trace("{}: Trying head key + offset: {}", this, currentKey);
       }
@@ -754,7 +823,14 @@ public class SerialGatewaySenderQueue implements RegionQueue {
     if (logger.isDebugEnabled()) {
       logger.debug("{}: Peeked {}->{}", this, currentKey, object);
     }
-    if (object != null) {
+    if (guardPeekedKey) {
+      synchronized (this) {
+        if (object != null) {
+          this.peekedIds.add(currentKey);
+        }
+        this.peekingKey = -1;
+      }
+    } else if (object != null) {
       this.peekedIds.add(currentKey);
     }
     return object;
@@ -935,11 +1011,7 @@ public class SerialGatewaySenderQueue implements RegionQueue {
       if (listener != null) {
         factory.addCacheListener(listener);
       }
-      // allow for no overflow directory
-      EvictionAttributes ea = EvictionAttributes.createLIFOMemoryAttributes(this.maximumQueueMemory,
-          EvictionAction.OVERFLOW_TO_DISK);
-
-      factory.setEvictionAttributes(ea);
+      GatewaySenderQueueStorage.forSender(sender).configure(factory, this.maximumQueueMemory);
       factory.setConcurrencyChecksEnabled(false);
 
       factory.setDiskStoreName(this.diskStoreName);
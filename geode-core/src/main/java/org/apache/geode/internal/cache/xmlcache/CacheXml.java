@@ -663,6 +663,13 @@ public abstract class CacheXml implements EntityResolver2, ErrorHandler {
   /** Eviction Controller maximum allowed value for the enclosing Eviction Controller */
   protected static final String MAXIMUM = "maximum";
 
+  /**
+   * The name of the <code>sampled</code> attribute of the LRU eviction elements
+   *
+   * @since Geode 1.4
+   */
+  protected static final String SAMPLED = "sampled";
+
   /** The name of the <code>directory</code> attribute */
   protected static final String DIRECTORY = "directory";
   /** The name of the <code>max-disk-usage</code> attribute */
@@ -68,7 +68,6 @@ import org.apache.geode.cache.DiskStoreFactory;
 import org.apache.geode.cache.DiskWriteAttributes;
 import org.apache.geode.cache.DynamicRegionFactory;
 import org.apache.geode.cache.EvictionAction;
-import org.apache.geode.cache.EvictionAlgorithm;
 import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.ExpirationAction;
 import org.apache.geode.cache.ExpirationAttributes;
@@ -108,6 +107,7 @@ import org.apache.geode.cache.wan.GatewayEventSubstitutionFilter;
 import org.apache.geode.cache.wan.GatewayReceiver;
 import org.apache.geode.cache.wan.GatewaySender;
 import org.apache.geode.cache.wan.GatewayTransportFilter;
+import org.apache.geode.compression.DictionaryCompressor;
 import org.apache.geode.distributed.Role;
 import org.apache.geode.internal.Assert;
 import org.apache.geode.internal.cache.AbstractRegion;
@@ -2204,6 +2204,8 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
       props = ((Declarable2) callback).getConfig();
     } else if (callback instanceof ReflectionBasedAutoSerializer) {
       props = ((ReflectionBasedAutoSerializer) callback).getConfig();
+    } else if (callback instanceof DictionaryCompressor) {
+      props = ((DictionaryCompressor) callback).getConfig();
     } else if (callback instanceof Declarable && cache instanceof GemFireCacheImpl) {
       props = ((InternalCache) cache).getDeclarableProperties((Declarable) callback);
     }
@@ -2237,13 +2239,21 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
 
     AttributesImpl atts = new AttributesImpl();
     atts.addAttribute("", "", ACTION, "", eAction.toString());
+    if (ea.getAlgorithm().isSampled()) {
+      // older versions would read the region back with the clock algorithm, which peers reject
+      if (this.version.compareTo(CacheXmlVersion.GEODE_1_0) < 0) {
+        throw new IllegalStateException("Eviction algorithm " + ea.getAlgorithm()
+            + " cannot be expressed in cache XML version " + this.version.getVersion());
+      }
+      atts.addAttribute("", "", SAMPLED, "", "true");
+    }
 
     handler.startElement("", EVICTION_ATTRIBUTES, EVICTION_ATTRIBUTES, EMPTY);
-    if (ea.getAlgorithm() == EvictionAlgorithm.LRU_ENTRY) {
+    if (ea.getAlgorithm().isLRUEntry()) {
       atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
       handler.startElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT, atts);
       handler.endElement("", LRU_ENTRY_COUNT, LRU_ENTRY_COUNT);
-    } else if (ea.getAlgorithm() == EvictionAlgorithm.LRU_MEMORY) {
+    } else if (ea.getAlgorithm().isLRUMemory()) {
       atts.addAttribute("", "", MAXIMUM, "", String.valueOf(ea.getMaximum()));
       handler.startElement("", LRU_MEMORY_SIZE, LRU_MEMORY_SIZE, atts);
       ObjectSizer os = ea.getObjectSizer();
@@ -2251,7 +2261,7 @@ public class CacheXmlGenerator extends CacheXml implements XMLReader {
         generate((Declarable) os, false);
       }
       handler.endElement("", LRU_MEMORY_SIZE, LRU_MEMORY_SIZE);
-    } else if (ea.getAlgorithm() == EvictionAlgorithm.LRU_HEAP) {
+    } else if (ea.getAlgorithm().isLRUHeap()) {
       handler.startElement("", LRU_HEAP_PERCENTAGE, LRU_HEAP_PERCENTAGE, atts);
       if (this.version.compareTo(CacheXmlVersion.GEMFIRE_6_0) >= 0) {
         ObjectSizer os = ea.getObjectSizer();
@@ -1966,10 +1966,16 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
   }
 
   /**
-   * Ending the <code>compressor</code> registration should leave us with a class name on the stack.
-   * Pull it off and setup the {@link Compressor} on the region attributes.
+   * Ending the <code>compressor</code> registration should leave us with a class name and any
+   * parameters on the stack. Pull them off and setup the {@link Compressor} on the region
+   * attributes, initializing it with the parameters if it is {@link Declarable}.
    */
   private void endCompressor() {
+    Properties props = new Properties();
+    while (stack.peek() instanceof Parameter) {
+      Parameter param = (Parameter) stack.pop();
+      props.put(param.getName(), param.getValue());
+    }
     Class<?> klass = getClassFromStack();
     if (!Compressor.class.isAssignableFrom(klass)) {
       throw new CacheXmlException(
@@ -1984,6 +1990,14 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       throw new CacheXmlException(LocalizedStrings.CacheXmlParser_WHILE_INSTANTIATING_A_0
           .toLocalizedString(klass.getName()), ex);
     }
+    if (compressor instanceof Declarable) {
+      ((Declarable) compressor).init(props);
+      cache.addDeclarableProperties((Declarable) compressor, props);
+    } else if (!props.isEmpty()) {
+      throw new CacheXmlException(
+          LocalizedStrings.CacheXmlParser_CLASS_0_IS_NOT_AN_INSTANCE_OF_DECLARABLE
+              .toLocalizedString(klass.getName()));
+    }
 
     Object a = stack.peek();
 
@@ -2120,7 +2134,21 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       action = EvictionAction.parseAction(lruAction);
     }
     RegionAttributesCreation regAttrs = peekRegionAttributesContext(LRU_ENTRY_COUNT);
-    regAttrs.setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(max, action));
+    if (isSampled(atts)) {
+      regAttrs
+          .setEvictionAttributes(EvictionAttributes.createSampledLRUEntryAttributes(max, action));
+    } else {
+      regAttrs.setEvictionAttributes(EvictionAttributes.createLRUEntryAttributes(max, action));
+    }
+  }
+
+  /**
+   * Returns whether the <code>sampled</code> attribute of an LRU eviction element is true.
+   *
+   * @since Geode 1.4
+   */
+  private boolean isSampled(Attributes atts) {
+    return Boolean.valueOf(atts.getValue(SAMPLED));
   }
 
   /**
@@ -2142,7 +2170,11 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       max = parseInt(maximum);
     }
     // Store for later addition of ObjectSizer, if any (the cast is for clarity sake)
-    stack.push(EvictionAttributes.createLRUMemoryAttributes(max, null, action));
+    if (isSampled(atts)) {
+      stack.push(EvictionAttributes.createSampledLRUMemoryAttributes(max, null, action));
+    } else {
+      stack.push(EvictionAttributes.createLRUMemoryAttributes(max, null, action));
+    }
   }
 
   /**
@@ -2182,7 +2214,11 @@ public class CacheXmlParser extends CacheXml implements ContentHandler {
       action = EvictionAction.parseAction(lruAction);
     }
     // Store for later addition of ObjectSizer, if any
-    stack.push(EvictionAttributes.createLRUHeapAttributes(null, action));
+    if (isSampled(atts)) {
+      stack.push(EvictionAttributes.createSampledLRUHeapAttributes(null, action));
+    } else {
+      stack.push(EvictionAttributes.createLRUHeapAttributes(null, action));
+    }
   }
 
   /**
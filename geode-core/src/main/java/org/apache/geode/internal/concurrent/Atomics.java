@@ -21,8 +21,12 @@ import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.internal.statistics.LocalStatisticsImpl;
 import org.apache.geode.internal.statistics.StatisticsManager;
 import org.apache.geode.internal.statistics.StatisticsTypeImpl;
+import org.apache.geode.internal.statistics.StripedStatisticsImpl;
 import org.apache.geode.internal.stats50.Atomic50StatisticsImpl;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class Atomics {
@@ -35,11 +39,39 @@ public class Atomics {
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "STRIPED_STATS_DISABLED")
           || "IBM Corporation".equals(System.getProperty("java.vm.vendor", "unknown"));
 
+  /**
+   * The names of the statistics types whose atomic statistics are backed by
+   * {@link StripedStatisticsImpl}, separated by commas, or "*" for all types.
+   *
+   * @since Geode 1.4
+   */
+  private static final String STRIPED_STATS_TYPES_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "STRIPED_STATS_TYPES";
+
+  private static final Set<String> STRIPED_STATS_TYPES =
+      parseTypeNames(System.getProperty(STRIPED_STATS_TYPES_PROPERTY, ""));
+
+  private static Set<String> parseTypeNames(String value) {
+    Set<String> result = new HashSet<String>();
+    for (String name : value.split(",")) {
+      name = name.trim();
+      if (!name.isEmpty()) {
+        result.add(name);
+      }
+    }
+    return Collections.unmodifiableSet(result);
+  }
+
+  private static boolean isStriped(StatisticsType type) {
+    return STRIPED_STATS_TYPES.contains("*") || STRIPED_STATS_TYPES.contains(type.getName());
+  }
 
   public static Statistics createAtomicStatistics(StatisticsType type, String textId, long nId,
       long uId, StatisticsManager mgr) {
     Statistics result = null;
-    if (((StatisticsTypeImpl) type).getDoubleStatCount() == 0 && !STRIPED_STATS_DISABLED) {
+    if (isStriped(type)) {
+      result = new StripedStatisticsImpl(type, textId, nId, uId, mgr);
+    } else if (((StatisticsTypeImpl) type).getDoubleStatCount() == 0 && !STRIPED_STATS_DISABLED) {
       result = new Atomic50StatisticsImpl(type, textId, nId, uId, mgr);
     } else {
       result = new LocalStatisticsImpl(type, textId, nId, uId, true, 0, mgr);
@@ -68,6 +68,13 @@ public abstract class HostStatSampler
 
   private static final int MIN_MS_SLEEP = 1;
 
+  /**
+   * With sub-second sampling, VM and operating system statistics, which take system calls to
+   * collect, are still refreshed at most this often.
+   */
+  private static final long HOST_STATS_REFRESH_NANOS =
+      NanoTimer.millisToNanos(DistributionConfig.DEFAULT_STATISTIC_SAMPLE_RATE);
+
   private static final int WAIT_FOR_SLEEP_INTERVAL = 10;
 
   private static Thread statThread = null;
@@ -92,6 +99,12 @@ public abstract class HostStatSampler
 
   private final NanoTimer timer;
 
+  /**
+   * The time of the last refresh of VM and operating system statistics, accessed only by the
+   * sampler thread.
+   */
+  private long nanosLastHostStatsRefresh;
+
   protected HostStatSampler(CancelCriterion stopper, StatSamplerStats samplerStats) {
     this(stopper, samplerStats, new NanoTimer());
   }
@@ -545,12 +558,30 @@ public abstract class HostStatSampler
       }
     }
 
-    if (!prepareOnly && this.vmStats != null) {
+    boolean refreshHostStats = !prepareOnly && isHostStatsRefreshDue();
+    if (refreshHostStats && this.vmStats != null) {
       if (stopRequested())
         return;
       this.vmStats.refresh();
     }
-    sampleProcessStats(prepareOnly);
+    sampleProcessStats(!refreshHostStats);
+  }
+
+  /**
+   * Return true if VM and operating system statistics should be refreshed with this sample. They
+   * are refreshed with every sample, unless samples are taken more than once per second.
+   */
+  private boolean isHostStatsRefreshDue() {
+    if (getNanoRate() >= HOST_STATS_REFRESH_NANOS) {
+      return true;
+    }
+    long now = timer.getLastResetTime();
+    if (nanosLastHostStatsRefresh != 0
+        && now - nanosLastHostStatsRefresh < HOST_STATS_REFRESH_NANOS) {
+      return false;
+    }
+    nanosLastHostStatsRefresh = now;
+    return true;
   }
 
   /**
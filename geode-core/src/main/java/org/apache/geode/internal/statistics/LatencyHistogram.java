@@ -0,0 +1,240 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.internal.concurrent.Atomics;
+
+/**
+ * A histogram of operation latencies that any number of threads can record into without locking.
+ * <p>
+ * Each power of two is split into 32 buckets, so a percentile read back from the histogram is
+ * never more than about 3% above the latency that was recorded. Latencies of 2^40 nanoseconds
+ * (about 18 minutes) or more all land in the last bucket. The counts take a fixed 9 KB no matter
+ * how many values are recorded. Interval snapshots need two more arrays of the same size, which are
+ * allocated by the first one and then reused, so a published histogram takes about 27 KB and
+ * sampling it allocates no arrays.
+ * <p>
+ * The percentiles of the latencies recorded during each sample interval can be published as gauges
+ * of a {@link Statistics} instance, which puts them in the statistic archive and makes them
+ * available to the management beans. See {@link #withLatencyDescriptors} and {@link #publishTo}.
+ *
+ * @since Geode 1.4
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+  private static final int MAX_VALUE_BITS = 40;
+
+  static final int BUCKET_COUNT = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+  /** The suffixes of the gauges created by {@link #withLatencyDescriptors} */
+  public static final String P50_SUFFIX = "LatencyP50";
+  public static final String P99_SUFFIX = "LatencyP99";
+  public static final String P999_SUFFIX = "LatencyP999";
+  public static final String MAX_SUFFIX = "LatencyMax";
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+  /** The largest value recorded since the last interval snapshot */
+  private final AtomicLong intervalMax = new AtomicLong();
+
+  /** The counts as of the last interval snapshot, guarded by this */
+  private long[] intervalStartCounts;
+
+  /** The counts of the last interval snapshot, guarded by this */
+  private long[] intervalCounts;
+
+  /**
+   * Record one operation that took {@code nanos} nanoseconds.
+   */
+  public void recordValue(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    // update the max first so that an interval snapshot that sees the count also sees the max
+    Atomics.setIfGreater(this.intervalMax, nanos);
+    this.counts.incrementAndGet(bucketIndex(nanos));
+  }
+
+  /**
+   * Return the values recorded since this histogram was created. The maximum of the returned
+   * snapshot is the upper bound of the highest bucket in use.
+   */
+  public Snapshot getSnapshot() {
+    long[] current = readCounts();
+    long max = 0;
+    for (int i = current.length - 1; i >= 0; i--) {
+      if (current[i] != 0) {
+        max = bucketUpperBound(i);
+        break;
+      }
+    }
+    return new Snapshot(current, max);
+  }
+
+  /**
+   * Return the values recorded since the previous call to this method, and start a new interval.
+   * The returned snapshot reuses the counts of the previous one, so it must not be read after the
+   * next call.
+   */
+  public synchronized Snapshot getIntervalSnapshot() {
+    if (this.intervalCounts == null) {
+      this.intervalStartCounts = new long[BUCKET_COUNT];
+      this.intervalCounts = new long[BUCKET_COUNT];
+    }
+    long max = this.intervalMax.getAndSet(0);
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      long current = this.counts.get(i);
+      this.intervalCounts[i] = current - this.intervalStartCounts[i];
+      this.intervalStartCounts[i] = current;
+    }
+    return new Snapshot(this.intervalCounts, max);
+  }
+
+  private long[] readCounts() {
+    long[] result = new long[BUCKET_COUNT];
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      result[i] = this.counts.get(i);
+    }
+    return result;
+  }
+
+  /**
+   * Publish the percentiles of the values recorded during each sample interval to the gauges
+   * {@link #withLatencyDescriptors} created for {@code operation} in {@code stats}. The gauges are
+   * updated by a supplier, so they are only refreshed while statistic sampling is enabled.
+   */
+  public void publishTo(final Statistics stats, String operation) {
+    final int p50Id = stats.nameToId(operation + P50_SUFFIX);
+    final int p99Id = stats.nameToId(operation + P99_SUFFIX);
+    final int p999Id = stats.nameToId(operation + P999_SUFFIX);
+    stats.setLongSupplier(operation + MAX_SUFFIX, () -> {
+      Snapshot snapshot = getIntervalSnapshot();
+      stats.setLong(p50Id, snapshot.getValueAtPercentile(50.0));
+      stats.setLong(p99Id, snapshot.getValueAtPercentile(99.0));
+      stats.setLong(p999Id, snapshot.getValueAtPercentile(99.9));
+      return snapshot.getMax();
+    });
+  }
+
+  /**
+   * Return {@code descriptors} followed by the latency gauges of each of {@code operations}, in
+   * nanoseconds: the 50th, 99th and 99.9th percentile and the maximum of the latencies recorded
+   * during the last sample interval.
+   */
+  public static StatisticDescriptor[] withLatencyDescriptors(StatisticsTypeFactory f,
+      StatisticDescriptor[] descriptors, String... operations) {
+    StatisticDescriptor[] result =
+        Arrays.copyOf(descriptors, descriptors.length + operations.length * 4);
+    int i = descriptors.length;
+    for (String operation : operations) {
+      result[i++] = f.createLongGauge(operation + P50_SUFFIX,
+          "Median latency of " + operation + " operations during the last sample interval.",
+          "nanoseconds");
+      result[i++] = f.createLongGauge(operation + P99_SUFFIX, "99th percentile latency of "
+          + operation + " operations during the last sample interval.", "nanoseconds");
+      result[i++] = f.createLongGauge(operation + P999_SUFFIX, "99.9th percentile latency of "
+          + operation + " operations during the last sample interval.", "nanoseconds");
+      result[i++] = f.createLongGauge(operation + MAX_SUFFIX,
+          "Maximum latency of " + operation + " operations during the last sample interval.",
+          "nanoseconds");
+    }
+    return result;
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent >= MAX_VALUE_BITS) {
+      return BUCKET_COUNT - 1;
+    }
+    int shift = exponent - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKET_COUNT + (int) (value >>> shift) - SUB_BUCKET_COUNT;
+  }
+
+  /**
+   * Return the largest value that is counted in the bucket at {@code index}.
+   */
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    long lowerBound = (long) (index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT) << shift;
+    return lowerBound + (1L << shift) - 1;
+  }
+
+  /**
+   * The counts of a {@link LatencyHistogram} at one point in time.
+   */
+  public static class Snapshot {
+
+    private final long[] counts;
+
+    private final long totalCount;
+
+    private final long max;
+
+    Snapshot(long[] counts, long max) {
+      this.counts = counts;
+      long total = 0;
+      for (long count : counts) {
+        total += count;
+      }
+      this.totalCount = total;
+      this.max = max;
+    }
+
+    public long getCount() {
+      return this.totalCount;
+    }
+
+    public long getMax() {
+      return this.max;
+    }
+
+    /**
+     * Return the value that {@code percentile} percent of the recorded values are less than or
+     * equal to, or zero if no values were recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+      if (this.totalCount == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * this.totalCount));
+      long seen = 0;
+      for (int i = 0; i < this.counts.length; i++) {
+        seen += this.counts[i];
+        if (seen >= rank) {
+          // the max is exact, so prefer it when it falls in the same bucket
+          return bucketIndex(this.max) == i ? this.max : bucketUpperBound(i);
+        }
+      }
+      return this.max;
+    }
+  }
+}
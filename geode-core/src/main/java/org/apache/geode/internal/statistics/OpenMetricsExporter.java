@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.logging.log4j.Logger;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.HandlerCollection;
+
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.internal.logging.LogService;
+import org.apache.geode.internal.net.SSLConfigurationFactory;
+import org.apache.geode.internal.security.SecurableCommunicationChannel;
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.management.internal.JettyHelper;
+import org.apache.geode.management.internal.security.ResourceConstants;
+import org.apache.geode.management.internal.security.ResourcePermissions;
+import org.apache.geode.security.GemFireSecurityException;
+import org.apache.geode.security.NotAuthorizedException;
+
+/**
+ * Serves the statistics of a member in the OpenMetrics text format at {@code /metrics}, so that
+ * Prometheus and compatible collectors can scrape them without going through JMX or the statistic
+ * archive.
+ * <p>
+ * The exporter is started with the distributed system when {@link #PORT_PROPERTY} is set to a
+ * positive port. It listens on the http-service-bind-address and uses the SSL settings of the web
+ * component.
+ * <p>
+ * With a security manager, each request must authenticate, with HTTP basic authentication or the
+ * security-username and security-password headers of the management REST API, as a user that is
+ * authorized for CLUSTER:READ. The exporter does not start with the older authenticator based
+ * security, which cannot authenticate HTTP requests.
+ *
+ * @see OpenMetricsWriter
+ *
+ * @since Geode 1.4
+ */
+public class OpenMetricsExporter {
+
+  private static final Logger logger = LogService.getLogger();
+
+  public static final String PORT_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "stats.openMetricsPort";
+
+  public static final String PATH = "/metrics";
+
+  private final OpenMetricsWriter writer;
+
+  private final SecurityService securityService;
+
+  private Server server;
+
+  public OpenMetricsExporter(StatisticsManager manager, SecurityService securityService) {
+    this.writer = new OpenMetricsWriter(manager);
+    this.securityService = securityService;
+  }
+
+  /**
+   * Return the configured port of the exporter, or zero if it is disabled.
+   */
+  public static int getConfiguredPort() {
+    return Integer.getInteger(PORT_PROPERTY, 0);
+  }
+
+  /**
+   * Start serving on {@code port}. A failure to start is logged rather than thrown, because the
+   * member is useful without its metrics endpoint.
+   */
+  public synchronized void start(String bindAddress, int port) {
+    if (!this.securityService.isIntegratedSecurity()
+        && (this.securityService.isClientSecurityRequired()
+            || this.securityService.isPeerSecurityRequired())) {
+      logger.warn(
+          "Not starting the OpenMetrics statistics exporter on port {} because it requires a security manager to authenticate requests when security is enabled",
+          port);
+      return;
+    }
+    try {
+      this.server = JettyHelper.initJetty(bindAddress, port,
+          SSLConfigurationFactory.getSSLConfigForComponent(SecurableCommunicationChannel.WEB));
+      ((HandlerCollection) this.server.getHandler()).addHandler(new MetricsHandler());
+      JettyHelper.startJetty(this.server);
+      logger.info("Serving statistics in OpenMetrics format on port {} at {}", port, PATH);
+    } catch (Exception e) {
+      logger.warn("Unable to start the OpenMetrics statistics exporter on port {}", port, e);
+      stop();
+    }
+  }
+
+  public synchronized void stop() {
+    if (this.server == null) {
+      return;
+    }
+    try {
+      this.server.stop();
+    } catch (Exception e) {
+      logger.warn("Failed to stop the OpenMetrics statistics exporter because: {}",
+          e.getMessage(), e);
+    } finally {
+      this.server.destroy();
+      this.server = null;
+    }
+  }
+
+  private class MetricsHandler extends AbstractHandler {
+    @Override
+    public void handle(String target, Request baseRequest, HttpServletRequest request,
+        HttpServletResponse response) throws IOException {
+      if (!PATH.equals(target)) {
+        return;
+      }
+      baseRequest.setHandled(true);
+      if (!"GET".equals(request.getMethod())) {
+        response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+        return;
+      }
+      int status = authorize(request);
+      if (status != HttpServletResponse.SC_OK) {
+        if (status == HttpServletResponse.SC_UNAUTHORIZED) {
+          response.setHeader("WWW-Authenticate", "Basic realm=\"" + PATH + "\"");
+        }
+        response.sendError(status);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_OK);
+      response.setContentType(OpenMetricsWriter.CONTENT_TYPE);
+      writer.write(response.getOutputStream());
+    }
+  }
+
+  /**
+   * Authenticates the user of {@code request} and checks that it may read the statistics.
+   *
+   * @return the HTTP status of the request, {@link HttpServletResponse#SC_OK} if it may go on
+   */
+  int authorize(HttpServletRequest request) {
+    if (!this.securityService.isIntegratedSecurity()) {
+      return HttpServletResponse.SC_OK;
+    }
+    Properties credentials = getCredentials(request);
+    if (credentials == null) {
+      return HttpServletResponse.SC_UNAUTHORIZED;
+    }
+    try {
+      this.securityService.login(credentials);
+      try {
+        this.securityService.authorize(ResourcePermissions.CLUSTER_READ);
+      } finally {
+        this.securityService.logout();
+      }
+      return HttpServletResponse.SC_OK;
+    } catch (NotAuthorizedException e) {
+      return HttpServletResponse.SC_FORBIDDEN;
+    } catch (GemFireSecurityException e) {
+      return HttpServletResponse.SC_UNAUTHORIZED;
+    }
+  }
+
+  /**
+   * Returns the credentials of {@code request} from its basic authorization header, or else from
+   * the security headers of the management REST API, or null if it has neither.
+   */
+  static Properties getCredentials(HttpServletRequest request) {
+    String username = request.getHeader(ResourceConstants.USER_NAME);
+    String password = request.getHeader(ResourceConstants.PASSWORD);
+    String authorization = request.getHeader("Authorization");
+    if (authorization != null && authorization.regionMatches(true, 0, "Basic ", 0, 6)) {
+      String decoded;
+      try {
+        decoded = new String(Base64.getDecoder().decode(authorization.substring(6).trim()),
+            StandardCharsets.UTF_8);
+      } catch (IllegalArgumentException e) {
+        return null;
+      }
+      int colon = decoded.indexOf(':');
+      if (colon < 0) {
+        return null;
+      }
+      username = decoded.substring(0, colon);
+      password = decoded.substring(colon + 1);
+    }
+    if (username == null) {
+      return null;
+    }
+    Properties credentials = new Properties();
+    credentials.setProperty(ResourceConstants.USER_NAME, username);
+    if (password != null) {
+      credentials.setProperty(ResourceConstants.PASSWORD, password);
+    }
+    return credentials;
+  }
+}
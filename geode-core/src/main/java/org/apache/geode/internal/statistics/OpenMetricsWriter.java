@@ -0,0 +1,274 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsType;
+
+/**
+ * Writes every statistic of a {@link StatisticsManager} in the OpenMetrics text format.
+ * <p>
+ * Each statistic of a type is a metric family named {@code geode_<type>_<statistic>}. It has one
+ * sample for each instance of the type, labeled with the text and numeric ids of the instance.
+ * Counters are written as OpenMetrics counters and everything else as gauges.
+ * <p>
+ * Scrapes are meant to be cheap enough to run every few seconds with thousands of instances. The
+ * metadata lines of each type and the labels of each instance are encoded once and reused. The
+ * instances are only regrouped when statistics are created or destroyed. Values are read with the
+ * typed getters and encoded straight into a buffer that is reused across scrapes, so a scrape only
+ * allocates when it formats a double statistic.
+ *
+ * @since Geode 1.4
+ */
+public class OpenMetricsWriter {
+
+  public static final String CONTENT_TYPE =
+      "application/openmetrics-text; version=1.0.0; charset=utf-8";
+
+  private static final String PREFIX = "geode_";
+
+  private static final byte[] EOF = bytes("# EOF\n");
+
+  private final StatisticsManager manager;
+
+  /** The encoded metadata of each type seen so far. Types are never removed from a manager. */
+  private final Map<StatisticsType, TypeMetadata> types = new IdentityHashMap<>();
+
+  /** The instances to write, grouped by type, as of {@link #groupsModCount} */
+  private List<TypeGroup> groups = new ArrayList<>();
+
+  private int groupsModCount = -1;
+
+  private byte[] buffer = new byte[64 * 1024];
+
+  private int count;
+
+  public OpenMetricsWriter(StatisticsManager manager) {
+    this.manager = manager;
+  }
+
+  /**
+   * Write the current value of every statistic to {@code out}.
+   */
+  public synchronized void write(OutputStream out) throws IOException {
+    int modCount = this.manager.getStatListModCount();
+    if (modCount != this.groupsModCount) {
+      this.groups = groupByType(this.manager.getStatsList());
+      this.groupsModCount = modCount;
+    }
+    this.count = 0;
+    for (TypeGroup group : this.groups) {
+      writeGroup(group);
+    }
+    append(EOF);
+    out.write(this.buffer, 0, this.count);
+  }
+
+  private List<TypeGroup> groupByType(List<Statistics> statsList) {
+    Map<StatisticsType, TypeGroup> result = new LinkedHashMap<>();
+    for (Statistics stats : statsList) {
+      StatisticsType type = stats.getType();
+      TypeGroup group = result.get(type);
+      if (group == null) {
+        TypeMetadata metadata = this.types.get(type);
+        if (metadata == null) {
+          metadata = new TypeMetadata(type);
+          this.types.put(type, metadata);
+        }
+        group = new TypeGroup(metadata);
+        result.put(type, group);
+      }
+      group.instances.add(stats);
+      group.labels.add(labels(stats));
+    }
+    return new ArrayList<>(result.values());
+  }
+
+  private void writeGroup(TypeGroup group) {
+    TypeMetadata metadata = group.metadata;
+    int instances = group.instances.size();
+    for (int i = 0; i < metadata.ids.length; i++) {
+      append(metadata.headers[i]);
+      int id = metadata.ids[i];
+      for (int j = 0; j < instances; j++) {
+        Statistics stats = group.instances.get(j);
+        if (stats.isClosed()) {
+          continue;
+        }
+        append(metadata.sampleNames[i]);
+        append(group.labels.get(j));
+        switch (metadata.kinds[i]) {
+          case TypeMetadata.INT:
+            appendLong(stats.getInt(id));
+            break;
+          case TypeMetadata.LONG:
+            appendLong(stats.getLong(id));
+            break;
+          default:
+            append(bytes(Double.toString(stats.getDouble(id))));
+            break;
+        }
+        appendByte('\n');
+      }
+    }
+  }
+
+  private void append(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, this.buffer, this.count, bytes.length);
+    this.count += bytes.length;
+  }
+
+  private void appendByte(char c) {
+    ensureCapacity(1);
+    this.buffer[this.count++] = (byte) c;
+  }
+
+  private void appendLong(long value) {
+    ensureCapacity(20);
+    if (value == Long.MIN_VALUE) {
+      append(bytes(Long.toString(value)));
+      return;
+    }
+    if (value < 0) {
+      this.buffer[this.count++] = '-';
+      value = -value;
+    }
+    int start = this.count;
+    do {
+      this.buffer[this.count++] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value != 0);
+    // the digits were written least significant first
+    for (int i = start, j = this.count - 1; i < j; i++, j--) {
+      byte digit = this.buffer[i];
+      this.buffer[i] = this.buffer[j];
+      this.buffer[j] = digit;
+    }
+  }
+
+  private void ensureCapacity(int length) {
+    if (this.count + length > this.buffer.length) {
+      byte[] newBuffer = new byte[Math.max(this.buffer.length * 2, this.count + length)];
+      System.arraycopy(this.buffer, 0, newBuffer, 0, this.count);
+      this.buffer = newBuffer;
+    }
+  }
+
+  private static byte[] labels(Statistics stats) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("{name=\"");
+    escape(sb, stats.getTextId(), true);
+    sb.append("\",id=\"").append(stats.getNumericId()).append("\"} ");
+    return bytes(sb.toString());
+  }
+
+  static String metricName(String typeName, String statName) {
+    StringBuilder sb = new StringBuilder(PREFIX);
+    sanitize(sb, typeName);
+    sb.append('_');
+    sanitize(sb, statName);
+    return sb.toString();
+  }
+
+  private static void sanitize(StringBuilder sb, String name) {
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+          || c == '_' || c == ':';
+      sb.append(valid ? c : '_');
+    }
+  }
+
+  private static void escape(StringBuilder sb, String value, boolean quoted) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\') {
+        sb.append("\\\\");
+      } else if (c == '\n') {
+        sb.append("\\n");
+      } else if (c == '"' && quoted) {
+        sb.append("\\\"");
+      } else {
+        sb.append(c);
+      }
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * The encoded metadata lines and sample names of each statistic of a type
+   */
+  private static class TypeMetadata {
+    static final byte INT = 0;
+    static final byte LONG = 1;
+    static final byte DOUBLE = 2;
+
+    final int[] ids;
+    final byte[] kinds;
+    final byte[][] headers;
+    final byte[][] sampleNames;
+
+    TypeMetadata(StatisticsType type) {
+      StatisticDescriptor[] descriptors = type.getStatistics();
+      this.ids = new int[descriptors.length];
+      this.kinds = new byte[descriptors.length];
+      this.headers = new byte[descriptors.length][];
+      this.sampleNames = new byte[descriptors.length][];
+      for (int i = 0; i < descriptors.length; i++) {
+        StatisticDescriptor descriptor = descriptors[i];
+        String name = metricName(type.getName(), descriptor.getName());
+        boolean counter = descriptor.isCounter();
+        this.ids[i] = descriptor.getId();
+        Class<?> valueType = descriptor.getType();
+        this.kinds[i] = valueType == int.class ? INT : valueType == long.class ? LONG : DOUBLE;
+
+        StringBuilder header = new StringBuilder();
+        header.append("# TYPE ").append(name).append(counter ? " counter\n" : " gauge\n");
+        header.append("# HELP ").append(name).append(' ');
+        escape(header, descriptor.getDescription(), false);
+        header.append('\n');
+        this.headers[i] = bytes(header.toString());
+        this.sampleNames[i] = bytes(counter ? name + "_total" : name);
+      }
+    }
+  }
+
+  /**
+   * The instances of one type that are written together
+   */
+  private static class TypeGroup {
+    final TypeMetadata metadata;
+    final List<Statistics> instances = new ArrayList<>();
+    final List<byte[]> labels = new ArrayList<>();
+
+    TypeGroup(TypeMetadata metadata) {
+      this.metadata = metadata;
+    }
+  }
+}
@@ -367,6 +367,13 @@ public class StatArchiveHandler implements SampleHandler {
               LocalizedMessage.create(LocalizedStrings.GemFireStatSampler_COULD_NOT_RENAME_0_TO_1,
                   new Object[] {newFile, oldFile}));
         } else {
+          if (!StatArchiveIndex.renameIndex(newFile, oldFile)) {
+            logger.warn(LogMarker.STATISTICS,
+                LocalizedMessage.create(
+                    LocalizedStrings.GemFireStatSampler_COULD_NOT_RENAME_0_TO_1,
+                    new Object[] {StatArchiveIndex.getIndexFile(newFile),
+                        StatArchiveIndex.getIndexFile(oldFile)}));
+          }
           logger.info(LogMarker.STATISTICS, LocalizedMessage.create(
               LocalizedStrings.GemFireStatSampler_RENAMED_OLD_EXISTING_ARCHIVE_TO__0_, oldFile));
         }
@@ -637,6 +644,7 @@ public class StatArchiveHandler implements SampleHandler {
     File archiveDir = archiveFile.getAbsoluteFile().getParentFile();
     this.rollingFileHandler.checkDiskSpace("archive", archiveFile, spaceLimit, archiveDir,
         getOrCreateLogWriter());
+    StatArchiveIndex.deleteOrphanedIndexes(archiveDir);
   }
 
   private InternalLogWriter getOrCreateLogWriter() {
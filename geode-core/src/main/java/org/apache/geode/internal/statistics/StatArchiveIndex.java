@@ -0,0 +1,317 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.geode.internal.cache.CountingDataInputStream;
+
+/**
+ * The sidecar index of a statistic archive. It is written next to the archive by
+ * {@link StatArchiveWriter} and lets {@link StreamingStatArchiveReader} start decoding an archive
+ * part way through instead of at its first sample.
+ * <p>
+ * Samples in an archive only hold the change of each statistic since the previous sample, so the
+ * index periodically records a checkpoint: the uncompressed archive offset following a sample, the
+ * time of that sample and the current value of every statistic of every live resource instance.
+ * Together with the archive offset of each resource type definition and the identity of each
+ * resource instance, this is all the state a reader needs to continue from the checkpoint.
+ * <p>
+ * The index is a sequence of entries that is only ever appended to, so an index that was cut short
+ * by a crash is still valid up to its last complete entry.
+ *
+ * @since Geode 1.4
+ */
+public class StatArchiveIndex {
+
+  /**
+   * The suffix appended to the name of an archive to get the name of its index
+   */
+  public static final String INDEX_SUFFIX = ".idx";
+
+  static final int MAGIC = 0x47465349; // "GFSI"
+
+  static final byte INDEX_VERSION = 1;
+
+  /**
+   * Entry giving the archive offset of a resource type token.
+   */
+  static final byte TYPE_ENTRY = 1;
+
+  /**
+   * Entry giving the text id, numeric id and type of a resource instance.
+   */
+  static final byte INSTANCE_ENTRY = 2;
+
+  /**
+   * Entry giving the state of the archive following a sample.
+   */
+  static final byte CHECKPOINT_ENTRY = 3;
+
+  private final File indexFile;
+
+  /** The archive offset of each type, indexed by type id */
+  private final Map<Integer, Long> typeOffsets;
+
+  private final Map<Integer, InstanceEntry> instances;
+
+  /** Ordered by archive offset and time */
+  private final List<Checkpoint> checkpoints;
+
+  private StatArchiveIndex(File indexFile, Map<Integer, Long> typeOffsets,
+      Map<Integer, InstanceEntry> instances, List<Checkpoint> checkpoints) {
+    this.indexFile = indexFile;
+    this.typeOffsets = typeOffsets;
+    this.instances = instances;
+    this.checkpoints = checkpoints;
+  }
+
+  /**
+   * Returns the index file of {@code archive}, whether or not it exists.
+   */
+  public static File getIndexFile(File archive) {
+    return new File(archive.getPath() + INDEX_SUFFIX);
+  }
+
+  /**
+   * Renames the index of {@code archive}, if it has one, to follow the archive being renamed to
+   * {@code renamedArchive}.
+   */
+  public static boolean renameIndex(File archive, File renamedArchive) {
+    File indexFile = getIndexFile(archive);
+    return !indexFile.exists() || indexFile.renameTo(getIndexFile(renamedArchive));
+  }
+
+  /**
+   * Deletes the indexes in {@code dir} whose archive no longer exists.
+   */
+  @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+      justification = "Best effort attempt to delete an index without an archive.")
+  public static void deleteOrphanedIndexes(File dir) {
+    File[] indexFiles = dir.listFiles((parent, name) -> name.endsWith(INDEX_SUFFIX));
+    if (indexFiles == null) {
+      return;
+    }
+    for (File indexFile : indexFiles) {
+      String indexName = indexFile.getName();
+      String archiveName = indexName.substring(0, indexName.length() - INDEX_SUFFIX.length());
+      File archive = new File(dir, archiveName);
+      if (!archive.exists()) {
+        indexFile.delete();
+      }
+    }
+  }
+
+  /**
+   * Reads the index of {@code archive}. Returns null if the archive has no readable index.
+   */
+  public static StatArchiveIndex read(File archive) throws IOException {
+    File indexFile = getIndexFile(archive);
+    if (!indexFile.exists()) {
+      return null;
+    }
+    Map<Integer, Long> typeOffsets = new HashMap<>();
+    Map<Integer, InstanceEntry> instances = new HashMap<>();
+    List<Checkpoint> checkpoints = new ArrayList<>();
+    CountingDataInputStream in = new CountingDataInputStream(
+        new BufferedInputStream(new FileInputStream(indexFile)), indexFile.length());
+    try {
+      if (in.readInt() != MAGIC || in.readByte() != INDEX_VERSION) {
+        return null;
+      }
+      boolean done = false;
+      while (!done && !in.atEndOfFile()) {
+        byte entry = in.readByte();
+        switch (entry) {
+          case TYPE_ENTRY: {
+            int typeId = in.readInt();
+            typeOffsets.put(typeId, in.readLong());
+            break;
+          }
+          case INSTANCE_ENTRY: {
+            int instId = in.readInt();
+            String textId = in.readUTF();
+            long numericId = in.readLong();
+            int typeId = in.readInt();
+            instances.put(instId, new InstanceEntry(textId, numericId, typeId));
+            break;
+          }
+          case CHECKPOINT_ENTRY: {
+            long offset = in.readLong();
+            long timeStamp = in.readLong();
+            int sampleCount = in.readInt();
+            int bodyLength = in.readInt();
+            long position = in.getCount();
+            if (in.skipBytes(bodyLength) < bodyLength) {
+              throw new EOFException();
+            }
+            checkpoints.add(new Checkpoint(offset, timeStamp, sampleCount, position));
+            break;
+          }
+          default:
+            // a partially written entry; everything before it is still usable
+            done = true;
+            break;
+        }
+      }
+    } catch (EOFException ignore) {
+      // the entries read before the end of the file are complete
+    } finally {
+      in.close();
+    }
+    return new StatArchiveIndex(indexFile, typeOffsets, instances, checkpoints);
+  }
+
+  /**
+   * Returns the last checkpoint taken before {@code timeMillis}, or null if there is none.
+   */
+  public Checkpoint findCheckpoint(long timeMillis) {
+    int low = 0;
+    int high = this.checkpoints.size() - 1;
+    Checkpoint result = null;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      Checkpoint checkpoint = this.checkpoints.get(mid);
+      if (checkpoint.getTimeStamp() < timeMillis) {
+        result = checkpoint;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return result;
+  }
+
+  public List<Checkpoint> getCheckpoints() {
+    return Collections.unmodifiableList(this.checkpoints);
+  }
+
+  /**
+   * Returns the archive offsets of the types defined before {@code archiveOffset}, keyed by type
+   * id.
+   */
+  Map<Integer, Long> getTypeOffsetsBefore(long archiveOffset) {
+    Map<Integer, Long> result = new HashMap<>();
+    for (Map.Entry<Integer, Long> entry : this.typeOffsets.entrySet()) {
+      if (entry.getValue() < archiveOffset) {
+        result.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return result;
+  }
+
+  InstanceEntry getInstance(int instId) {
+    return this.instances.get(instId);
+  }
+
+  /**
+   * Reads the live instances of {@code checkpoint}, passing each to {@code visitor}.
+   */
+  void readCheckpoint(Checkpoint checkpoint, CheckpointVisitor visitor) throws IOException {
+    try (FileInputStream fis = new FileInputStream(this.indexFile)) {
+      fis.getChannel().position(checkpoint.indexPosition);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(fis));
+      int instCount = in.readInt();
+      for (int i = 0; i < instCount; i++) {
+        int instId = in.readInt();
+        boolean sampled = in.readBoolean();
+        int statCount = sampled ? in.readUnsignedByte() : 0;
+        long[] values = null;
+        if (sampled) {
+          values = new long[statCount];
+          for (int j = 0; j < statCount; j++) {
+            values[j] = StatArchiveWriter.readCompactValue(in);
+          }
+        }
+        visitor.instance(instId, values);
+      }
+    }
+  }
+
+  interface CheckpointVisitor {
+    /**
+     * @param values the current raw value of each statistic, or null if the instance has not been
+     *        sampled yet
+     */
+    void instance(int instId, long[] values) throws IOException;
+  }
+
+  static class InstanceEntry {
+    final String textId;
+    final long numericId;
+    final int typeId;
+
+    InstanceEntry(String textId, long numericId, int typeId) {
+      this.textId = textId;
+      this.numericId = numericId;
+      this.typeId = typeId;
+    }
+  }
+
+  /**
+   * The state of an archive following one of its samples.
+   */
+  public static class Checkpoint {
+    private final long archiveOffset;
+    private final long timeStamp;
+    private final int sampleCount;
+    /** The position of the checkpoint's instances in the index file */
+    private final long indexPosition;
+
+    Checkpoint(long archiveOffset, long timeStamp, int sampleCount, long indexPosition) {
+      this.archiveOffset = archiveOffset;
+      this.timeStamp = timeStamp;
+      this.sampleCount = sampleCount;
+      this.indexPosition = indexPosition;
+    }
+
+    /**
+     * Returns the uncompressed offset of the archive token following the checkpoint's sample.
+     */
+    public long getArchiveOffset() {
+      return this.archiveOffset;
+    }
+
+    /**
+     * Returns the time of the checkpoint's sample in milliseconds since the epoch.
+     */
+    public long getTimeStamp() {
+      return this.timeStamp;
+    }
+
+    /**
+     * Returns the number of samples in the archive up to and including the checkpoint's sample.
+     */
+    public int getSampleCount() {
+      return this.sampleCount;
+    }
+
+    @Override
+    public String toString() {
+      return "Checkpoint[archiveOffset=" + this.archiveOffset + ", timeStamp=" + this.timeStamp
+          + ", sampleCount=" + this.sampleCount + "]";
+    }
+  }
+}
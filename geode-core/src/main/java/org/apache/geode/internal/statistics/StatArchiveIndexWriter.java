@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.apache.geode.internal.statistics.StatArchiveIndex.*;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Writes the {@link StatArchiveIndex} of an archive while {@link StatArchiveWriter} writes the
+ * archive.
+ *
+ * @since Geode 1.4
+ */
+class StatArchiveIndexWriter {
+
+  private final File indexFile;
+
+  private final DataOutputStream out;
+
+  /** Holds the instances of a checkpoint so that their length can be written first */
+  private final ByteArrayOutputStream checkpointBytes = new ByteArrayOutputStream(64 * 1024);
+
+  private final DataOutputStream checkpointOut = new DataOutputStream(this.checkpointBytes);
+
+  StatArchiveIndexWriter(File indexFile) throws IOException {
+    this.indexFile = indexFile;
+    this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile)));
+    this.out.writeInt(MAGIC);
+    this.out.writeByte(INDEX_VERSION);
+  }
+
+  File getIndexFile() {
+    return this.indexFile;
+  }
+
+  void typeDefined(int typeId, long archiveOffset) throws IOException {
+    this.out.writeByte(TYPE_ENTRY);
+    this.out.writeInt(typeId);
+    this.out.writeLong(archiveOffset);
+  }
+
+  void instanceCreated(ResourceInstance resource) throws IOException {
+    this.out.writeByte(INSTANCE_ENTRY);
+    this.out.writeInt(resource.getId());
+    this.out.writeUTF(resource.getStatistics().getTextId());
+    this.out.writeLong(resource.getStatistics().getNumericId());
+    this.out.writeInt(resource.getResourceType().getId());
+  }
+
+  /**
+   * Records the state of the archive following a sample and flushes the index.
+   *
+   * @param liveResources the resources whose create token has been written and whose delete token
+   *        has not
+   * @param sampledResources the live resources that have had their values written at least once
+   */
+  void checkpoint(long archiveOffset, long timeStamp, int sampleCount,
+      Collection<ResourceInstance> liveResources, Set<ResourceInstance> sampledResources)
+      throws IOException {
+    this.checkpointBytes.reset();
+    this.checkpointOut.writeInt(liveResources.size());
+    for (ResourceInstance resource : liveResources) {
+      this.checkpointOut.writeInt(resource.getId());
+      long[] values = resource.getLatestStatValues();
+      boolean sampled = values != null && sampledResources.contains(resource);
+      this.checkpointOut.writeBoolean(sampled);
+      if (sampled) {
+        this.checkpointOut.writeByte(values.length);
+        for (long value : values) {
+          StatArchiveWriter.writeCompactValue(value, this.checkpointOut);
+        }
+      }
+    }
+    this.checkpointOut.flush();
+
+    this.out.writeByte(CHECKPOINT_ENTRY);
+    this.out.writeLong(archiveOffset);
+    this.out.writeLong(timeStamp);
+    this.out.writeInt(sampleCount);
+    this.out.writeInt(this.checkpointBytes.size());
+    this.checkpointBytes.writeTo(this.out);
+    this.out.flush();
+  }
+
+  void close() throws IOException {
+    this.out.close();
+  }
+}
@@ -58,6 +58,17 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
   private final boolean trace =
       Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "stats.debug.traceStatArchiveWriter");
 
+  /**
+   * The number of samples between the checkpoints of the archive's {@link StatArchiveIndex}. Zero
+   * disables writing an index.
+   *
+   * @since Geode 1.4
+   */
+  public static final String INDEX_INTERVAL_PROPERTY =
+      DistributionConfig.GEMFIRE_PREFIX + "stats.archiveIndexInterval";
+
+  public static final int DEFAULT_INDEX_INTERVAL = 3600;
+
   private final Set<ResourceInstance> sampleWrittenForResources = new HashSet<ResourceInstance>();
   private final Set<ResourceInstance> addedResources = new HashSet<ResourceInstance>();
   private final StatArchiveDescriptor archiveDescriptor;
@@ -67,7 +78,11 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
   private final OutputStream traceOutStream;
   private final PrintStream traceDataOut;
   private long previousMillisTimeStamp;
+  private long initialMillisTimeStamp;
   private int sampleCount;
+  private final int indexInterval =
+      Integer.getInteger(INDEX_INTERVAL_PROPERTY, DEFAULT_INDEX_INTERVAL);
+  private StatArchiveIndexWriter indexWriter;
 
   /**
    * Opens a StatArchiveWriter that will archive to the specified file.
@@ -97,6 +112,16 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
 
     this.dataOut = new MyDataOutputStream(this.outStream);
 
+    if (this.indexInterval > 0) {
+      File indexFile = StatArchiveIndex.getIndexFile(new File(archiveDescriptor.getArchiveName()));
+      try {
+        this.indexWriter = new StatArchiveIndexWriter(indexFile);
+      } catch (IOException ex) {
+        logger.warn(LogMarker.STATISTICS, "Could not open statistic archive index {}",
+            indexFile, ex);
+      }
+    }
+
     if (this.trace) {
       String traceFileName = archiveDescriptor.getArchiveName() + ".trace";
       try {
@@ -117,6 +142,7 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
 
   public void initialize(long nanosTimeStamp) {
     this.previousMillisTimeStamp = initPreviousMillisTimeStamp(nanosTimeStamp);
+    this.initialMillisTimeStamp = this.previousMillisTimeStamp;
     this.initialDate = initInitialDate();
     writeHeader(this.initialDate, this.archiveDescriptor);
   }
@@ -158,14 +184,41 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
           LocalizedStrings.StatArchiveWriter_COULD_NOT_CLOSE_STATARCHIVER_FILE.toLocalizedString(),
           ex);
     }
+    File indexFile = null;
+    if (this.indexWriter != null) {
+      indexFile = this.indexWriter.getIndexFile();
+      closeIndex();
+    }
     if (getSampleCount() == 0) {
       // If we are closing an empty file go ahead and delete it.
       // This prevents the fix for 46917 from leaving a bunch of
       // empty gfs files around.
       deleteFileIfPossible(new File(getArchiveName()));
+      if (indexFile != null) {
+        deleteFileIfPossible(indexFile);
+      }
     }
   }
 
+  private void closeIndex() {
+    try {
+      this.indexWriter.close();
+    } catch (IOException ignore) {
+    }
+    this.indexWriter = null;
+  }
+
+  /**
+   * Stops writing the index after it could not be written. Archiving continues; readers of the
+   * archive will not find an index and decode it from the start.
+   */
+  private void abandonIndex(IOException ex) {
+    File indexFile = this.indexWriter.getIndexFile();
+    logger.warn(LogMarker.STATISTICS, "Failed writing statistic archive index {}", indexFile, ex);
+    closeIndex();
+    deleteFileIfPossible(indexFile);
+  }
+
   @edu.umd.cs.findbugs.annotations.SuppressWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
       justification = "Best effort attempt to delete a GFS file without any samples.")
   private static void deleteFileIfPossible(File file) {
@@ -268,6 +321,7 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
                   Integer.valueOf(ILLEGAL_STAT_OFFSET - 1)}));
     }
     // write the type to the archive
+    final long typeOffset = bytesWritten();
     try {
       this.dataOut.writeByte(RESOURCE_TYPE_TOKEN);
       this.dataOut.writeInt(resourceType.getId());
@@ -319,6 +373,13 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
               .toLocalizedString(),
           ex);
     }
+    if (this.indexWriter != null) {
+      try {
+        this.indexWriter.typeDefined(resourceType.getId(), typeOffset);
+      } catch (IOException ex) {
+        abandonIndex(ex);
+      }
+    }
   }
 
   @edu.umd.cs.findbugs.annotations.SuppressWarnings(
@@ -374,6 +435,13 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
               .toLocalizedString(),
           ex);
     }
+    if (this.indexWriter != null) {
+      try {
+        this.indexWriter.instanceCreated(statResource);
+      } catch (IOException ex) {
+        abandonIndex(ex);
+      }
+    }
   }
 
   public void destroyedResourceInstance(ResourceInstance resourceInstance) {
@@ -527,6 +595,15 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
           ex);
     }
     this.sampleCount++; // only inc after sample done w/o an exception thrown
+    if (this.indexWriter != null && this.sampleCount % this.indexInterval == 0) {
+      try {
+        this.indexWriter.checkpoint(bytesWritten(),
+            this.initialDate + this.previousMillisTimeStamp - this.initialMillisTimeStamp,
+            this.sampleCount, this.addedResources, this.sampleWrittenForResources);
+      } catch (IOException ex) {
+        abandonIndex(ex);
+      }
+    }
   }
 
   public int getSampleCount() {
@@ -880,7 +957,23 @@ public class StatArchiveWriter implements StatArchiveFormat, SampleHandler {
 
     public void writeUTF(String v) throws IOException {
       this.dataOut.writeUTF(v);
-      this.bytesWritten += v.length() + 2; // this is the minimum. The max is v.size()*3 +2
+      // the index refers to archive offsets, so count the encoded length rather than v.length()
+      this.bytesWritten += utfLength(v) + 2;
+    }
+
+    private static int utfLength(String v) {
+      int length = 0;
+      for (int i = 0; i < v.length(); i++) {
+        char c = v.charAt(i);
+        if (c >= 0x0001 && c <= 0x007F) {
+          length++;
+        } else if (c <= 0x07FF) {
+          length += 2;
+        } else {
+          length += 3;
+        }
+      }
+      return length;
     }
   }
 }
@@ -0,0 +1,600 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.geode.GemFireIOException;
+import org.apache.geode.internal.cache.CountingDataInputStream;
+import org.apache.geode.internal.i18n.LocalizedStrings;
+import org.apache.geode.internal.statistics.StatArchiveIndex.Checkpoint;
+import org.apache.geode.internal.statistics.StatArchiveIndex.InstanceEntry;
+import org.apache.geode.internal.statistics.StatArchiveReader.ValueFilter;
+
+/**
+ * Reads the values of selected statistics from a statistic archive for a range of time without
+ * loading the archive into memory.
+ * <p>
+ * Unlike {@link StatArchiveReader}, which decodes every sample of an archive and keeps the values
+ * of every loaded statistic, this reader streams the samples past a {@link SampleVisitor} and only
+ * keeps the current value of each live resource instance. If the archive has a
+ * {@link StatArchiveIndex}, reading starts at the last checkpoint before the requested range
+ * instead of at the first sample.
+ *
+ * @since Geode 1.4
+ */
+public class StreamingStatArchiveReader implements StatArchiveFormat, Closeable {
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+
+  private final File archive;
+
+  private final boolean compressed;
+
+  private final StatArchiveIndex index;
+
+  private byte archiveVersion;
+
+  private long startTimeStamp;
+
+  private FileInputStream fileIn;
+
+  private CountingDataInputStream dataIn;
+
+  /** The archive offset at which {@link #dataIn} started counting */
+  private long dataInOffset;
+
+  /** The types seen while reading, by type id */
+  private final Map<Integer, Type> types = new HashMap<>();
+
+  /** The live instances, by instance id */
+  private final Map<Integer, Instance> instances = new HashMap<>();
+
+  /** The live instances with at least one selected statistic, by instance id */
+  private final Map<Integer, Instance> selectedInstances = new LinkedHashMap<>();
+
+  private ValueFilter filter;
+
+  private long timeStamp;
+
+  public StreamingStatArchiveReader(File archive) throws IOException {
+    this.archive = archive;
+    this.compressed = archive.getPath().endsWith(".gz");
+    this.index = StatArchiveIndex.read(archive);
+    seek(0);
+    if (this.dataIn.readByte() != HEADER_TOKEN) {
+      throw new GemFireIOException("Statistic archive " + archive + " does not start with a header",
+          null);
+    }
+    readHeaderToken();
+  }
+
+  public File getArchive() {
+    return this.archive;
+  }
+
+  /**
+   * Returns true if the archive has an index that reading can start from.
+   */
+  public boolean isIndexed() {
+    return this.index != null;
+  }
+
+  /**
+   * Returns the time the archive was started in milliseconds since the epoch.
+   */
+  public long getStartTimeMillis() {
+    return this.startTimeStamp;
+  }
+
+  /**
+   * Passes the value of each statistic that matches {@code filter} in each sample taken between
+   * {@code startMillis} and {@code endMillis}, inclusive, to {@code visitor}. The values are passed
+   * in time order.
+   *
+   * @param filter selects the statistics to read, or null to read all of them
+   */
+  public synchronized void read(ValueFilter filter, long startMillis, long endMillis,
+      SampleVisitor visitor) throws IOException {
+    if (filter != null && !filter.archiveMatches(this.archive)) {
+      return;
+    }
+    this.filter = filter;
+    try {
+      Checkpoint checkpoint = this.index == null ? null : this.index.findCheckpoint(startMillis);
+      if (checkpoint == null || !restoreCheckpoint(checkpoint)) {
+        reset();
+        seek(0);
+        // the header was already read by the constructor
+        this.dataIn.readByte();
+        readHeaderToken();
+        this.timeStamp = this.startTimeStamp;
+      }
+      // stops after reading the first sample past the range, which is not visited
+      while (this.timeStamp <= endMillis && readToken(startMillis, endMillis, visitor)) {
+        // keep reading
+      }
+    } finally {
+      reset();
+      this.filter = null;
+    }
+  }
+
+  /**
+   * Returns the value of each statistic that matches {@code filter} in each sample taken between
+   * {@code startMillis} and {@code endMillis}, inclusive.
+   *
+   * @param filter selects the statistics to read, or null to read all of them
+   */
+  public List<Column> extract(ValueFilter filter, long startMillis, long endMillis)
+      throws IOException {
+    final List<Column> result = new ArrayList<>();
+    read(filter, startMillis, endMillis, (column, timeMillis, value) -> {
+      if (column.size == 0) {
+        result.add(column);
+      }
+      column.add(timeMillis, value);
+    });
+    return result;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    closeInput();
+  }
+
+  private void reset() {
+    this.types.clear();
+    this.instances.clear();
+    this.selectedInstances.clear();
+  }
+
+  /**
+   * Restores the state of the archive at {@code checkpoint} and positions the input after it.
+   * Returns false, leaving the state to be reset, if the index is inconsistent with itself.
+   */
+  private boolean restoreCheckpoint(Checkpoint checkpoint) throws IOException {
+    // read the types in the order they were written so a single pass over a compressed archive
+    // suffices
+    Map<Long, Integer> typesByOffset = new TreeMap<>();
+    for (Map.Entry<Integer, Long> entry : this.index
+        .getTypeOffsetsBefore(checkpoint.getArchiveOffset()).entrySet()) {
+      typesByOffset.put(entry.getValue(), entry.getKey());
+    }
+    for (Map.Entry<Long, Integer> entry : typesByOffset.entrySet()) {
+      seek(entry.getKey());
+      if (this.dataIn.readByte() != RESOURCE_TYPE_TOKEN) {
+        return false;
+      }
+      readResourceTypeToken();
+      if (!this.types.containsKey(entry.getValue())) {
+        return false;
+      }
+    }
+    final boolean[] consistent = {true};
+    this.index.readCheckpoint(checkpoint, (instId, values) -> {
+      InstanceEntry entry = this.index.getInstance(instId);
+      Type type = entry == null ? null : this.types.get(entry.typeId);
+      if (type == null || (values != null && values.length != type.typeCodes.length)) {
+        consistent[0] = false;
+        return;
+      }
+      Instance instance = addInstance(instId, entry.textId, entry.numericId, type);
+      if (values != null) {
+        System.arraycopy(values, 0, instance.values, 0, values.length);
+        instance.sampled = true;
+      }
+    });
+    if (!consistent[0]) {
+      return false;
+    }
+    seek(checkpoint.getArchiveOffset());
+    this.timeStamp = checkpoint.getTimeStamp();
+    return true;
+  }
+
+  /**
+   * Positions the input at the uncompressed archive offset {@code offset}.
+   */
+  private void seek(long offset) throws IOException {
+    if (this.compressed && this.dataIn != null && offset >= position()) {
+      skip(offset - position());
+      return;
+    }
+    closeInput();
+    this.fileIn = new FileInputStream(this.archive);
+    InputStream in;
+    if (this.compressed) {
+      in = new BufferedInputStream(new GZIPInputStream(this.fileIn, BUFFER_SIZE), BUFFER_SIZE);
+      this.dataInOffset = 0;
+    } else {
+      this.fileIn.getChannel().position(offset);
+      in = new BufferedInputStream(this.fileIn, BUFFER_SIZE);
+      this.dataInOffset = offset;
+    }
+    this.dataIn = new CountingDataInputStream(in, Long.MAX_VALUE);
+    skip(offset - position());
+  }
+
+  private long position() {
+    return this.dataInOffset + this.dataIn.getCount();
+  }
+
+  private void skip(long length) throws IOException {
+    long remaining = length;
+    while (remaining > 0) {
+      int skipped = this.dataIn.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+
+  private void closeInput() throws IOException {
+    if (this.dataIn != null) {
+      this.dataIn.close();
+      this.dataIn = null;
+    }
+    if (this.fileIn != null) {
+      this.fileIn.close();
+      this.fileIn = null;
+    }
+  }
+
+  /**
+   * Returns true if a token was read, false if the end of the archive was reached.
+   */
+  private boolean readToken(long startMillis, long endMillis, SampleVisitor visitor)
+      throws IOException {
+    try {
+      byte token = this.dataIn.readByte();
+      switch (token) {
+        case HEADER_TOKEN:
+          readHeaderToken();
+          break;
+        case RESOURCE_TYPE_TOKEN:
+          readResourceTypeToken();
+          break;
+        case RESOURCE_INSTANCE_CREATE_TOKEN:
+          readResourceInstanceCreateToken(false);
+          break;
+        case RESOURCE_INSTANCE_INITIALIZE_TOKEN:
+          readResourceInstanceCreateToken(true);
+          break;
+        case RESOURCE_INSTANCE_DELETE_TOKEN:
+          int instId = this.dataIn.readInt();
+          this.instances.remove(instId);
+          this.selectedInstances.remove(instId);
+          break;
+        case SAMPLE_TOKEN:
+          readSampleToken(startMillis, endMillis, visitor);
+          break;
+        default:
+          throw new IOException(LocalizedStrings.StatArchiveReader_UNEXPECTED_TOKEN_BYTE_VALUE_0
+              .toLocalizedString(Byte.valueOf(token)));
+      }
+      return true;
+    } catch (EOFException ignore) {
+      return false;
+    }
+  }
+
+  private void readHeaderToken() throws IOException {
+    byte version = this.dataIn.readByte();
+    long startTime = this.dataIn.readLong();
+    this.dataIn.readLong(); // systemId
+    this.dataIn.readLong(); // systemStartTimeStamp
+    this.dataIn.readInt(); // timeZoneOffset
+    this.dataIn.readUTF(); // timeZoneName
+    this.dataIn.readUTF(); // systemDirectory
+    this.dataIn.readUTF(); // productVersion
+    this.dataIn.readUTF(); // os
+    this.dataIn.readUTF(); // machine
+    if (version <= 1) {
+      throw new GemFireIOException(
+          LocalizedStrings.StatArchiveReader_ARCHIVE_VERSION_0_IS_NO_LONGER_SUPPORTED
+              .toLocalizedString(Byte.valueOf(version)),
+          null);
+    }
+    if (version > ARCHIVE_VERSION) {
+      throw new GemFireIOException(
+          LocalizedStrings.StatArchiveReader_UNSUPPORTED_ARCHIVE_VERSION_0_THE_SUPPORTED_VERSION_IS_1
+              .toLocalizedString(
+                  new Object[] {Byte.valueOf(version), Byte.valueOf(ARCHIVE_VERSION)}),
+          null);
+    }
+    this.archiveVersion = version;
+    this.startTimeStamp = startTime;
+    this.timeStamp = startTime;
+    // a header starts a new archive, so forget what came before it
+    reset();
+  }
+
+  private void readResourceTypeToken() throws IOException {
+    int typeId = this.dataIn.readInt();
+    String name = this.dataIn.readUTF();
+    this.dataIn.readUTF(); // description
+    int statCount = this.dataIn.readUnsignedShort();
+    Type type = new Type(name, statCount);
+    for (int i = 0; i < statCount; i++) {
+      type.statNames[i] = this.dataIn.readUTF();
+      type.typeCodes[i] = this.dataIn.readByte();
+      type.counters[i] = this.dataIn.readBoolean();
+      if (this.archiveVersion >= 4) {
+        this.dataIn.readBoolean(); // largerBetter
+      }
+      type.units[i] = this.dataIn.readUTF();
+      this.dataIn.readUTF(); // description
+    }
+    this.types.put(typeId, type);
+  }
+
+  private void readResourceInstanceCreateToken(boolean initialize) throws IOException {
+    int instId = this.dataIn.readInt();
+    String textId = this.dataIn.readUTF();
+    long numericId = this.dataIn.readLong();
+    int typeId = this.dataIn.readInt();
+    Type type = this.types.get(typeId);
+    if (type == null) {
+      throw new IllegalStateException(
+          "ResourceType is missing for resourceTypeId " + typeId + ", resourceName " + textId);
+    }
+    Instance instance = addInstance(instId, textId, numericId, type);
+    if (initialize) {
+      for (int i = 0; i < type.typeCodes.length; i++) {
+        instance.values[i] = readValue(type.typeCodes[i]);
+      }
+      instance.sampled = true;
+    }
+  }
+
+  private void readSampleToken(long startMillis, long endMillis, SampleVisitor visitor)
+      throws IOException {
+    int millisSinceLastSample = this.dataIn.readUnsignedShort();
+    if (millisSinceLastSample == INT_TIMESTAMP_TOKEN) {
+      millisSinceLastSample = this.dataIn.readInt();
+    }
+    this.timeStamp += millisSinceLastSample;
+    int instId = readResourceInstId();
+    while (instId != ILLEGAL_RESOURCE_INST_ID) {
+      Instance instance = this.instances.get(instId);
+      if (instance == null) {
+        throw new IllegalStateException("Resource instance " + instId + " is missing");
+      }
+      byte[] typeCodes = instance.type.typeCodes;
+      int statOffset = this.dataIn.readUnsignedByte();
+      while (statOffset != ILLEGAL_STAT_OFFSET) {
+        instance.values[statOffset] += readValue(typeCodes[statOffset]);
+        statOffset = this.dataIn.readUnsignedByte();
+      }
+      instance.sampled = true;
+      instId = readResourceInstId();
+    }
+    if (this.timeStamp < startMillis || this.timeStamp > endMillis) {
+      return;
+    }
+    for (Instance instance : this.selectedInstances.values()) {
+      if (!instance.sampled) {
+        continue;
+      }
+      for (int i = 0; i < instance.columns.length; i++) {
+        Column column = instance.columns[i];
+        if (column != null) {
+          visitor.value(column, this.timeStamp,
+              StatArchiveReader.bitsToDouble(instance.type.typeCodes[i], instance.values[i]));
+        }
+      }
+    }
+  }
+
+  private int readResourceInstId() throws IOException {
+    int token = this.dataIn.readUnsignedByte();
+    if (token <= MAX_BYTE_RESOURCE_INST_ID) {
+      return token;
+    } else if (token == ILLEGAL_RESOURCE_INST_ID_TOKEN) {
+      return ILLEGAL_RESOURCE_INST_ID;
+    } else if (token == SHORT_RESOURCE_INST_ID_TOKEN) {
+      return this.dataIn.readUnsignedShort();
+    } else { /* token == INT_RESOURCE_INST_ID_TOKEN */
+      return this.dataIn.readInt();
+    }
+  }
+
+  private long readValue(byte typeCode) throws IOException {
+    switch (typeCode) {
+      case BOOLEAN_CODE:
+      case BYTE_CODE:
+      case CHAR_CODE:
+        return this.dataIn.readByte();
+      case WCHAR_CODE:
+        return this.dataIn.readUnsignedShort();
+      case SHORT_CODE:
+        return this.dataIn.readShort();
+      case INT_CODE:
+      case FLOAT_CODE:
+      case LONG_CODE:
+      case DOUBLE_CODE:
+        return StatArchiveWriter.readCompactValue(this.dataIn);
+      default:
+        throw new IOException(LocalizedStrings.StatArchiveReader_UNEXPECTED_TYPECODE_VALUE_0
+            .toLocalizedString(Byte.valueOf(typeCode)));
+    }
+  }
+
+  private Instance addInstance(int instId, String textId, long numericId, Type type) {
+    Instance instance = new Instance(type, new long[type.typeCodes.length]);
+    if (this.filter == null
+        || (this.filter.typeMatches(type.name) && this.filter.instanceMatches(textId, numericId))) {
+      Column[] columns = new Column[type.typeCodes.length];
+      boolean selected = false;
+      for (int i = 0; i < columns.length; i++) {
+        if (this.filter == null || this.filter.statMatches(type.statNames[i])) {
+          columns[i] = new Column(type.name, textId, numericId, type.statNames[i],
+              type.counters[i], type.units[i]);
+          selected = true;
+        }
+      }
+      if (selected) {
+        instance.columns = columns;
+        this.selectedInstances.put(instId, instance);
+      }
+    }
+    this.instances.put(instId, instance);
+    return instance;
+  }
+
+  /**
+   * Receives the values read by {@link StreamingStatArchiveReader#read}.
+   */
+  public interface SampleVisitor {
+    /**
+     * Called with the value of a selected statistic in a sample.
+     *
+     * @param column identifies the statistic and resource instance. The same object is passed for
+     *        every value of a statistic of an instance.
+     * @param timeMillis the time of the sample in milliseconds since the epoch
+     */
+    void value(Column column, long timeMillis, double value) throws IOException;
+  }
+
+  /**
+   * A statistic of a resource instance and, when returned by
+   * {@link StreamingStatArchiveReader#extract}, its values.
+   */
+  public static class Column {
+    private final String typeName;
+    private final String textId;
+    private final long numericId;
+    private final String statName;
+    private final boolean counter;
+    private final String units;
+    private long[] timeStamps = new long[16];
+    private double[] values = new double[16];
+    private int size;
+
+    Column(String typeName, String textId, long numericId, String statName, boolean counter,
+        String units) {
+      this.typeName = typeName;
+      this.textId = textId;
+      this.numericId = numericId;
+      this.statName = statName;
+      this.counter = counter;
+      this.units = units;
+    }
+
+    void add(long timeMillis, double value) {
+      if (this.size == this.values.length) {
+        this.timeStamps = Arrays.copyOf(this.timeStamps, this.size * 2);
+        this.values = Arrays.copyOf(this.values, this.size * 2);
+      }
+      this.timeStamps[this.size] = timeMillis;
+      this.values[this.size] = value;
+      this.size++;
+    }
+
+    public String getTypeName() {
+      return this.typeName;
+    }
+
+    public String getTextId() {
+      return this.textId;
+    }
+
+    public long getNumericId() {
+      return this.numericId;
+    }
+
+    public String getStatName() {
+      return this.statName;
+    }
+
+    public boolean isCounter() {
+      return this.counter;
+    }
+
+    public String getUnits() {
+      return this.units;
+    }
+
+    /**
+     * Returns the time of each extracted value in milliseconds since the epoch.
+     */
+    public long[] getTimeStamps() {
+      return Arrays.copyOf(this.timeStamps, this.size);
+    }
+
+    /**
+     * Returns the extracted raw values, without any per second or per sample filtering.
+     */
+    public double[] getValues() {
+      return Arrays.copyOf(this.values, this.size);
+    }
+
+    public int getSize() {
+      return this.size;
+    }
+
+    @Override
+    public String toString() {
+      return "Column[" + this.typeName + "/" + this.textId + "(" + this.numericId + ")/"
+          + this.statName + ", size=" + this.size + "]";
+    }
+  }
+
+  private static class Type {
+    final String name;
+    final String[] statNames;
+    final byte[] typeCodes;
+    final boolean[] counters;
+    final String[] units;
+
+    Type(String name, int statCount) {
+      this.name = name;
+      this.statNames = new String[statCount];
+      this.typeCodes = new byte[statCount];
+      this.counters = new boolean[statCount];
+      this.units = new String[statCount];
+    }
+  }
+
+  private static class Instance {
+    final Type type;
+    final long[] values;
+    /** The selected statistics, or null if none are */
+    Column[] columns;
+    /** Whether the values have been written since the instance was created */
+    boolean sampled;
+
+    Instance(Type type, long[] values) {
+      this.type = type;
+      this.values = values;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.geode.StatisticsType;
+import org.apache.geode.internal.OSProcess;
+
+/**
+ * An implementation of {@link org.apache.geode.Statistics} that stores each statistic in a
+ * {@link LongAdder} or {@link DoubleAdder}.
+ * <p>
+ * Increments never lock and, once threads contend for a statistic, go to separate cells that are
+ * padded to their own cache line, so threads that update the same statistics do not invalidate
+ * each other's caches. Reading a statistic sums its cells, which keeps reads cheap enough to sample
+ * many times per second. Setting a statistic adds the difference to its current sum, so an
+ * increment that races with a set is applied on top of the new value instead of being lost. Sets of
+ * the same statistic lock its adder, since two of them adding their differences at once would leave
+ * it at neither value.
+ *
+ * @see org.apache.geode.internal.concurrent.Atomics#createAtomicStatistics
+ *
+ * @since Geode 1.4
+ */
+public class StripedStatisticsImpl extends StatisticsImpl {
+
+  private final LongAdder[] intAdders;
+
+  private final LongAdder[] longAdders;
+
+  private final DoubleAdder[] doubleAdders;
+
+  /** The StatisticsFactory that created this instance */
+  private final StatisticsManager dSystem;
+
+  /////////////////////// Constructors ///////////////////////
+
+  /**
+   * Creates a new statistics instance of the given type
+   *
+   * @param type A description of the statistics
+   * @param textId Text that identifies this statistic when it is monitored
+   * @param numericId A number that displayed when this statistic is monitored
+   * @param uniqueId A number that uniquely identifies this instance
+   * @param system The distributed system that determines whether or not these statistics are stored
+   *        (and collected) in GemFire shared memory or in the local VM
+   */
+  public StripedStatisticsImpl(StatisticsType type, String textId, long numericId, long uniqueId,
+      StatisticsManager system) {
+    super(type, calcTextId(system, textId), calcNumericId(system, numericId), uniqueId, 0);
+    this.dSystem = system;
+
+    StatisticsTypeImpl realType = (StatisticsTypeImpl) type;
+    this.intAdders = new LongAdder[realType.getIntStatCount()];
+    for (int i = 0; i < this.intAdders.length; i++) {
+      this.intAdders[i] = new LongAdder();
+    }
+    this.longAdders = new LongAdder[realType.getLongStatCount()];
+    for (int i = 0; i < this.longAdders.length; i++) {
+      this.longAdders[i] = new LongAdder();
+    }
+    this.doubleAdders = new DoubleAdder[realType.getDoubleStatCount()];
+    for (int i = 0; i < this.doubleAdders.length; i++) {
+      this.doubleAdders[i] = new DoubleAdder();
+    }
+  }
+
+  ////////////////////// Static Methods //////////////////////
+
+  private static long calcNumericId(StatisticsManager system, long userValue) {
+    if (userValue != 0) {
+      return userValue;
+    } else {
+      long result = OSProcess.getId(); // fix for bug 30239
+      if (result == 0) {
+        if (system != null) {
+          result = system.getId();
+        }
+      }
+      return result;
+    }
+  }
+
+  private static String calcTextId(StatisticsManager system, String userValue) {
+    if (userValue != null && !userValue.equals("")) {
+      return userValue;
+    } else {
+      if (system != null) {
+        return system.getName();
+      } else {
+        return "";
+      }
+    }
+  }
+
+  ////////////////////// Instance Methods //////////////////////
+
+  @Override
+  public boolean isAtomic() {
+    return true;
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    if (this.dSystem != null) {
+      dSystem.destroyStatistics(this);
+    }
+  }
+
+  //////////////////////// store() Methods ///////////////////////
+
+  @Override
+  protected void _setInt(int offset, int value) {
+    set(this.intAdders[offset], value);
+  }
+
+  @Override
+  protected void _setLong(int offset, long value) {
+    set(this.longAdders[offset], value);
+  }
+
+  @Override
+  protected void _setDouble(int offset, double value) {
+    DoubleAdder adder = this.doubleAdders[offset];
+    synchronized (adder) {
+      adder.add(value - adder.sum());
+    }
+  }
+
+  private static void set(LongAdder adder, long value) {
+    synchronized (adder) {
+      adder.add(value - adder.sum());
+    }
+  }
+
+  /////////////////////// get() Methods ///////////////////////
+
+  @Override
+  protected int _getInt(int offset) {
+    return (int) this.intAdders[offset].sum();
+  }
+
+  @Override
+  protected long _getLong(int offset) {
+    return this.longAdders[offset].sum();
+  }
+
+  @Override
+  protected double _getDouble(int offset) {
+    return this.doubleAdders[offset].sum();
+  }
+
+  //////////////////////// inc() Methods ////////////////////////
+
+  @Override
+  protected void _incInt(int offset, int delta) {
+    this.intAdders[offset].add(delta);
+  }
+
+  @Override
+  protected void _incLong(int offset, long delta) {
+    this.longAdders[offset].add(delta);
+  }
+
+  @Override
+  protected void _incDouble(int offset, double delta) {
+    this.doubleAdders[offset].add(delta);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.geode.CancelCriterion;
+
+/**
+ * Limits the rate at which bytes are handed out to any number of threads sharing an instance.
+ * <p>
+ * Callers reserve the bytes they are about to send and then sleep until the limiter has paid off
+ * the bytes reserved before them. Up to one second of unused capacity is kept as a burst allowance,
+ * so a single caller that only occasionally sends is never delayed.
+ * <p>
+ * A limiter created with a non-positive rate is disabled and never waits.
+ *
+ * @since Geode 1.4
+ */
+public class ByteRateLimiter {
+
+  private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final long bytesPerSecond;
+
+  /**
+   * The time, in {@link System#nanoTime()} units, at which all the bytes reserved so far will have
+   * been paid off
+   */
+  private long nextFreeNanos;
+
+  /**
+   * @param bytesPerSecond the maximum sustained rate, or zero for no limit
+   */
+  public ByteRateLimiter(long bytesPerSecond) {
+    this(bytesPerSecond, System.nanoTime());
+  }
+
+  ByteRateLimiter(long bytesPerSecond, long startNanos) {
+    this.bytesPerSecond = bytesPerSecond;
+    this.nextFreeNanos = startNanos - NANOS_PER_SECOND;
+  }
+
+  public boolean isEnabled() {
+    return this.bytesPerSecond > 0;
+  }
+
+  public long getBytesPerSecond() {
+    return this.bytesPerSecond;
+  }
+
+  /**
+   * Wait until {@code bytes} may be sent without exceeding the rate of this limiter.
+   *
+   * @return the number of nanoseconds spent waiting
+   */
+  public long acquire(long bytes, CancelCriterion stopper) throws InterruptedException {
+    if (!isEnabled() || bytes <= 0) {
+      return 0;
+    }
+    final long waitNanos = reserve(bytes, System.nanoTime());
+    final long retryNanos = TimeUnit.MILLISECONDS.toNanos(StoppableCountDownLatch.RETRY_TIME);
+    long remaining = waitNanos;
+    while (remaining > 0) {
+      stopper.checkCancelInProgress(null);
+      long sleepNanos = Math.min(remaining, retryNanos);
+      TimeUnit.NANOSECONDS.sleep(sleepNanos);
+      remaining -= sleepNanos;
+    }
+    return waitNanos;
+  }
+
+  /**
+   * Reserve {@code bytes} at time {@code nowNanos}.
+   *
+   * @return how long the caller has to wait before sending, in nanoseconds
+   */
+  synchronized long reserve(long bytes, long nowNanos) {
+    long burstStart = nowNanos - NANOS_PER_SECOND;
+    if (this.nextFreeNanos - burstStart < 0) {
+      this.nextFreeNanos = burstStart;
+    }
+    long waitNanos = this.nextFreeNanos - nowNanos;
+    // split the division so large reservations, like whole buckets, do not overflow
+    this.nextFreeNanos += bytes / this.bytesPerSecond * NANOS_PER_SECOND
+        + bytes % this.bytesPerSecond * NANOS_PER_SECOND / this.bytesPerSecond;
+    return waitNanos > 0 ? waitNanos : 0;
+  }
+
+  @Override
+  public String toString() {
+    return "ByteRateLimiter[bytesPerSecond=" + this.bytesPerSecond + "]";
+  }
+}
@@ -52,6 +52,7 @@ import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.RejectedExecutionException;
@@ -1709,6 +1710,98 @@ public class CustomEntryConcurrentHashMap<K, V> extends AbstractMap<K, V>
     return segmentFor(hash).remove(key, hash, NO_OBJECT_TOKEN, condition, context, removeParams);
   }
 
+  /**
+   * The longest chain of entries in one bin that {@link #sampleValue} gives the same chance as
+   * shorter chains. Longer chains are rare while the map is below its load factor.
+   */
+  private static final int SAMPLED_CHAIN_LENGTH = 4;
+
+  /**
+   * The number of bins {@link #sampleValue} picks before it falls back to scanning for an entry,
+   * which only happens when the map is nearly empty.
+   */
+  private static final int SAMPLE_ATTEMPTS = 64;
+
+  /**
+   * Returns the value of an entry picked at random, or null if the map is empty. A bin is picked at
+   * random from all the segments, and kept with a probability proportional to the number of
+   * entries chained in it, then one of those entries is picked at random. This gives each entry the
+   * same chance of being picked, except those in chains longer than {@link #SAMPLED_CHAIN_LENGTH}.
+   * No lock is taken, so the result may be an entry that is concurrently being removed.
+   *
+   * @param random the source of the random numbers
+   * @return the value of the chosen entry, or null if no entry was found
+   */
+  public V sampleValue(final Random random) {
+    final Segment<K, V>[] segs = this.segments;
+    int maxBins = 0;
+    boolean empty = true;
+    for (final Segment<K, V> seg : segs) {
+      if (seg.count != 0) { // read-volatile
+        empty = false;
+      }
+      maxBins = Math.max(maxBins, seg.table.length);
+    }
+    if (empty) {
+      return null;
+    }
+    for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+      // pick from the largest table size so that segments with smaller tables are not favored
+      final HashEntry<K, V>[] tab = segs[random.nextInt(segs.length)].table;
+      final int bin = random.nextInt(maxBins);
+      if (bin >= tab.length) {
+        continue;
+      }
+      final HashEntry<K, V> first = tab[bin];
+      if (first == null) {
+        continue;
+      }
+      int length = 0;
+      for (HashEntry<K, V> e = first; e != null; e = e.getNextEntry()) {
+        length++;
+      }
+      final int position = random.nextInt(Math.max(length, SAMPLED_CHAIN_LENGTH));
+      if (position >= length) {
+        continue;
+      }
+      HashEntry<K, V> e = first;
+      for (int i = 0; i < position && e.getNextEntry() != null; i++) {
+        e = e.getNextEntry();
+      }
+      final V v = e.getMapValue();
+      if (v != null) {
+        return v;
+      }
+    }
+    return scanValue(random.nextInt());
+  }
+
+  /**
+   * Returns the value of the first entry at or after a bin chosen by the given random number, or
+   * null if the map is empty.
+   */
+  private V scanValue(final int random) {
+    final Segment<K, V>[] segs = this.segments;
+    final int start = (random >>> 16) & this.segmentMask;
+    for (int s = 0; s < segs.length; s++) {
+      final Segment<K, V> seg = segs[(start + s) & this.segmentMask];
+      if (seg.count == 0) { // read-volatile
+        continue;
+      }
+      final HashEntry<K, V>[] tab = seg.table;
+      final int mask = tab.length - 1;
+      for (int i = 0; i < tab.length; i++) {
+        for (HashEntry<K, V> e = tab[(random + i) & mask]; e != null; e = e.getNextEntry()) {
+          final V v = e.getMapValue();
+          if (v != null) {
+            return v;
+          }
+        }
+      }
+    }
+    return null;
+  }
+
   // End GemStone addition
 
   /**
@@ -97,7 +97,8 @@ public class EvictionAttributesData {
     buffer.append("algorithm=").append(this.getAlgorithm());
     if (!this.getAlgorithm().equals(EvictionAlgorithm.NONE.toString())) {
       buffer.append(", action=").append(this.getAction());
-      if (!this.getAlgorithm().equals(EvictionAlgorithm.LRU_HEAP.toString())) {
+      EvictionAlgorithm algorithm = EvictionAlgorithm.parseAction(this.getAlgorithm());
+      if (algorithm == null || !algorithm.isLRUHeap()) {
         buffer.append(", maximum=").append(this.getMaximum());
       }
     }
@@ -459,6 +459,51 @@ public interface MemberMXBean {
    */
   long getPutAllAvgLatency();
 
+  /**
+   * Returns the 99th percentile cache get latency over the last sample interval.
+   * <p>
+   * Latency percentiles are in nanoseconds and are only recorded while time statistics are
+   * enabled.
+   *
+   * @since Geode 1.4
+   */
+  long getGetsLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile cache get latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getGetsLatencyP999();
+
+  /**
+   * Returns the 99th percentile cache put latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getPutsLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile cache put latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getPutsLatencyP999();
+
+  /**
+   * Returns the 99th percentile cache destroy latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getDestroysLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile cache destroy latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getDestroysLatencyP999();
+
   /**
    * Returns the number of times that a cache miss occurred for all regions.
    */
@@ -577,6 +622,34 @@ public interface MemberMXBean {
    */
   int getNumRunningFunctionsHavingResults();
 
+  /**
+   * Returns the 99th percentile query execution latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getQueryExecutionLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile query execution latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getQueryExecutionLatencyP999();
+
+  /**
+   * Returns the 99th percentile function execution latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getFunctionExecutionLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile function execution latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  long getFunctionExecutionLatencyP999();
+
   /**
    * Returns the number of current transactions.
    */
@@ -237,6 +237,52 @@ public interface RegionMXBean {
    */
   public long getCacheListenerCallsAvgLatency();
 
+  /**
+   * Returns the 99th percentile get latency over the last sample interval.
+   * <p>
+   * Latency percentiles are in nanoseconds and are only recorded while time statistics are
+   * enabled. Partitioned regions, which have no region level cache statistics, report the
+   * percentiles of the whole member.
+   *
+   * @since Geode 1.4
+   */
+  public long getGetsLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile get latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  public long getGetsLatencyP999();
+
+  /**
+   * Returns the 99th percentile put latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  public long getPutsLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile put latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  public long getPutsLatencyP999();
+
+  /**
+   * Returns the 99th percentile destroy latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  public long getDestroysLatencyP99();
+
+  /**
+   * Returns the 99.9th percentile destroy latency over the last sample interval.
+   *
+   * @since Geode 1.4
+   */
+  public long getDestroysLatencyP999();
+
   /**
    * Returns the entry eviction rate as triggered by the LRU policy.
    */
@@ -201,6 +201,56 @@ public class MemberMBean extends NotificationBroadcasterSupport implements Membe
     return bridge.getPutAllAvgLatency();
   }
 
+  @Override
+  public long getGetsLatencyP99() {
+    return bridge.getGetsLatencyP99();
+  }
+
+  @Override
+  public long getGetsLatencyP999() {
+    return bridge.getGetsLatencyP999();
+  }
+
+  @Override
+  public long getPutsLatencyP99() {
+    return bridge.getPutsLatencyP99();
+  }
+
+  @Override
+  public long getPutsLatencyP999() {
+    return bridge.getPutsLatencyP999();
+  }
+
+  @Override
+  public long getDestroysLatencyP99() {
+    return bridge.getDestroysLatencyP99();
+  }
+
+  @Override
+  public long getDestroysLatencyP999() {
+    return bridge.getDestroysLatencyP999();
+  }
+
+  @Override
+  public long getQueryExecutionLatencyP99() {
+    return bridge.getQueryExecutionLatencyP99();
+  }
+
+  @Override
+  public long getQueryExecutionLatencyP999() {
+    return bridge.getQueryExecutionLatencyP999();
+  }
+
+  @Override
+  public long getFunctionExecutionLatencyP99() {
+    return bridge.getFunctionExecutionLatencyP99();
+  }
+
+  @Override
+  public long getFunctionExecutionLatencyP999() {
+    return bridge.getFunctionExecutionLatencyP999();
+  }
+
   @Override
   public float getPutAllRate() {
     return bridge.getPutAllRate();
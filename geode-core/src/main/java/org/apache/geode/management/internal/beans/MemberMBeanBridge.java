@@ -1408,6 +1408,46 @@ public class MemberMBeanBridge {
     return putAllAvgLatency.getAverageLatency();
   }
 
+  public long getGetsLatencyP99() {
+    return getMemberLevelStatistic(StatsKey.GET_LATENCY_P99).longValue();
+  }
+
+  public long getGetsLatencyP999() {
+    return getMemberLevelStatistic(StatsKey.GET_LATENCY_P999).longValue();
+  }
+
+  public long getPutsLatencyP99() {
+    return getMemberLevelStatistic(StatsKey.PUT_LATENCY_P99).longValue();
+  }
+
+  public long getPutsLatencyP999() {
+    return getMemberLevelStatistic(StatsKey.PUT_LATENCY_P999).longValue();
+  }
+
+  public long getDestroysLatencyP99() {
+    return getMemberLevelStatistic(StatsKey.DESTROY_LATENCY_P99).longValue();
+  }
+
+  public long getDestroysLatencyP999() {
+    return getMemberLevelStatistic(StatsKey.DESTROY_LATENCY_P999).longValue();
+  }
+
+  public long getQueryExecutionLatencyP99() {
+    return getMemberLevelStatistic(StatsKey.QUERY_EXECUTION_LATENCY_P99).longValue();
+  }
+
+  public long getQueryExecutionLatencyP999() {
+    return getMemberLevelStatistic(StatsKey.QUERY_EXECUTION_LATENCY_P999).longValue();
+  }
+
+  public long getFunctionExecutionLatencyP99() {
+    return getMemberLevelStatistic(StatsKey.FUNCTION_EXECUTION_LATENCY_P99).longValue();
+  }
+
+  public long getFunctionExecutionLatencyP999() {
+    return getMemberLevelStatistic(StatsKey.FUNCTION_EXECUTION_LATENCY_P999).longValue();
+  }
+
   public float getPutAllRate() {
     this.instPutAllRate = putAllRate.getRate();
     return instPutAllRate;
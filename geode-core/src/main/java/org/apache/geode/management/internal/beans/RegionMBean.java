@@ -80,6 +80,36 @@ public class RegionMBean<K, V> extends NotificationBroadcasterSupport implements
     return bridge.getCacheWriterCallsAvgLatency();
   }
 
+  @Override
+  public long getGetsLatencyP99() {
+    return bridge.getGetsLatencyP99();
+  }
+
+  @Override
+  public long getGetsLatencyP999() {
+    return bridge.getGetsLatencyP999();
+  }
+
+  @Override
+  public long getPutsLatencyP99() {
+    return bridge.getPutsLatencyP99();
+  }
+
+  @Override
+  public long getPutsLatencyP999() {
+    return bridge.getPutsLatencyP999();
+  }
+
+  @Override
+  public long getDestroysLatencyP99() {
+    return bridge.getDestroysLatencyP99();
+  }
+
+  @Override
+  public long getDestroysLatencyP999() {
+    return bridge.getDestroysLatencyP999();
+  }
+
   @Override
   public float getCreatesRate() {
     return bridge.getCreatesRate();
@@ -288,6 +288,30 @@ public class RegionMBeanBridge<K, V> {
     return writerCallsAvgLatency.getAverageLatency();
   }
 
+  public long getGetsLatencyP99() {
+    return getRegionStatistic(StatsKey.GET_LATENCY_P99).longValue();
+  }
+
+  public long getGetsLatencyP999() {
+    return getRegionStatistic(StatsKey.GET_LATENCY_P999).longValue();
+  }
+
+  public long getPutsLatencyP99() {
+    return getRegionStatistic(StatsKey.PUT_LATENCY_P99).longValue();
+  }
+
+  public long getPutsLatencyP999() {
+    return getRegionStatistic(StatsKey.PUT_LATENCY_P999).longValue();
+  }
+
+  public long getDestroysLatencyP99() {
+    return getRegionStatistic(StatsKey.DESTROY_LATENCY_P99).longValue();
+  }
+
+  public long getDestroysLatencyP999() {
+    return getRegionStatistic(StatsKey.DESTROY_LATENCY_P999).longValue();
+  }
+
   public float getCreatesRate() {
     return createsRate.getRate();
   }
@@ -58,6 +58,22 @@ public class StatsKey {
 
   public static final String PUT_ALL_TIME = "putallTime";
 
+  public static final String GET_LATENCY_P99 = "getLatencyP99";
+
+  public static final String GET_LATENCY_P999 = "getLatencyP999";
+
+  public static final String PUT_LATENCY_P99 = "putLatencyP99";
+
+  public static final String PUT_LATENCY_P999 = "putLatencyP999";
+
+  public static final String DESTROY_LATENCY_P99 = "destroyLatencyP99";
+
+  public static final String DESTROY_LATENCY_P999 = "destroyLatencyP999";
+
+  public static final String QUERY_EXECUTION_LATENCY_P99 = "queryExecutionLatencyP99";
+
+  public static final String QUERY_EXECUTION_LATENCY_P999 = "queryExecutionLatencyP999";
+
   public static final String REGIONS = "regions";
 
   public static final String PARTITIONED_REGIONS = "partitionedRegions";
@@ -115,6 +131,10 @@ public class StatsKey {
 
   public static final String FUNCTION_EXECUTIONS_RUNNING = "functionExecutionsRunning";
 
+  public static final String FUNCTION_EXECUTION_LATENCY_P99 = "functionExecutionLatencyP99";
+
+  public static final String FUNCTION_EXECUTION_LATENCY_P999 = "functionExecutionLatencyP999";
+
   public static final String RESULTS_SENT_TO_RESULTCOLLECTOR = "resultsSentToResultCollector";
 
   public static final String FUNCTION_EXECUTION_CALLS = "functionExecutionCalls";
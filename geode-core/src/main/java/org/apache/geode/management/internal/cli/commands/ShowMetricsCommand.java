@@ -394,6 +394,22 @@ public class ShowMetricsCommand implements GfshCommand {
             csvBuilder);
         writeToTableAndCsv(metricsTable, "", "putAllAvgLatency", memberMxBean.getPutAllAvgLatency(),
             csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "getsLatencyP99", memberMxBean.getGetsLatencyP99(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "getsLatencyP999", memberMxBean.getGetsLatencyP999(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "putsLatencyP99", memberMxBean.getPutsLatencyP99(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "putsLatencyP999", memberMxBean.getPutsLatencyP999(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "destroysLatencyP99",
+            memberMxBean.getDestroysLatencyP99(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "destroysLatencyP999",
+            memberMxBean.getDestroysLatencyP999(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "queryExecutionLatencyP99",
+            memberMxBean.getQueryExecutionLatencyP99(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "queryExecutionLatencyP999",
+            memberMxBean.getQueryExecutionLatencyP999(), csvBuilder);
         writeToTableAndCsv(metricsTable, "", "totalMissCount", memberMxBean.getTotalMissCount(),
             csvBuilder);
         writeToTableAndCsv(metricsTable, "", "totalHitCount", memberMxBean.getTotalHitCount(),
@@ -455,6 +471,10 @@ public class ShowMetricsCommand implements GfshCommand {
             memberMxBean.getFunctionExecutionRate(), csvBuilder);
         writeToTableAndCsv(metricsTable, "", "numRunningFunctionsHavingResults",
             memberMxBean.getNumRunningFunctionsHavingResults(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "functionExecutionLatencyP99",
+            memberMxBean.getFunctionExecutionLatencyP99(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "functionExecutionLatencyP999",
+            memberMxBean.getFunctionExecutionLatencyP999(), csvBuilder);
       }
 
       /*
@@ -855,6 +875,18 @@ public class ShowMetricsCommand implements GfshCommand {
             csvBuilder);
         writeToTableAndCsv(metricsTable, "", "putAllRate", regionMxBean.getPutAllRate(),
             csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "getsLatencyP99", regionMxBean.getGetsLatencyP99(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "getsLatencyP999", regionMxBean.getGetsLatencyP999(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "putsLatencyP99", regionMxBean.getPutsLatencyP99(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "putsLatencyP999", regionMxBean.getPutsLatencyP999(),
+            csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "destroysLatencyP99",
+            regionMxBean.getDestroysLatencyP99(), csvBuilder);
+        writeToTableAndCsv(metricsTable, "", "destroysLatencyP999",
+            regionMxBean.getDestroysLatencyP999(), csvBuilder);
       }
 
       if (categoriesMap.get("partition")) {
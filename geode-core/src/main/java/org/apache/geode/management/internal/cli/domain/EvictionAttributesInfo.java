@@ -46,7 +46,7 @@ public class EvictionAttributesInfo implements Serializable {
     if (evictionAlgo != null) {
       evictionAlgorithm = evictionAlgo.toString();
     }
-    if (!EvictionAlgorithm.LRU_HEAP.equals(evictionAlgo)) {
+    if (evictionAlgo == null || !evictionAlgo.isLRUHeap()) {
       evictionMaxValue = ea.getMaximum();
     }
   }
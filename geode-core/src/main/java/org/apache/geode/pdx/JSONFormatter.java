@@ -22,6 +22,7 @@ import com.fasterxml.jackson.core.JsonParser.NumberType;
 import com.fasterxml.jackson.core.JsonToken;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.pdx.internal.json.JSONToPdxMapper;
+import org.apache.geode.pdx.internal.json.JSONToPdxStreamer;
 import org.apache.geode.pdx.internal.json.PdxInstanceHelper;
 import org.apache.geode.pdx.internal.json.PdxInstanceSortedHelper;
 import org.apache.geode.pdx.internal.json.PdxListHelper;
@@ -141,7 +142,11 @@ public class JSONFormatter {
         throw new JSONFormatterException("Could not parse the " + json.getClass() + " type");
       }
       enableJSONParserFeature(jp);
-      return new JSONFormatter().getPdxInstance(jp, states.NONE, null).getPdxInstance();
+      if (Boolean.getBoolean(SORT_JSON_FIELD_NAMES_PROPERTY)) {
+        // sorting needs all of an object's fields before the first one can be written
+        return new JSONFormatter().getPdxInstance(jp, states.NONE, null).getPdxInstance();
+      }
+      return JSONToPdxStreamer.toPdxInstance(jp);
     } catch (JsonParseException jpe) {
       throw new JSONFormatterException("Could not parse JSON document ", jpe);
     } catch (IOException e) {
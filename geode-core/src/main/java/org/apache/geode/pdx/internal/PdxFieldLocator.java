@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal;
+
+import org.apache.geode.InternalGemFireException;
+
+/**
+ * The precompiled form of the rules that {@link PdxType#initialize(PdxWriterImpl)} encodes in a
+ * {@link PdxField}'s relativeOffset and vlfOffsetIndex. Instead of re-deriving which of the four
+ * addressing modes applies on every field read, {@link PdxReaderImpl} asks its {@link PdxType} for
+ * the locator of a field and only has to do the one lookup (at most) into the variable length
+ * offset table that the mode requires.
+ *
+ * @since Geode 1.4
+ */
+public final class PdxFieldLocator {
+
+  /**
+   * The field is at a fixed offset from the first byte of field data.
+   */
+  static final byte FIXED = 0;
+  /**
+   * The field starts at the position stored in the given variable length offset table slot.
+   */
+  static final byte VLF_SLOT = 1;
+  /**
+   * The field is a fixed width field that ends where the given variable length field starts.
+   */
+  static final byte BEFORE_VLF_SLOT = 2;
+  /**
+   * The field is a fixed width field that ends where the variable length offset table starts.
+   */
+  static final byte BEFORE_VLF_TABLE = 3;
+
+  private final PdxField field;
+  private final byte mode;
+  private final int relativeOffset;
+  private final int vlfOffsetIndex;
+
+  private PdxFieldLocator(PdxField field, byte mode, int relativeOffset, int vlfOffsetIndex) {
+    this.field = field;
+    this.mode = mode;
+    this.relativeOffset = relativeOffset;
+    this.vlfOffsetIndex = vlfOffsetIndex;
+  }
+
+  static PdxFieldLocator compile(PdxField ft) {
+    int idx0 = ft.getRelativeOffset();
+    int idx1 = ft.getVlfOffsetIndex();
+    if (ft.isVariableLengthType()) {
+      if (idx1 != -1) {
+        return new PdxFieldLocator(ft, VLF_SLOT, 0, idx1);
+      } else {
+        return new PdxFieldLocator(ft, FIXED, idx0, -1);
+      }
+    } else {
+      if (idx0 >= 0) {
+        return new PdxFieldLocator(ft, FIXED, idx0, -1);
+      } else if (idx1 > 0) {
+        return new PdxFieldLocator(ft, BEFORE_VLF_SLOT, idx0, idx1);
+      } else if (idx1 == -1) {
+        return new PdxFieldLocator(ft, BEFORE_VLF_TABLE, idx0, -1);
+      } else {
+        throw new InternalGemFireException("idx0=" + idx0 + " idx1=" + idx1);
+      }
+    }
+  }
+
+  /**
+   * Returns the field this locator was compiled from.
+   */
+  PdxField getField() {
+    return this.field;
+  }
+
+  byte getMode() {
+    return this.mode;
+  }
+
+  int getRelativeOffset() {
+    return this.relativeOffset;
+  }
+
+  int getVlfOffsetIndex() {
+    return this.vlfOffsetIndex;
+  }
+
+  @Override
+  public String toString() {
+    return "PdxFieldLocator[" + this.field.getFieldName() + ", mode=" + this.mode
+        + ", relativeOffset=" + this.relativeOffset + ", vlfOffsetIndex=" + this.vlfOffsetIndex
+        + "]";
+  }
+}
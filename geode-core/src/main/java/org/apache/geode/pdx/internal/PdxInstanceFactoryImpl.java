@@ -35,10 +35,17 @@ public class PdxInstanceFactoryImpl implements PdxInstanceFactory {
 
   private final PdxWriterImpl writer;
 
+  private final PdxOutputStream pdxOutputStream;
+
   private boolean created = false;
 
   private PdxInstanceFactoryImpl(String name, boolean expectDomainClass) {
-    PdxOutputStream pdxOutputStream = new PdxOutputStream();
+    this(name, expectDomainClass, new PdxOutputStream());
+  }
+
+  private PdxInstanceFactoryImpl(String name, boolean expectDomainClass,
+      PdxOutputStream pdxOutputStream) {
+    this.pdxOutputStream = pdxOutputStream;
     PdxType pdxType = new PdxType(name, expectDomainClass);
     InternalCache internalCache = GemFireCacheImpl
         .getForPdx("PDX registry is unavailable because the Cache has been closed.");
@@ -50,6 +57,37 @@ public class PdxInstanceFactoryImpl implements PdxInstanceFactory {
     return new PdxInstanceFactoryImpl(name, expectDomainClass);
   }
 
+  /**
+   * Returns a factory that serializes its pdx at the current end of the given stream instead of in
+   * a stream of its own. This lets a nested pdx be written in place as the value of a field of
+   * another factory; see {@link #writeObjectInPlace(String)}. The returned factory must be finished
+   * with {@link #completeInPlace()} instead of {@link #create()}.
+   */
+  public static PdxInstanceFactoryImpl newInPlaceCreator(String name, boolean expectDomainClass,
+      PdxOutputStream pdxOutputStream) {
+    return new PdxInstanceFactoryImpl(name, expectDomainClass, pdxOutputStream);
+  }
+
+  /**
+   * Adds an OBJECT field and returns the stream the caller must serialize its value to. The value
+   * must be completely written before another field is added to this factory.
+   */
+  public PdxOutputStream writeObjectInPlace(String fieldName) {
+    this.writer.startObjectField(fieldName);
+    return this.pdxOutputStream;
+  }
+
+  /**
+   * Finishes serializing a pdx started with {@link #newInPlaceCreator} and defines its type.
+   */
+  public void completeInPlace() {
+    if (this.created) {
+      throw new IllegalStateException("The create method can only be called once.");
+    }
+    this.created = true;
+    this.writer.completeByteStreamGeneration();
+  }
+
   @Override
   public PdxInstance create() {
     if (this.created) {
@@ -515,6 +515,16 @@ public class PdxInstanceImpl extends PdxReaderImpl
     return super.readString(fieldName);
   }
 
+  @Override
+  public synchronized int compareStringField(String fieldName, String value) {
+    return super.compareStringField(fieldName, value);
+  }
+
+  @Override
+  public synchronized int compareStringField(PdxField ft, String value) {
+    return super.compareStringField(ft, value);
+  }
+
   @Override
   public synchronized Object readObject(String fieldName) {
     return super.readObject(fieldName);
@@ -85,6 +85,14 @@ public class PdxOutputStream implements ByteBufferWriter {
     }
   }
 
+  public void writeArrayLength(int len) {
+    try {
+      InternalDataSerializer.writeArrayLength(len, this.hdos);
+    } catch (IOException e) {
+      throw new PdxSerializationException("Exception while serializing a PDX field", e);
+    }
+  }
+
   public void writeBooleanArray(boolean[] array) {
     try {
       DataSerializer.writeBooleanArray(array, this.hdos);
@@ -580,32 +580,22 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
   }
 
   private int getAbsolutePosition(PdxField ft) {
-    int pos = 0;
-    int idx0 = ft.getRelativeOffset();
-    int idx1 = ft.getVlfOffsetIndex();
-
-    if (ft.isVariableLengthType()) {
-      if (idx1 != -1) {
-        pos = getOffset(idx1);
-      } else {
-        pos = idx0;
-      }
-    } else {
-      if (idx0 >= 0) {
-        // index0 indicates the offset
-        pos = idx0;
-      } else if (idx1 > 0) {
-        // index1 indicates the offset no. Read the value at that offset
-        // then move backward index0 positions backward from that value.
-        pos = getOffset(idx1) + idx0;
-      } else if (idx1 == -1) {
-        // index0 indicates no position backward from last offset position
-        pos = getOffsetToVlfTable() + idx0;
-      } else {
-        throw new InternalGemFireException("idx0=" + idx0 + " idx1=" + idx1);
-      }
+    PdxFieldLocator locator = this.blobType.getFieldLocator(ft);
+    switch (locator.getMode()) {
+      case PdxFieldLocator.FIXED:
+        return locator.getRelativeOffset();
+      case PdxFieldLocator.VLF_SLOT:
+        return getOffset(locator.getVlfOffsetIndex());
+      case PdxFieldLocator.BEFORE_VLF_SLOT:
+        // read the start of the next variable length field
+        // then move backward relativeOffset positions from that value.
+        return getOffset(locator.getVlfOffsetIndex()) + locator.getRelativeOffset();
+      case PdxFieldLocator.BEFORE_VLF_TABLE:
+        // move backward relativeOffset positions from the start of the offset table
+        return getOffsetToVlfTable() + locator.getRelativeOffset();
+      default:
+        throw new InternalGemFireException("Unknown field locator " + locator);
     }
-    return pos;
   }
 
   private int getOffsetToVlfTable() {
@@ -904,6 +894,122 @@ public class PdxReaderImpl implements InternalPdxReader, java.io.Serializable {
     return null;
   }
 
+  /**
+   * Compares the value of a String field to the given value without deserializing the field. A
+   * null field value is less than any non-null value and a missing field is treated as null.
+   *
+   * @return a negative, zero or positive value as the field is less than, equal to, or greater
+   *         than value
+   */
+  public int compareStringField(String fieldName, String value) {
+    PdxField ft = blobType.getPdxField(fieldName);
+    if (ft == null) {
+      return value == null ? 0 : -1;
+    }
+    if (ft.getFieldType() != FieldType.STRING) {
+      throw new PdxFieldTypeMismatchException(
+          "Expected String field but found field of type " + ft.getTypeIdString());
+    }
+    return compareStringField(ft, value);
+  }
+
+  public int compareStringField(PdxField ft, String value) {
+    ByteSource buffer = dis.getBuffer();
+    if (!buffer.hasArray()) {
+      String fieldValue = readString(ft);
+      if (fieldValue == null || value == null) {
+        return compareNulls(fieldValue, value);
+      }
+      return fieldValue.compareTo(value);
+    }
+    byte[] bytes = buffer.array();
+    int offset = getPositionForField(ft) + buffer.arrayOffset();
+    if (bytes[offset] == DSCODE.NULL || bytes[offset] == DSCODE.NULL_STRING) {
+      return value == null ? 0 : -1;
+    }
+    if (value == null) {
+      return 1;
+    }
+    return PdxString.compareSerializedString(bytes, offset, value);
+  }
+
+  private static int compareNulls(Object fieldValue, Object value) {
+    if (fieldValue == null) {
+      return value == null ? 0 : -1;
+    }
+    return 1;
+  }
+
+  /**
+   * Compares the value of an integral (byte, short, char, int or long) field to the given value
+   * without boxing the field. A missing field is treated as zero.
+   */
+  public int compareLongField(String fieldName, long value) {
+    PdxField ft = blobType.getPdxField(fieldName);
+    if (ft == null) {
+      return Long.compare(0, value);
+    }
+    return compareLongField(ft, value);
+  }
+
+  public int compareLongField(PdxField ft, long value) {
+    return Long.compare(readIntegral(ft), value);
+  }
+
+  private long readIntegral(PdxField ft) {
+    int pos = getPositionForField(ft);
+    switch (ft.getFieldType()) {
+      case BYTE:
+        return dis.readByte(pos);
+      case SHORT:
+        return dis.readShort(pos);
+      case CHAR:
+        return dis.readChar(pos);
+      case INT:
+        return dis.readInt(pos);
+      case LONG:
+        return dis.readLong(pos);
+      default:
+        throw new PdxFieldTypeMismatchException(
+            "Expected integral field but found field of type " + ft.getTypeIdString());
+    }
+  }
+
+  /**
+   * Compares the value of a numeric field to the given value without boxing the field. A missing
+   * field is treated as zero.
+   */
+  public int compareDoubleField(String fieldName, double value) {
+    PdxField ft = blobType.getPdxField(fieldName);
+    if (ft == null) {
+      return Double.compare(0, value);
+    }
+    return compareDoubleField(ft, value);
+  }
+
+  public int compareDoubleField(PdxField ft, double value) {
+    double fieldValue;
+    switch (ft.getFieldType()) {
+      case FLOAT:
+        fieldValue = dis.readFloat(getPositionForField(ft));
+        break;
+      case DOUBLE:
+        fieldValue = dis.readDouble(getPositionForField(ft));
+        break;
+      case BYTE:
+      case SHORT:
+      case CHAR:
+      case INT:
+      case LONG:
+        fieldValue = readIntegral(ft);
+        break;
+      default:
+        throw new PdxFieldTypeMismatchException(
+            "Expected numeric field but found field of type " + ft.getTypeIdString());
+    }
+    return Double.compare(fieldValue, value);
+  }
+
   /**
    * @return returns {@link PdxString}
    */
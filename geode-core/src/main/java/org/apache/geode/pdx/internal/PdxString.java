@@ -126,6 +126,101 @@ public class PdxString implements Comparable<PdxString>, Sendable {
     return len1 - len2;
   }
 
+  /**
+   * Compares this PdxString to the given String without creating a String. The sign of the result
+   * is the same as that of {@code toString().compareTo(other)}.
+   */
+  public int compareToString(String other) {
+    int headerOffset = this.offset - 1;
+    if (header == DSCODE.STRING_BYTES || header == DSCODE.STRING) {
+      headerOffset -= 2;
+    } else if (header == DSCODE.HUGE_STRING_BYTES || header == DSCODE.HUGE_STRING) {
+      headerOffset -= 4;
+    }
+    return compareSerializedString(this.bytes, headerOffset, other);
+  }
+
+  /**
+   * Compares the serialized String whose header byte is at headerOffset in bytes to the given
+   * String without creating a String or a PdxString. The sign of the result is the same as that of
+   * {@link String#compareTo(String)} on the deserialized value.
+   */
+  static int compareSerializedString(byte[] bytes, int headerOffset, String other) {
+    byte header = bytes[headerOffset];
+    int otherLen = other.length();
+    int pos;
+    int end;
+    if (header == DSCODE.STRING_BYTES) {
+      pos = headerOffset + 3;
+      end = pos + readUnsignedShort(bytes, headerOffset + 1);
+    } else if (header == DSCODE.HUGE_STRING_BYTES) {
+      pos = headerOffset + 5;
+      end = pos + readInt(bytes, headerOffset + 1);
+    } else if (header == DSCODE.HUGE_STRING) {
+      pos = headerOffset + 5;
+      int len = readInt(bytes, headerOffset + 1);
+      int n = Math.min(len, otherLen);
+      for (int k = 0; k < n; k++, pos += 2) {
+        char c1 = (char) (((bytes[pos] & 0xff) << 8) | (bytes[pos + 1] & 0xff));
+        char c2 = other.charAt(k);
+        if (c1 != c2) {
+          return c1 - c2;
+        }
+      }
+      return len - otherLen;
+    } else if (header == DSCODE.STRING) {
+      // modified UTF-8 as written by DataOutput.writeUTF
+      pos = headerOffset + 3;
+      end = pos + readUnsignedShort(bytes, headerOffset + 1);
+      int k = 0;
+      while (pos < end && k < otherLen) {
+        int b = bytes[pos] & 0xff;
+        char c1;
+        if (b < 0x80) {
+          c1 = (char) b;
+          pos++;
+        } else if ((b & 0xe0) == 0xc0) {
+          c1 = (char) (((b & 0x1f) << 6) | (bytes[pos + 1] & 0x3f));
+          pos += 2;
+        } else {
+          c1 = (char) (((b & 0x0f) << 12) | ((bytes[pos + 1] & 0x3f) << 6)
+              | (bytes[pos + 2] & 0x3f));
+          pos += 3;
+        }
+        char c2 = other.charAt(k++);
+        if (c1 != c2) {
+          return c1 - c2;
+        }
+      }
+      if (pos < end) {
+        return 1;
+      }
+      return k < otherLen ? -1 : 0;
+    } else {
+      throw new IllegalStateException("Unknown String header " + header);
+    }
+    // STRING_BYTES and HUGE_STRING_BYTES store one byte per char
+    int len = end - pos;
+    int n = Math.min(len, otherLen);
+    for (int k = 0; k < n; k++) {
+      char c1 = (char) (bytes[pos + k] & 0xff);
+      char c2 = other.charAt(k);
+      if (c1 != c2) {
+        return c1 - c2;
+      }
+    }
+    return len - otherLen;
+  }
+
+  private static int readUnsignedShort(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xff) << 8) | (bytes[offset + 1] & 0xff);
+  }
+
+  private static int readInt(byte[] bytes, int offset) {
+    return ((bytes[offset] & 0xff) << 24) | ((bytes[offset + 1] & 0xff) << 16)
+        | ((bytes[offset + 2] & 0xff) << 8) | (bytes[offset + 3] & 0xff);
+  }
+
   public int hashCode() {
     int h = 0;
     int len = this.getLength();
@@ -66,6 +66,11 @@ public class PdxType implements DataSerializable {
 
   private final transient Map<String, PdxField> fieldsMap = new HashMap<String, PdxField>();
   private transient volatile SortedSet<PdxField> sortedIdentityFields;
+  /**
+   * Lazily compiled field locators, indexed by field index. Reset whenever the field layout
+   * changes.
+   */
+  private transient volatile PdxFieldLocator[] fieldLocators;
 
   public PdxType() {
     // for deserialization
@@ -276,6 +281,7 @@ public class PdxType implements DataSerializable {
           "The field \"" + ft.getFieldName() + "\" already exists.");
     }
     this.fields.add(ft);
+    this.fieldLocators = null;
   }
 
   public void initialize(PdxWriterImpl writer) {
@@ -317,6 +323,7 @@ public class PdxType implements DataSerializable {
         fixedLenFieldOffset += vft.getFieldType().getWidth();
       }
     }
+    this.fieldLocators = null;
     // no longer mark identity fields implicitly. Fixes bug 42976.
 
     // System.out.println("Printing the position array:");
@@ -338,6 +345,30 @@ public class PdxType implements DataSerializable {
     return Collections.unmodifiableList(this.fields);
   }
 
+  /**
+   * Returns the compiled locator for the given field of this type. The locators of all fields are
+   * compiled together the first time one is asked for so that later reads do a single array lookup.
+   */
+  public PdxFieldLocator getFieldLocator(PdxField ft) {
+    PdxFieldLocator[] locators = this.fieldLocators;
+    if (locators == null) {
+      locators = new PdxFieldLocator[this.fields.size()];
+      for (int i = 0; i < locators.length; i++) {
+        locators[i] = PdxFieldLocator.compile(this.fields.get(i));
+      }
+      this.fieldLocators = locators;
+    }
+    int idx = ft.getFieldIndex();
+    if (idx >= 0 && idx < locators.length) {
+      PdxFieldLocator result = locators[idx];
+      if (result.getField() == ft) {
+        return result;
+      }
+    }
+    // not one of our fields; compile it on the fly
+    return PdxFieldLocator.compile(ft);
+  }
+
   public PdxField getPdxFieldByIndex(int index) {
     return this.fields.get(index);
   }
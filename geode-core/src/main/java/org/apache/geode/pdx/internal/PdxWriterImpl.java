@@ -330,6 +330,16 @@ public class PdxWriterImpl implements PdxWriter {
     return this;
   }
 
+  /**
+   * Adds an OBJECT field whose serialized value the caller writes directly to this writer's output
+   * stream, for example by a nested writer that shares the stream. The value must be completely
+   * written before the next field is added.
+   */
+  void startObjectField(String fieldName) {
+    markVariableField();
+    updateMetaData(fieldName, FieldType.OBJECT);
+  }
+
   public void writeObject(Object object, boolean onlyPortableObjects) {
     markVariableField();
     beforeFieldWrite();
@@ -60,6 +60,21 @@ public class WritablePdxInstanceImpl extends PdxInstanceImpl implements Writable
     return new PdxReaderImpl(this);
   }
 
+  @Override
+  public int compareStringField(String fieldName, String value) {
+    return getUnmodifiableReader(fieldName).compareStringField(fieldName, value);
+  }
+
+  @Override
+  public int compareLongField(String fieldName, long value) {
+    return getUnmodifiableReader(fieldName).compareLongField(fieldName, value);
+  }
+
+  @Override
+  public int compareDoubleField(String fieldName, double value) {
+    return getUnmodifiableReader(fieldName).compareDoubleField(fieldName, value);
+  }
+
   @Override
   public synchronized Object getCachedObject() {
     return super.getCachedObject();
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.pdx.internal.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import org.apache.geode.internal.DSCODE;
+import org.apache.geode.pdx.JSONFormatter;
+import org.apache.geode.pdx.PdxInstance;
+import org.apache.geode.pdx.internal.PdxInstanceFactoryImpl;
+import org.apache.geode.pdx.internal.PdxOutputStream;
+
+/**
+ * Converts a JSON document into a PdxInstance by serializing straight from the parser's token
+ * stream. Unlike {@link PdxInstanceHelper} and {@link PdxListHelper}, nested objects are not built
+ * as PdxInstances of their own and then copied into their parent; they are serialized in place in
+ * the parent's stream. Arrays are serialized to a scratch stream only because their length has to
+ * be written before their elements.
+ * <p>
+ * The serialized form is the same as the one produced by the helper based conversion: objects
+ * become pdx instances of {@link JSONFormatter#JSON_CLASSNAME}, arrays become LinkedLists and
+ * numbers use the smallest of byte, short, int and long that holds them.
+ */
+public class JSONToPdxStreamer {
+
+  private JSONToPdxStreamer() {}
+
+  /**
+   * Reads one JSON object from the parser and returns it as a PdxInstance.
+   */
+  public static PdxInstance toPdxInstance(JsonParser jp) throws IOException {
+    JsonToken token = jp.nextToken();
+    if (token != JsonToken.START_OBJECT) {
+      throw new IllegalStateException("Expected a JSON object but found " + token);
+    }
+    PdxInstanceFactoryImpl factory = (PdxInstanceFactoryImpl) PdxInstanceFactoryImpl
+        .newCreator(JSONFormatter.JSON_CLASSNAME, false);
+    writeFields(jp, factory);
+    return factory.create();
+  }
+
+  private static void writeFields(JsonParser jp, PdxInstanceFactoryImpl factory)
+      throws IOException {
+    while (true) {
+      JsonToken token = jp.nextToken();
+      if (token == JsonToken.END_OBJECT) {
+        return;
+      }
+      if (token != JsonToken.FIELD_NAME) {
+        throw new IllegalStateException("Expected a field name but found " + token);
+      }
+      String fieldName = jp.getCurrentName();
+      writeField(jp, jp.nextToken(), fieldName, factory);
+    }
+  }
+
+  private static void writeField(JsonParser jp, JsonToken token, String fieldName,
+      PdxInstanceFactoryImpl factory) throws IOException {
+    if (token == null) {
+      throw new IllegalStateException("Unexpected end of JSON document in field " + fieldName);
+    }
+    switch (token) {
+      case START_OBJECT: {
+        PdxOutputStream os = factory.writeObjectInPlace(fieldName);
+        writeObject(jp, os);
+        break;
+      }
+      case START_ARRAY: {
+        PdxOutputStream os = factory.writeObjectInPlace(fieldName);
+        writeArray(jp, os);
+        break;
+      }
+      case VALUE_STRING:
+        factory.writeObject(fieldName, jp.getText());
+        break;
+      case VALUE_TRUE:
+        factory.writeBoolean(fieldName, true);
+        break;
+      case VALUE_FALSE:
+        factory.writeBoolean(fieldName, false);
+        break;
+      case VALUE_NULL:
+        factory.writeObject(fieldName, null);
+        break;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        writeNumberField(jp, fieldName, factory);
+        break;
+      default:
+        throw new IllegalStateException("Token not handled " + token);
+    }
+  }
+
+  private static void writeNumberField(JsonParser jp, String fieldName,
+      PdxInstanceFactoryImpl factory) throws IOException {
+    JsonParser.NumberType nt = jp.getNumberType();
+    switch (nt) {
+      case BIG_DECIMAL:
+        factory.writeObject(fieldName, jp.getDecimalValue());
+        break;
+      case BIG_INTEGER:
+        factory.writeObject(fieldName, jp.getBigIntegerValue());
+        break;
+      case DOUBLE:
+        factory.writeDouble(fieldName, jp.getDoubleValue());
+        break;
+      case FLOAT:
+        factory.writeFloat(fieldName, jp.getFloatValue());
+        break;
+      case INT: {
+        int val = jp.getIntValue();
+        if (val > Short.MAX_VALUE || val < Short.MIN_VALUE) {
+          factory.writeInt(fieldName, val);
+        } else if (val > Byte.MAX_VALUE || val < Byte.MIN_VALUE) {
+          factory.writeShort(fieldName, (short) val);
+        } else {
+          factory.writeByte(fieldName, (byte) val);
+        }
+        break;
+      }
+      case LONG:
+        factory.writeLong(fieldName, jp.getLongValue());
+        break;
+      default:
+        throw new IllegalStateException("Unknown number type " + nt);
+    }
+  }
+
+  /**
+   * Serializes the object whose START_OBJECT token was just read as a pdx at the end of os.
+   */
+  private static void writeObject(JsonParser jp, PdxOutputStream os) throws IOException {
+    PdxInstanceFactoryImpl nested =
+        PdxInstanceFactoryImpl.newInPlaceCreator(JSONFormatter.JSON_CLASSNAME, false, os);
+    writeFields(jp, nested);
+    nested.completeInPlace();
+  }
+
+  /**
+   * Serializes the array whose START_ARRAY token was just read as a LinkedList at the end of os.
+   */
+  private static void writeArray(JsonParser jp, PdxOutputStream os) throws IOException {
+    PdxOutputStream elements = new PdxOutputStream();
+    int count = 0;
+    while (true) {
+      JsonToken token = jp.nextToken();
+      if (token == JsonToken.END_ARRAY) {
+        break;
+      }
+      writeElement(jp, token, elements);
+      count++;
+    }
+    os.writeByte(DSCODE.LINKED_LIST);
+    os.writeArrayLength(count);
+    os.write(elements.toByteBuffer());
+  }
+
+  private static void writeElement(JsonParser jp, JsonToken token, PdxOutputStream os)
+      throws IOException {
+    if (token == null) {
+      throw new IllegalStateException("Unexpected end of JSON document in array");
+    }
+    switch (token) {
+      case START_OBJECT:
+        writeObject(jp, os);
+        break;
+      case START_ARRAY:
+        writeArray(jp, os);
+        break;
+      case VALUE_STRING:
+        os.writeObject(jp.getText(), false);
+        break;
+      case VALUE_TRUE:
+        os.writeObject(Boolean.TRUE, false);
+        break;
+      case VALUE_FALSE:
+        os.writeObject(Boolean.FALSE, false);
+        break;
+      case VALUE_NULL:
+        os.writeObject(null, false);
+        break;
+      case VALUE_NUMBER_INT:
+      case VALUE_NUMBER_FLOAT:
+        os.writeObject(getNumberElement(jp), false);
+        break;
+      default:
+        throw new IllegalStateException("Token not handled in array " + token);
+    }
+  }
+
+  private static Object getNumberElement(JsonParser jp) throws IOException {
+    JsonParser.NumberType nt = jp.getNumberType();
+    switch (nt) {
+      case BIG_DECIMAL:
+        return jp.getDecimalValue();
+      case BIG_INTEGER:
+        return jp.getBigIntegerValue();
+      case DOUBLE:
+        return jp.getDoubleValue();
+      case FLOAT:
+        return jp.getFloatValue();
+      case INT: {
+        int val = jp.getIntValue();
+        if (val > Short.MAX_VALUE || val < Short.MIN_VALUE) {
+          return val;
+        } else if (val > Byte.MAX_VALUE || val < Byte.MIN_VALUE) {
+          return (short) val;
+        } else {
+          return (byte) val;
+        }
+      }
+      case LONG:
+        return jp.getLongValue();
+      default:
+        throw new IllegalStateException("Unknown number type " + nt);
+    }
+  }
+}
@@ -15,6 +15,7 @@
 package org.apache.geode.pdx.internal.json;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
@@ -33,6 +34,8 @@ import org.apache.geode.pdx.JSONFormatter;
 import org.apache.geode.pdx.PdxInstance;
 import org.apache.geode.pdx.internal.EnumInfo;
 import org.apache.geode.pdx.internal.EnumInfo.PdxInstanceEnumInfo;
+import org.apache.geode.pdx.internal.PdxField;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
 
 /*
  * This class converts a PdxInstance into a JSON document.
@@ -47,14 +50,9 @@ public class PdxToJSON {
   }
 
   public String getJSON() {
-    JsonFactory jf = new JsonFactory();
-    // OutputStream os = new ByteArrayOutputStream();
     HeapDataOutputStream hdos = new HeapDataOutputStream(org.apache.geode.internal.Version.CURRENT);
     try {
-      JsonGenerator jg = jf.createJsonGenerator(hdos, JsonEncoding.UTF8);
-      enableDisableJSONGeneratorFeature(jg);
-      getJSONString(jg, m_pdxInstance);
-      jg.close();
+      writeJSON(hdos);
       return new String(hdos.toByteArray());
     } catch (IOException e) {
       throw new RuntimeException(e.getMessage());
@@ -64,13 +62,9 @@ public class PdxToJSON {
   }
 
   public byte[] getJSONByteArray() {
-    JsonFactory jf = new JsonFactory();
     HeapDataOutputStream hdos = new HeapDataOutputStream(org.apache.geode.internal.Version.CURRENT);
     try {
-      JsonGenerator jg = jf.createJsonGenerator(hdos, JsonEncoding.UTF8);
-      enableDisableJSONGeneratorFeature(jg);
-      getJSONString(jg, m_pdxInstance);
-      jg.close();
+      writeJSON(hdos);
       return hdos.toByteArray();
     } catch (IOException e) {
       throw new RuntimeException(e.getMessage());
@@ -79,6 +73,63 @@ public class PdxToJSON {
     }
   }
 
+  /**
+   * Streams the JSON document to the given stream as it is generated instead of building it in
+   * memory first. The stream is flushed but not closed.
+   */
+  public void writeJSON(OutputStream os) throws IOException {
+    JsonFactory jf = new JsonFactory();
+    JsonGenerator jg = jf.createJsonGenerator(os, JsonEncoding.UTF8);
+    enableDisableJSONGeneratorFeature(jg);
+    getJSONString(jg, m_pdxInstance);
+    jg.close();
+  }
+
+  /**
+   * Writes the value of a boolean or numeric field straight from the serialized form of the pdx
+   * without deserializing it into a boxed value.
+   *
+   * @return false if the field can not be written this way and should be written from
+   *         {@link PdxInstance#getField(String)} instead
+   */
+  public static boolean writePrimitiveField(JsonGenerator jg, PdxInstance pdxInstance,
+      String fieldName) throws IOException {
+    // WritablePdxInstances may have pending writes so only read plain instances directly
+    if (pdxInstance.getClass() != PdxInstanceImpl.class) {
+      return false;
+    }
+    PdxInstanceImpl pi = (PdxInstanceImpl) pdxInstance;
+    PdxField ft = pi.getPdxField(fieldName);
+    if (ft == null) {
+      return false;
+    }
+    switch (ft.getFieldType()) {
+      case BOOLEAN:
+        jg.writeBoolean(pi.readBoolean(ft));
+        return true;
+      case BYTE:
+        jg.writeNumber(pi.readByte(ft));
+        return true;
+      case SHORT:
+        jg.writeNumber(pi.readShort(ft));
+        return true;
+      case INT:
+        jg.writeNumber(pi.readInt(ft));
+        return true;
+      case LONG:
+        jg.writeNumber(pi.readLong(ft));
+        return true;
+      case FLOAT:
+        jg.writeNumber(pi.readFloat(ft));
+        return true;
+      case DOUBLE:
+        jg.writeNumber(pi.readDouble(ft));
+        return true;
+      default:
+        return false;
+    }
+  }
+
   private void enableDisableJSONGeneratorFeature(JsonGenerator jg) {
     jg.enable(Feature.ESCAPE_NON_ASCII);
     jg.disable(Feature.AUTO_CLOSE_TARGET);
@@ -169,9 +220,10 @@ public class PdxToJSON {
     List<String> pdxFields = pdxInstance.getFieldNames();
 
     for (String pf : pdxFields) {
-      Object value = pdxInstance.getField(pf);
       jg.writeFieldName(pf);
-      writeValue(jg, value, pf);
+      if (!writePrimitiveField(jg, pdxInstance, pf)) {
+        writeValue(jg, pdxInstance.getField(pf), pf);
+      }
     }
     jg.writeEndObject();
     return null;
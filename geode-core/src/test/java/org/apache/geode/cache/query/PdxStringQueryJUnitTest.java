@@ -85,6 +85,33 @@ public class PdxStringQueryJUnitTest {
     r.clear();
   }
 
+  @Test
+  public void testComparisonsOnPdxFieldsAgainstLiterals() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      PdxInstanceFactory pf = PdxInstanceFactoryImpl.newCreator("Position", false);
+      pf.writeInt("ID", i);
+      pf.writeLong("qty", i * 100L);
+      pf.writeString("secId", i == 9 ? null : (i % 2 == 0 ? "IBM" : "YHOO"));
+      r.put("key-" + i, pf.create());
+    }
+    assertEquals(4, countMatches("ID > 5"));
+    assertEquals(4, countMatches("5 < ID"));
+    assertEquals(1, countMatches("ID = 5.0"));
+    assertEquals(10, countMatches("ID >= -0.0"));
+    assertEquals(3, countMatches("qty <= 200L"));
+    assertEquals(9, countMatches("qty <> 300"));
+    assertEquals(5, countMatches("secId = 'IBM'"));
+    assertEquals(5, countMatches("'IBM' = secId"));
+    assertEquals(4, countMatches("secId > 'IBM'"));
+    assertEquals(5, countMatches("secId <> 'IBM'"));
+    assertEquals(1, countMatches("secId = null"));
+  }
+
+  private int countMatches(String predicate) throws Exception {
+    return ((SelectResults) qs.newQuery("select * from /exampleRegion where " + predicate)
+        .execute()).size();
+  }
+
   @Test
   public void testQueriesWithCompactRangeIndexPdxInstances() throws Exception {
     Index index = qs.createIndex("index1", "secId", "/exampleRegion");
@@ -25,6 +25,9 @@ import org.junit.experimental.categories.Category;
 
 import org.apache.geode.cache.Cache;
 import org.apache.geode.cache.Declarable;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
 import org.apache.geode.cache.Region;
 import org.apache.geode.cache.asyncqueue.AsyncEvent;
 import org.apache.geode.cache.asyncqueue.AsyncEventListener;
@@ -292,6 +295,38 @@ public class CacheXmlGeode10DUnitTest extends CacheXml81DUnitTest {
     c.close();
   }
 
+  @SuppressWarnings("rawtypes")
+  @Test
+  public void testSampledLRUEviction() throws Exception {
+    final CacheCreation cache = new CacheCreation();
+    final RegionAttributesCreation entryAttrs = new RegionAttributesCreation(cache);
+    entryAttrs.setEvictionAttributes(
+        EvictionAttributes.createSampledLRUEntryAttributes(100, EvictionAction.LOCAL_DESTROY));
+    cache.createRegion("sampledEntry", entryAttrs);
+
+    final RegionAttributesCreation memoryAttrs = new RegionAttributesCreation(cache);
+    memoryAttrs.setEvictionAttributes(EvictionAttributes.createSampledLRUMemoryAttributes(10,
+        null, EvictionAction.LOCAL_DESTROY));
+    cache.createRegion("sampledMemory", memoryAttrs);
+
+    final RegionAttributesCreation heapAttrs = new RegionAttributesCreation(cache);
+    heapAttrs.setEvictionAttributes(
+        EvictionAttributes.createSampledLRUHeapAttributes(null, EvictionAction.LOCAL_DESTROY));
+    cache.createRegion("sampledHeap", heapAttrs);
+
+    testXml(cache);
+
+    final Cache c = getCache();
+    assertEquals(EvictionAlgorithm.SAMPLED_LRU_ENTRY,
+        c.getRegion("sampledEntry").getAttributes().getEvictionAttributes().getAlgorithm());
+    assertEquals(100,
+        c.getRegion("sampledEntry").getAttributes().getEvictionAttributes().getMaximum());
+    assertEquals(EvictionAlgorithm.SAMPLED_LRU_MEMORY,
+        c.getRegion("sampledMemory").getAttributes().getEvictionAttributes().getAlgorithm());
+    assertEquals(EvictionAlgorithm.SAMPLED_LRU_HEAP,
+        c.getRegion("sampledHeap").getAttributes().getEvictionAttributes().getAlgorithm());
+  }
+
   public static class MyAsyncEventListenerGeode10 implements AsyncEventListener, Declarable {
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.awaitility.Awaitility;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.EntryEvent;
+import org.apache.geode.cache.ExpirationAction;
+import org.apache.geode.cache.ExpirationAttributes;
+import org.apache.geode.cache.PartitionAttributesFactory;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionFactory;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.server.CacheServer;
+import org.apache.geode.cache.util.CacheListenerAdapter;
+import org.apache.geode.internal.AvailablePortHelper;
+import org.apache.geode.test.dunit.Host;
+import org.apache.geode.test.dunit.Invoke;
+import org.apache.geode.test.dunit.NetworkUtils;
+import org.apache.geode.test.dunit.VM;
+import org.apache.geode.test.dunit.cache.internal.JUnit4CacheTestCase;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests that entries of a redundant partitioned region expired in batches by the timer wheel are
+ * destroyed on the secondaries, and that the listeners and the clients see each destroy once.
+ */
+@Category(DistributedTest.class)
+public class BatchExpirationDUnitTest extends JUnit4CacheTestCase {
+
+  private static final int ENTRIES = 200;
+
+  private static Map<Object, AtomicInteger> destroys;
+
+  private VM server1;
+  private VM server2;
+  private VM client;
+
+  @Override
+  public final void postSetUp() throws Exception {
+    disconnectAllFromDS();
+    Host host = Host.getHost(0);
+    this.server1 = host.getVM(0);
+    this.server2 = host.getVM(1);
+    this.client = host.getVM(2);
+  }
+
+  @Override
+  public final void preTearDownCacheTestCase() throws Exception {
+    Invoke.invokeInEveryVM(() -> {
+      ExpirationScheduler.USE_TIMER_WHEEL = false;
+      ExpirationScheduler.BATCH_EXPIRATION = false;
+      destroys = null;
+    });
+  }
+
+  @Test
+  public void timeToLiveExpiresEachEntryOnce() {
+    doTestBatchExpiration(false);
+  }
+
+  @Test
+  public void idleTimeoutExpiresEachEntryOnce() {
+    doTestBatchExpiration(true);
+  }
+
+  private void doTestBatchExpiration(boolean idle) {
+    String regionName = getUniqueName();
+    int port = this.server1.invoke(() -> createServer(regionName, idle));
+    this.server2.invoke(() -> createServer(regionName, idle));
+    this.client.invoke(() -> createClient(regionName, port));
+
+    this.server1.invoke(() -> {
+      Region<Object, Object> region = getCache().getRegion(regionName);
+      for (int i = 0; i < ENTRIES; i++) {
+        region.put(i, "value" + i);
+      }
+    });
+
+    for (VM vm : new VM[] {this.server1, this.server2}) {
+      vm.invoke(() -> {
+        Region<Object, Object> region = getCache().getRegion(regionName);
+        Awaitility.await().atMost(60, TimeUnit.SECONDS)
+            .until(() -> region.size() == 0 && destroys.size() == ENTRIES);
+        assertEachKeyDestroyedOnce();
+      });
+    }
+    this.client.invoke(() -> {
+      Region<Object, Object> region = ClientCacheFactory.getAnyInstance().getRegion(regionName);
+      Awaitility.await().atMost(60, TimeUnit.SECONDS)
+          .until(() -> region.size() == 0 && destroys.size() == ENTRIES);
+      assertEachKeyDestroyedOnce();
+    });
+  }
+
+  private int createServer(String regionName, boolean idle) throws IOException {
+    ExpirationScheduler.USE_TIMER_WHEEL = true;
+    ExpirationScheduler.BATCH_EXPIRATION = true;
+    destroys = new ConcurrentHashMap<>();
+    Cache cache = getCache();
+    RegionFactory<Object, Object> factory =
+        cache.createRegionFactory(RegionShortcut.PARTITION_REDUNDANT);
+    factory.setPartitionAttributes(
+        new PartitionAttributesFactory<>().setRedundantCopies(1).setTotalNumBuckets(4).create());
+    factory.setStatisticsEnabled(true);
+    ExpirationAttributes expiration = new ExpirationAttributes(2, ExpirationAction.DESTROY);
+    if (idle) {
+      factory.setEntryIdleTimeout(expiration);
+    } else {
+      factory.setEntryTimeToLive(expiration);
+    }
+    factory.addCacheListener(new DestroyCounter());
+    factory.create(regionName);
+    CacheServer server = cache.addCacheServer();
+    server.setPort(AvailablePortHelper.getRandomAvailableTCPPort());
+    server.start();
+    return server.getPort();
+  }
+
+  private void createClient(String regionName, int port) {
+    destroys = new ConcurrentHashMap<>();
+    ClientCache cache = getClientCache(new ClientCacheFactory()
+        .addPoolServer(NetworkUtils.getServerHostName(Host.getHost(0)), port)
+        .setPoolSubscriptionEnabled(true));
+    Region<Object, Object> region = cache
+        .createClientRegionFactory(ClientRegionShortcut.CACHING_PROXY)
+        .addCacheListener(new DestroyCounter()).create(regionName);
+    region.registerInterest("ALL_KEYS");
+  }
+
+  private static void assertEachKeyDestroyedOnce() {
+    assertEquals(ENTRIES, destroys.size());
+    for (Map.Entry<Object, AtomicInteger> entry : destroys.entrySet()) {
+      assertEquals("destroys of " + entry.getKey(), 1, entry.getValue().get());
+    }
+  }
+
+  private static class DestroyCounter extends CacheListenerAdapter<Object, Object> {
+    @Override
+    public void afterDestroy(EntryEvent<Object, Object> event) {
+      destroys.computeIfAbsent(event.getKey(), key -> new AtomicInteger()).incrementAndGet();
+    }
+  }
+}
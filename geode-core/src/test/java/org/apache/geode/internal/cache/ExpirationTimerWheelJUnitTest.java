@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.ExpirationAttributes;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ExpirationTimerWheelJUnitTest {
+
+  private static final long TICK = 10;
+
+  private final ExpirationTimerWheel wheel = new ExpirationTimerWheel("test", TICK);
+
+  @Test
+  public void taskIsDueOnTheTickOfItsDeadline() {
+    ExpiryTask task = new TestExpiryTask();
+    assertTrue(this.wheel.schedule(task, 55, 0));
+    assertTrue(this.wheel.advance(50).isEmpty());
+    assertEquals(1, this.wheel.size());
+    assertEquals(singleton(task), this.wheel.advance(60));
+    assertEquals(0, this.wheel.size());
+  }
+
+  @Test
+  public void tasksOnHigherLevelsCascadeDown() {
+    long[] delays = {5, 3 * ExpirationTimerWheel.SLOTS * TICK + 7,
+        2L * ExpirationTimerWheel.SLOTS * ExpirationTimerWheel.SLOTS * TICK + 13};
+    List<ExpiryTask> tasks = new ArrayList<>();
+    for (long delay : delays) {
+      ExpiryTask task = new TestExpiryTask();
+      tasks.add(task);
+      assertTrue(this.wheel.schedule(task, delay, 0));
+    }
+    this.wheel.advance(0);
+    for (int i = 0; i < delays.length; i++) {
+      long deadline = (delays[i] + TICK - 1) / TICK * TICK;
+      assertTrue(this.wheel.advance(deadline - TICK).isEmpty());
+      assertEquals(singleton(tasks.get(i)), this.wheel.advance(deadline));
+    }
+  }
+
+  @Test
+  public void cancelledTasksAreNotDueAndArePurged() {
+    ExpiryTask cancelled = new TestExpiryTask();
+    ExpiryTask kept = new TestExpiryTask();
+    this.wheel.schedule(cancelled, 1000, 0);
+    this.wheel.schedule(kept, 1000, 0);
+    this.wheel.advance(0);
+
+    assertTrue(cancelled.cancel());
+    assertFalse(cancelled.cancel());
+    assertFalse(this.wheel.schedule(cancelled, 1000, 0));
+    this.wheel.purge();
+    this.wheel.advance(TICK);
+    assertEquals(1, this.wheel.size());
+
+    List<ExpiryTask> due = this.wheel.advance(1000);
+    assertEquals(singleton(kept), due);
+  }
+
+  @Test
+  public void firedTaskCanBeScheduledAgain() {
+    ExpiryTask task = new TestExpiryTask();
+    assertTrue(this.wheel.schedule(task, 10, 0));
+    assertFalse("already scheduled", this.wheel.schedule(task, 10, 0));
+    assertEquals(singleton(task), this.wheel.advance(10));
+
+    assertTrue(task.markWheelFired());
+    assertFalse("cancelling a fired task", task.cancel());
+    assertTrue(this.wheel.schedule(task, 20, 10));
+    assertEquals(singleton(task), this.wheel.advance(30));
+  }
+
+  @Test
+  public void dueTasksAreHandedToTheirRegionTogether() {
+    LocalRegion region1 = mock(LocalRegion.class);
+    LocalRegion region2 = mock(LocalRegion.class);
+    ExpiryTask task1 = new TestExpiryTask(region1);
+    ExpiryTask task2 = new TestExpiryTask(region2);
+    ExpiryTask task3 = new TestExpiryTask(region1);
+    ExpiryTask cancelled = new TestExpiryTask(region1);
+    List<ExpiryTask> due = new ArrayList<>();
+    for (ExpiryTask task : new ExpiryTask[] {task1, task2, task3, cancelled}) {
+      this.wheel.schedule(task, 0, 0);
+      due.add(task);
+    }
+    cancelled.cancel();
+
+    this.wheel.fire(due);
+
+    List<ExpiryTask> expected1 = new ArrayList<>();
+    expected1.add(task1);
+    expected1.add(task3);
+    verify(region1, times(1)).performExpiryTimeouts(expected1);
+    verify(region2, times(1)).performExpiryTimeouts(singleton(task2));
+  }
+
+  private static List<ExpiryTask> singleton(ExpiryTask task) {
+    List<ExpiryTask> result = new ArrayList<>();
+    result.add(task);
+    return result;
+  }
+
+  private static class TestExpiryTask extends ExpiryTask {
+    TestExpiryTask() {
+      super(null);
+    }
+
+    TestExpiryTask(LocalRegion region) {
+      super(region);
+    }
+
+    @Override
+    protected ExpirationAttributes getIdleAttributes() {
+      return null;
+    }
+
+    @Override
+    protected ExpirationAttributes getTTLAttributes() {
+      return null;
+    }
+
+    @Override
+    protected void basicPerformTimeout(boolean isPending) {}
+
+    @Override
+    protected void reschedule() {}
+
+    @Override
+    protected long getLastModifiedTime() {
+      return 0;
+    }
+
+    @Override
+    protected long getLastAccessedTime() {
+      return 0;
+    }
+
+    @Override
+    protected boolean invalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean destroy(boolean isPending) {
+      return false;
+    }
+
+    @Override
+    protected boolean localInvalidate() {
+      return false;
+    }
+
+    @Override
+    protected boolean localDestroy() {
+      return false;
+    }
+
+    @Override
+    protected void addExpiryTask() {}
+
+    @Override
+    public boolean isPending() {
+      return false;
+    }
+
+    @Override
+    public Object getKey() {
+      return null;
+    }
+  }
+}
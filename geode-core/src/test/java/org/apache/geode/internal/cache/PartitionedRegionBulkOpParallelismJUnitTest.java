@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class PartitionedRegionBulkOpParallelismJUnitTest {
+
+  private ExecutorService executor;
+  private Map<Integer, String> work;
+
+  @Before
+  public void setUp() {
+    this.executor = Executors.newCachedThreadPool();
+    this.work = new HashMap<>();
+    for (int bucketId = 0; bucketId < 113; bucketId++) {
+      this.work.put(bucketId, "bucket" + bucketId);
+    }
+  }
+
+  @After
+  public void tearDown() {
+    this.executor.shutdownNow();
+  }
+
+  @Test
+  public void everyBucketIsProcessedOnce() {
+    Map<Integer, AtomicInteger> counts = new ConcurrentHashMap<>();
+    PartitionedRegion.forEachBucketInParallel(this.work, (bucketId, value) -> {
+      assertEquals("bucket" + bucketId, value);
+      counts.computeIfAbsent(bucketId, k -> new AtomicInteger()).incrementAndGet();
+    }, 8, this.executor);
+
+    assertEquals(this.work.keySet(), counts.keySet());
+    for (AtomicInteger count : counts.values()) {
+      assertEquals(1, count.get());
+    }
+  }
+
+  @Test
+  public void bucketsAreProcessedAtTheSameTime() {
+    this.work.keySet().retainAll(Arrays.asList(1, 2, 3));
+    CountDownLatch allStarted = new CountDownLatch(3);
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    PartitionedRegion.forEachBucketInParallel(this.work, (bucketId, value) -> {
+      threads.add(Thread.currentThread());
+      allStarted.countDown();
+      try {
+        assertTrue(allStarted.await(30, TimeUnit.SECONDS));
+      } catch (InterruptedException e) {
+        throw new AssertionError(e);
+      }
+    }, 3, this.executor);
+
+    assertEquals(3, threads.size());
+    assertTrue(threads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void parallelismOfOneUsesTheCallingThread() {
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    PartitionedRegion.forEachBucketInParallel(this.work,
+        (bucketId, value) -> threads.add(Thread.currentThread()), 1, this.executor);
+
+    assertEquals(1, threads.size());
+    assertTrue(threads.contains(Thread.currentThread()));
+  }
+
+  @Test
+  public void callingThreadDoesTheWorkIfThePoolIsShutDown() {
+    this.executor.shutdown();
+    AtomicInteger processed = new AtomicInteger();
+    PartitionedRegion.forEachBucketInParallel(this.work,
+        (bucketId, value) -> processed.incrementAndGet(), 8, this.executor);
+
+    assertEquals(this.work.size(), processed.get());
+  }
+
+  @Test
+  public void firstFailureIsRethrownAfterAllWorkStops() {
+    AtomicInteger running = new AtomicInteger();
+    try {
+      PartitionedRegion.forEachBucketInParallel(this.work, (bucketId, value) -> {
+        running.incrementAndGet();
+        try {
+          if (bucketId == 7) {
+            throw new IllegalStateException("bucket 7 failed");
+          }
+        } finally {
+          running.decrementAndGet();
+        }
+      }, 8, this.executor);
+      fail("expected IllegalStateException");
+    } catch (IllegalStateException expected) {
+      assertEquals("bucket 7 failed", expected.getMessage());
+    }
+    assertEquals(0, running.get());
+  }
+}
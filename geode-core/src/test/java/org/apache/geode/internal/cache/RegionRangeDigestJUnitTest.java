@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.BitSet;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.persistence.DiskStoreID;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class RegionRangeDigestJUnitTest {
+
+  private static final int RANGES = 16;
+
+  private final DiskStoreID member1 = new DiskStoreID(1, 1);
+  private final DiskStoreID member2 = new DiskStoreID(2, 2);
+
+  @Test
+  public void digestDoesNotDependOnEntryOrder() {
+    RegionRangeDigest forward = new RegionRangeDigest(RANGES);
+    RegionRangeDigest backward = new RegionRangeDigest(RANGES);
+    for (int i = 0; i < 100; i++) {
+      forward.add("key" + i, member1, i, 1, false);
+      backward.add("key" + (99 - i), member1, 99 - i, 1, false);
+    }
+    assertEquals(RANGES, forward.matchingRanges(backward).cardinality());
+  }
+
+  @Test
+  public void differentVersionOnlyChangesItsRange() {
+    RegionRangeDigest mine = new RegionRangeDigest(RANGES);
+    RegionRangeDigest theirs = new RegionRangeDigest(RANGES);
+    for (int i = 0; i < 100; i++) {
+      mine.add("key" + i, member1, i, 1, false);
+      if (i == 42) {
+        theirs.add("key" + i, member2, 1000, 2, false);
+      } else {
+        theirs.add("key" + i, member1, i, 1, false);
+      }
+    }
+    BitSet matched = mine.matchingRanges(theirs);
+    assertEquals(RANGES - 1, matched.cardinality());
+    assertFalse(matched.get(mine.rangeOf("key42")));
+  }
+
+  @Test
+  public void tombstoneDiffersFromLiveEntry() {
+    RegionRangeDigest mine = new RegionRangeDigest(RANGES);
+    RegionRangeDigest theirs = new RegionRangeDigest(RANGES);
+    mine.add("key", member1, 5, 3, false);
+    theirs.add("key", member1, 5, 3, true);
+    assertFalse(mine.matchingRanges(theirs).get(mine.rangeOf("key")));
+  }
+
+  @Test
+  public void digestsOfDifferentSizesDoNotMatch() {
+    assertNull(new RegionRangeDigest(RANGES).matchingRanges(new RegionRangeDigest(RANGES * 2)));
+  }
+
+  @Test
+  public void serializationPreservesRanges() throws Exception {
+    RegionRangeDigest digest = new RegionRangeDigest(RANGES);
+    for (int i = 0; i < 10; i++) {
+      digest.add(i, member2, i, i, i % 2 == 0);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    digest.toData(new DataOutputStream(bytes));
+    RegionRangeDigest copy = RegionRangeDigest
+        .fromData(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    assertEquals(RANGES, copy.getRangeCount());
+    assertEquals(RANGES, digest.matchingRanges(copy).cardinality());
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.apache.geode.distributed.ConfigurationProperties.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.CacheFactory;
+import org.apache.geode.cache.DataPolicy;
+import org.apache.geode.cache.DiskStore;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.cache.Scope;
+import org.apache.geode.internal.cache.lru.LRUStatistics;
+import org.apache.geode.internal.cache.lru.NewLRUClockHand;
+import org.apache.geode.internal.cache.lru.NewSampledClockHand;
+import org.apache.geode.internal.util.concurrent.CustomEntryConcurrentHashMap;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+@Category(IntegrationTest.class)
+public class SampledLRUEvictionRegionJUnitTest {
+
+  private static final int CAPACITY = 200;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private GemFireCacheImpl cache;
+
+  @Before
+  public void setUp() {
+    Properties props = new Properties();
+    props.setProperty(MCAST_PORT, "0");
+    props.setProperty(LOCATORS, "");
+    this.cache = (GemFireCacheImpl) new CacheFactory(props).create();
+  }
+
+  @After
+  public void tearDown() {
+    this.cache.close();
+  }
+
+  @Test
+  public void algorithmIsParsedAndSampled() {
+    EvictionAlgorithm algorithm = EvictionAlgorithm.parseAction("sampled-lru-entry-count");
+    assertSame(EvictionAlgorithm.SAMPLED_LRU_ENTRY, algorithm);
+    assertTrue(algorithm.isLRUEntry());
+    assertTrue(algorithm.isSampled());
+    assertFalse(EvictionAlgorithm.LRU_ENTRY.isSampled());
+    assertSame(EvictionAlgorithm.SAMPLED_LRU_MEMORY,
+        EvictionAlgorithm.parseValue(EvictionAlgorithm.SAMPLED_LRU_MEMORY.getValue()));
+  }
+
+  @Test
+  public void entryCountIsKeptAtTheMaximum() {
+    LocalRegion region = createRegion(EvictionAction.LOCAL_DESTROY);
+    NewLRUClockHand lruList = ((AbstractLRURegionMap) region.entries)._getLruList();
+    assertTrue(lruList instanceof NewSampledClockHand);
+
+    for (int i = 0; i < 5 * CAPACITY; i++) {
+      region.put(i, "value" + i);
+    }
+
+    LRUStatistics stats = lruList.stats();
+    assertEquals(CAPACITY, region.size());
+    assertEquals(CAPACITY, stats.getCounter());
+    assertEquals(4 * CAPACITY, stats.getEvictions());
+    assertEquals(CAPACITY, lruList.size());
+    assertEquals(CAPACITY, lruList.getExpensiveListCount());
+
+    region.destroy(region.keySet().iterator().next());
+    assertEquals(CAPACITY - 1, lruList.size());
+    assertEquals(CAPACITY - 1, stats.getCounter());
+  }
+
+  @Test
+  public void recentlyReadEntriesAreKept() {
+    LocalRegion region = createRegion(EvictionAction.LOCAL_DESTROY);
+    int hot = CAPACITY / 4;
+    for (int i = 0; i < hot; i++) {
+      region.put(i, "value" + i);
+    }
+
+    for (int i = hot; i < 10 * CAPACITY; i++) {
+      region.put(i, "value" + i);
+      for (int j = 0; j < hot; j++) {
+        region.get(j);
+      }
+    }
+
+    int kept = 0;
+    for (int i = 0; i < hot; i++) {
+      if (region.containsKey(i)) {
+        kept++;
+      }
+    }
+    // an entry that keeps being read is only evicted if every entry sampled for it was also read
+    assertTrue("only " + kept + " of " + hot + " entries were kept", kept > hot * 9 / 10);
+  }
+
+  @Test
+  public void sampledValuesAreSpreadEvenly() {
+    CustomEntryConcurrentHashMap<Integer, Integer> map = new CustomEntryConcurrentHashMap<>();
+    Random random = new Random(1);
+    assertNull(map.sampleValue(random));
+
+    int entries = 1000;
+    for (int i = 0; i < entries; i++) {
+      map.put(i, i);
+    }
+    int[] picks = new int[entries];
+    for (int i = 0; i < entries * 100; i++) {
+      picks[map.sampleValue(random)]++;
+    }
+    for (int i = 0; i < entries; i++) {
+      assertTrue("entry " + i + " was picked " + picks[i] + " times",
+          picks[i] > 40 && picks[i] < 200);
+    }
+  }
+
+  @Test
+  public void overflowedEntriesAreFaultedBackIn() {
+    LocalRegion region = createRegion(EvictionAction.OVERFLOW_TO_DISK);
+    for (int i = 0; i < 2 * CAPACITY; i++) {
+      region.put(i, "value" + i);
+    }
+    for (int i = 0; i < 2 * CAPACITY; i++) {
+      assertEquals("value" + i, region.get(i));
+    }
+
+    LRUStatistics stats = ((AbstractLRURegionMap) region.entries)._getLruList().stats();
+    assertEquals(2 * CAPACITY, region.size());
+    assertEquals(CAPACITY, stats.getCounter());
+    assertEquals(CAPACITY, ((AbstractLRURegionMap) region.entries)._getLruList().size());
+  }
+
+  @Test
+  public void clearKeepsTheEvictableCount() {
+    LocalRegion region = createRegion(EvictionAction.LOCAL_DESTROY);
+    NewLRUClockHand lruList = ((AbstractLRURegionMap) region.entries)._getLruList();
+    for (int i = 0; i < CAPACITY; i++) {
+      region.put(i, "value" + i);
+    }
+
+    // with concurrency checks the entries are left to be removed one by one
+    lruList.clear(region.getVersionVector());
+    assertEquals(CAPACITY, lruList.size());
+
+    region.clear();
+    assertEquals(0, lruList.size());
+    assertEquals(0, lruList.getExpensiveListCount());
+
+    for (int i = 0; i < 2 * CAPACITY; i++) {
+      region.put(i, "value" + i);
+    }
+    assertEquals(CAPACITY, region.size());
+    assertEquals(CAPACITY, lruList.size());
+  }
+
+  private LocalRegion createRegion(EvictionAction action) {
+    AttributesFactory factory = new AttributesFactory();
+    factory.setScope(Scope.LOCAL);
+    if (action.isOverflowToDisk()) {
+      DiskStore diskStore = this.cache.createDiskStoreFactory()
+          .setDiskDirs(new File[] {this.temporaryFolder.getRoot()}).create("sampled");
+      factory.setDiskStoreName(diskStore.getName());
+      factory.setDiskSynchronous(true);
+      factory.setDataPolicy(DataPolicy.NORMAL);
+    }
+    factory.setEvictionAttributes(
+        EvictionAttributes.createSampledLRUEntryAttributes(CAPACITY, action));
+    return (LocalRegion) this.cache.createRegion("sampled", factory.create());
+  }
+}
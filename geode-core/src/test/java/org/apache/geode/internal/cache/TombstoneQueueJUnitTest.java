@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.TombstoneService.Tombstone;
+import org.apache.geode.internal.cache.versions.VersionSource;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class TombstoneQueueJUnitTest {
+
+  private final LocalRegion region = mock(LocalRegion.class);
+  private final VersionSource member = mock(VersionSource.class);
+  private final RegionEntry entry = mock(RegionEntry.class);
+  private final TombstoneQueue queue = new TombstoneQueue();
+
+  @Before
+  public void setUp() {
+    when(this.entry.getKey()).thenReturn("key");
+  }
+
+  @Test
+  public void tombstonesAreReadInTheOrderTheyWereAdded() {
+    int count = TombstoneQueue.CHUNK_SIZE * 2 + 10;
+    for (int i = 0; i < count; i++) {
+      this.queue.add(tombstone(i));
+    }
+    assertEquals(count, this.queue.size());
+    for (int i = 0; i < count; i++) {
+      Tombstone t = this.queue.peek();
+      assertEquals(i, t.getEntryVersion());
+      assertEquals(1000L + i, t.getRegionVersion());
+      assertEquals(2000L + i, t.getVersionTimeStamp());
+      assertSame(this.member, t.getMemberID());
+      assertSame(this.region, t.region);
+      this.queue.remove();
+    }
+    assertNull(this.queue.peek());
+    assertTrue(this.queue.isEmpty());
+  }
+
+  @Test
+  public void removeIfKeepsTheOrderOfTheRemainingTombstones() {
+    int count = TombstoneQueue.CHUNK_SIZE * 3;
+    for (int i = 0; i < count; i++) {
+      this.queue.add(tombstone(i));
+    }
+    this.queue.remove();
+
+    long removedSize = this.queue.removeIf(t -> t.getEntryVersion() % 3 != 0);
+
+    int removed = 2 * count / 3;
+    assertEquals(removed * (long) tombstone(0).getSize(), removedSize);
+    assertEquals(count / 3 - 1, this.queue.size());
+    List<Integer> versions = new ArrayList<>();
+    this.queue.forEach(t -> versions.add(t.getEntryVersion()));
+    for (int i = 0; i < versions.size(); i++) {
+      assertEquals(3 * (i + 1), (int) versions.get(i));
+    }
+  }
+
+  @Test
+  public void removeIfCanEmptyTheQueue() {
+    for (int i = 0; i < 10; i++) {
+      this.queue.add(tombstone(i));
+    }
+    this.queue.removeIf(t -> true);
+    assertTrue(this.queue.isEmpty());
+    assertNull(this.queue.peek());
+
+    this.queue.add(tombstone(42));
+    assertEquals(42, this.queue.peek().getEntryVersion());
+  }
+
+  private Tombstone tombstone(int version) {
+    return new Tombstone(this.entry, this.region, this.member, version, 1000L + version,
+        2000L + version, 1);
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.control;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class MemoryUsageGradientJUnitTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void firstSampleHasNoRate() {
+    MemoryUsageGradient gradient = new MemoryUsageGradient();
+    assertEquals(0, gradient.update(1000, SECOND));
+    assertEquals(0, gradient.getBytesPerSecond());
+  }
+
+  @Test
+  public void rateApproachesSteadyGrowth() {
+    MemoryUsageGradient gradient = new MemoryUsageGradient();
+    for (int i = 0; i <= 20; i++) {
+      gradient.update(i * 1000, i * SECOND);
+    }
+    assertEquals(1000, gradient.getBytesPerSecond(), 1);
+  }
+
+  @Test
+  public void shrinkingMemoryHasNegativeRate() {
+    MemoryUsageGradient gradient = new MemoryUsageGradient();
+    gradient.update(10000, 0);
+    assertTrue(gradient.update(5000, SECOND) < 0);
+  }
+
+  @Test
+  public void samplesCloserThanTheMinimumIntervalAreFolded() {
+    MemoryUsageGradient gradient = new MemoryUsageGradient();
+    gradient.update(0, 0);
+    long rate = gradient.update(1000, SECOND);
+    long tooSoon = SECOND + MemoryUsageGradient.MIN_INTERVAL_NANOS / 2;
+    assertEquals(rate, gradient.update(1000000, tooSoon));
+    assertTrue(gradient.update(1000000, 2 * SECOND) > rate);
+  }
+}
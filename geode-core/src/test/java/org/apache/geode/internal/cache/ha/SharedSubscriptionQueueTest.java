@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.ha;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class SharedSubscriptionQueueTest {
+
+  private SharedSubscriptionQueue queue;
+
+  private SharedSubscriptionQueue.Subscriber first;
+
+  private SharedSubscriptionQueue.Subscriber second;
+
+  @Before
+  public void setUp() {
+    this.queue = new SharedSubscriptionQueue(4);
+    this.first = this.queue.subscribe();
+    this.second = this.queue.subscribe();
+  }
+
+  @Test
+  public void eventIsStoredOnceUntilEverySubscriberRemovesIt() throws Exception {
+    this.queue.append("a", Arrays.asList(this.first, this.second));
+    assertEquals(1, this.queue.size());
+    assertEquals(1, this.first.size());
+    assertEquals(1, this.second.size());
+
+    assertEquals("a", this.first.peek(0));
+    this.first.remove();
+    assertEquals(0, this.first.size());
+    assertEquals(1, this.queue.size());
+
+    assertEquals("a", this.second.peek(0));
+    this.second.remove();
+    assertEquals(0, this.queue.size());
+  }
+
+  @Test
+  public void peekSkipsEventsRoutedToOtherSubscribers() throws Exception {
+    this.queue.append("a", Collections.singletonList(this.second));
+    this.queue.append("b", Arrays.asList(this.first, this.second));
+    assertEquals(1, this.first.size());
+    assertEquals("b", this.first.peek(0));
+    assertEquals("b", this.first.peek(0));
+    this.first.remove();
+    assertNull(this.first.peek(0));
+    assertEquals("a", this.second.peek(0));
+  }
+
+  @Test
+  public void ringGrowsAndWrapsAroundPreservingOrder() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      this.queue.append(i, Arrays.asList(this.first, this.second));
+    }
+    assertTrue(this.queue.capacity() >= 10);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(i, this.first.peek(0));
+      this.first.remove();
+      assertEquals(i, this.second.peek(0));
+      this.second.remove();
+      this.queue.append(i + 10, Collections.singletonList(this.first));
+    }
+    for (int i = 10; i < 20; i++) {
+      assertEquals(i, this.first.peek(0));
+      this.first.remove();
+    }
+    assertEquals(0, this.queue.size());
+    assertNull(this.second.peek(0));
+  }
+
+  @Test
+  public void removeIfReleasesEventsAheadOfTheCursor() throws Exception {
+    this.queue.append("a", Arrays.asList(this.first, this.second));
+    this.queue.append("b", Arrays.asList(this.first, this.second));
+    this.queue.append("c", Arrays.asList(this.first, this.second));
+    assertEquals("a", this.first.peek(0));
+    assertEquals(2, this.first.removeIf(event -> !"c".equals(event)));
+    assertEquals(1, this.first.size());
+    this.first.remove();
+    assertEquals("c", this.first.peek(0));
+    this.first.remove();
+    assertEquals(0, this.first.size());
+    assertEquals(3, this.second.size());
+  }
+
+  @Test
+  public void closeReleasesQueuedEventsAndFreesTheSlot() throws Exception {
+    this.queue.append("a", Arrays.asList(this.first, this.second));
+    this.second.append("marker");
+    this.second.close();
+    assertTrue(this.second.isClosed());
+    assertNull(this.second.peek(1000));
+
+    this.queue.append("b", Arrays.asList(this.first, this.second));
+    assertEquals(2, this.first.size());
+    assertEquals("a", this.first.peek(0));
+    this.first.remove();
+    assertEquals("b", this.first.peek(0));
+    this.first.remove();
+    assertEquals(0, this.queue.size());
+
+    SharedSubscriptionQueue.Subscriber third = this.queue.subscribe();
+    assertEquals(0, third.size());
+    this.queue.append("c", Collections.singletonList(third));
+    assertEquals("c", third.peek(0));
+  }
+
+  @Test
+  public void drainReleasesAndReturnsQueuedEvents() throws Exception {
+    this.queue.append("a", Arrays.asList(this.first, this.second));
+    this.queue.append("b", Collections.singletonList(this.first));
+    assertEquals(Arrays.asList("a", "b"), this.first.drain());
+    assertEquals(0, this.first.size());
+    // b is released but stays behind a, which the second subscriber has still to remove
+    assertEquals(2, this.queue.size());
+    this.second.peek(0);
+    this.second.remove();
+    assertEquals(0, this.queue.size());
+  }
+
+  @Test
+  public void detachHandsQueuedAndLaterEventsToTheSink() throws Exception {
+    this.queue.append("a", Arrays.asList(this.first, this.second));
+    this.queue.append("b", Collections.singletonList(this.first));
+    assertEquals("a", this.first.peek(0));
+
+    List<Object> sunk = new ArrayList<>();
+    this.first.detach(sunk::add);
+    assertEquals(Arrays.asList("a", "b"), sunk);
+    assertTrue(this.first.isClosed());
+    assertTrue(this.first.isDetached());
+    assertNull(this.first.peek(0));
+
+    this.queue.append("c", Arrays.asList(this.first, this.second));
+    this.first.append("d");
+    assertEquals(Arrays.asList("a", "b", "c", "d"), sunk);
+    assertEquals(2, this.second.size());
+    assertFalse(this.second.isDetached());
+  }
+
+  @Test
+  public void peekWaitsForAnEventToBeAppended() throws Exception {
+    Thread appender = new Thread(() -> {
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException ignore) {
+      }
+      this.queue.append("a", Collections.singletonList(this.first));
+    });
+    appender.start();
+    assertEquals("a", this.first.peek(60000));
+    appender.join();
+  }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.lru;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class HeapEvictorJUnitTest {
+
+  private static final long CLEAR = 800;
+  private static final long CRITICAL = 900;
+  private static final int MAX = 16;
+
+  @Test
+  public void parallelismFollowsPressure() {
+    assertEquals(1, HeapEvictor.computeParallelism(CLEAR, CLEAR, CRITICAL, 0, 0, 0, MAX));
+    assertEquals(8, HeapEvictor.computeParallelism(850, CLEAR, CRITICAL, 0, 0, 0, MAX));
+    assertEquals(MAX, HeapEvictor.computeParallelism(CRITICAL, CLEAR, CRITICAL, 0, 0, 0, MAX));
+    assertEquals(MAX, HeapEvictor.computeParallelism(2000, CLEAR, CRITICAL, 0, 0, 0, MAX));
+  }
+
+  @Test
+  public void parallelismDoublesWhileAllocationOutpacesEviction() {
+    assertEquals(2, HeapEvictor.computeParallelism(801, CLEAR, CRITICAL, 100, 50, 1, MAX));
+    assertEquals(4, HeapEvictor.computeParallelism(801, CLEAR, CRITICAL, 100, 50, 2, MAX));
+    assertEquals(MAX, HeapEvictor.computeParallelism(801, CLEAR, CRITICAL, 100, 50, 12, MAX));
+  }
+
+  @Test
+  public void parallelismFallsBackToPressureOnceEvictionKeepsUp() {
+    assertEquals(1, HeapEvictor.computeParallelism(801, CLEAR, CRITICAL, 50, 100, 8, MAX));
+    assertEquals(1, HeapEvictor.computeParallelism(801, CLEAR, CRITICAL, -50, 0, 8, MAX));
+  }
+
+  @Test
+  public void noCriticalThresholdMeansFullPressure() {
+    assertEquals(MAX, HeapEvictor.computeParallelism(CLEAR, CLEAR, CLEAR, 0, 0, 0, MAX));
+  }
+}
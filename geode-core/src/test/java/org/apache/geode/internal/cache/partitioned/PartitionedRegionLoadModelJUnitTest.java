@@ -953,6 +953,79 @@ public class PartitionedRegionLoadModelJUnitTest {
     assertEquals(expectedMoves, op.bucketMoves);
   }
 
+  /**
+   * Test that moves that fail asynchronously are undone in the model, and that the rebalance keeps
+   * moving buckets to the members that accept them.
+   */
+  @Test
+  public void testMoveBucketsWithAsynchronousFailures() throws Exception {
+    InternalDistributedMember member1 =
+        new InternalDistributedMember(InetAddress.getByName("127.0.0.1"), 1);
+    final InternalDistributedMember member2 =
+        new InternalDistributedMember(InetAddress.getByName("127.0.0.1"), 2);
+    InternalDistributedMember member3 =
+        new InternalDistributedMember(InetAddress.getByName("127.0.0.1"), 3);
+
+    final List<Completion> pendingSuccesses = new ArrayList<Completion>();
+    final List<Completion> pendingFailures = new ArrayList<Completion>();
+    MyBucketOperator op = new MyBucketOperator() {
+      @Override
+      public void moveBucket(InternalDistributedMember source, InternalDistributedMember target,
+          int id, Map<String, Long> colocatedRegionBytes, Completion completion) {
+        if (target.equals(member2)) {
+          pendingFailures.add(completion);
+        } else {
+          moveBucket(source, target, id, colocatedRegionBytes);
+          pendingSuccesses.add(completion);
+        }
+      }
+
+      @Override
+      public void waitForOperations() {
+        for (Completion completion : pendingSuccesses) {
+          completion.onSuccess();
+        }
+        for (Completion completion : pendingFailures) {
+          completion.onFailure();
+        }
+        pendingSuccesses.clear();
+        pendingFailures.clear();
+      }
+    };
+
+    PartitionedRegionLoadModel model = new PartitionedRegionLoadModel(op, 0, 4,
+        getAddressComparor(false), Collections.<InternalDistributedMember>emptySet(), null);
+    // Create some imbalanced nodes
+    PartitionMemberInfoImpl details1 =
+        buildDetails(member1, 500, 500, new long[] {1, 1, 1, 1}, new long[] {1, 1, 1, 1});
+    PartitionMemberInfoImpl details2 =
+        buildDetails(member2, 500, 500, new long[] {0, 0, 0, 0}, new long[] {0, 0, 0, 0});
+    PartitionMemberInfoImpl details3 =
+        buildDetails(member3, 500, 500, new long[] {0, 0, 0, 0}, new long[] {0, 0, 0, 0});
+    model.addRegion("a", Arrays.asList(details1, details2, details3), new FakeOfflineDetails(),
+        true);
+
+    doMoves(new CompositeDirector(false, false, true, false), model);
+    assertTrue(pendingSuccesses.isEmpty());
+    assertTrue(pendingFailures.isEmpty());
+
+    assertTrue(op.bucketMoves.size() > 0);
+    for (Move move : op.bucketMoves) {
+      assertEquals(member3, move.targetMember);
+    }
+
+    // The model only reflects the successful moves
+    for (PartitionMemberInfo details : model.getPartitionedMemberDetails("a")) {
+      if (details.getDistributedMember().equals(member1)) {
+        assertEquals(4 - op.bucketMoves.size(), details.getBucketCount());
+      } else if (details.getDistributedMember().equals(member2)) {
+        assertEquals(0, details.getBucketCount());
+      } else {
+        assertEquals(op.bucketMoves.size(), details.getBucketCount());
+      }
+    }
+  }
+
   /**
    * Test to make sure that we honor the weight of a node while moving buckets.
    */
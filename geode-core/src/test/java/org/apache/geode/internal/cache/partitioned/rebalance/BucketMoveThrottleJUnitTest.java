@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.partitioned.rebalance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.util.concurrent.ByteRateLimiter;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class BucketMoveThrottleJUnitTest {
+
+  private static BucketMoveThrottle createThrottle(int maxConcurrency) {
+    return new BucketMoveThrottle(maxConcurrency, new ByteRateLimiter(0), null, 50, null, null);
+  }
+
+  @Test
+  public void concurrencyGrowsUpToMaximumWithoutForegroundLatency() {
+    BucketMoveThrottle throttle = createThrottle(3);
+    assertEquals(1, throttle.getConcurrency());
+    for (int i = 0; i < 5; i++) {
+      throttle.moveCompleted();
+    }
+    assertEquals(3, throttle.getConcurrency());
+  }
+
+  @Test
+  public void concurrencyIsHalvedWhenForegroundLatencyRises() {
+    BucketMoveThrottle throttle = createThrottle(8);
+    // 100 operations of 1000 nanoseconds each
+    long ops = 0;
+    long time = 0;
+    for (int i = 0; i < 7; i++) {
+      ops += 100;
+      time += 100 * 1000;
+      throttle.adjust(ops, time);
+    }
+    assertEquals(8, throttle.getConcurrency());
+
+    // within the tolerance of 50%
+    ops += 100;
+    time += 100 * 1400;
+    throttle.adjust(ops, time);
+    assertEquals(8, throttle.getConcurrency());
+
+    // twice the best latency
+    ops += 100;
+    time += 100 * 2000;
+    throttle.adjust(ops, time);
+    assertEquals(4, throttle.getConcurrency());
+    ops += 100;
+    time += 100 * 2000;
+    throttle.adjust(ops, time);
+    assertEquals(2, throttle.getConcurrency());
+
+    // latency recovers
+    ops += 100;
+    time += 100 * 1000;
+    throttle.adjust(ops, time);
+    assertEquals(3, throttle.getConcurrency());
+  }
+
+  @Test
+  public void concurrencyNeverDropsBelowOne() {
+    BucketMoveThrottle throttle = createThrottle(4);
+    throttle.adjust(100, 100 * 1000);
+    for (int i = 1; i <= 3; i++) {
+      throttle.adjust(100 + i * 100, 100 * 1000 + i * 100 * 10000);
+    }
+    assertEquals(1, throttle.getConcurrency());
+  }
+}
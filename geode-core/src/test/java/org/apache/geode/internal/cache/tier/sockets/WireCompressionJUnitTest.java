@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.compression.LZ4Compressor;
+import org.apache.geode.internal.Version;
+import org.apache.geode.internal.cache.tier.MessageType;
+import org.apache.geode.test.junit.categories.ClientServerTest;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category({UnitTest.class, ClientServerTest.class})
+public class WireCompressionJUnitTest {
+
+  private static final int THRESHOLD = 1024;
+
+  @Rule
+  public final RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  private Socket socket;
+  private MessageStats stats;
+  private byte[] largeValue;
+
+  @Before
+  public void setUp() {
+    this.socket = mock(Socket.class);
+    this.stats = mock(MessageStats.class);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; sb.length() < 8 * THRESHOLD; i++) {
+      sb.append("{\"id\":").append(i).append(",\"status\":\"ACTIVE\"}");
+    }
+    this.largeValue = sb.toString().getBytes();
+  }
+
+  @Test
+  public void largePartsAreCompressedAndRestored() throws Exception {
+    WireCompression compression =
+        new WireCompression(WireCompression.LZ4, new LZ4Compressor(), THRESHOLD);
+
+    byte[] uncompressed = send(createMessage(), null);
+    byte[] compressed = send(createMessage(), compression);
+    assertTrue(compressed.length < uncompressed.length / 2);
+    verify(this.stats).incWireCompression(eq((long) this.largeValue.length), anyLong(), anyLong());
+
+    Message received = receive(compressed, compression);
+    assertArrayEquals(this.largeValue, received.getPart(0).getSerializedForm());
+    assertTrue(received.getPart(0).isBytes());
+    assertEquals("key", received.getPart(1).getString());
+    verify(this.stats).incWireDecompression(anyLong(), eq((long) this.largeValue.length),
+        anyLong());
+  }
+
+  @Test
+  public void smallPartsAreSentAsTheyAre() throws Exception {
+    WireCompression compression =
+        new WireCompression(WireCompression.DEFLATE, new DeflateCompressor(1, null), THRESHOLD);
+    this.largeValue = Arrays.copyOf(this.largeValue, THRESHOLD - 1);
+
+    assertArrayEquals(send(createMessage(), null), send(createMessage(), compression));
+    verify(this.stats, never()).incWireCompression(anyLong(), anyLong(), anyLong());
+  }
+
+  @Test
+  public void sendingDoesNotChangeTheMessageParts() throws Exception {
+    WireCompression compression =
+        new WireCompression(WireCompression.LZ4, new LZ4Compressor(), THRESHOLD);
+    Message message = createMessage();
+
+    byte[] compressed = send(message, compression);
+    assertFalse(message.getPart(0).isCompressed());
+    assertArrayEquals(this.largeValue, message.getPart(0).getSerializedForm());
+
+    // a retry on a connection without compression sends the original bytes
+    byte[] uncompressed = send(message, null);
+    assertTrue(uncompressed.length > compressed.length);
+    assertArrayEquals(this.largeValue, receive(uncompressed, null).getPart(0).getSerializedForm());
+  }
+
+  @Test(expected = IOException.class)
+  public void compressedPartIsRejectedWithoutCompression() throws Exception {
+    WireCompression compression =
+        new WireCompression(WireCompression.LZ4, new LZ4Compressor(), THRESHOLD);
+    receive(send(createMessage(), compression), null);
+  }
+
+  @Test
+  public void requestedCodecIsReadFromSystemProperty() {
+    assertEquals(WireCompression.NONE, WireCompression.getRequestedCodec());
+    System.setProperty(WireCompression.CODEC_PROPERTY, "LZ4");
+    assertEquals(WireCompression.LZ4, WireCompression.getRequestedCodec());
+    System.setProperty(WireCompression.CODEC_PROPERTY, "deflate");
+    assertEquals(WireCompression.DEFLATE, WireCompression.getRequestedCodec());
+    System.setProperty(WireCompression.CODEC_PROPERTY, "zip");
+    assertEquals(WireCompression.NONE, WireCompression.getRequestedCodec());
+  }
+
+  @Test
+  public void serverCanRefuseCompression() {
+    assertEquals(WireCompression.LZ4, WireCompression.acceptCodec(WireCompression.LZ4));
+    assertEquals(WireCompression.NONE, WireCompression.acceptCodec((byte) 3));
+    System.setProperty(WireCompression.SERVER_ENABLED_PROPERTY, "false");
+    assertEquals(WireCompression.NONE, WireCompression.acceptCodec(WireCompression.LZ4));
+    assertNull(WireCompression.forCodec(WireCompression.NONE));
+  }
+
+  @Test
+  public void codecFitsInTheOverrideByte() {
+    for (byte codec : new byte[] {WireCompression.LZ4, WireCompression.DEFLATE}) {
+      byte override = (byte) (HandShake.CONFLATION_OFF | (codec << 2));
+      assertEquals(HandShake.CONFLATION_OFF, HandShake.extractOverrides(new byte[] {override})[0]);
+      assertEquals(codec, (override >>> 2) & WireCompression.CODEC_MASK);
+    }
+  }
+
+  private Message createMessage() {
+    Message message = new Message(2, Version.CURRENT);
+    message.setMessageType(MessageType.PUT);
+    message.addBytesPart(this.largeValue);
+    message.addStringPart("key");
+    return message;
+  }
+
+  private byte[] send(Message message, WireCompression compression) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    message.setComms(this.socket, null, out, ByteBuffer.allocate(THRESHOLD), this.stats);
+    message.setWireCompression(compression);
+    message.send(false);
+    message.unsetComms();
+    return out.toByteArray();
+  }
+
+  private Message receive(byte[] bytes, WireCompression compression) throws IOException {
+    Message message = new Message(2, Version.CURRENT);
+    message.setComms(this.socket, new ByteArrayInputStream(bytes), null,
+        ByteBuffer.allocate(THRESHOLD), this.stats);
+    message.setWireCompression(compression);
+    message.recv();
+    return message;
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets.command;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.tier.sockets.Message;
+import org.apache.geode.internal.cache.tier.sockets.Part;
+import org.apache.geode.internal.cache.tier.sockets.command.GatewayReceiverCommand.BatchEvent;
+import org.apache.geode.pdx.internal.PeerTypeRegistration;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GatewayReceiverCommandTest {
+
+  private static final int FIRST_EVENT_PART = 4;
+
+  private Message message;
+  private Map<Integer, Part> keyParts;
+  private int partNumber;
+
+  @Before
+  public void setUp() {
+    this.message = mock(Message.class);
+    this.keyParts = new HashMap<>();
+    this.partNumber = FIRST_EVENT_PART;
+  }
+
+  @Test
+  public void locateEventsSkipsThePartsOfEachEvent() {
+    addCreate("region", "a", false);
+    addDestroy("region", "b", true);
+    addCreate(PeerTypeRegistration.REGION_FULL_PATH, 1, false);
+    addCreate("region", "c", true);
+
+    List<BatchEvent> events =
+        GatewayReceiverCommand.locateEvents(this.message, FIRST_EVENT_PART, 4);
+
+    assertEquals(4, events.size());
+    assertEquals(FIRST_EVENT_PART, events.get(0).partNumber);
+    assertEquals(FIRST_EVENT_PART + 8, events.get(1).partNumber);
+    assertEquals(FIRST_EVENT_PART + 16, events.get(2).partNumber);
+    assertEquals(FIRST_EVENT_PART + 24, events.get(3).partNumber);
+    assertTrue(events.get(2).isPdxEvent);
+    assertFalse(events.get(3).isPdxEvent);
+    // PDX events are not counted in the index reported back to the sender
+    assertEquals(0, events.get(0).index);
+    assertEquals(1, events.get(1).index);
+    assertEquals(2, events.get(3).index);
+  }
+
+  @Test
+  public void partitionKeepsTheEventsOfAKeyTogetherAndInOrder() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      addCreate(i % 2 == 0 ? "even" : "odd", "key" + (i % 10), false);
+    }
+    List<BatchEvent> events =
+        GatewayReceiverCommand.locateEvents(this.message, FIRST_EVENT_PART, 100);
+
+    List<List<BatchEvent>> partitions = GatewayReceiverCommand.partition(this.message, events, 4);
+
+    assertTrue(partitions.size() > 1);
+    assertTrue(partitions.size() <= 4);
+    Map<String, Integer> partitionOfKey = new HashMap<>();
+    int count = 0;
+    for (int i = 0; i < partitions.size(); i++) {
+      List<BatchEvent> partition = partitions.get(i);
+      assertFalse(partition.isEmpty());
+      int previous = -1;
+      for (BatchEvent event : partition) {
+        assertTrue("events are out of order", event.partNumber > previous);
+        previous = event.partNumber;
+        Integer other = partitionOfKey.put(event.regionName + event.key, i);
+        assertTrue(other == null || other == i);
+        count++;
+      }
+    }
+    assertEquals(100, count);
+  }
+
+  @Test
+  public void partitionReadsEachKeyOnce() throws Exception {
+    addCreate("region", "a", false);
+    addCreate("region", "b", false);
+    List<BatchEvent> events =
+        GatewayReceiverCommand.locateEvents(this.message, FIRST_EVENT_PART, 2);
+
+    GatewayReceiverCommand.partition(this.message, events, 2);
+
+    assertEquals("a", events.get(0).key);
+    assertEquals("b", events.get(1).key);
+    for (Part keyPart : this.keyParts.values()) {
+      verify(keyPart).getStringOrObject();
+    }
+  }
+
+  @Test
+  public void partitionDropsEmptyPartitions() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      addCreate("region", "same", false);
+    }
+    List<BatchEvent> events =
+        GatewayReceiverCommand.locateEvents(this.message, FIRST_EVENT_PART, 5);
+
+    List<List<BatchEvent>> partitions = GatewayReceiverCommand.partition(this.message, events, 8);
+
+    assertEquals(1, partitions.size());
+    assertEquals(events, partitions.get(0));
+  }
+
+  private void addCreate(String regionName, Object key, boolean callbackArg) {
+    addEvent(0, regionName, key, 6, callbackArg, callbackArg ? 9 : 8);
+  }
+
+  private void addDestroy(String regionName, Object key, boolean callbackArg) {
+    addEvent(2, regionName, key, 5, callbackArg, callbackArg ? 8 : 7);
+  }
+
+  private void addEvent(int actionType, String regionName, Object key, int callbackArgExistsOffset,
+      boolean callbackArg, int parts) {
+    try {
+      Part actionTypePart = mock(Part.class);
+      when(actionTypePart.getInt()).thenReturn(actionType);
+      Part regionNamePart = mock(Part.class);
+      when(regionNamePart.getString()).thenReturn(regionName);
+      Part keyPart = mock(Part.class);
+      when(keyPart.getStringOrObject()).thenReturn(key);
+      Part callbackArgExistsPart = mock(Part.class);
+      when(callbackArgExistsPart.getSerializedForm())
+          .thenReturn(new byte[] {(byte) (callbackArg ? 0x01 : 0x00)});
+      when(this.message.getPart(this.partNumber)).thenReturn(actionTypePart);
+      when(this.message.getPart(this.partNumber + 2)).thenReturn(regionNamePart);
+      when(this.message.getPart(this.partNumber + 4)).thenReturn(keyPart);
+      when(this.message.getPart(this.partNumber + callbackArgExistsOffset))
+          .thenReturn(callbackArgExistsPart);
+      this.keyParts.put(this.partNumber, keyPart);
+      this.partNumber += parts;
+    } catch (Exception e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class AdaptiveBatchControllerTest {
+
+  private static final long WINDOW = AdaptiveBatchController.WINDOW_NANOS;
+
+  private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(20);
+
+  private GatewaySenderStats stats;
+
+  private AdaptiveBatchController controller;
+
+  private long now;
+
+  private int nextBatchId;
+
+  @Before
+  public void setUp() {
+    this.stats = mock(GatewaySenderStats.class);
+    this.now = 0;
+    this.controller = new AdaptiveBatchController(100, 8, this.stats, this.now);
+  }
+
+  /**
+   * Sends {@code batches} full batches of the current size, each acknowledged after
+   * {@code latency}, finishing the window.
+   */
+  private void runWindow(int batches, long latency, boolean waited) throws Exception {
+    long step = WINDOW / batches;
+    for (int i = 0; i < batches; i++) {
+      int size = this.controller.getBatchSize();
+      this.controller.batchPeeked(size, size);
+      int id = this.nextBatchId++;
+      this.controller.batchSent(id, this.now);
+      if (waited && i == 0) {
+        fillWindow();
+      }
+      this.now += Math.max(step, latency);
+      this.controller.batchAcknowledged(id, size, this.now);
+    }
+  }
+
+  private void fillWindow() throws Exception {
+    int filler = 1000;
+    while (this.controller.getBatchesInFlight() < this.controller.getInFlightLimit()) {
+      this.controller.batchSent(filler++, this.now);
+    }
+    assertFalse(this.controller.awaitCapacity(1));
+    for (int id = 1000; id < filler; id++) {
+      this.controller.batchAcknowledged(id, 0, this.now);
+    }
+  }
+
+  @Test
+  public void startsWithConfiguredBatchSizeAndPipelinedBatches() {
+    assertEquals(100, this.controller.getBatchSize());
+    assertEquals(2, this.controller.getInFlightLimit());
+    verify(this.stats).incAdaptiveBatchSize(100);
+    verify(this.stats).incBatchesInFlightLimit(2);
+  }
+
+  @Test
+  public void awaitCapacityBlocksAtInFlightLimit() throws Exception {
+    this.controller.batchSent(0, 0);
+    assertTrue(this.controller.awaitCapacity(1));
+    this.controller.batchSent(1, 0);
+    assertFalse(this.controller.awaitCapacity(1));
+    this.controller.batchAcknowledged(0, 100, 10);
+    assertTrue(this.controller.awaitCapacity(1));
+    verify(this.stats).endBatchAck(10);
+  }
+
+  @Test
+  public void growsBatchSizeAndInFlightLimitWhileBackloggedAndLatencyIsSteady() throws Exception {
+    runWindow(10, LATENCY, true);
+    runWindow(10, LATENCY, true);
+    assertTrue(this.controller.getBatchSize() > 100);
+    assertTrue(this.controller.getInFlightLimit() > 2);
+    verify(this.stats, atLeastOnce()).incBatchSizeAdjustments();
+    verify(this.stats, atLeastOnce()).incBatchesInFlightLimitAdjustments();
+  }
+
+  @Test
+  public void leavesBatchSizeAloneWithoutBacklog() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      this.controller.batchPeeked(100, 5);
+      this.controller.batchSent(i, this.now);
+      this.now += WINDOW / 5;
+      this.controller.batchAcknowledged(i, 5, this.now);
+    }
+    assertEquals(100, this.controller.getBatchSize());
+    assertEquals(2, this.controller.getInFlightLimit());
+  }
+
+  @Test
+  public void halvesInFlightLimitWhenLatencyInflates() throws Exception {
+    runWindow(10, LATENCY, true);
+    runWindow(10, LATENCY, true);
+    int limit = this.controller.getInFlightLimit();
+    runWindow(2, LATENCY * 50, false);
+    assertEquals(limit / 2, this.controller.getInFlightLimit());
+  }
+
+  @Test
+  public void cutsOnlyOnceBeforeTheWindowAfterACutCompletes() throws Exception {
+    runWindow(10, LATENCY, true);
+    runWindow(10, LATENCY, true);
+    int limit = this.controller.getInFlightLimit();
+    runWindow(2, LATENCY * 50, false);
+    assertEquals(limit / 2, this.controller.getInFlightLimit());
+    runWindow(2, LATENCY * 50, false);
+    assertEquals(limit / 2, this.controller.getInFlightLimit());
+    runWindow(2, LATENCY * 50, false);
+    assertEquals(limit / 4, this.controller.getInFlightLimit());
+  }
+
+  @Test
+  public void oneSlowAckDoesNotEndAWindow() throws Exception {
+    runWindow(10, LATENCY, true);
+    runWindow(10, LATENCY, true);
+    int limit = this.controller.getInFlightLimit();
+    runWindow(1, LATENCY * 50, false);
+    assertEquals(limit, this.controller.getInFlightLimit());
+  }
+
+  @Test
+  public void shrinksBatchSizeWhenLatencyInflatesWithOneBatchInFlight() throws Exception {
+    this.controller = new AdaptiveBatchController(100, 1, this.stats, this.now);
+    runWindow(10, LATENCY, false);
+    int size = this.controller.getBatchSize();
+    runWindow(2, LATENCY * 50, false);
+    assertTrue(this.controller.getBatchSize() < size);
+  }
+
+  @Test
+  public void limitBatchSizeCapsGrowth() throws Exception {
+    this.controller.limitBatchSize(50);
+    assertEquals(50, this.controller.getBatchSize());
+    runWindow(10, LATENCY, false);
+    runWindow(10, LATENCY, false);
+    assertTrue(this.controller.getBatchSize() <= 50);
+  }
+
+  @Test
+  public void resetForgetsOutstandingBatches() throws Exception {
+    this.controller.batchSent(0, 0);
+    this.controller.batchSent(1, 0);
+    this.controller.reset();
+    assertEquals(0, this.controller.getBatchesInFlight());
+    assertTrue(this.controller.awaitCapacity(1));
+    this.controller.batchAcknowledged(0, 100, 10);
+    verify(this.stats, never()).endBatchAck(anyLong());
+    verify(this.stats).incBatchesInFlight(-2);
+  }
+
+  @Test
+  public void closeRemovesContributionToSharedStatistics() {
+    this.controller.close();
+    this.controller.close();
+    verify(this.stats).incAdaptiveBatchSize(-100);
+    verify(this.stats).incBatchesInFlightLimit(-2);
+  }
+}
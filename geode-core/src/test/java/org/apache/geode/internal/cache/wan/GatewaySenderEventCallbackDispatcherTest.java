@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.asyncqueue.AsyncEvent;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GatewaySenderEventCallbackDispatcherTest {
+
+  private static GatewaySenderEventImpl event(int bucketId, String regionPath, Object key) {
+    GatewaySenderEventImpl event = mock(GatewaySenderEventImpl.class);
+    when(event.getBucketId()).thenReturn(bucketId);
+    when(event.getRegionPath()).thenReturn(regionPath);
+    when(event.getKey()).thenReturn(key);
+    return event;
+  }
+
+  @Test
+  public void partitionKeepsEachBucketTogetherAndInOrder() {
+    List<AsyncEvent> events = new ArrayList<AsyncEvent>();
+    for (int i = 0; i < 100; i++) {
+      events.add(event(i % 7, "/region", i));
+    }
+    List<List<AsyncEvent>> partitions = GatewaySenderEventCallbackDispatcher.partition(events, 4);
+    assertEquals(4, partitions.size());
+    int total = 0;
+    for (List<AsyncEvent> partition : partitions) {
+      total += partition.size();
+      for (int i = 1; i < partition.size(); i++) {
+        assertTrue(events.indexOf(partition.get(i - 1)) < events.indexOf(partition.get(i)));
+      }
+    }
+    assertEquals(events.size(), total);
+    for (int bucket = 0; bucket < 7; bucket++) {
+      int partitionsWithBucket = 0;
+      for (List<AsyncEvent> partition : partitions) {
+        for (AsyncEvent event : partition) {
+          if (((GatewaySenderEventImpl) event).getBucketId() == bucket) {
+            partitionsWithBucket++;
+            break;
+          }
+        }
+      }
+      assertEquals(1, partitionsWithBucket);
+    }
+  }
+
+  @Test
+  public void partitionUsesRegionAndKeyWithoutBucket() {
+    GatewaySenderEventImpl first = event(-1, "/region", "key");
+    GatewaySenderEventImpl second = event(-1, "/region", "key");
+    List<AsyncEvent> events = new ArrayList<AsyncEvent>();
+    events.add(first);
+    for (int i = 0; i < 20; i++) {
+      events.add(event(-1, "/region", "other" + i));
+    }
+    events.add(second);
+    for (List<AsyncEvent> partition : GatewaySenderEventCallbackDispatcher.partition(events, 8)) {
+      if (partition.contains(first)) {
+        assertTrue(partition.indexOf(first) < partition.indexOf(second));
+      }
+    }
+  }
+
+  @Test
+  public void partitionDropsEmptyPartitions() {
+    List<AsyncEvent> events = Arrays.<AsyncEvent>asList(event(3, "/region", 1), event(3, null, 2));
+    assertEquals(1, GatewaySenderEventCallbackDispatcher.partition(events, 4).size());
+    assertTrue(GatewaySenderEventCallbackDispatcher.partition(new ArrayList<AsyncEvent>(), 4)
+        .isEmpty());
+  }
+
+  @Test
+  public void backoffDoublesUpToTheMaximum() {
+    assertEquals(100, GatewaySenderEventCallbackDispatcher.backoffMillis(1, 100, 1000));
+    assertEquals(200, GatewaySenderEventCallbackDispatcher.backoffMillis(2, 100, 1000));
+    assertEquals(800, GatewaySenderEventCallbackDispatcher.backoffMillis(4, 100, 1000));
+    assertEquals(1000, GatewaySenderEventCallbackDispatcher.backoffMillis(5, 100, 1000));
+    assertEquals(1000, GatewaySenderEventCallbackDispatcher.backoffMillis(Integer.MAX_VALUE, 100,
+        1000));
+  }
+}
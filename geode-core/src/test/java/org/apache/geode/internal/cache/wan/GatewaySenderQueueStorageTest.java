@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.mockito.ArgumentCaptor;
+
+import org.apache.geode.cache.AttributesFactory;
+import org.apache.geode.cache.EvictionAction;
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.EvictionAttributes;
+import org.apache.geode.internal.cache.InternalCache;
+import org.apache.geode.internal.offheap.MemoryAllocator;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class GatewaySenderQueueStorageTest {
+
+  @Test
+  public void parseDefaultsToHeap() {
+    assertEquals(GatewaySenderQueueStorage.HEAP, GatewaySenderQueueStorage.parse(null));
+    assertEquals(GatewaySenderQueueStorage.HEAP, GatewaySenderQueueStorage.parse(" "));
+    assertEquals(GatewaySenderQueueStorage.HEAP, GatewaySenderQueueStorage.parse("bogus"));
+  }
+
+  @Test
+  public void parseIgnoresCaseAndWhitespace() {
+    assertEquals(GatewaySenderQueueStorage.OFF_HEAP, GatewaySenderQueueStorage.parse("off_heap"));
+    assertEquals(GatewaySenderQueueStorage.OVERFLOW, GatewaySenderQueueStorage.parse(" Overflow "));
+  }
+
+  @Test
+  public void offHeapFallsBackToHeapWithoutOffHeapMemory() {
+    AbstractGatewaySender sender = mock(AbstractGatewaySender.class);
+    InternalCache cache = mock(InternalCache.class);
+    when(sender.getCache()).thenReturn(cache);
+    assertEquals(GatewaySenderQueueStorage.HEAP,
+        GatewaySenderQueueStorage.forSender(sender, GatewaySenderQueueStorage.OFF_HEAP));
+
+    when(cache.getOffHeapStore()).thenReturn(mock(MemoryAllocator.class));
+    assertEquals(GatewaySenderQueueStorage.OFF_HEAP,
+        GatewaySenderQueueStorage.forSender(sender, GatewaySenderQueueStorage.OFF_HEAP));
+  }
+
+  @Test
+  public void heapOverflowsByMemory() {
+    AttributesFactory factory = mock(AttributesFactory.class);
+    GatewaySenderQueueStorage.HEAP.configure(factory, 100);
+    EvictionAttributes ea = captureEvictionAttributes(factory);
+    assertEquals(EvictionAlgorithm.LIFO_MEMORY, ea.getAlgorithm());
+    assertEquals(100, ea.getMaximum());
+    verify(factory, never()).setOffHeap(anyBoolean());
+  }
+
+  @Test
+  public void offHeapStoresOffHeapAndOverflowsByMemory() {
+    AttributesFactory factory = mock(AttributesFactory.class);
+    GatewaySenderQueueStorage.OFF_HEAP.configure(factory, 100);
+    EvictionAttributes ea = captureEvictionAttributes(factory);
+    assertEquals(EvictionAlgorithm.LIFO_MEMORY, ea.getAlgorithm());
+    verify(factory).setOffHeap(true);
+  }
+
+  @Test
+  public void overflowKeepsOnlyTheHeadOfTheQueueResident() {
+    AttributesFactory factory = mock(AttributesFactory.class);
+    GatewaySenderQueueStorage.OVERFLOW.configure(factory, 100);
+    EvictionAttributes ea = captureEvictionAttributes(factory);
+    assertEquals(EvictionAlgorithm.LIFO_ENTRY, ea.getAlgorithm());
+    assertEquals(EvictionAction.OVERFLOW_TO_DISK, ea.getAction());
+    assertEquals(GatewaySenderQueueStorage.RESIDENT_ENTRIES, ea.getMaximum());
+  }
+
+  private EvictionAttributes captureEvictionAttributes(AttributesFactory factory) {
+    ArgumentCaptor<EvictionAttributes> captor = ArgumentCaptor.forClass(EvictionAttributes.class);
+    verify(factory).setEvictionAttributes(captor.capture());
+    return captor.getValue();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.compression;
+
+import static org.junit.Assert.*;
+
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.compression.CompressionDictionaryTrainer;
+import org.apache.geode.compression.CompressionException;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.DeflateCompressor;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Tests the deflate {@link Compressor}.
+ */
+@Category(UnitTest.class)
+public class DeflateCompressorJUnitTest {
+
+  @Test
+  public void testCompressByteArray() throws Exception {
+    String compressMe = "Hello, how are you?";
+    byte[] compressMeData = new DeflateCompressor().compress(compressMe.getBytes());
+    String uncompressedMe = new String(new DeflateCompressor().decompress(compressMeData));
+
+    assertEquals(compressMe, uncompressedMe);
+  }
+
+  @Test
+  public void testRoundTripOfIncompressibleInput() throws Exception {
+    byte[] random = new byte[70000];
+    new Random(17).nextBytes(random);
+    DeflateCompressor compressor = new DeflateCompressor(9, null);
+    assertArrayEquals(random, compressor.decompress(compressor.compress(random)));
+    assertArrayEquals(new byte[0], compressor.decompress(compressor.compress(new byte[0])));
+  }
+
+  @Test
+  public void testDictionaryAndLevelAreConfiguredByParameters() throws Exception {
+    CompressionDictionaryTrainer trainer = new CompressionDictionaryTrainer(4096);
+    for (int i = 0; i < 200; i++) {
+      trainer.addSample(LZ4CompressorJUnitTest.jsonDocument(i));
+    }
+    DeflateCompressor primed = new DeflateCompressor(3, trainer.train());
+    Properties config = primed.getConfig();
+    assertEquals("3", config.getProperty(DeflateCompressor.LEVEL));
+
+    DeflateCompressor declared = new DeflateCompressor();
+    declared.init(config);
+    assertEquals(primed, declared);
+    assertEquals(3, declared.getLevel());
+
+    byte[] value = LZ4CompressorJUnitTest.jsonDocument(1234);
+    byte[] compressed = primed.compress(value);
+    assertTrue(compressed.length < new DeflateCompressor().compress(value).length);
+    assertArrayEquals(value, declared.decompress(compressed));
+  }
+
+  @Test(expected = CompressionException.class)
+  public void testDecompressWithoutDictionaryThrows() throws Exception {
+    DeflateCompressor primed = new DeflateCompressor(6, "customer status ACTIVE".getBytes());
+    new DeflateCompressor().decompress(primed.compress("customer status ACTIVE".getBytes()));
+  }
+}
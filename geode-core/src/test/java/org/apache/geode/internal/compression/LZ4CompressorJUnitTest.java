@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.compression;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.compression.CompressionDictionaryTrainer;
+import org.apache.geode.compression.CompressionException;
+import org.apache.geode.compression.Compressor;
+import org.apache.geode.compression.LZ4Compressor;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Tests the LZ4 {@link Compressor}.
+ */
+@Category(UnitTest.class)
+public class LZ4CompressorJUnitTest {
+
+  static byte[] jsonDocument(int i) {
+    return ("{\"id\":" + i + ",\"name\":\"customer-" + i
+        + "\",\"address\":{\"street\":\"Main Street\",\"city\":\"Portland\",\"zip\":\"97201\"},"
+        + "\"status\":\"" + (i % 2 == 0 ? "ACTIVE" : "SUSPENDED") + "\"}")
+            .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static void assertRoundTrip(Compressor compressor, byte[] input) {
+    assertArrayEquals(input, compressor.decompress(compressor.compress(input)));
+  }
+
+  @Test
+  public void testCompressByteArray() throws Exception {
+    String compressMe = "Hello, how are you?";
+    byte[] compressMeData = new LZ4Compressor().compress(compressMe.getBytes());
+    String uncompressedMe = new String(new LZ4Compressor().decompress(compressMeData));
+
+    assertEquals(compressMe, uncompressedMe);
+  }
+
+  @Test
+  public void testRoundTripOfEdgeCases() throws Exception {
+    LZ4Compressor compressor = new LZ4Compressor();
+    assertRoundTrip(compressor, new byte[0]);
+    assertRoundTrip(compressor, new byte[] {1});
+    assertRoundTrip(compressor, new byte[100000]);
+
+    byte[] random = new byte[70000];
+    new Random(17).nextBytes(random);
+    assertRoundTrip(compressor, random);
+
+    byte[] repeating = new byte[200000];
+    for (int i = 0; i < repeating.length; i++) {
+      repeating[i] = (byte) (i % 7);
+    }
+    byte[] compressed = compressor.compress(repeating);
+    assertTrue(compressed.length < repeating.length / 50);
+    assertArrayEquals(repeating, compressor.decompress(compressed));
+  }
+
+  @Test
+  public void testDictionaryImprovesRatioOfSmallValues() throws Exception {
+    CompressionDictionaryTrainer trainer = new CompressionDictionaryTrainer(4096);
+    for (int i = 0; i < 200; i++) {
+      trainer.addSample(jsonDocument(i));
+    }
+    byte[] dictionary = trainer.train();
+    assertTrue(dictionary.length > 0);
+    assertTrue(dictionary.length <= 4096);
+
+    LZ4Compressor plain = new LZ4Compressor();
+    LZ4Compressor primed = new LZ4Compressor(dictionary);
+    int plainSize = 0;
+    int primedSize = 0;
+    for (int i = 1000; i < 1100; i++) {
+      byte[] value = jsonDocument(i);
+      plainSize += plain.compress(value).length;
+      primedSize += primed.compress(value).length;
+      assertRoundTrip(primed, value);
+    }
+    assertTrue("primed=" + primedSize + " plain=" + plainSize, primedSize < plainSize / 2);
+  }
+
+  @Test
+  public void testDictionaryIsConfiguredByParameter() throws Exception {
+    LZ4Compressor primed = new LZ4Compressor("customer status ACTIVE".getBytes());
+    Properties config = primed.getConfig();
+    assertNotNull(config.getProperty(LZ4Compressor.DICTIONARY));
+
+    LZ4Compressor declared = new LZ4Compressor();
+    declared.init(config);
+    assertEquals(primed, declared);
+    assertEquals(primed.hashCode(), declared.hashCode());
+    assertNotEquals(new LZ4Compressor(), declared);
+
+    byte[] value = jsonDocument(5);
+    assertArrayEquals(value, declared.decompress(primed.compress(value)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDictionaryLargerThanWindowIsRejected() throws Exception {
+    new LZ4Compressor(new byte[LZ4Compressor.MAX_DICTIONARY_SIZE + 1]);
+  }
+
+  @Test(expected = CompressionException.class)
+  public void testTruncatedInputThrows() throws Exception {
+    LZ4Compressor compressor = new LZ4Compressor();
+    byte[] compressed = compressor.compress(jsonDocument(1));
+    byte[] truncated = new byte[compressed.length - 3];
+    System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+    compressor.decompress(truncated);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.StatisticsTypeFactory;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Unit tests for {@link LatencyHistogram}.
+ */
+@Category(UnitTest.class)
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketsAreWithinThreePercentOfTheValue() {
+    for (long value = 0; value < 1L << 40; value = value * 3 / 2 + 1) {
+      int index = LatencyHistogram.bucketIndex(value);
+      long upperBound = LatencyHistogram.bucketUpperBound(index);
+      assertTrue("value " + value, upperBound >= value);
+      assertTrue("value " + value, upperBound - value <= value / 32);
+      if (index > 0) {
+        assertTrue("value " + value, LatencyHistogram.bucketUpperBound(index - 1) < value);
+      }
+    }
+  }
+
+  @Test
+  public void hugeValuesLandInTheLastBucket() {
+    assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(1L << 40));
+    assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void percentilesOfUniformValues() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 10000; i++) {
+      histogram.recordValue(i * 1000L);
+    }
+    LatencyHistogram.Snapshot snapshot = histogram.getIntervalSnapshot();
+
+    assertEquals(10000, snapshot.getCount());
+    assertEquals(10000000L, snapshot.getMax());
+    assertWithinThreePercent(5000000L, snapshot.getValueAtPercentile(50.0));
+    assertWithinThreePercent(9900000L, snapshot.getValueAtPercentile(99.0));
+    assertWithinThreePercent(9990000L, snapshot.getValueAtPercentile(99.9));
+    assertEquals(10000000L, snapshot.getValueAtPercentile(100.0));
+  }
+
+  @Test
+  public void intervalSnapshotOnlyHasValuesSinceThePreviousOne() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.recordValue(5000000);
+    histogram.getIntervalSnapshot();
+    histogram.recordValue(100);
+    histogram.recordValue(200);
+
+    LatencyHistogram.Snapshot interval = histogram.getIntervalSnapshot();
+    assertEquals(2, interval.getCount());
+    assertEquals(200, interval.getMax());
+    assertWithinThreePercent(200, interval.getValueAtPercentile(99.0));
+
+    LatencyHistogram.Snapshot empty = histogram.getIntervalSnapshot();
+    assertEquals(0, empty.getCount());
+    assertEquals(0, empty.getValueAtPercentile(99.0));
+
+    assertEquals(3, histogram.getSnapshot().getCount());
+  }
+
+  @Test
+  public void publishToSetsGaugesOnEachSample() {
+    StatisticsTypeFactory f = StatisticsTypeFactoryImpl.singleton();
+    StatisticDescriptor[] descriptors = LatencyHistogram.withLatencyDescriptors(f,
+        new StatisticDescriptor[] {f.createIntCounter("ops", "operations", "operations")}, "op");
+    assertEquals(5, descriptors.length);
+    StatisticsTypeImpl type = new StatisticsTypeImpl("LatencyHistogramTest", "test", descriptors);
+    StatisticsImpl stats = new LocalStatisticsImpl(type, "test", 1, 1, false, 0, null);
+
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.publishTo(stats, "op");
+    for (int i = 1; i <= 1000; i++) {
+      histogram.recordValue(i);
+    }
+    assertEquals(0, stats.invokeSuppliers());
+
+    assertEquals(1000, stats.getLong("opLatencyMax"));
+    assertWithinThreePercent(500, stats.getLong("opLatencyP50"));
+    assertWithinThreePercent(990, stats.getLong("opLatencyP99"));
+    assertWithinThreePercent(999, stats.getLong("opLatencyP999"));
+
+    stats.invokeSuppliers();
+    assertEquals(0, stats.getLong("opLatencyMax"));
+    assertEquals(0, stats.getLong("opLatencyP99"));
+  }
+
+  private static void assertWithinThreePercent(long expected, long actual) {
+    assertTrue("expected " + expected + " but was " + actual,
+        actual >= expected && actual <= expected + expected / 32);
+  }
+}
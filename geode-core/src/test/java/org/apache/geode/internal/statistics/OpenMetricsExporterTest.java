@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Properties;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.security.SecurityService;
+import org.apache.geode.management.internal.security.ResourceConstants;
+import org.apache.geode.management.internal.security.ResourcePermissions;
+import org.apache.geode.security.AuthenticationFailedException;
+import org.apache.geode.security.NotAuthorizedException;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Unit tests for {@link OpenMetricsExporter}.
+ */
+@Category(UnitTest.class)
+public class OpenMetricsExporterTest {
+
+  private SecurityService securityService;
+  private HttpServletRequest request;
+  private OpenMetricsExporter exporter;
+
+  @Before
+  public void setUp() {
+    securityService = mock(SecurityService.class);
+    when(securityService.isIntegratedSecurity()).thenReturn(true);
+    request = mock(HttpServletRequest.class);
+    exporter = new OpenMetricsExporter(mock(StatisticsManager.class), securityService);
+  }
+
+  @Test
+  public void basicAuthorizationIsDecoded() {
+    when(request.getHeader("Authorization")).thenReturn("Basic "
+        + Base64.getEncoder().encodeToString("scraper:se:cret".getBytes(StandardCharsets.UTF_8)));
+
+    Properties credentials = OpenMetricsExporter.getCredentials(request);
+
+    assertEquals("scraper", credentials.getProperty(ResourceConstants.USER_NAME));
+    assertEquals("se:cret", credentials.getProperty(ResourceConstants.PASSWORD));
+  }
+
+  @Test
+  public void securityHeadersAreUsedWithoutBasicAuthorization() {
+    when(request.getHeader(ResourceConstants.USER_NAME)).thenReturn("scraper");
+    when(request.getHeader(ResourceConstants.PASSWORD)).thenReturn("secret");
+
+    Properties credentials = OpenMetricsExporter.getCredentials(request);
+
+    assertEquals("scraper", credentials.getProperty(ResourceConstants.USER_NAME));
+    assertEquals("secret", credentials.getProperty(ResourceConstants.PASSWORD));
+  }
+
+  @Test
+  public void malformedOrMissingCredentials() {
+    assertNull(OpenMetricsExporter.getCredentials(request));
+    when(request.getHeader("Authorization")).thenReturn("Basic not-base64!");
+    assertNull(OpenMetricsExporter.getCredentials(request));
+  }
+
+  @Test
+  public void everyRequestIsAllowedWithoutSecurityManager() {
+    when(securityService.isIntegratedSecurity()).thenReturn(false);
+
+    assertEquals(HttpServletResponse.SC_OK, exporter.authorize(request));
+    verify(securityService, never()).login(any());
+  }
+
+  @Test
+  public void requestWithoutCredentialsIsUnauthorized() {
+    assertEquals(HttpServletResponse.SC_UNAUTHORIZED, exporter.authorize(request));
+    verify(securityService, never()).login(any());
+  }
+
+  @Test
+  public void failedLoginIsUnauthorized() {
+    when(request.getHeader(ResourceConstants.USER_NAME)).thenReturn("scraper");
+    when(securityService.login(any())).thenThrow(new AuthenticationFailedException("bad"));
+
+    assertEquals(HttpServletResponse.SC_UNAUTHORIZED, exporter.authorize(request));
+  }
+
+  @Test
+  public void userWithoutClusterReadIsForbidden() {
+    when(request.getHeader(ResourceConstants.USER_NAME)).thenReturn("scraper");
+    doThrow(new NotAuthorizedException("no")).when(securityService)
+        .authorize(ResourcePermissions.CLUSTER_READ);
+
+    assertEquals(HttpServletResponse.SC_FORBIDDEN, exporter.authorize(request));
+    verify(securityService).logout();
+  }
+
+  @Test
+  public void userWithClusterReadIsAllowed() {
+    when(request.getHeader(ResourceConstants.USER_NAME)).thenReturn("scraper");
+
+    assertEquals(HttpServletResponse.SC_OK, exporter.authorize(request));
+    verify(securityService).authorize(ResourcePermissions.CLUSTER_READ);
+    verify(securityService).logout();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TestName;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Unit tests for {@link OpenMetricsWriter}.
+ */
+@Category(UnitTest.class)
+public class OpenMetricsWriterTest {
+
+  @Rule
+  public TestName testName = new TestName();
+
+  private TestStatisticsManager manager;
+  private StatisticsType type;
+  private String typeName;
+  private OpenMetricsWriter writer;
+
+  @Before
+  public void setUp() {
+    manager = new TestStatisticsManager(1, getClass().getSimpleName(), System.currentTimeMillis());
+    typeName = "OpenMetrics" + testName.getMethodName();
+    type = manager.createType(typeName, "test type",
+        new StatisticDescriptor[] {manager.createIntCounter("ops", "operations", "ops"),
+            manager.createLongGauge("entries", "entries held", "entries"),
+            manager.createDoubleGauge("load", "current load", "load")});
+    writer = new OpenMetricsWriter(manager);
+  }
+
+  @Test
+  public void writesTypeMetadataAndSamples() throws Exception {
+    Statistics stats = manager.createAtomicStatistics(type, "first", 7);
+    stats.incInt("ops", 3);
+    stats.setLong("entries", -42);
+    stats.setDouble("load", 0.5);
+
+    String text = render();
+
+    String ops = "geode_" + typeName + "_ops";
+    String entries = "geode_" + typeName + "_entries";
+    assertTrue(text, text.contains("# TYPE " + ops + " counter\n# HELP " + ops + " operations\n"));
+    assertTrue(text, text.contains(ops + "_total{name=\"first\",id=\"7\"} 3\n"));
+    assertTrue(text, text.contains("# TYPE " + entries + " gauge\n"));
+    assertTrue(text, text.contains(entries + "{name=\"first\",id=\"7\"} -42\n"));
+    assertTrue(text, text.contains("geode_" + typeName + "_load{name=\"first\",id=\"7\"} 0.5\n"));
+    assertTrue(text, text.endsWith("# EOF\n"));
+  }
+
+  @Test
+  public void writesCurrentValuesOnEachCall() throws Exception {
+    Statistics stats = manager.createAtomicStatistics(type, "first", 1);
+    stats.incInt("ops", 1);
+    render();
+    stats.incInt("ops", 1);
+
+    assertTrue(render().contains("_ops_total{name=\"first\",id=\"1\"} 2\n"));
+  }
+
+  @Test
+  public void picksUpNewAndClosedInstances() throws Exception {
+    Statistics first = manager.createAtomicStatistics(type, "first", 1);
+    assertFalse(render().contains("name=\"second\""));
+
+    manager.createAtomicStatistics(type, "second", 2);
+    String text = render();
+    assertTrue(text, text.contains("name=\"first\""));
+    assertTrue(text, text.contains("name=\"second\""));
+    assertEquals(1, occurrences(text, "# TYPE geode_" + typeName + "_ops counter"));
+
+    first.close();
+    text = render();
+    assertFalse(text, text.contains("name=\"first\""));
+    assertTrue(text, text.contains("name=\"second\""));
+  }
+
+  @Test
+  public void escapesLabelValues() throws Exception {
+    manager.createAtomicStatistics(type, "a\"b\\c", 1);
+
+    assertTrue(render().contains("{name=\"a\\\"b\\\\c\",id=\"1\"}"));
+  }
+
+  @Test
+  public void metricNameReplacesInvalidCharacters() {
+    assertEquals("geode_CachePerfStats_gets",
+        OpenMetricsWriter.metricName("CachePerfStats", "gets"));
+    assertEquals("geode_Disk_Dir_Stats_disk_space",
+        OpenMetricsWriter.metricName("Disk-Dir Stats", "disk.space"));
+  }
+
+  private String render() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    writer.write(out);
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static int occurrences(String text, String value) {
+    int count = 0;
+    for (int i = text.indexOf(value); i >= 0; i = text.indexOf(value, i + 1)) {
+      count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.apache.geode.internal.statistics.StatArchiveFormat.NANOS_PER_MILLI;
+import static org.apache.geode.internal.statistics.TestStatArchiveWriter.*;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.contrib.java.lang.system.RestoreSystemProperties;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestName;
+
+import org.apache.geode.StatisticDescriptor;
+import org.apache.geode.Statistics;
+import org.apache.geode.StatisticsType;
+import org.apache.geode.internal.statistics.StatArchiveIndex.Checkpoint;
+import org.apache.geode.internal.statistics.StatArchiveReader.ValueFilter;
+import org.apache.geode.internal.statistics.StreamingStatArchiveReader.Column;
+import org.apache.geode.test.junit.categories.IntegrationTest;
+
+/**
+ * Integration tests for {@link StreamingStatArchiveReader} and {@link StatArchiveIndex}.
+ */
+@Category(IntegrationTest.class)
+public class StreamingStatArchiveReaderIntegrationTest {
+
+  private static final int SAMPLES = 10;
+
+  private static final ValueFilter OPS_FILTER = new ValueFilter() {
+    @Override
+    public boolean archiveMatches(File archive) {
+      return true;
+    }
+
+    @Override
+    public boolean typeMatches(String typeName) {
+      return true;
+    }
+
+    @Override
+    public boolean statMatches(String statName) {
+      return "ops".equals(statName);
+    }
+
+    @Override
+    public boolean instanceMatches(String textId, long numericId) {
+      return true;
+    }
+  };
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Rule
+  public TestName testName = new TestName();
+
+  @Rule
+  public RestoreSystemProperties restoreSystemProperties = new RestoreSystemProperties();
+
+  @Before
+  public void setUp() {
+    System.setProperty(StatArchiveWriter.INDEX_INTERVAL_PROPERTY, "3");
+  }
+
+  @After
+  public void tearDown() {
+    StatisticsTypeFactoryImpl.clear();
+  }
+
+  @Test
+  public void writerRecordsCheckpoints() throws Exception {
+    File archive = writeArchive(".gfs");
+
+    StatArchiveIndex index = StatArchiveIndex.read(archive);
+
+    assertNotNull(index);
+    List<Checkpoint> checkpoints = index.getCheckpoints();
+    assertEquals(3, checkpoints.size());
+    for (int i = 0; i < checkpoints.size(); i++) {
+      int sample = (i + 1) * 3;
+      assertEquals(sample, checkpoints.get(i).getSampleCount());
+      assertEquals(sampleTime(sample), checkpoints.get(i).getTimeStamp());
+    }
+    assertSame(checkpoints.get(1), index.findCheckpoint(sampleTime(7)));
+    assertSame(checkpoints.get(0), index.findCheckpoint(sampleTime(6)));
+    assertNull(index.findCheckpoint(sampleTime(3)));
+  }
+
+  @Test
+  public void readsRangeFromCheckpoint() throws Exception {
+    File archive = writeArchive(".gfs");
+
+    assertRangeFromSampleSeven(archive, true);
+  }
+
+  @Test
+  public void readsRangeFromCompressedArchive() throws Exception {
+    File archive = writeArchive(".gfs.gz");
+
+    assertRangeFromSampleSeven(archive, true);
+  }
+
+  @Test
+  public void readsRangeWithoutIndex() throws Exception {
+    File archive = writeArchive(".gfs");
+    assertTrue(StatArchiveIndex.getIndexFile(archive).delete());
+
+    assertRangeFromSampleSeven(archive, false);
+  }
+
+  @Test
+  public void readsSameValuesAsStatArchiveReader() throws Exception {
+    File archive = writeArchive(".gfs");
+
+    List<Column> columns;
+    try (StreamingStatArchiveReader reader = new StreamingStatArchiveReader(archive)) {
+      columns = reader.extract(null, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    StatArchiveReader statArchiveReader =
+        new StatArchiveReader(new File[] {archive}, null, false);
+    try {
+      for (Object object : statArchiveReader.getResourceInstList()) {
+        StatArchiveReader.ResourceInst resource = (StatArchiveReader.ResourceInst) object;
+        for (StatArchiveReader.StatValue value : resource.getStatValues()) {
+          Column column = find(columns, resource.getName(), value.getDescriptor().getName());
+          assertArrayEquals(value.getRawAbsoluteTimeStamps(), column.getTimeStamps());
+          assertArrayEquals(value.getRawSnapshots(), column.getValues(), 0.0);
+        }
+      }
+    } finally {
+      statArchiveReader.close();
+    }
+  }
+
+  private void assertRangeFromSampleSeven(File archive, boolean indexed) throws Exception {
+    List<Column> columns;
+    try (StreamingStatArchiveReader reader = new StreamingStatArchiveReader(archive)) {
+      assertEquals(indexed, reader.isIndexed());
+      assertEquals(WRITER_INITIAL_DATE_MILLIS, reader.getStartTimeMillis());
+      columns = reader.extract(OPS_FILTER, sampleTime(7), sampleTime(9));
+    }
+
+    assertEquals(2, columns.size());
+    Column a = find(columns, "a", "ops");
+    assertTrue(a.isCounter());
+    assertArrayEquals(new long[] {sampleTime(7), sampleTime(8), sampleTime(9)}, a.getTimeStamps());
+    assertArrayEquals(new double[] {28, 36, 45}, a.getValues(), 0.0);
+
+    Column b = find(columns, "b", "ops");
+    assertArrayEquals(new long[] {sampleTime(7)}, b.getTimeStamps());
+    assertArrayEquals(new double[] {30}, b.getValues(), 0.0);
+  }
+
+  /**
+   * Writes {@link #SAMPLES} samples of instance "a", and of instance "b" from the fifth to the
+   * seventh sample, to a new archive.
+   */
+  private File writeArchive(String suffix) {
+    File archive = new File(this.temporaryFolder.getRoot(), this.testName.getMethodName() + suffix);
+    TestStatisticsManager manager =
+        new TestStatisticsManager(1, this.testName.getMethodName(), WRITER_INITIAL_DATE_MILLIS);
+    SampleCollector sampleCollector = new SampleCollector(new TestStatisticsSampler(manager));
+    StatArchiveDescriptor archiveDescriptor =
+        new StatArchiveDescriptor.Builder().setArchiveName(archive.getAbsolutePath())
+            .setSystemId(1).setSystemStartTime(WRITER_INITIAL_DATE_MILLIS)
+            .setSystemDirectoryPath(this.testName.getMethodName())
+            .setProductDescription(getClass().getSimpleName()).build();
+    StatArchiveWriter writer = new TestStatArchiveWriter(archiveDescriptor);
+    sampleCollector.addSampleHandler(writer);
+
+    StatisticsType type = manager.createType("ST1", "ST1",
+        new StatisticDescriptor[] {manager.createIntCounter("ops", "operations", "ops"),
+            manager.createDoubleGauge("load", "load", "load")});
+    Statistics a = manager.createAtomicStatistics(type, "a", 1);
+    Statistics b = null;
+    for (int i = 1; i <= SAMPLES; i++) {
+      if (i == 5) {
+        b = manager.createAtomicStatistics(type, "b", 2);
+      } else if (i == 8) {
+        b.close();
+        b = null;
+      }
+      a.incInt("ops", i);
+      a.setDouble("load", i * 0.5);
+      if (b != null) {
+        b.incInt("ops", 10);
+      }
+      sampleCollector.sample(WRITER_PREVIOUS_TIMESTAMP_NANOS + i * 1000 * NANOS_PER_MILLI);
+    }
+    writer.close();
+    return archive;
+  }
+
+  private static long sampleTime(int sample) {
+    return WRITER_INITIAL_DATE_MILLIS + sample * 1000;
+  }
+
+  private static Column find(List<Column> columns, String textId, String statName) {
+    for (Column column : columns) {
+      if (column.getTextId().equals(textId) && column.getStatName().equals(statName)) {
+        return column;
+      }
+    }
+    throw new AssertionError("No column for " + textId + "/" + statName + " in " + columns);
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.statistics;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+/**
+ * Unit tests for {@link StripedStatisticsImpl}.
+ */
+@Category(UnitTest.class)
+public class StripedStatisticsImplTest {
+
+  private StatisticsManager system;
+  private StripedStatisticsImpl stats;
+
+  @Before
+  public void createStats() {
+    StatisticsTypeImpl type = mock(StatisticsTypeImpl.class);
+    when(type.getIntStatCount()).thenReturn(2);
+    when(type.getDoubleStatCount()).thenReturn(2);
+    when(type.getLongStatCount()).thenReturn(2);
+
+    system = mock(StatisticsManager.class);
+    stats = new StripedStatisticsImpl(type, "striped", 1, 1, system);
+  }
+
+  @Test
+  public void isAtomic() {
+    assertTrue(stats.isAtomic());
+  }
+
+  @Test
+  public void incrementAndSetInt() {
+    stats.incInt(1, 5);
+    stats.incInt(1, 3);
+    assertEquals(8, stats.getInt(1));
+    assertEquals(0, stats.getInt(0));
+
+    stats.setInt(1, 2);
+    assertEquals(2, stats.getInt(1));
+    stats.incInt(1, -1);
+    assertEquals(1, stats.getInt(1));
+  }
+
+  @Test
+  public void incrementAndSetLong() {
+    stats.incLong(0, Integer.MAX_VALUE);
+    stats.incLong(0, Integer.MAX_VALUE);
+    assertEquals(2L * Integer.MAX_VALUE, stats.getLong(0));
+
+    stats.setLong(0, 7);
+    assertEquals(7, stats.getLong(0));
+  }
+
+  @Test
+  public void incrementAndSetDouble() {
+    stats.incDouble(0, 1.5);
+    stats.incDouble(0, 2.0);
+    assertEquals(3.5, stats.getDouble(0), 0.0);
+
+    stats.setDouble(0, 0.25);
+    assertEquals(0.25, stats.getDouble(0), 0.0);
+  }
+
+  @Test
+  public void concurrentIncrementsAreNotLost() throws InterruptedException {
+    final int threadCount = 8;
+    final int increments = 10000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < increments; j++) {
+          stats.incInt(0, 1);
+          stats.incLong(1, 2);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    assertEquals(threadCount * increments, stats.getInt(0));
+    assertEquals(2L * threadCount * increments, stats.getLong(1));
+  }
+
+  @Test
+  public void concurrentSetsLeaveOneOfTheValues() throws InterruptedException {
+    final int threadCount = 8;
+    final int sets = 10000;
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      final int value = (i + 1) * 1000;
+      Thread thread = new Thread(() -> {
+        for (int j = 0; j < sets; j++) {
+          stats.setLong(0, value);
+          stats.setDouble(1, value);
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    long longValue = stats.getLong(0);
+    assertTrue("unexpected value " + longValue,
+        longValue % 1000 == 0 && longValue >= 1000 && longValue <= threadCount * 1000);
+    double doubleValue = stats.getDouble(1);
+    assertTrue("unexpected value " + doubleValue, doubleValue % 1000 == 0 && doubleValue >= 1000
+        && doubleValue <= threadCount * 1000);
+  }
+
+  @Test
+  public void closeDestroysStatistics() {
+    stats.incInt(0, 1);
+    stats.close();
+
+    verify(system).destroyStatistics(stats);
+    assertTrue(stats.isClosed());
+    assertEquals(0, stats.getInt(0));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.util.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class ByteRateLimiterJUnitTest {
+
+  private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  @Test
+  public void disabledLimiterNeverWaits() throws Exception {
+    ByteRateLimiter limiter = new ByteRateLimiter(0);
+    assertFalse(limiter.isEnabled());
+    assertEquals(0, limiter.acquire(Long.MAX_VALUE, null));
+  }
+
+  @Test
+  public void burstPassesThenCallersArePaced() {
+    ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+    // one second of unused capacity is available right away
+    assertEquals(0, limiter.reserve(1000, 0));
+    assertEquals(0, limiter.reserve(500, 0));
+    // the burst is spent and the last 500 bytes are owed, so later callers wait for them
+    assertEquals(SECOND / 2, limiter.reserve(500, 0));
+    assertEquals(SECOND, limiter.reserve(500, 0));
+  }
+
+  @Test
+  public void idleTimeIsCreditedUpToOneSecond() {
+    ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+    assertEquals(0, limiter.reserve(3000, 0));
+    // the 3000 bytes are paid off at two seconds; an hour later only one second is banked
+    long later = TimeUnit.HOURS.toNanos(1);
+    assertEquals(0, limiter.reserve(1000, later));
+    assertEquals(0, limiter.reserve(1000, later));
+    assertEquals(SECOND, limiter.reserve(1000, later));
+  }
+
+  @Test
+  public void largeReservationDoesNotOverflow() {
+    ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+    assertEquals(0, limiter.reserve(20L << 30, SECOND));
+    assertTrue(limiter.reserve(1, SECOND) > 0);
+  }
+}
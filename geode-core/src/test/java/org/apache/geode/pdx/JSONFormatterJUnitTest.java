@@ -18,6 +18,7 @@ import static org.apache.geode.distributed.ConfigurationProperties.*;
 import static org.junit.Assert.*;
 
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -323,6 +324,58 @@ public class JSONFormatterJUnitTest {
       System.setProperty(JSONFormatter.SORT_JSON_FIELD_NAMES_PROPERTY, "false");
     }
   }
-}
 
+  @Test
+  public void testStreamedJSONMatchesHelperConversion() {
+    // field names are already sorted so the helper based (sorted) conversion and the streaming
+    // conversion must produce the same pdx. The helper rejects an array that follows an object in
+    // a list, so the nested array comes first here.
+    String js = "{a:1, b:300, c:70000, d:5000000000, e:1.5, f:true, g:null, h:\"text\","
+        + " i:{a:\"nested\", b:{a:[]}, c:{}}, j:[1, \"two\", [4, [5]], {a:3}, null, false],"
+        + " k:12345678901234567890123}";
+
+    PdxInstanceImpl streamed = (PdxInstanceImpl) JSONFormatter.fromJSON(js);
+    PdxInstanceImpl helped;
+    try {
+      System.setProperty(JSONFormatter.SORT_JSON_FIELD_NAMES_PROPERTY, "true");
+      helped = (PdxInstanceImpl) JSONFormatter.fromJSON(js);
+    } finally {
+      System.setProperty(JSONFormatter.SORT_JSON_FIELD_NAMES_PROPERTY, "false");
+    }
+
+    assertEquals(helped, streamed);
+    assertArrayEquals(helped.toBytes(), streamed.toBytes());
+    assertEquals(Byte.valueOf((byte) 1), streamed.getField("a"));
+    assertEquals(Short.valueOf((short) 300), streamed.getField("b"));
+    assertEquals(Integer.valueOf(70000), streamed.getField("c"));
+    assertEquals(Long.valueOf(5000000000L), streamed.getField("d"));
+    List<?> list = (List<?>) streamed.getField("j");
+    assertEquals(6, list.size());
+    assertEquals(Byte.valueOf((byte) 3), ((PdxInstance) list.get(3)).getField("a"));
+    PdxInstance nested = (PdxInstance) streamed.getField("i");
+    assertEquals("nested", nested.getField("a"));
+    assertTrue(((PdxInstance) nested.getField("c")).getFieldNames().isEmpty());
+    assertEquals(JSONFormatter.toJSON(helped), JSONFormatter.toJSON(streamed));
+  }
 
+  @Test
+  public void testStreamedJSONReadsArrayAfterObjectInList() {
+    PdxInstance streamed = JSONFormatter.fromJSON("{j:[1, {a:3}, [4, [5]], null, false]}");
+
+    List<?> list = (List<?>) streamed.getField("j");
+    assertEquals(5, list.size());
+    assertEquals(Byte.valueOf((byte) 1), list.get(0));
+    assertEquals(Byte.valueOf((byte) 3), ((PdxInstance) list.get(1)).getField("a"));
+    List<?> inner = (List<?>) list.get(2);
+    assertEquals(2, inner.size());
+    assertEquals(Byte.valueOf((byte) 4), inner.get(0));
+    assertEquals(Collections.singletonList(Byte.valueOf((byte) 5)), inner.get(1));
+    assertNull(list.get(3));
+    assertEquals(Boolean.FALSE, list.get(4));
+  }
+
+  @Test(expected = JSONFormatterException.class)
+  public void testStreamedJSONRejectsTopLevelArray() {
+    JSONFormatter.fromJSON("[1, 2]");
+  }
+}
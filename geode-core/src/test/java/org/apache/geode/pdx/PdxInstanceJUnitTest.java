@@ -21,6 +21,7 @@ import org.apache.geode.internal.Version;
 import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.pdx.internal.EnumInfo.PdxInstanceEnumInfo;
 import org.apache.geode.pdx.internal.PdxInstanceFactoryImpl;
+import org.apache.geode.pdx.internal.PdxInstanceImpl;
 import org.apache.geode.test.junit.categories.IntegrationTest;
 import org.apache.geode.test.junit.categories.SerializationTest;
 import org.junit.After;
@@ -102,6 +103,58 @@ public class PdxInstanceJUnitTest {
     }
   }
 
+  @Test
+  public void testCompareFieldsAroundVariableLengthFields() throws Exception {
+    PdxInstanceFactory c = PdxInstanceFactoryImpl.newCreator("testCompareFields", false);
+    c.writeInt("int1", 7);
+    c.writeString("string1", "first");
+    c.writeLong("long1", -3L);
+    c.writeString("string2", "second");
+    c.writeDouble("double1", 2.5d);
+    c.writeShort("short1", (short) 12);
+    PdxInstanceImpl pi = (PdxInstanceImpl) c.create();
+
+    assertEquals(0, pi.compareLongField("int1", 7));
+    assertTrue(pi.compareLongField("int1", 8) < 0);
+    assertEquals(0, pi.compareLongField("long1", -3));
+    assertTrue(pi.compareLongField("long1", -4) > 0);
+    assertEquals(0, pi.compareLongField("short1", 12));
+    assertEquals(0, pi.compareDoubleField("double1", 2.5d));
+    assertTrue(pi.compareDoubleField("double1", 3d) < 0);
+    assertEquals(0, pi.compareDoubleField("int1", 7d));
+    assertEquals(0, pi.compareStringField("string1", "first"));
+    assertEquals(0, pi.compareStringField("string2", "second"));
+    assertTrue(pi.compareLongField("missing", 1) < 0);
+
+    // the compiled locators must find the same bytes as the generic read path
+    assertEquals(7, pi.getField("int1"));
+    assertEquals(-3L, pi.getField("long1"));
+    assertEquals("second", pi.getField("string2"));
+    assertEquals(2.5d, pi.getField("double1"));
+    assertEquals((short) 12, pi.getField("short1"));
+  }
+
+  @Test(expected = PdxFieldTypeMismatchException.class)
+  public void testCompareLongFieldOnStringFieldThrows() throws Exception {
+    PdxInstanceFactory c = PdxInstanceFactoryImpl.newCreator("testCompareFields", false);
+    c.writeString("string1", "first");
+    PdxInstanceImpl pi = (PdxInstanceImpl) c.create();
+    pi.compareLongField("string1", 1);
+  }
+
+  @Test
+  public void testCompareFieldSeesWritablePdxInstanceChanges() throws Exception {
+    PdxInstanceFactory c = PdxInstanceFactoryImpl.newCreator("testCompareFields", false);
+    c.writeInt("int1", 7);
+    c.writeString("string1", "first");
+    WritablePdxInstance wpi = c.create().createWriter();
+    wpi.setField("int1", 9);
+    wpi.setField("string1", "changed");
+    PdxInstanceImpl pi = (PdxInstanceImpl) wpi;
+    assertEquals(0, pi.compareLongField("int1", 9));
+    assertEquals(0, pi.compareStringField("string1", "changed"));
+  }
+
   @Test
   public void testEquals() throws IOException, ClassNotFoundException {
     PdxInstanceFactory c = PdxInstanceFactoryImpl.newCreator("testEquals", false);
@@ -185,5 +185,32 @@ public class PdxStringJUnitTest {
     assertEquals(verifyString, pdx);
   }
 
+  @Test
+  public void testCompareToString() throws Exception {
+    String huge = new String(new char[70000]).replace('\0', '\u00e9');
+    String[] values = {"", "abc", "abd", "ab", "ABC", "caf\u00e9", "\u20ac100", huge};
+    for (String a : values) {
+      PdxString pdx = new PdxString(a);
+      for (String b : values) {
+        assertEquals("comparing " + a.length() + " to " + b.length(),
+            Integer.signum(a.compareTo(b)), Integer.signum(pdx.compareToString(b)));
+      }
+    }
+  }
+
+  @Test
+  public void testCompareStringFieldWithoutDeserializing() throws Exception {
+    PdxInstanceFactory pf = PdxInstanceFactoryImpl.newCreator("Portfolio", false);
+    pf.writeString("secId", "IBM");
+    pf.writeString("nullId", null);
+    PdxInstanceImpl pi = (PdxInstanceImpl) pf.create();
+    assertEquals(0, pi.compareStringField("secId", "IBM"));
+    assertTrue(pi.compareStringField("secId", "AAPL") > 0);
+    assertTrue(pi.compareStringField("secId", "SUN") < 0);
+    assertTrue(pi.compareStringField("secId", null) > 0);
+    assertEquals(0, pi.compareStringField("nullId", null));
+    assertTrue(pi.compareStringField("nullId", "IBM") < 0);
+    assertEquals(0, pi.compareStringField("missing", null));
+  }
 
 }
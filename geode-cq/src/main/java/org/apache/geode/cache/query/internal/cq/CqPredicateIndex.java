@@ -0,0 +1,467 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.geode.cache.query.Query;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.query.internal.CompiledComparison;
+import org.apache.geode.cache.query.internal.CompiledID;
+import org.apache.geode.cache.query.internal.CompiledIteratorDef;
+import org.apache.geode.cache.query.internal.CompiledJunction;
+import org.apache.geode.cache.query.internal.CompiledLiteral;
+import org.apache.geode.cache.query.internal.CompiledPath;
+import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.CompiledValue;
+import org.apache.geode.cache.query.internal.DefaultQuery;
+import org.apache.geode.cache.query.internal.parse.OQLLexerTokenTypes;
+import org.apache.geode.cache.query.internal.types.TypeUtils;
+import org.apache.geode.distributed.internal.DistributionConfig;
+import org.apache.geode.pdx.internal.PdxString;
+
+/**
+ * An index of the CQs of a filter profile by a simple predicate of their WHERE clause, which tells
+ * the CQ service the CQs an event value cannot satisfy without executing their queries.
+ * <p>
+ * A CQ is indexed by its WHERE clause, or by the operand of a top-level AND that is evaluated
+ * first, which is the last one in the query text, when that compares an attribute path of the
+ * iterator with a string or integral literal. Equality predicates are hashed on their constant.
+ * Range predicates, which may be narrowed to an interval by the next operand on the same path, are
+ * kept sorted on their bounds. Only the operand evaluated first is used because the query engine
+ * stops at it when it is false, so a CQ that is ruled out would not have produced an event or an
+ * error.
+ * <p>
+ * The index never rules out a CQ it cannot decide exactly: CQs without such a predicate, and every
+ * CQ of a path whose value is of another type or cannot be read, remain candidates.
+ *
+ * @since Geode 1.4
+ */
+class CqPredicateIndex {
+
+  /**
+   * Whether the CQ service only executes the queries of the CQs the predicate index cannot rule out
+   */
+  static final boolean ENABLED =
+      !Boolean.getBoolean(DistributionConfig.GEMFIRE_PREFIX + "Cq.DISABLE_PREDICATE_INDEX");
+
+  /**
+   * Reads an attribute of an event value the way the query engine does.
+   */
+  interface AttributeReader {
+    Object read(Object target, String attribute) throws Exception;
+  }
+
+  private final AttributeReader reader;
+
+  /** The number of CQs the index was built from, including those without a predicate */
+  private int size;
+
+  /** The indexed paths, keyed by their dotted form */
+  private final Map<String, FieldIndex> fields = new LinkedHashMap<>();
+
+  /** The constants each indexed CQ is filed under, or null for the CQs without a predicate */
+  private final Map<Object, KeyIndex> indexedCqs = new IdentityHashMap<>();
+
+  /** Whether a CQ unknown to the index has been matched */
+  private volatile boolean stale;
+
+  CqPredicateIndex(AttributeReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Builds an index of {@code cqs}.
+   */
+  static CqPredicateIndex build(Collection<?> cqs, AttributeReader reader) {
+    CqPredicateIndex index = new CqPredicateIndex(reader);
+    for (Object cq : cqs) {
+      index.add(cq, predicateOf(cq));
+    }
+    return index;
+  }
+
+  /**
+   * Returns the number of CQs the index was built from.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns whether the index has been asked about a CQ registered after it was built. Such a CQ
+   * is always a candidate, so the index should be rebuilt.
+   */
+  boolean isStale() {
+    return this.stale;
+  }
+
+  /**
+   * Adds {@code cq}, which is indexed by {@code predicate} unless that is null.
+   */
+  void add(Object cq, Predicate predicate) {
+    this.size++;
+    if (predicate == null) {
+      this.indexedCqs.put(cq, null);
+      return;
+    }
+    FieldIndex field = this.fields.get(predicate.key());
+    if (field == null) {
+      field = new FieldIndex(predicate.path);
+      this.fields.put(predicate.key(), field);
+    }
+    KeyIndex keys = predicate.equal instanceof String ? field.strings : field.integers;
+    keys.add(cq, predicate);
+    this.indexedCqs.put(cq, keys);
+  }
+
+  /**
+   * Returns the CQs that {@code value} may satisfy.
+   */
+  Candidates candidates(Object value) {
+    Candidates candidates = new Candidates();
+    for (FieldIndex field : this.fields.values()) {
+      Object attribute = read(value, field.path);
+      if (attribute instanceof PdxString) {
+        attribute = attribute.toString();
+      }
+      if (attribute instanceof String) {
+        field.strings.collect(attribute, candidates.matched);
+        candidates.unknown.add(field.integers);
+      } else if (isIntegral(attribute)) {
+        field.integers.collect(((Number) attribute).longValue(), candidates.matched);
+        candidates.unknown.add(field.strings);
+      } else {
+        candidates.unknown.add(field.strings);
+        candidates.unknown.add(field.integers);
+      }
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns the value at {@code path} of {@code value}, or null if it cannot be read.
+   */
+  private Object read(Object value, String[] path) {
+    Object target = value;
+    try {
+      for (String attribute : path) {
+        if (target == null || target == QueryService.UNDEFINED) {
+          return null;
+        }
+        target = this.reader.read(target, attribute);
+      }
+    } catch (Exception e) {
+      return null;
+    }
+    return target;
+  }
+
+  private static boolean isIntegral(Object value) {
+    return value instanceof Integer || value instanceof Long || value instanceof Short
+        || value instanceof Byte;
+  }
+
+  /**
+   * Returns the predicate {@code cq} can be indexed by, or null.
+   */
+  static Predicate predicateOf(Object cq) {
+    if (!(cq instanceof CqQueryImpl)) {
+      return null;
+    }
+    Query query = ((CqQueryImpl) cq).getQuery();
+    if (!(query instanceof DefaultQuery)) {
+      return null;
+    }
+    return predicateOf(((DefaultQuery) query).getSelect());
+  }
+
+  static Predicate predicateOf(CompiledSelect select) {
+    if (select == null || select.getIterators().size() != 1) {
+      return null;
+    }
+    CompiledIteratorDef iterator = (CompiledIteratorDef) select.getIterators().get(0);
+    if (!TypeUtils.OBJECT_TYPE.equals(iterator.getElementType())) {
+      // a typed iterator may fail on values of another type before the WHERE clause is evaluated
+      return null;
+    }
+    return predicateOf(select.getWhereClause(), iterator.getName());
+  }
+
+  static Predicate predicateOf(CompiledValue where, String iteratorName) {
+    if (where == null) {
+      return null;
+    }
+    if (where.getType() != CompiledValue.JUNCTION) {
+      return comparisonOf(where, iteratorName);
+    }
+    CompiledJunction junction = (CompiledJunction) where;
+    if (junction.getOperator() != OQLLexerTokenTypes.LITERAL_and) {
+      return null;
+    }
+    // the compiler keeps the operands in reverse order, and they are evaluated in that order
+    List operands = junction.getChildren();
+    CompiledValue first = (CompiledValue) operands.get(0);
+    if (first.getType() == CompiledValue.JUNCTION) {
+      return predicateOf(first, iteratorName);
+    }
+    Predicate predicate = comparisonOf(first, iteratorName);
+    if (predicate != null && predicate.isRange() && operands.size() > 1) {
+      // x > a AND x < b is false without evaluating further whenever x is outside [a, b]
+      Predicate next = comparisonOf((CompiledValue) operands.get(1), iteratorName);
+      if (next != null && next.isRange() && next.key().equals(predicate.key())) {
+        predicate = predicate.intersect(next);
+      }
+    }
+    return predicate;
+  }
+
+  private static Predicate comparisonOf(CompiledValue value, String iteratorName) {
+    if (value.getType() != CompiledValue.COMPARISON) {
+      return null;
+    }
+    CompiledComparison comparison = (CompiledComparison) value;
+    int operator = comparison.getOperator();
+    String[] path = pathOf(comparison._left, iteratorName);
+    CompiledValue constant = comparison._right;
+    if (path == null) {
+      path = pathOf(comparison._right, iteratorName);
+      constant = comparison._left;
+      operator = reverse(operator);
+    }
+    if (path == null || !(constant instanceof CompiledLiteral)) {
+      return null;
+    }
+    Object literal;
+    try {
+      literal = constant.evaluate(null);
+    } catch (Exception e) {
+      return null;
+    }
+    if (literal instanceof String) {
+      return operator == OQLLexerTokenTypes.TOK_EQ ? Predicate.equalTo(path, literal) : null;
+    }
+    if (!isIntegral(literal)) {
+      return null;
+    }
+    long bound = ((Number) literal).longValue();
+    switch (operator) {
+      case OQLLexerTokenTypes.TOK_EQ:
+        return Predicate.equalTo(path, bound);
+      case OQLLexerTokenTypes.TOK_GT:
+      case OQLLexerTokenTypes.TOK_GE:
+        return Predicate.between(path, bound, Long.MAX_VALUE);
+      case OQLLexerTokenTypes.TOK_LT:
+      case OQLLexerTokenTypes.TOK_LE:
+        return Predicate.between(path, Long.MIN_VALUE, bound);
+      default:
+        return null;
+    }
+  }
+
+  private static int reverse(int operator) {
+    switch (operator) {
+      case OQLLexerTokenTypes.TOK_GT:
+        return OQLLexerTokenTypes.TOK_LT;
+      case OQLLexerTokenTypes.TOK_GE:
+        return OQLLexerTokenTypes.TOK_LE;
+      case OQLLexerTokenTypes.TOK_LT:
+        return OQLLexerTokenTypes.TOK_GT;
+      case OQLLexerTokenTypes.TOK_LE:
+        return OQLLexerTokenTypes.TOK_GE;
+      default:
+        return operator;
+    }
+  }
+
+  /**
+   * Returns the attributes {@code value} reads from the iterator, or null if it is not such a path.
+   */
+  private static String[] pathOf(CompiledValue value, String iteratorName) {
+    LinkedList<String> path = new LinkedList<>();
+    CompiledValue receiver = value;
+    while (receiver instanceof CompiledPath) {
+      path.addFirst(((CompiledPath) receiver).getTailID());
+      receiver = ((CompiledPath) receiver).getReceiver();
+    }
+    if (!(receiver instanceof CompiledID)) {
+      return null;
+    }
+    String id = ((CompiledID) receiver).getId();
+    if (!id.equals(iteratorName)) {
+      // an attribute of the implicit iterator
+      path.addFirst(id);
+    }
+    return path.toArray(new String[path.size()]);
+  }
+
+  /**
+   * A comparison of an attribute path of the iterator with a constant. Ranges are inclusive, which
+   * makes the index rule out fewer CQs than it could for strict comparisons, but never too many.
+   */
+  static class Predicate {
+
+    final String[] path;
+
+    /** The constant of an equality, or null for a range */
+    final Object equal;
+
+    final long lower;
+
+    final long upper;
+
+    private Predicate(String[] path, Object equal, long lower, long upper) {
+      this.path = path;
+      this.equal = equal;
+      this.lower = lower;
+      this.upper = upper;
+    }
+
+    static Predicate equalTo(String[] path, Object constant) {
+      return new Predicate(path, constant, 0, 0);
+    }
+
+    static Predicate between(String[] path, long lower, long upper) {
+      return new Predicate(path, null, lower, upper);
+    }
+
+    boolean isRange() {
+      return this.equal == null;
+    }
+
+    Predicate intersect(Predicate other) {
+      return between(this.path, Math.max(this.lower, other.lower),
+          Math.min(this.upper, other.upper));
+    }
+
+    String key() {
+      return String.join(".", this.path);
+    }
+
+    @Override
+    public String toString() {
+      return key() + (isRange() ? " in [" + this.lower + ", " + this.upper + "]"
+          : " = " + this.equal);
+    }
+  }
+
+  /**
+   * The CQs indexed on one attribute path.
+   */
+  private static class FieldIndex {
+
+    final String[] path;
+
+    final KeyIndex strings = new KeyIndex();
+
+    final KeyIndex integers = new KeyIndex();
+
+    FieldIndex(String[] path) {
+      this.path = path;
+    }
+  }
+
+  /**
+   * The CQs indexed on one attribute path with constants of one type.
+   */
+  private static class KeyIndex {
+
+    final Map<Object, List<Object>> equal = new HashMap<>();
+
+    /** Ranges with a lower bound, keyed by it */
+    final NavigableMap<Long, List<Predicate>> byLower = new TreeMap<>();
+
+    /** Ranges without a lower bound, keyed by their upper bound */
+    final NavigableMap<Long, List<Object>> byUpper = new TreeMap<>();
+
+    /** The CQ of each range */
+    final Map<Predicate, Object> rangeCqs = new IdentityHashMap<>();
+
+    void add(Object cq, Predicate predicate) {
+      if (!predicate.isRange()) {
+        this.equal.computeIfAbsent(predicate.equal, k -> new ArrayList<>()).add(cq);
+      } else if (predicate.lower != Long.MIN_VALUE) {
+        this.byLower.computeIfAbsent(predicate.lower, k -> new ArrayList<>()).add(predicate);
+        this.rangeCqs.put(predicate, cq);
+      } else {
+        this.byUpper.computeIfAbsent(predicate.upper, k -> new ArrayList<>()).add(cq);
+      }
+    }
+
+    void collect(Object value, Set<Object> matched) {
+      List<Object> equalCqs = this.equal.get(value);
+      if (equalCqs != null) {
+        matched.addAll(equalCqs);
+      }
+      if (!(value instanceof Long)) {
+        return;
+      }
+      long v = (Long) value;
+      for (List<Predicate> ranges : this.byLower.headMap(v, true).values()) {
+        for (Predicate range : ranges) {
+          if (v <= range.upper) {
+            matched.add(this.rangeCqs.get(range));
+          }
+        }
+      }
+      for (List<Object> cqs : this.byUpper.tailMap(v, true).values()) {
+        matched.addAll(cqs);
+      }
+    }
+  }
+
+  /**
+   * The CQs an event value may satisfy.
+   */
+  class Candidates {
+
+    final Set<Object> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** The constants the value could not be compared with */
+    final Set<KeyIndex> unknown = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Returns whether the query of {@code cq} has to be executed to tell whether the value
+     * satisfies it.
+     */
+    boolean mayMatch(Object cq) {
+      KeyIndex keys = indexedCqs.get(cq);
+      if (keys == null) {
+        if (!indexedCqs.containsKey(cq)) {
+          stale = true;
+        }
+        return true;
+      }
+      return this.unknown.contains(keys) || this.matched.contains(cq);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CqPredicateIndex[cqs=" + this.size + ";paths=" + this.fields.keySet() + "]";
+  }
+}
@@ -61,6 +61,8 @@ import org.apache.geode.cache.query.internal.CqQueryVsdStats;
 import org.apache.geode.cache.query.internal.CqStateImpl;
 import org.apache.geode.cache.query.internal.DefaultQuery;
 import org.apache.geode.cache.query.internal.ExecutionContext;
+import org.apache.geode.cache.query.internal.PathUtils;
+import org.apache.geode.cache.query.internal.QueryExecutionContext;
 import org.apache.geode.distributed.internal.DistributionAdvisor.Profile;
 import org.apache.geode.distributed.internal.DistributionConfig;
 import org.apache.geode.i18n.StringId;
@@ -1272,6 +1274,8 @@ public class CqServiceImpl implements CqService {
 
     HashMap<String, Integer> matchedCqs = new HashMap<>();
     long executionStartTime;
+    long matchStartTime = this.stats.startCqEventMatch();
+    int executionsSkipped = 0;
     for (int i = -1; i < profiles.length; i++) {
       CacheProfile cf;
       if (i < 0) {
@@ -1306,6 +1310,14 @@ public class CqServiceImpl implements CqService {
         }
       }
 
+      // Rule out the CQs whose indexed predicate the values do not satisfy.
+      CqPredicateIndex index = CqPredicateIndex.ENABLED ? getCqPredicateIndex(pf, cqs) : null;
+      CqPredicateIndex.Candidates newValueCandidates = null;
+      if (index != null && !cqUnfilteredEventsSet_newValue.isEmpty()) {
+        newValueCandidates = index.candidates(cqUnfilteredEventsSet_newValue.iterator().next());
+      }
+      CqPredicateIndex.Candidates oldValueCandidates = null;
+
       HashMap<Long, Integer> cqInfo = new HashMap<>();
       Iterator cqIter = cqs.entrySet().iterator();
 
@@ -1348,11 +1360,15 @@ public class CqServiceImpl implements CqService {
               synchronized (cQuery) {
                 // Apply query on new value.
                 if (!cqUnfilteredEventsSet_newValue.isEmpty()) {
-                  executionStartTime = this.stats.startCqQueryExecution();
-
-                  b_cqResults_newValue =
-                      evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_newValue});
-                  this.stats.endCqQueryExecution(executionStartTime);
+                  if (newValueCandidates == null || newValueCandidates.mayMatch(cQuery)) {
+                    executionStartTime = this.stats.startCqQueryExecution();
+
+                    b_cqResults_newValue =
+                        evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_newValue});
+                    this.stats.endCqQueryExecution(executionStartTime);
+                  } else {
+                    executionsSkipped++;
+                  }
                 }
               }
 
@@ -1387,10 +1403,17 @@ public class CqServiceImpl implements CqService {
                       cqUnfilteredEventsSet_oldValue.add(oldValue);
                     }
                   }
+                  if (index != null && oldValueCandidates == null
+                      && !cqUnfilteredEventsSet_oldValue.isEmpty()) {
+                    oldValueCandidates =
+                        index.candidates(cqUnfilteredEventsSet_oldValue.iterator().next());
+                  }
 
                   synchronized (cQuery) {
                     // Apply query on old value.
-                    if (!cqUnfilteredEventsSet_oldValue.isEmpty()) {
+                    if (oldValueCandidates != null && !oldValueCandidates.mayMatch(cQuery)) {
+                      executionsSkipped++;
+                    } else if (!cqUnfilteredEventsSet_oldValue.isEmpty()) {
                       executionStartTime = this.stats.startCqQueryExecution();
                       b_cqResults_oldValue =
                           evaluateQuery(cQuery, new Object[] {cqUnfilteredEventsSet_oldValue});
@@ -1487,6 +1510,24 @@ public class CqServiceImpl implements CqService {
         }
       }
     } // iteration over Profiles.
+    this.stats.endCqEventMatch(matchStartTime, executionsSkipped);
+  }
+
+  /**
+   * Returns the predicate index of the CQs of {@code profile}, rebuilding it when CQs have been
+   * registered or closed since it was built. The index is held by the profile itself because
+   * profiles are equal to every other profile of the same member.
+   */
+  CqPredicateIndex getCqPredicateIndex(FilterProfile profile, Map cqs) {
+    Object cached = profile.getCqIndex();
+    CqPredicateIndex index = cached instanceof CqPredicateIndex ? (CqPredicateIndex) cached : null;
+    if (index == null || index.isStale() || index.size() != cqs.size()) {
+      ExecutionContext context = new QueryExecutionContext(null, this.cache);
+      index = CqPredicateIndex.build(cqs.values(),
+          (target, attribute) -> PathUtils.evaluateAttribute(context, target, attribute));
+      profile.setCqIndex(index);
+    }
+    return index;
   }
 
   private Integer generateCqRegionEvent(CacheEvent event) {
@@ -73,6 +73,15 @@ public class CqServiceVsdStats {
   /** Unique CQs, number of different CQ queries */
   private static final String UNIQUE_CQ_QUERY = "numUniqueCqQuery";
 
+  /** Time spent matching entry events against the CQs */
+  private static final String CQ_EVENT_MATCH_TIME = "cqEventMatchTime";
+
+  /** Entry events matched against the CQs */
+  private static final String CQ_EVENT_MATCHES_COMPLETED = "cqEventMatchesCompleted";
+
+  /** CQ query executions ruled out by the CQ predicate index */
+  private static final String CQ_QUERY_EXECUTIONS_SKIPPED = "cqQueryExecutionsSkipped";
+
   /** Id of the CQs created statistic */
   private static final int _numCqsCreatedId;
 
@@ -103,6 +112,15 @@ public class CqServiceVsdStats {
   /** Id for unique CQs, difference in CQ queries */
   private static final int _numUniqueCqQuery;
 
+  /** Id for the time spent matching entry events against the CQs */
+  private static final int _cqEventMatchTimeId;
+
+  /** Id for entry events matched against the CQs */
+  private static final int _cqEventMatchesCompletedId;
+
+  /** Id for CQ query executions ruled out by the CQ predicate index */
+  private static final int _cqQueryExecutionsSkippedId;
+
   /*
    * Static initializer to create and initialize the <code>StatisticsType</code>
    */
@@ -125,6 +143,14 @@ public class CqServiceVsdStats {
             f.createIntGauge(CQ_QUERY_EXECUTION_IN_PROGRESS, "CQ Query Execution In Progress.",
                 "operations"),
             f.createIntGauge(UNIQUE_CQ_QUERY, "Number of Unique CQ Querys.", "Queries"),
+            f.createLongCounter(CQ_EVENT_MATCH_TIME,
+                "Time taken to match entry events against the CQs, including CQ Query Execution.",
+                "nanoseconds"),
+            f.createLongCounter(CQ_EVENT_MATCHES_COMPLETED,
+                "Number of entry events matched against the CQs.", "operations"),
+            f.createLongCounter(CQ_QUERY_EXECUTIONS_SKIPPED,
+                "Number of CQ Query Executions skipped because the event could not satisfy the CQ.",
+                "operations"),
 
         });
 
@@ -139,6 +165,9 @@ public class CqServiceVsdStats {
     _cqQueryExecutionsCompletedId = _type.nameToId(CQ_QUERY_EXECUTIONS_COMPLETED);
     _cqQueryExecutionInProgressId = _type.nameToId(CQ_QUERY_EXECUTION_IN_PROGRESS);
     _numUniqueCqQuery = _type.nameToId(UNIQUE_CQ_QUERY);
+    _cqEventMatchTimeId = _type.nameToId(CQ_EVENT_MATCH_TIME);
+    _cqEventMatchesCompletedId = _type.nameToId(CQ_EVENT_MATCHES_COMPLETED);
+    _cqQueryExecutionsSkippedId = _type.nameToId(CQ_QUERY_EXECUTIONS_SKIPPED);
   }
 
   /** The <code>Statistics</code> instance to which most behavior is delegated */
@@ -314,6 +343,45 @@ public class CqServiceVsdStats {
     return this._stats.getLong(_cqQueryExecutionTimeId);
   }
 
+  /**
+   * Start the time taken to match an entry event against the CQs.
+   */
+  long startCqEventMatch() {
+    return NanoTimer.getTime();
+  }
+
+  /**
+   * End the time taken to match an entry event against the CQs.
+   * 
+   * @param start long time value.
+   * @param skipped number of CQ query executions the CQ predicate index ruled out.
+   */
+  void endCqEventMatch(long start, int skipped) {
+    this._stats.incLong(_cqEventMatchTimeId, NanoTimer.getTime() - start);
+    this._stats.incLong(_cqEventMatchesCompletedId, 1);
+    if (skipped > 0) {
+      this._stats.incLong(_cqQueryExecutionsSkippedId, skipped);
+    }
+  }
+
+  /**
+   * Returns the total time spent matching entry events against the CQs.
+   * 
+   * @return long time spent.
+   */
+  public long getCqEventMatchTime() {
+    return this._stats.getLong(_cqEventMatchTimeId);
+  }
+
+  /**
+   * Returns the number of CQ query executions ruled out by the CQ predicate index.
+   * 
+   * @return long number of executions skipped.
+   */
+  public long getCqQueryExecutionsSkipped() {
+    return this._stats.getLong(_cqQueryExecutionsSkippedId);
+  }
+
   /**
    * Increments number of Unique queries.
    */
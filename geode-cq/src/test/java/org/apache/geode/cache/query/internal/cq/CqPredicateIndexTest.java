@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.cache.query.internal.cq;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.query.internal.CompiledSelect;
+import org.apache.geode.cache.query.internal.QCompiler;
+import org.apache.geode.test.junit.categories.UnitTest;
+
+@Category(UnitTest.class)
+public class CqPredicateIndexTest {
+
+  private CqPredicateIndex index;
+
+  @Before
+  public void setUp() {
+    this.index = new CqPredicateIndex((target, attribute) -> ((Map) target).get(attribute));
+  }
+
+  @Test
+  public void equalityOnIteratorAttribute() {
+    CqPredicateIndex.Predicate predicate = predicateOf("p.id = 5");
+    assertArrayEquals(new String[] {"id"}, predicate.path);
+    assertEquals(5L, predicate.equal);
+  }
+
+  @Test
+  public void equalityOnImplicitAttributeWithConstantFirst() {
+    CqPredicateIndex.Predicate predicate = predicateOf("'active' = status");
+    assertArrayEquals(new String[] {"status"}, predicate.path);
+    assertEquals("active", predicate.equal);
+  }
+
+  @Test
+  public void rangeOnNestedAttributeIsNarrowedBySecondOperand() {
+    CqPredicateIndex.Predicate predicate =
+        predicateOf("p.id = 1 AND p.position.qty <= 20 AND p.position.qty > 10");
+    assertArrayEquals(new String[] {"position", "qty"}, predicate.path);
+    assertTrue(predicate.isRange());
+    assertEquals(10, predicate.lower);
+    assertEquals(20, predicate.upper);
+  }
+
+  @Test
+  public void reversedRangeWithConstantFirst() {
+    CqPredicateIndex.Predicate predicate = predicateOf("100 > p.qty");
+    assertEquals(Long.MIN_VALUE, predicate.lower);
+    assertEquals(100, predicate.upper);
+  }
+
+  @Test
+  public void onlyTheOperandOfAConjunctionEvaluatedFirstIsIndexed() {
+    assertEquals(5L, predicateOf("p.name.startsWith('a') AND p.id = 5").equal);
+    assertNull(predicateOf("p.id = 5 AND p.name.startsWith('a')"));
+    assertNull(predicateOf("p.id = 5 OR p.id = 6"));
+    assertNull(predicateOf("p.id <> 5"));
+    assertNull(predicateOf("p.price = 1.5"));
+    assertNull(predicateOf("p.name < 'm'"));
+    assertNull(predicateOf("p.name LIKE 'a%'"));
+    assertNull(predicateOf("p.id = $1"));
+  }
+
+  @Test
+  public void equalityCandidates() {
+    String[] id = {"id"};
+    this.index.add("five", CqPredicateIndex.Predicate.equalTo(id, 5L));
+    this.index.add("six", CqPredicateIndex.Predicate.equalTo(id, 6L));
+    this.index.add("unindexed", null);
+
+    CqPredicateIndex.Candidates candidates = this.index.candidates(value("id", 5));
+    assertTrue(candidates.mayMatch("five"));
+    assertFalse(candidates.mayMatch("six"));
+    assertTrue(candidates.mayMatch("unindexed"));
+    assertEquals(3, this.index.size());
+    assertFalse(this.index.isStale());
+  }
+
+  @Test
+  public void rangeCandidates() {
+    String[] qty = {"qty"};
+    this.index.add("atLeast10", CqPredicateIndex.Predicate.between(qty, 10, Long.MAX_VALUE));
+    this.index.add("atMost10", CqPredicateIndex.Predicate.between(qty, Long.MIN_VALUE, 10));
+    this.index.add("5to8", CqPredicateIndex.Predicate.between(qty, 5, 8));
+
+    CqPredicateIndex.Candidates candidates = this.index.candidates(value("qty", 7L));
+    assertFalse(candidates.mayMatch("atLeast10"));
+    assertTrue(candidates.mayMatch("atMost10"));
+    assertTrue(candidates.mayMatch("5to8"));
+
+    candidates = this.index.candidates(value("qty", (short) 10));
+    assertTrue(candidates.mayMatch("atLeast10"));
+    assertTrue(candidates.mayMatch("atMost10"));
+    assertFalse(candidates.mayMatch("5to8"));
+  }
+
+  @Test
+  public void valuesOfAnotherTypeMatchEveryCqOfTheirPath() {
+    this.index.add("id", CqPredicateIndex.Predicate.equalTo(new String[] {"id"}, 5L));
+    this.index.add("name", CqPredicateIndex.Predicate.equalTo(new String[] {"name"}, "a"));
+
+    CqPredicateIndex.Candidates candidates = this.index.candidates(value("id", "5"));
+    assertTrue(candidates.mayMatch("id"));
+    assertTrue(candidates.mayMatch("name"));
+
+    candidates = this.index.candidates(value("id", 5.0));
+    assertTrue(candidates.mayMatch("id"));
+    assertFalse(this.index.candidates(value("name", "b")).mayMatch("name"));
+  }
+
+  @Test
+  public void unknownCqMakesTheIndexStale() {
+    this.index.add("five", CqPredicateIndex.Predicate.equalTo(new String[] {"id"}, 5L));
+    assertTrue(this.index.candidates(value("id", 6)).mayMatch("registeredLater"));
+    assertTrue(this.index.isStale());
+  }
+
+  private static CqPredicateIndex.Predicate predicateOf(String where) {
+    return CqPredicateIndex.predicateOf(
+        (CompiledSelect) new QCompiler().compileQuery("SELECT * FROM /r p WHERE " + where));
+  }
+
+  private static Map<String, Object> value(String attribute, Object value) {
+    Map<String, Object> map = new HashMap<>();
+    map.put(attribute, value);
+    return map;
+  }
+}
@@ -16,7 +16,14 @@ package org.apache.geode.cache.query.internal.cq;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.geode.internal.cache.FilterProfile;
 import org.apache.geode.internal.cache.tier.sockets.ClientProxyMembershipID;
 import org.apache.geode.test.fake.Fakes;
 import org.apache.geode.test.junit.categories.UnitTest;
@@ -48,5 +55,27 @@ public class CqServiceUnitTest {
     assertEquals(name1, name2);
   }
 
+  @Test
+  public void cqPredicateIndexIsKeptPerRegion() {
+    CqServiceImpl cqService = new CqServiceImpl(Fakes.cache());
+    // the profiles of two regions of the same member are equal
+    FilterProfile regionA = new FilterProfile();
+    FilterProfile regionB = new FilterProfile();
+    Map<String, ServerCQImpl> cqsA = new HashMap<>();
+    cqsA.put("a", mock(ServerCQImpl.class));
+    Map<String, ServerCQImpl> cqsB = new HashMap<>();
+    cqsB.put("b1", mock(ServerCQImpl.class));
+    cqsB.put("b2", mock(ServerCQImpl.class));
 
+    CqPredicateIndex indexA = cqService.getCqPredicateIndex(regionA, cqsA);
+    CqPredicateIndex indexB = cqService.getCqPredicateIndex(regionB, cqsB);
+    assertNotSame(indexA, indexB);
+    assertEquals(1, indexA.size());
+    assertEquals(2, indexB.size());
+
+    // alternating events on the two regions reuse their indexes
+    assertSame(indexA, cqService.getCqPredicateIndex(regionA, cqsA));
+    assertSame(indexB, cqService.getCqPredicateIndex(regionB, cqsB));
+    assertSame(indexA, cqService.getCqPredicateIndex(regionA, cqsA));
+  }
 }
@@ -0,0 +1,214 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.tier.sockets;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Cache;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionShortcut;
+import org.apache.geode.cache.client.ClientCache;
+import org.apache.geode.cache.client.ClientCacheFactory;
+import org.apache.geode.cache.client.ClientRegionShortcut;
+import org.apache.geode.cache.query.CqAttributesFactory;
+import org.apache.geode.cache.query.CqEvent;
+import org.apache.geode.cache.query.QueryService;
+import org.apache.geode.cache.server.CacheServer;
+import org.apache.geode.cache.util.CqListenerAdapter;
+import org.apache.geode.internal.AvailablePortHelper;
+import org.apache.geode.internal.cache.ha.SharedSubscriptionQueue;
+import org.apache.geode.test.dunit.Host;
+import org.apache.geode.test.dunit.Invoke;
+import org.apache.geode.test.dunit.NetworkUtils;
+import org.apache.geode.test.dunit.VM;
+import org.apache.geode.test.dunit.cache.internal.JUnit4CacheTestCase;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests a client with a redundant subscription queue whose primary server queues its events in the
+ * shared subscription queue.
+ */
+@Category(DistributedTest.class)
+public class SharedSubscriptionQueueDUnitTest extends JUnit4CacheTestCase {
+
+  private static final int PUTS = 50;
+
+  /** The keys of the events each CQ of the client has received, by CQ name */
+  private static Map<String, Set<Object>> cqKeys;
+
+  private VM server1;
+  private VM server2;
+  private VM client;
+
+  private String regionName;
+
+  @Override
+  public final void postSetUp() throws Exception {
+    disconnectAllFromDS();
+    Host host = Host.getHost(0);
+    this.server1 = host.getVM(0);
+    this.server2 = host.getVM(1);
+    this.client = host.getVM(2);
+    this.regionName = getUniqueName();
+  }
+
+  @Override
+  public final void preTearDownCacheTestCase() throws Exception {
+    Invoke.invokeInEveryVM(() -> {
+      SharedSubscriptionQueue.ENABLED = false;
+      CacheClientProxy.isSlowStartForTesting = false;
+      System.clearProperty("slowStartTimeForTesting");
+      cqKeys = null;
+    });
+  }
+
+  @Test
+  public void closedCqGetsNoMoreEventsAndClientFailsOverToSecondary() {
+    int[] ports = AvailablePortHelper.getRandomAvailableTCPPorts(2);
+    this.server1.invoke(() -> createServer(this.regionName, ports[0]));
+    this.server2.invoke(() -> createServer(this.regionName, ports[1]));
+    this.client.invoke(() -> createClient(this.regionName, ports));
+    this.client.invoke(() -> createCq(this.regionName, "kept"));
+    this.client.invoke(() -> createCq(this.regionName, "closed"));
+
+    VM primary = this.server1.invoke(() -> isPrimary()) ? this.server1 : this.server2;
+    VM secondary = primary == this.server1 ? this.server2 : this.server1;
+    primary.invoke(() -> assertNotNull("primary does not share the queue", getSubscription()));
+
+    primary.invoke(() -> doPuts(this.regionName, 0));
+    this.client.invoke(() -> awaitCqEvents("kept", PUTS));
+    this.client.invoke(() -> awaitCqEvents("closed", PUTS));
+
+    this.client.invoke(() -> ClientCacheFactory.getAnyInstance().getQueryService()
+        .getCq("closed").close());
+    primary.invoke(() -> doPuts(this.regionName, PUTS));
+    this.client.invoke(() -> awaitCqEvents("kept", PUTS * 2));
+
+    primary.invoke(() -> getCache().close());
+    secondary.invoke(() -> doPuts(this.regionName, PUTS * 2));
+    this.client.invoke(() -> awaitCqEvents("kept", PUTS * 3));
+    this.client.invoke(() -> assertEquals(PUTS, cqKeys.get("closed").size()));
+  }
+
+  @Test
+  public void lateSecondaryGetsTheEventsQueuedOnThePrimary() {
+    int[] ports = AvailablePortHelper.getRandomAvailableTCPPorts(2);
+    this.server1.invoke(() -> {
+      // keep the queued events from being sent until the client has failed over
+      System.setProperty("slowStartTimeForTesting", "120000");
+      CacheClientProxy.isSlowStartForTesting = true;
+      createServer(this.regionName, ports[0]);
+    });
+    this.client.invoke(() -> createClient(this.regionName, ports));
+    this.client.invoke(() -> createCq(this.regionName, "cq"));
+
+    this.server1.invoke(() -> {
+      assertTrue(isPrimary());
+      doPuts(this.regionName, 0);
+      assertTrue(getSubscription().size() >= PUTS);
+    });
+
+    this.server2.invoke(() -> createServer(this.regionName, ports[1]));
+    this.server2.invoke(() -> Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> getProxies().size() == 1 && getMessageQueueSize() >= PUTS));
+    this.server1.invoke(() -> {
+      assertNull("primary still shares the queue", getSubscription());
+      assertTrue(getMessageQueueSize() >= PUTS);
+    });
+
+    this.server1.invoke(() -> getCache().close());
+    this.client.invoke(() -> awaitCqEvents("cq", PUTS));
+  }
+
+  private int createServer(String regionName, int port) throws IOException {
+    SharedSubscriptionQueue.ENABLED = true;
+    Cache cache = getCache();
+    cache.createRegionFactory(RegionShortcut.REPLICATE).create(regionName);
+    CacheServer server = cache.addCacheServer();
+    server.setPort(port);
+    server.start();
+    return server.getPort();
+  }
+
+  private void createClient(String regionName, int[] ports) {
+    cqKeys = new ConcurrentHashMap<>();
+    String host = NetworkUtils.getServerHostName(Host.getHost(0));
+    ClientCache cache = getClientCache(new ClientCacheFactory().addPoolServer(host, ports[0])
+        .addPoolServer(host, ports[1]).setPoolSubscriptionEnabled(true)
+        .setPoolSubscriptionRedundancy(1));
+    cache.createClientRegionFactory(ClientRegionShortcut.PROXY).create(regionName);
+  }
+
+  private static void createCq(String regionName, String cqName) throws Exception {
+    Set<Object> keys = ConcurrentHashMap.newKeySet();
+    cqKeys.put(cqName, keys);
+    CqAttributesFactory factory = new CqAttributesFactory();
+    factory.addCqListener(new CqListenerAdapter() {
+      @Override
+      public void onEvent(CqEvent event) {
+        keys.add(event.getKey());
+      }
+    });
+    QueryService queryService = ClientCacheFactory.getAnyInstance().getQueryService();
+    queryService.newCq(cqName, "SELECT * FROM /" + regionName, factory.create()).execute();
+  }
+
+  private void doPuts(String regionName, int first) {
+    Region<Object, Object> region = getCache().getRegion(regionName);
+    for (int i = first; i < first + PUTS; i++) {
+      region.put(i, "value" + i);
+    }
+  }
+
+  private static void awaitCqEvents(String cqName, int keys) {
+    Awaitility.await().atMost(60, TimeUnit.SECONDS)
+        .until(() -> cqKeys.get(cqName).size() == keys);
+  }
+
+  private static Collection<CacheClientProxy> getProxies() {
+    CacheClientNotifier notifier = CacheClientNotifier.getInstance();
+    return notifier == null ? Collections.emptySet() : notifier.getClientProxies();
+  }
+
+  private static CacheClientProxy getProxy() {
+    Collection<CacheClientProxy> proxies = getProxies();
+    assertEquals(1, proxies.size());
+    return proxies.iterator().next();
+  }
+
+  private static boolean isPrimary() {
+    return getProxy().isPrimary();
+  }
+
+  private static SharedSubscriptionQueue.Subscriber getSubscription() {
+    return getProxy()._messageDispatcher._subscription;
+  }
+
+  private static int getMessageQueueSize() {
+    return getProxy()._messageDispatcher._messageQueue.size();
+  }
+}
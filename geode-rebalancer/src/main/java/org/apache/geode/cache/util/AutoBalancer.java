@@ -43,7 +43,10 @@ import org.apache.geode.internal.cache.GemFireCacheImpl;
 import org.apache.geode.internal.cache.InternalCache;
 import org.apache.geode.internal.cache.PartitionedRegion;
 import org.apache.geode.internal.cache.partitioned.InternalPRInfo;
+import org.apache.geode.internal.cache.partitioned.InternalPartitionDetails;
 import org.apache.geode.internal.cache.partitioned.LoadProbe;
+import org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe;
+import org.apache.geode.internal.cache.partitioned.PRLoad;
 import org.apache.geode.internal.logging.LogService;
 
 /**
@@ -65,7 +68,9 @@ import org.apache.geode.internal.logging.LogService;
  * {@link AutoBalancer} can be controlled using the following configurations
  * <OL>
  * <LI>{@link AutoBalancer#SCHEDULE}
- * <LI>TBD THRESHOLDS
+ * <LI>{@link AutoBalancer#SIZE_THRESHOLD_PERCENT}
+ * <LI>{@link AutoBalancer#MINIMUM_SIZE}
+ * <LI>{@link AutoBalancer#LOAD_SKEW_THRESHOLD_PERCENT}
  */
 @Experimental("The autobalancer may be removed or the API may change in future releases")
 public class AutoBalancer implements Declarable {
@@ -119,6 +124,25 @@ public class AutoBalancer implements Declarable {
    */
   public static final int DEFAULT_MINIMUM_SIZE = 100 * 1024 * 1024;
 
+  /**
+   * Use this configuration to balance the operation load of primaries. If the data does not need
+   * re-balancing, but the primaries of some member handle more than this percentage above the
+   * average operation load of a partitioned region, a rebalance that only moves primaries is
+   * triggered. The load of a primary is measured by
+   * {@link org.apache.geode.internal.cache.partitioned.OperationRateLoadProbe}.
+   * <P>
+   * Default value {@link #DEFAULT_LOAD_SKEW_THRESHOLD_PERCENT}
+   *
+   * @since Geode 1.4
+   */
+  public static final String LOAD_SKEW_THRESHOLD_PERCENT = "load-skew-threshold-percent";
+
+  /**
+   * Default value of {@link AutoBalancer#LOAD_SKEW_THRESHOLD_PERCENT}. Zero disables load based
+   * re-balancing of primaries.
+   */
+  public static final int DEFAULT_LOAD_SKEW_THRESHOLD_PERCENT = 0;
+
   /**
    * Name of the DistributedLockService that {@link AutoBalancer} will use to guard against
    * concurrent maintenance activity
@@ -246,6 +270,7 @@ public class AutoBalancer implements Declarable {
   static class SizeBasedOOBAuditor implements OOBAuditor {
     private int sizeThreshold = DEFAULT_SIZE_THRESHOLD_PERCENT;
     private int sizeMinimum = DEFAULT_MINIMUM_SIZE;
+    private int loadSkewThreshold = DEFAULT_LOAD_SKEW_THRESHOLD_PERCENT;
 
     final CacheOperationFacade cache;
 
@@ -273,6 +298,13 @@ public class AutoBalancer implements Declarable {
             throw new GemFireConfigException(MINIMUM_SIZE + " should be greater than 0");
           }
         }
+        if (props.getProperty(LOAD_SKEW_THRESHOLD_PERCENT) != null) {
+          loadSkewThreshold = Integer.valueOf(props.getProperty(LOAD_SKEW_THRESHOLD_PERCENT));
+          if (loadSkewThreshold < 0) {
+            throw new GemFireConfigException(
+                LOAD_SKEW_THRESHOLD_PERCENT + " should be greater than or equal to 0");
+          }
+        }
       }
     }
 
@@ -289,14 +321,19 @@ public class AutoBalancer implements Declarable {
 
       cache.incrementAttemptCounter();
       result = needsRebalancing();
-      if (!result) {
-        if (logger.isDebugEnabled()) {
-          logger.debug("Rebalancing is not needed");
-        }
+      if (result) {
+        cache.rebalance();
         return;
       }
 
-      cache.rebalance();
+      if (needsPrimaryRebalancing()) {
+        cache.rebalancePrimaries();
+        return;
+      }
+
+      if (logger.isDebugEnabled()) {
+        logger.debug("Rebalancing is not needed");
+      }
     }
 
     /**
@@ -329,10 +366,29 @@ public class AutoBalancer implements Declarable {
       return false;
     }
 
+    /**
+     * Return true if load based re-balancing of primaries is enabled and the primary load of some
+     * member is more than the configured percentage above the average.
+     */
+    boolean needsPrimaryRebalancing() {
+      if (loadSkewThreshold <= 0) {
+        return false;
+      }
+      float skew = cache.getPrimaryLoadSkew();
+      if (logger.isDebugEnabled()) {
+        logger.debug("Primary load skew is {}%, threshold is {}%", skew, loadSkewThreshold);
+      }
+      return skew >= loadSkewThreshold;
+    }
+
     int getSizeThreshold() {
       return sizeThreshold;
     }
 
+    int getLoadSkewThreshold() {
+      return loadSkewThreshold;
+    }
+
     public long getSizeMinimum() {
       return sizeMinimum;
     }
@@ -409,6 +465,64 @@ public class AutoBalancer implements Declarable {
       return 0;
     }
 
+    /**
+     * Measures the operation load of the primaries of each member with an
+     * {@link OperationRateLoadProbe}, weighted like the rebalance does, and returns by how many
+     * percent the most loaded member is above the average for the most skewed region.
+     */
+    @Override
+    public float getPrimaryLoadSkew() {
+      InternalCache cache = getCache();
+      LoadProbe probe = new OperationRateLoadProbe();
+      float maxSkew = 0;
+      for (PartitionedRegion region : cache.getPartitionedRegions()) {
+        if (region.getColocatedWith() != null) {
+          // colocated regions move their primaries with their leader
+          continue;
+        }
+        InternalPRInfo info =
+            region.getRedundancyProvider().buildPartitionedRegionInfo(true, probe);
+        float totalLoad = 0;
+        float totalWeight = 0;
+        float maxLoad = 0;
+        for (InternalPartitionDetails member : info.getInternalPartitionDetails()) {
+          PRLoad load = member.getPRLoad();
+          if (load == null || load.getWeight() <= 0) {
+            continue;
+          }
+          float primaryLoad = 0;
+          for (int bucket = 0; bucket < region.getTotalNumberOfBuckets(); bucket++) {
+            primaryLoad += load.getWriteLoad(bucket);
+          }
+          totalLoad += primaryLoad;
+          totalWeight += load.getWeight();
+          maxLoad = Math.max(maxLoad, primaryLoad / load.getWeight());
+        }
+        if (totalLoad > 0) {
+          float average = totalLoad / totalWeight;
+          maxSkew = Math.max(maxSkew, 100 * (maxLoad - average) / average);
+        }
+      }
+      return maxSkew;
+    }
+
+    @Override
+    public void rebalancePrimaries() {
+      try {
+        RebalanceOperation operation = getCache().getInternalResourceManager()
+            .startPrimaryRebalance(new OperationRateLoadProbe(), false);
+        RebalanceResults result = operation.getResults();
+        logger.info("Primary rebalance result: [TotalPrimaryTransferTime="
+            + result.getTotalPrimaryTransferTime() + ", TotalPrimaryTransfersCompleted="
+            + result.getTotalPrimaryTransfersCompleted() + ", TotalTime=" + result.getTotalTime()
+            + "]");
+      } catch (CancellationException e) {
+        logger.info("Error rebalancing primaries", e);
+      } catch (InterruptedException e) {
+        logger.info("Error rebalancing primaries", e);
+      }
+    }
+
     @Override
     public void incrementAttemptCounter() {
       InternalCache cache = getCache();
@@ -533,6 +647,8 @@ public class AutoBalancer implements Declarable {
 
     void rebalance();
 
+    void rebalancePrimaries();
+
     void incrementAttemptCounter();
 
     Map<PartitionedRegion, InternalPRInfo> getRegionMemberDetails();
@@ -540,6 +656,8 @@ public class AutoBalancer implements Declarable {
     long getTotalDataSize(Map<PartitionedRegion, InternalPRInfo> details);
 
     long getTotalTransferSize();
+
+    float getPrimaryLoadSkew();
   }
 
   OOBAuditor getOOBAuditor() {
@@ -261,6 +261,61 @@ public class AutoBalancerJUnitTest {
     assertTrue(auditor.needsRebalancing());
   }
 
+  @Test
+  public void testPrimaryRebalanceWhenLoadSkewAboveThreshold() {
+    final Sequence sequence = mockContext.sequence("sequence");
+    mockContext.checking(new Expectations() {
+      {
+        oneOf(mockCacheFacade).acquireAutoBalanceLock();
+        will(returnValue(true));
+        oneOf(mockCacheFacade).incrementAttemptCounter();
+        // data is balanced
+        oneOf(mockCacheFacade).getTotalTransferSize();
+        inSequence(sequence);
+        will(returnValue(0L));
+        oneOf(mockCacheFacade).getPrimaryLoadSkew();
+        inSequence(sequence);
+        will(returnValue(50f));
+        oneOf(mockCacheFacade).rebalancePrimaries();
+        inSequence(sequence);
+        never(mockCacheFacade).rebalance();
+      }
+    });
+
+    AutoBalancer balancer = new AutoBalancer(null, null, null, mockCacheFacade);
+    Properties config = getBasicConfig();
+    config.put(AutoBalancer.LOAD_SKEW_THRESHOLD_PERCENT, "25");
+    balancer.init(config);
+    balancer.getOOBAuditor().execute();
+  }
+
+  @Test
+  public void testNoPrimaryRebalanceWhenLoadSkewBelowThreshold() {
+    mockContext.checking(new Expectations() {
+      {
+        oneOf(mockCacheFacade).getPrimaryLoadSkew();
+        will(returnValue(10f));
+        never(mockCacheFacade).rebalancePrimaries();
+      }
+    });
+
+    AutoBalancer balancer = new AutoBalancer(null, null, null, mockCacheFacade);
+    Properties config = getBasicConfig();
+    config.put(AutoBalancer.LOAD_SKEW_THRESHOLD_PERCENT, "25");
+    balancer.init(config);
+    SizeBasedOOBAuditor auditor = (SizeBasedOOBAuditor) balancer.getOOBAuditor();
+    assertEquals(25, auditor.getLoadSkewThreshold());
+    assertFalse(auditor.needsPrimaryRebalancing());
+  }
+
+  @Test(expected = GemFireConfigException.class)
+  public void testConfigLoadSkewThresholdNegative() {
+    AutoBalancer balancer = new AutoBalancer();
+    Properties props = getBasicConfig();
+    props.put(AutoBalancer.LOAD_SKEW_THRESHOLD_PERCENT, "-1");
+    balancer.init(props);
+  }
+
   @Test(expected = GemFireConfigException.class)
   public void testInvalidSchedule() {
     String someSchedule = "X Y * * * *";
@@ -190,6 +190,7 @@ public class GatewaySenderBatchOp {
       if (msg != null) {
         msg.setComms(cnx.getSocket(), cnx.getInputStream(), cnx.getOutputStream(),
             ((ConnectionImpl) cnx).getCommBufferForAsyncRead(), cnx.getStats());
+        msg.setWireCompression(getWireCompression(cnx));
         if (msg instanceof ChunkedMessage) {
           try {
             return processResponse(msg, cnx);
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.misc;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.internal.cache.tier.sockets.AcceptorImpl;
+import org.apache.geode.internal.cache.wan.WANTestBase;
+import org.apache.geode.test.dunit.Invoke;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests a gateway receiver that applies the events of each batch with more than one thread.
+ */
+@Category(DistributedTest.class)
+public class GatewayReceiverParallelApplyDUnitTest extends WANTestBase {
+
+  private static final int APPLY_THREADS = 4;
+
+  @Override
+  public final void postTearDown() throws Exception {
+    Invoke.invokeInEveryVM(() -> AcceptorImpl.GATEWAY_RECEIVER_APPLY_THREADS = 1);
+  }
+
+  @Test
+  public void updatesOfAKeyAreAppliedInOrder() {
+    String regionName = getTestMethodName() + "_RR";
+    createSites(regionName);
+
+    vm4.invoke(() -> WANTestBase.doPuts(regionName, 1000));
+    for (int i = 0; i < 5; i++) {
+      final String value = "update" + i;
+      vm4.invoke(() -> WANTestBase.doPuts(regionName, 1000, value));
+    }
+
+    Map<Long, String> expected = new HashMap<>();
+    for (long i = 0; i < 1000; i++) {
+      expected.put(i, "update4");
+    }
+    vm2.invoke(() -> WANTestBase.validateRegionSize(regionName, 1000));
+    vm2.invoke(() -> WANTestBase.validateRegionContents(regionName, expected));
+    vm4.invoke(() -> WANTestBase.validateQueueContents("ln", 0));
+  }
+
+  @Test
+  public void pdxTypesAreRegisteredBeforeTheEventsUsingThem() {
+    String regionName = getTestMethodName() + "_RR";
+    createSites(regionName);
+
+    // the PDX types are sent in the middle of the batches, after other events
+    vm4.invoke(() -> WANTestBase.doPuts(regionName, 50));
+    vm4.invoke(() -> WANTestBase.doPutsPDXSerializable2(regionName, 50));
+    vm4.invoke(() -> WANTestBase.doPutsPDXSerializable(regionName, 50));
+
+    vm2.invoke(() -> WANTestBase.validateRegionSize_PDX(regionName, 50));
+    vm4.invoke(() -> WANTestBase.validateQueueContents("ln", 0));
+  }
+
+  private void createSites(String regionName) {
+    Integer lnPort = vm0.invoke(() -> WANTestBase.createFirstLocatorWithDSId(1));
+    Integer nyPort = vm1.invoke(() -> WANTestBase.createFirstRemoteLocator(2, lnPort));
+
+    vm2.invoke(() -> AcceptorImpl.GATEWAY_RECEIVER_APPLY_THREADS = APPLY_THREADS);
+    createCacheInVMs(nyPort, vm2);
+    vm2.invoke(() -> WANTestBase.createReplicatedRegion(regionName, null, isOffHeap()));
+    vm2.invoke(() -> WANTestBase.createReceiver());
+
+    createCacheInVMs(lnPort, vm4);
+    vm4.invoke(() -> WANTestBase.createSender("ln", 2, false, 100, 100, false, false, null, true));
+    vm4.invoke(() -> WANTestBase.createReplicatedRegion(regionName, "ln", isOffHeap()));
+    startSenderInVMs("ln", vm4);
+  }
+}
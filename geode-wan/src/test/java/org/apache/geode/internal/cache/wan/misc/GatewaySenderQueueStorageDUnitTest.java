@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.misc;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.EvictionAlgorithm;
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.RegionAttributes;
+import org.apache.geode.cache.wan.GatewaySender;
+import org.apache.geode.internal.cache.DiskRegion;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.PartitionedRegion;
+import org.apache.geode.internal.cache.RegionQueue;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.GatewaySenderQueueStorage;
+import org.apache.geode.internal.cache.wan.WANTestBase;
+import org.apache.geode.test.dunit.Invoke;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests serial and parallel gateway sender queues stored off-heap and overflowed to disk: events
+ * are queued while the remote site is down, survive a restart of the sender and are then
+ * dispatched and removed from the queue.
+ */
+@Category(DistributedTest.class)
+public class GatewaySenderQueueStorageDUnitTest extends WANTestBase {
+
+  /** More than the resident entries so that overflow storage writes some events to disk */
+  private static final int EVENTS = GatewaySenderQueueStorage.RESIDENT_ENTRIES * 2;
+
+  @Override
+  public final void postTearDown() throws Exception {
+    Invoke.invokeInEveryVM(
+        () -> GatewaySenderQueueStorage.CONFIGURED = GatewaySenderQueueStorage.HEAP);
+  }
+
+  @Test
+  public void serialQueueStoredOffHeap() {
+    queueDispatchAndRecover(false, GatewaySenderQueueStorage.OFF_HEAP);
+  }
+
+  @Test
+  public void serialQueueStoredByOverflow() {
+    queueDispatchAndRecover(false, GatewaySenderQueueStorage.OVERFLOW);
+  }
+
+  @Test
+  public void parallelQueueStoredOffHeap() {
+    queueDispatchAndRecover(true, GatewaySenderQueueStorage.OFF_HEAP);
+  }
+
+  @Test
+  public void parallelQueueStoredByOverflow() {
+    queueDispatchAndRecover(true, GatewaySenderQueueStorage.OVERFLOW);
+  }
+
+  private void queueDispatchAndRecover(boolean isParallel, GatewaySenderQueueStorage storage) {
+    String regionName = getTestMethodName() + "_region";
+    Integer lnPort = vm0.invoke(() -> WANTestBase.createFirstLocatorWithDSId(1));
+    Integer nyPort = vm1.invoke(() -> WANTestBase.createFirstRemoteLocator(2, lnPort));
+
+    vm4.invoke(() -> GatewaySenderQueueStorage.CONFIGURED = storage);
+    createCacheInVMs(lnPort, vm4);
+    String diskStore = vm4.invoke(() -> WANTestBase.createSenderWithDiskStore("ln", 2, isParallel,
+        100, 10, false, true, null, null, true));
+    vm4.invoke(() -> createSenderRegion(regionName, isParallel));
+    startSenderInVMs("ln", vm4);
+    vm4.invoke(() -> verifyQueueStorage("ln", storage));
+
+    // nothing can be dispatched before the remote site has a receiver
+    vm4.invoke(() -> WANTestBase.doPuts(regionName, EVENTS));
+    vm4.invoke(() -> WANTestBase.checkQueueSize("ln", EVENTS));
+    if (storage == GatewaySenderQueueStorage.OVERFLOW) {
+      vm4.invoke(() -> assertTrue("no queued event overflowed", getQueueOverflowCount("ln") > 0));
+    }
+
+    vm4.invoke(() -> WANTestBase.killSender());
+    createCacheInVMs(lnPort, vm4);
+    vm4.invoke(() -> WANTestBase.createSenderWithDiskStore("ln", 2, isParallel, 100, 10, false,
+        true, null, diskStore, true));
+    vm4.invoke(() -> createSenderRegion(regionName, isParallel));
+    startSenderInVMs("ln", vm4);
+    vm4.invoke(() -> verifyQueueStorage("ln", storage));
+    vm4.invoke(() -> WANTestBase.validateQueueContents("ln", EVENTS));
+
+    createCacheInVMs(nyPort, vm2);
+    vm2.invoke(() -> WANTestBase.createReplicatedRegion(regionName, null, isOffHeap()));
+    vm2.invoke(() -> WANTestBase.createReceiver());
+
+    vm2.invoke(() -> WANTestBase.validateRegionSize(regionName, EVENTS));
+    vm4.invoke(() -> WANTestBase.validateQueueContents("ln", 0));
+  }
+
+  private static void createSenderRegion(String regionName, boolean isParallel) {
+    if (isParallel) {
+      // a persistent parallel queue needs a persistent region to recover with
+      WANTestBase.createPersistentPartitionedRegion(regionName, "ln", 0, 10, false);
+    } else {
+      WANTestBase.createReplicatedRegion(regionName, "ln", false);
+    }
+  }
+
+  private static void verifyQueueStorage(String senderId, GatewaySenderQueueStorage storage) {
+    GatewaySender sender = cache.getGatewaySender(senderId);
+    for (RegionQueue queue : ((AbstractGatewaySender) sender).getQueues()) {
+      RegionAttributes<?, ?> attributes = queue.getRegion().getAttributes();
+      assertEquals(storage == GatewaySenderQueueStorage.OFF_HEAP, attributes.getOffHeap());
+      assertEquals(
+          storage == GatewaySenderQueueStorage.OVERFLOW ? EvictionAlgorithm.LIFO_ENTRY
+              : EvictionAlgorithm.LIFO_MEMORY,
+          attributes.getEvictionAttributes().getAlgorithm());
+    }
+  }
+
+  private static long getQueueOverflowCount(String senderId) {
+    GatewaySender sender = cache.getGatewaySender(senderId);
+    long overflowed = 0;
+    for (RegionQueue queue : ((AbstractGatewaySender) sender).getQueues()) {
+      Region<?, ?> region = queue.getRegion();
+      if (region instanceof PartitionedRegion) {
+        overflowed += ((PartitionedRegion) region).getDiskRegionStats().getNumOverflowOnDisk();
+      } else {
+        DiskRegion diskRegion = ((LocalRegion) region).getDiskRegion();
+        if (diskRegion != null) {
+          overflowed += diskRegion.getStats().getNumOverflowOnDisk();
+        }
+      }
+    }
+    return overflowed;
+  }
+}
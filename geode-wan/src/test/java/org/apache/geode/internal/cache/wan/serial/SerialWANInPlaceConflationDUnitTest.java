@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more contributor license
+ * agreements. See the NOTICE file distributed with this work for additional information regarding
+ * copyright ownership. The ASF licenses this file to You under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance with the License. You may obtain a
+ * copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.apache.geode.internal.cache.wan.serial;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import org.apache.geode.cache.Region;
+import org.apache.geode.cache.wan.GatewaySender;
+import org.apache.geode.internal.cache.DiskRegion;
+import org.apache.geode.internal.cache.LocalRegion;
+import org.apache.geode.internal.cache.RegionQueue;
+import org.apache.geode.internal.cache.wan.AbstractGatewaySender;
+import org.apache.geode.internal.cache.wan.WANTestBase;
+import org.apache.geode.test.dunit.Invoke;
+import org.apache.geode.test.junit.categories.DistributedTest;
+
+/**
+ * Tests a serial gateway sender with batch conflation that replaces queued events in place.
+ */
+@Category(DistributedTest.class)
+public class SerialWANInPlaceConflationDUnitTest extends WANTestBase {
+
+  private static final int KEYS = 500;
+
+  /** Large enough for the queue of KEYS events to overflow its one megabyte to disk */
+  private static final int VALUE_SIZE = 10000;
+
+  @Override
+  public final void postTearDown() throws Exception {
+    Invoke.invokeInEveryVM(() -> SerialGatewaySenderQueue.CONFLATE_IN_PLACE = false);
+  }
+
+  @Test
+  public void conflatedEventsReplaceQueuedEventsIncludingOverflowedOnes() {
+    String regionName = getTestMethodName() + "_RR";
+    Integer lnPort = vm0.invoke(() -> WANTestBase.createFirstLocatorWithDSId(1));
+    Integer nyPort = vm1.invoke(() -> WANTestBase.createFirstRemoteLocator(2, lnPort));
+
+    createCacheInVMs(nyPort, vm2);
+    vm2.invoke(() -> WANTestBase.createReplicatedRegion(regionName, null, isOffHeap()));
+    vm2.invoke(() -> WANTestBase.createReceiver());
+
+    vm4.invoke(() -> SerialGatewaySenderQueue.CONFLATE_IN_PLACE = true);
+    createCacheInVMs(lnPort, vm4);
+    vm4.invoke(() -> WANTestBase.createSender("ln", 2, false, 1, 100, true, false, null, true));
+    vm4.invoke(() -> WANTestBase.createReplicatedRegion(regionName, "ln", isOffHeap()));
+    startSenderInVMs("ln", vm4);
+    vm4.invoke(() -> WANTestBase.pauseSender("ln"));
+
+    vm4.invoke(() -> putRound(regionName, 1));
+    vm4.invoke(() -> assertTrue("no queued event overflowed", getQueueOverflowCount("ln") > 0));
+    vm4.invoke(() -> putRound(regionName, 2));
+    vm4.invoke(() -> WANTestBase.checkQueueSize("ln", KEYS));
+    vm4.invoke(() -> assertEquals(KEYS, getEventsReplacedInQueue("ln")));
+
+    vm4.invoke(() -> WANTestBase.resumeSender("ln"));
+    Map<Long, String> expected = new HashMap<>();
+    for (long i = 0; i < KEYS; i++) {
+      expected.put(i, valueOf(2));
+    }
+    vm2.invoke(() -> WANTestBase.validateRegionContents(regionName, expected));
+    vm4.invoke(() -> WANTestBase.validateQueueContents("ln", 0));
+  }
+
+  private static void putRound(String regionName, int round) {
+    Region<Long, String> region = cache.getRegion(regionName);
+    for (long i = 0; i < KEYS; i++) {
+      region.put(i, valueOf(round));
+    }
+  }
+
+  private static String valueOf(int round) {
+    char[] value = new char[VALUE_SIZE];
+    Arrays.fill(value, (char) ('0' + round));
+    return new String(value);
+  }
+
+  private static long getQueueOverflowCount(String senderId) {
+    GatewaySender sender = cache.getGatewaySender(senderId);
+    long overflowed = 0;
+    for (RegionQueue queue : ((AbstractGatewaySender) sender).getQueues()) {
+      DiskRegion diskRegion = ((LocalRegion) queue.getRegion()).getDiskRegion();
+      if (diskRegion != null) {
+        overflowed += diskRegion.getStats().getNumOverflowOnDisk();
+      }
+    }
+    return overflowed;
+  }
+
+  private static int getEventsReplacedInQueue(String senderId) {
+    GatewaySender sender = cache.getGatewaySender(senderId);
+    return ((AbstractGatewaySender) sender).getStatistics().getEventsReplacedInQueue();
+  }
+}
@@ -23,6 +23,7 @@ import org.apache.geode.cache.query.internal.StructImpl;
 import org.apache.geode.pdx.PdxInstance;
 import org.apache.geode.pdx.internal.EnumInfo;
 import org.apache.geode.pdx.internal.EnumInfo.PdxInstanceEnumInfo;
+import org.apache.geode.pdx.internal.json.PdxToJSON;
 import org.springframework.hateoas.Link;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
@@ -166,9 +167,10 @@ public class JsonWriter {
     List<String> pdxFields = pdxInstance.getFieldNames();
 
     for (String pdxField : pdxFields) {
-      Object value = pdxInstance.getField(pdxField);
       generator.writeFieldName(pdxField);
-      writeValueAsJson(generator, value, pdxField);
+      if (!PdxToJSON.writePrimitiveField(generator, pdxInstance, pdxField)) {
+        writeValueAsJson(generator, pdxInstance.getField(pdxField), pdxField);
+      }
     }
     generator.writeEndObject();
     return null;